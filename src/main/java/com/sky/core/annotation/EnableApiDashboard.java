@@ -27,6 +27,7 @@ import java.lang.annotation.*;
  *   <li>提供可视化的 API 列表页面（路径：/api-dashboard）</li>
  *   <li>支持在线测试和调试 API</li>
  *   <li>支持导出 Markdown 接口文档</li>
+ *   <li>记录宿主应用的启动耗时（启动阶段、各 Bean 的创建耗时，见 {@link com.sky.core.monitor.StartupRecorder}）</li>
  * </ul>
  * 
  * @see com.sky.core.config.ApiDashboardConfig
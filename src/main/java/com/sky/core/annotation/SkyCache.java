@@ -0,0 +1,36 @@
+package com.sky.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 为处理器方法开启响应缓存
+ * <p>
+ * 与在方法 JavaDoc 中写 {@code @sky.cache ttl=30s key=query} 等价，源码不随应用发布时使用此注解。
+ * 两者同时存在时以注解为准。需开启 {@code sky.dashboard.cache.enabled}。
+ * </p>
+ *
+ * <h3>使用示例：</h3>
+ * <pre>{@code
+ * @SkyCache(ttl = "5m", key = "path")
+ * @GetMapping("/regions")
+ * public List<Region> regions() { ... }
+ * }</pre>
+ *
+ * @see com.sky.core.cache.ResponseCache
+ * @since 1.0.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SkyCache {
+
+    /**
+     * 缓存有效期，支持 ms / s / m / h 后缀（无后缀为秒）
+     */
+    String ttl() default "30s";
+
+    /**
+     * 缓存键的组成，逗号分隔：{@code query}（路径 + 查询参数）、{@code path}（仅路径）、{@code header:名称}
+     */
+    String key() default "query";
+}
@@ -0,0 +1,438 @@
+package com.sky.core.cache;
+
+import com.sky.core.annotation.SkyCache;
+import com.sky.core.meta.SourceChangedEvent;
+import com.sky.core.util.JavaDocReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按处理器方法的响应缓存
+ * <p>
+ * 处理器方法的 JavaDoc 中写 {@code @sky.cache ttl=30s key=query}（或标注 {@link SkyCache}）即开启：
+ * GET 请求的 200 响应以序列化后的字节（连同处理器设置的响应头）缓存在内存中，
+ * 命中时由 {@link ResponseCacheInterceptor} 直接写出，不调用处理器，也不经过 Jackson。同一个键并发未命中时只有第一个请求执行处理器，
+ * 其余请求等待它的结果（请求合并）；结果不可缓存（非 200、超出单条上限、异步处理）时各自执行。
+ * </p>
+ *
+ * <p>
+ * 缓存键默认为请求路径 + 排序后的查询参数 + Accept，可用 {@code key=path}（忽略查询参数）
+ * 或 {@code key=query,header:X-Tenant} 追加请求头。缓存的响应对所有调用方相同，
+ * <b>不要为因用户而异的接口开启</b>（或把区分用户的请求头加入键中）。
+ * </p>
+ *
+ * <p><b>配置项</b>（前缀 {@code sky.dashboard.cache}，默认关闭）：
+ * <ul>
+ *   <li>{@code enabled}：总开关（默认 false）</li>
+ *   <li>{@code max-entries} / {@code max-bytes}：全部接口合计的条目数和字节数上限（默认 1000 / 32 MB）</li>
+ *   <li>{@code max-entry-bytes}：单个响应的字节上限，超出不缓存（默认 1 MB）</li>
+ *   <li>{@code coalesce-timeout-ms}：合并等待的最长时间，超时后自行执行（默认 5000）</li>
+ * </ul>
+ * 超出上限时先清理过期条目，仍超出则淘汰最早过期的条目。
+ * </p>
+ *
+ * @see ResponseCacheConfig
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.cache", name = "enabled", havingValue = "true")
+public class ResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    /** JavaDoc 标签名 */
+    public static final String TAG = "@sky.cache";
+
+    /** 未开启缓存的处理器方法 */
+    private static final Policy NONE = new Policy(0, Collections.emptyList(), "", new Stats());
+
+    @Value("${sky.dashboard.cache.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    @Value("${sky.dashboard.cache.max-bytes:33554432}")
+    private long maxBytes = 32L * 1024 * 1024;
+
+    @Value("${sky.dashboard.cache.max-entry-bytes:1048576}")
+    private int maxEntryBytes = 1024 * 1024;
+
+    @Value("${sky.dashboard.cache.coalesce-timeout-ms:5000}")
+    private long coalesceTimeoutMs = 5000;
+
+    private final Map<Method, Policy> policies = new ConcurrentHashMap<>();
+    /** 各处理器方法的统计：与策略分开保存，源码变更重新解析策略时沿用，已缓存的条目仍指向同一份统计 */
+    private final Map<Method, Stats> stats = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicInteger entryCount = new AtomicInteger();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 获取处理器方法的缓存策略（注解优先，其次 JavaDoc 标签；结果按方法缓存）
+     *
+     * @param method 处理器方法
+     * @return 缓存策略；未开启时返回 null
+     */
+    Policy policyFor(Method method) {
+        Policy policy = policies.get(method);
+        if (policy == null) {
+            policy = policies.computeIfAbsent(method, this::resolvePolicy);
+        }
+        return policy == NONE ? null : policy;
+    }
+
+    private Policy resolvePolicy(Method method) {
+        SkyCache annotation = AnnotatedElementUtils.findMergedAnnotation(method, SkyCache.class);
+        String spec;
+        if (annotation != null) {
+            spec = "ttl=" + annotation.ttl() + " key=" + annotation.key();
+        } else {
+            spec = JavaDocReader.getMethodTag(method.getDeclaringClass(), method, TAG);
+            if (spec == null) {
+                return NONE;
+            }
+        }
+        try {
+            return Policy.parse(spec, stats.computeIfAbsent(method, m -> new Stats()));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring invalid {} on {}: {}", TAG, method, e.getMessage());
+            return NONE;
+        }
+    }
+
+    /**
+     * 源码变更后重新读取对应类的缓存标签（已缓存的响应保留到过期，统计数据沿用）
+     */
+    @EventListener
+    public void onSourceChanged(SourceChangedEvent event) {
+        if (event.isOverflow()) {
+            policies.clear();
+            return;
+        }
+        policies.keySet().removeIf(m -> event.getClassNames().contains(JavaDocReader.sourceName(m.getDeclaringClass())));
+    }
+
+    /**
+     * 查找未过期的缓存
+     */
+    Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() <= 0) {
+            remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 开始计算一个键：返回 null 表示调用方是本键的首个未命中者，需执行处理器并在结束时调用
+     * {@link #complete} 或 {@link #abandon}；否则返回正在进行的计算，调用方等待其结果
+     */
+    CompletableFuture<Entry> begin(String key) {
+        return inFlight.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    /**
+     * 等待其他请求的计算结果
+     *
+     * @return 缓存结果；不可缓存或等待超时时返回 null
+     */
+    Entry await(CompletableFuture<Entry> pending) {
+        try {
+            return pending.get(coalesceTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 保存首个未命中者的响应并唤醒等待者
+     */
+    void complete(String key, Stats stats, Policy policy, byte[] body, String contentType,
+                  Map<String, List<String>> headers) {
+        Entry entry = null;
+        if (body.length <= maxEntryBytes) {
+            entry = new Entry(body, contentType, headers, System.nanoTime() + policy.ttlNanos, stats);
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                account(previous, -1);
+            }
+            account(entry, 1);
+            if (entryCount.get() > maxEntries || totalBytes.get() > maxBytes) {
+                evict();
+            }
+        } else {
+            stats.uncacheable.increment();
+        }
+        CompletableFuture<Entry> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.complete(entry);
+        }
+    }
+
+    /**
+     * 首个未命中者的响应不可缓存：唤醒等待者，由它们各自执行
+     */
+    void abandon(String key, Stats stats) {
+        stats.uncacheable.increment();
+        CompletableFuture<Entry> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.complete(null);
+        }
+    }
+
+    int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            account(entry, -1);
+        }
+    }
+
+    private void account(Entry entry, int sign) {
+        entryCount.addAndGet(sign);
+        totalBytes.addAndGet(sign * (long) entry.body.length);
+        entry.stats.entries.addAndGet(sign);
+        entry.stats.bytes.addAndGet(sign * (long) entry.body.length);
+    }
+
+    /**
+     * 超出上限时淘汰：先清理过期条目，仍超出则按过期时间从早到晚淘汰到上限的 90%
+     */
+    private synchronized void evict() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (e.getValue().expiresAt - now <= 0) {
+                remove(e.getKey(), e.getValue());
+            }
+        }
+        if (entryCount.get() <= maxEntries && totalBytes.get() <= maxBytes) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(entries.entrySet());
+        sorted.sort(Comparator.comparingLong(e -> e.getValue().expiresAt - now));
+        for (Map.Entry<String, Entry> e : sorted) {
+            if (entryCount.get() <= maxEntries * 0.9 && totalBytes.get() <= maxBytes * 0.9) {
+                break;
+            }
+            remove(e.getKey(), e.getValue());
+            evictions.increment();
+        }
+    }
+
+    /**
+     * 清空全部缓存（不清除统计）
+     */
+    public void clear() {
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            remove(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * 各接口的缓存统计
+     *
+     * @param endpoints 接口 ID → 处理器方法（来自当前映射）
+     * @return 全局占用和开启了缓存的接口的策略、命中率
+     */
+    public Map<String, Object> snapshot(Map<String, Method> endpoints) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", true);
+        result.put("entries", entryCount.get());
+        result.put("maxEntries", maxEntries);
+        result.put("bytes", totalBytes.get());
+        result.put("maxBytes", maxBytes);
+        result.put("evictions", evictions.sum());
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, Method> e : endpoints.entrySet()) {
+            Policy policy = policyFor(e.getValue());
+            if (policy == null) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", e.getKey());
+            row.put("ttlMs", TimeUnit.NANOSECONDS.toMillis(policy.ttlNanos));
+            row.put("key", policy.spec);
+            row.putAll(policy.stats.toMap());
+            rows.add(row);
+        }
+        result.put("endpoints", rows);
+        return result;
+    }
+
+    /**
+     * 缓存策略（解析自 {@code ttl=30s key=query} 形式的参数）
+     */
+    static final class Policy {
+
+        final long ttlNanos;
+        final List<String> keyParts;
+        final String spec;
+        final Stats stats;
+
+        Policy(long ttlNanos, List<String> keyParts, String spec, Stats stats) {
+            this.ttlNanos = ttlNanos;
+            this.keyParts = keyParts;
+            this.spec = spec;
+            this.stats = stats;
+        }
+
+        static Policy parse(String spec, Stats stats) {
+            long ttl = TimeUnit.SECONDS.toNanos(30);
+            List<String> key = Collections.singletonList("query");
+            for (String token : spec.trim().split("\\s+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                int eq = token.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("expected name=value but got '" + token + "'");
+                }
+                String name = token.substring(0, eq);
+                String value = token.substring(eq + 1);
+                if ("ttl".equals(name)) {
+                    ttl = parseDuration(value);
+                } else if ("key".equals(name)) {
+                    key = Arrays.asList(value.split(","));
+                    for (String part : key) {
+                        if (!"query".equals(part) && !"path".equals(part) && !part.startsWith("header:")) {
+                            throw new IllegalArgumentException("unknown key part '" + part + "'");
+                        }
+                    }
+                } else {
+                    throw new IllegalArgumentException("unknown option '" + name + "'");
+                }
+            }
+            if (ttl <= 0) {
+                throw new IllegalArgumentException("ttl must be positive");
+            }
+            return new Policy(ttl, key, spec.trim(), stats);
+        }
+
+        private static long parseDuration(String value) {
+            try {
+                if (value.endsWith("ms")) {
+                    return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(value.substring(0, value.length() - 2)));
+                } else if (value.endsWith("s")) {
+                    return TimeUnit.SECONDS.toNanos(Long.parseLong(value.substring(0, value.length() - 1)));
+                } else if (value.endsWith("m")) {
+                    return TimeUnit.MINUTES.toNanos(Long.parseLong(value.substring(0, value.length() - 1)));
+                } else if (value.endsWith("h")) {
+                    return TimeUnit.HOURS.toNanos(Long.parseLong(value.substring(0, value.length() - 1)));
+                }
+                return TimeUnit.SECONDS.toNanos(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid ttl '" + value + "'");
+            }
+        }
+
+        /**
+         * 计算请求的缓存键
+         */
+        String keyFor(HttpServletRequest request) {
+            StringBuilder key = new StringBuilder(request.getRequestURI());
+            for (String part : keyParts) {
+                if ("query".equals(part)) {
+                    String query = request.getQueryString();
+                    if (query != null && !query.isEmpty()) {
+                        // 参数顺序不影响结果
+                        String[] params = query.split("&");
+                        Arrays.sort(params);
+                        key.append('?').append(String.join("&", params));
+                    }
+                } else if (part.startsWith("header:")) {
+                    String name = part.substring("header:".length());
+                    key.append('|').append(name).append('=').append(request.getHeader(name));
+                }
+            }
+            // 内容协商可能返回不同的表示
+            key.append("|accept=").append(request.getHeader("Accept"));
+            return key.toString();
+        }
+    }
+
+    /**
+     * 单个接口的缓存统计
+     */
+    static final class Stats {
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+        final LongAdder uncacheable = new LongAdder();
+        final AtomicInteger entries = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+
+        Map<String, Object> toMap() {
+            long hit = hits.sum();
+            long coalesce = coalesced.sum();
+            long miss = misses.sum();
+            long total = hit + coalesce + miss;
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("hits", hit);
+            map.put("coalesced", coalesce);
+            map.put("misses", miss);
+            map.put("uncacheable", uncacheable.sum());
+            map.put("hitRate", total == 0 ? 0 : Math.round((hit + coalesce) * 1000.0 / total) / 10.0);
+            map.put("entries", entries.get());
+            map.put("bytes", bytes.get());
+            return map;
+        }
+    }
+
+    /**
+     * 缓存的响应
+     */
+    static final class Entry {
+
+        final byte[] body;
+        final String contentType;
+        /** 处理器自己设置的响应头（不含过滤器和拦截器在处理器之前设置的头），命中时原样回放 */
+        final Map<String, List<String>> headers;
+        final long createdAt = System.nanoTime();
+        final long expiresAt;
+        final Stats stats;
+
+        Entry(byte[] body, String contentType, Map<String, List<String>> headers, long expiresAt, Stats stats) {
+            this.body = body;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.expiresAt = expiresAt;
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sky.core.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 响应缓存配置
+ * <p>
+ * 仅在 {@code sky.dashboard.cache.enabled=true} 的 Servlet 应用中生效，注册 {@link ResponseCacheFilter}
+ * 和 {@link ResponseCacheInterceptor}。拦截器以最低优先级（{@link Ordered#LOWEST_PRECEDENCE}）注册，
+ * 排在 Server-Timing、并发限制和应用自身的拦截器之后：鉴权、租户等拦截器对命中的请求同样生效，
+ * 拒绝的请求不会拿到缓存内容。过滤器排在响应体积采样之后，复制的是处理器写出的原始字节。
+ * </p>
+ *
+ * @see ResponseCache
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.cache", name = "enabled", havingValue = "true")
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ResponseCache cache;
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter() {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(new ResponseCacheFilter(cache));
+        registration.setName("skyResponseCacheFilter");
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ResponseCacheInterceptor(cache)).order(Ordered.LOWEST_PRECEDENCE);
+    }
+}
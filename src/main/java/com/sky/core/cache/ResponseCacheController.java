@@ -0,0 +1,95 @@
+package com.sky.core.cache;
+
+import com.sky.core.meta.ApiMetadataService;
+import com.sky.core.meta.EndpointMapping;
+import com.sky.core.meta.EndpointMappingSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 响应缓存统计接口
+ * <p>
+ * 列出开启了缓存的接口（ID 与元数据一致）及其命中率、条目数和占用字节数。
+ * 未开启 {@code sky.dashboard.cache.enabled} 时只返回 {@code enabled: false}。
+ * </p>
+ *
+ * @see ResponseCache
+ * @since 1.0.0
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResponseCacheController {
+
+    @Autowired
+    private ObjectProvider<ResponseCache> cacheProvider;
+
+    @Autowired
+    private ObjectProvider<EndpointMappingSource> mappingSources;
+
+    /**
+     * 获取缓存统计
+     *
+     * @return 全局占用和各接口的策略、命中 / 合并 / 未命中次数、命中率
+     */
+    @GetMapping("/api-dashboard/cache")
+    @ResponseBody
+    public Map<String, Object> stats() {
+        ResponseCache cache = cacheProvider.getIfAvailable();
+        if (cache == null) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("enabled", false);
+            return result;
+        }
+        return cache.snapshot(handlerMethods());
+    }
+
+    /**
+     * 清空全部缓存的响应
+     *
+     * @return 清空后的统计；未开启时返回 404
+     */
+    @PostMapping("/api-dashboard/cache/clear")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> clear() {
+        ResponseCache cache = cacheProvider.getIfAvailable();
+        if (cache == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        cache.clear();
+        return ResponseEntity.ok(cache.snapshot(handlerMethods()));
+    }
+
+    /**
+     * 接口 ID → 处理器方法（不含仪表盘自身和函数式路由），按 ID 排序
+     */
+    private Map<String, Method> handlerMethods() {
+        Map<String, Method> result = new TreeMap<>();
+        EndpointMappingSource source = mappingSources.getIfUnique();
+        if (source == null) {
+            return result;
+        }
+        for (EndpointMapping mapping : source.collectMappings()) {
+            if (mapping.getHandlerMethod() == null) {
+                continue;
+            }
+            for (String pattern : mapping.getPatterns()) {
+                if (!ApiMetadataService.isDashboardPath(pattern)) {
+                    result.put(mapping.getMethods() + " " + pattern, mapping.getHandlerMethod().getMethod());
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.sky.core.cache;
+
+import com.sky.core.util.CapturingResponseWrapper;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 响应缓存过滤器
+ * <p>
+ * 为 GET 请求包装 {@link CapturingResponseWrapper}（未激活时直接透传），请求结束后若
+ * {@link ResponseCacheInterceptor} 把本请求记为首个未命中者，则把复制的响应体存入缓存并唤醒等待的请求。
+ * 只缓存同步完成、状态为 200、没有 {@code Set-Cookie} 的响应；其余情况放弃，等待者各自执行。
+ * 处理器设置的响应头随响应体一起保存，调用处理器之前已有的头和逐请求变化的头不保存。
+ * </p>
+ *
+ * @see ResponseCacheConfig
+ * @since 1.0.0
+ */
+class ResponseCacheFilter implements Filter {
+
+    static final String CAPTURE_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".CAPTURE";
+
+    /** 不随缓存保存的响应头（小写）：由容器或命中时重新生成，或逐请求变化 */
+    private static final Set<String> TRANSIENT_HEADERS = new HashSet<>(Arrays.asList(
+            "content-type", "content-length", "transfer-encoding", "date", "age", "server-timing"));
+
+    private final ResponseCache cache;
+
+    ResponseCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || !(request instanceof HttpServletRequest)
+                || !"GET".equals(((HttpServletRequest) request).getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CapturingResponseWrapper capture = new CapturingResponseWrapper((HttpServletResponse) response);
+        request.setAttribute(CAPTURE_ATTRIBUTE, capture);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, capture);
+            completed = true;
+        } finally {
+            finish((HttpServletRequest) request, capture, completed);
+        }
+    }
+
+    private void finish(HttpServletRequest request, CapturingResponseWrapper capture, boolean completed) {
+        Object miss = request.getAttribute(ResponseCacheInterceptor.MISS_ATTRIBUTE);
+        if (!(miss instanceof ResponseCacheInterceptor.Miss)) {
+            return;
+        }
+        request.removeAttribute(ResponseCacheInterceptor.MISS_ATTRIBUTE);
+        ResponseCacheInterceptor.Miss m = (ResponseCacheInterceptor.Miss) miss;
+        byte[] body = completed && !request.isAsyncStarted()
+                && capture.getStatus() == HttpServletResponse.SC_OK
+                && !capture.containsHeader("Set-Cookie") ? capture.getBody() : null;
+        if (body == null) {
+            cache.abandon(m.key, m.policy.stats);
+        } else {
+            cache.complete(m.key, m.policy.stats, m.policy, body, capture.getContentType(),
+                    handlerHeaders(capture, m.presetHeaders));
+        }
+    }
+
+    /**
+     * 收集处理器设置的响应头
+     */
+    private static Map<String, List<String>> handlerHeaders(HttpServletResponse response, Set<String> preset) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (preset.contains(lower) || TRANSIENT_HEADERS.contains(lower) || headers.containsKey(name)) {
+                continue;
+            }
+            headers.put(name, new ArrayList<>(response.getHeaders(name)));
+        }
+        return headers.isEmpty() ? Collections.emptyMap() : headers;
+    }
+}
@@ -0,0 +1,141 @@
+package com.sky.core.cache;
+
+import com.sky.core.util.CapturingResponseWrapper;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应缓存拦截器
+ * <p>
+ * preHandle 时按处理器方法的缓存策略计算缓存键：
+ * <ul>
+ *   <li>命中：直接写出缓存的字节（{@code X-Sky-Cache: HIT}），不调用处理器</li>
+ *   <li>首个未命中者：激活响应复制，照常执行处理器（{@code X-Sky-Cache: MISS}），由 {@link ResponseCacheFilter} 存入缓存</li>
+ *   <li>同一个键已在计算：等待其结果（{@code X-Sky-Cache: COALESCED}）；结果不可缓存或等待超时时照常执行</li>
+ * </ul>
+ * 响应头 {@code Age} 为缓存条目已存在的秒数。
+ * </p>
+ *
+ * <p>
+ * 拦截器以最低优先级注册，排在应用自身的拦截器（鉴权、租户等）之后：命中的请求同样要先通过这些拦截器，
+ * 它们设置的响应头也照常写出；处理器设置的响应头随缓存条目保存，命中时回放。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    static final String HEADER = "X-Sky-Cache";
+
+    static final String MISS_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".MISS";
+
+    private final ResponseCache cache;
+
+    ResponseCacheInterceptor(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        Object capture = request.getAttribute(ResponseCacheFilter.CAPTURE_ATTRIBUTE);
+        if (!(capture instanceof CapturingResponseWrapper)) {
+            // 不是 GET 请求
+            return true;
+        }
+        ResponseCache.Policy policy = cache.policyFor(((HandlerMethod) handler).getMethod());
+        if (policy == null) {
+            return true;
+        }
+
+        String key = policy.keyFor(request);
+        ResponseCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            policy.stats.hits.increment();
+            write(response, entry, "HIT");
+            return false;
+        }
+        CompletableFuture<ResponseCache.Entry> pending = cache.begin(key);
+        if (pending != null) {
+            entry = cache.await(pending);
+            if (entry != null) {
+                policy.stats.coalesced.increment();
+                write(response, entry, "COALESCED");
+                return false;
+            }
+            // 首个请求的结果不可缓存，照常执行（不再等待）
+            policy.stats.misses.increment();
+            response.setHeader(HEADER, "MISS");
+            return true;
+        }
+        policy.stats.misses.increment();
+        response.setHeader(HEADER, "MISS");
+        ((CapturingResponseWrapper) capture).activate(cache.getMaxEntryBytes());
+        request.setAttribute(MISS_ATTRIBUTE, new Miss(key, policy, headerNames(response)));
+        return true;
+    }
+
+    private static void write(HttpServletResponse response, ResponseCache.Entry entry, String state) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(HEADER, state);
+        response.setHeader("Age", String.valueOf(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - entry.createdAt)));
+        for (Map.Entry<String, List<String>> header : entry.headers.entrySet()) {
+            boolean first = true;
+            for (String value : header.getValue()) {
+                if (first) {
+                    response.setHeader(header.getKey(), value);
+                    first = false;
+                } else {
+                    response.addHeader(header.getKey(), value);
+                }
+            }
+        }
+        if (entry.contentType != null) {
+            response.setContentType(entry.contentType);
+        }
+        response.setContentLength(entry.body.length);
+        response.getOutputStream().write(entry.body);
+    }
+
+    /**
+     * 响应中已有的头名称（小写）
+     */
+    static Set<String> headerNames(HttpServletResponse response) {
+        Set<String> names = new HashSet<>();
+        for (String name : response.getHeaderNames()) {
+            names.add(name.toLowerCase(Locale.ROOT));
+        }
+        return names;
+    }
+
+    /**
+     * 首个未命中者正在计算的键
+     */
+    static final class Miss {
+
+        final String key;
+        final ResponseCache.Policy policy;
+        /** 调用处理器之前响应中已有的头（由过滤器和拦截器按请求设置，不进入缓存） */
+        final Set<String> presetHeaders;
+
+        Miss(String key, ResponseCache.Policy policy, Set<String> presetHeaders) {
+            this.key = key;
+            this.policy = policy;
+            this.presetHeaders = presetHeaders;
+        }
+    }
+}
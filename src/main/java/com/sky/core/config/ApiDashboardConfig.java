@@ -1,5 +1,6 @@
 package com.sky.core.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,16 +12,36 @@ import org.springframework.context.annotation.Configuration;
  *   <li>控制器（ApiDashboardController）</li>
  *   <li>Web 配置（WebConfig - CORS 设置）</li>
  *   <li>异常处理器（DashboardExceptionHandler）</li>
+ *   <li>运行时监控组件（com.sky.core.monitor）</li>
+ *   <li>元数据支撑组件（com.sky.core.meta - 元数据生成、源码监听等）</li>
+ *   <li>WebFlux 支持（com.sky.core.reactive - 仅 Reactive 应用生效）</li>
+ *   <li>Mock 服务（com.sky.core.mock - 需开启 sky.dashboard.mock.enabled）</li>
+ *   <li>接口并发限制（com.sky.core.limit - 需开启 sky.dashboard.limiter.enabled）</li>
+ *   <li>响应缓存（com.sky.core.cache - 需开启 sky.dashboard.cache.enabled）</li>
  * </ul>
  * </p>
+ *
+ * <p>
+ * 扫描到的组件全部延迟初始化：启动时只注册 Bean 定义和少量必须提前就绪的配置（拦截器、过滤器注册等），
+ * 控制器、元数据服务及其后台线程在首次访问仪表盘时才创建；运行时监控的拦截器在对应面板首次打开前不做任何采样。
+ * 设置 {@code sky.dashboard.enabled=false} 时整个仪表盘不注册任何组件。
+ * </p>
  * 
  * @see com.sky.core.annotation.EnableApiDashboard
  * @since 1.0.0
  */
 @Configuration
-@ComponentScan(basePackages = {
+@ConditionalOnProperty(prefix = "sky.dashboard", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ComponentScan(lazyInit = true, basePackages = {
     "com.sky.core.controller",  // Dashboard 控制器
-    "com.sky.core.config"       // Web 配置（CORS）
+    "com.sky.core.config",      // Web 配置（CORS）
+    "com.sky.core.monitor",     // 运行时监控（异常聚合等）
+    "com.sky.core.meta",        // 元数据支撑（元数据生成、源码监听等）
+    "com.sky.core.reactive",    // WebFlux 支持（按 Web 应用类型条件装配）
+    "com.sky.core.mock",        // Mock 服务（按配置条件装配）
+    "com.sky.core.relay",       // 服务端请求中继（按配置条件装配）
+    "com.sky.core.limit",       // 接口并发限制（按配置条件装配）
+    "com.sky.core.cache"        // 响应缓存（按配置条件装配）
 })
 public class ApiDashboardConfig {
 }
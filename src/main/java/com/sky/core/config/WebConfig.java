@@ -1,5 +1,7 @@
 package com.sky.core.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -8,24 +10,37 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * Web MVC 全局配置
  * <p>
  * 配置 CORS（跨域资源共享）策略，允许前端页面调用 Dashboard API。
+ * 策略只注册在仪表盘路径上，不会给业务接口附加全局的 CORS 处理。
  * 使用兼容性工具类支持多个 Spring Boot 版本。
+ * 仅在 Servlet 应用中生效，WebFlux 应用见 {@link com.sky.core.reactive.ReactiveWebConfig}。
  * </p>
  * 
  * @see com.sky.core.util.SpringCompatUtils
  * @since 1.0.0
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * 应用 CORS 策略的路径（默认只覆盖仪表盘自身的接口，业务接口的跨域策略不受影响）
+     * <p>
+     * 需要从其他域名的仪表盘直接调试本服务的业务接口时，可配置为 {@code /**}。
+     * </p>
+     */
+    @Value("${sky.dashboard.cors.path-patterns:/api-dashboard,/api-dashboard/**}")
+    private String[] corsPathPatterns;
+
     /**
      * 配置 CORS 跨域策略
      * <p>
      * 允许所有来源访问 Dashboard 接口，支持的配置：
      * <ul>
-     *   <li>路径：/** （所有路径）</li>
+     *   <li>路径：{@code sky.dashboard.cors.path-patterns}（默认 /api-dashboard/**）</li>
      *   <li>来源：* （所有域名，使用兼容性方法）</li>
      *   <li>方法：GET, POST, PUT, DELETE, PATCH, OPTIONS</li>
      *   <li>请求头：* （所有请求头）</li>
+     *   <li>暴露响应头：Server-Timing（见 {@link com.sky.core.monitor.ServerTimingConfig}）</li>
      *   <li>凭证：允许携带 Cookie</li>
      * </ul>
      * </p>
@@ -39,14 +54,17 @@ public class WebConfig implements WebMvcConfigurer {
      */
     @Override
     public void addCorsMappings(CorsRegistry registry) {
-        org.springframework.web.servlet.config.annotation.CorsRegistration reg = registry.addMapping("/**");
-        
-        // 使用兼容性工具类设置允许的来源（支持 Spring Boot 2.0 - 2.7+）
-        com.sky.core.util.SpringCompatUtils.configureCorsAllowAll(reg);
-        
-        // 配置允许的 HTTP 方法和请求头
-        reg.allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
-           .allowedHeaders("*")
-           .allowCredentials(true);  // 允许携带认证信息（Cookie、Authorization 等）
+        for (String pattern : corsPathPatterns) {
+            org.springframework.web.servlet.config.annotation.CorsRegistration reg = registry.addMapping(pattern.trim());
+
+            // 使用兼容性工具类设置允许的来源（支持 Spring Boot 2.0 - 2.7+）
+            com.sky.core.util.SpringCompatUtils.configureCorsAllowAll(reg);
+
+            // 配置允许的 HTTP 方法和请求头
+            reg.allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
+               .allowedHeaders("*")
+               .exposedHeaders("Server-Timing", "X-Sky-Relay-Id", "X-Sky-Relay-Status", "X-Sky-Relay-Headers", "X-Sky-Cache")  // 调试台读取服务端分段耗时、中继结果和缓存状态
+               .allowCredentials(true);  // 允许携带认证信息（Cookie、Authorization 等）
+        }
     }
 }
@@ -1,7 +1,9 @@
 package com.sky.core.controller;
 
+import com.sky.core.monitor.ErrorAggregator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -20,13 +22,16 @@ import java.util.Map;
  *   <li><b>开发环境</b>：返回详细的错误信息、类型和堆栈跟踪</li>
  *   <li><b>生产环境</b>：返回通用错误消息，隐藏敏感信息</li>
  * </ul>
- * 所有异常都会记录到日志中，便于问题排查。
+ * 异常按指纹聚合（见 {@link ErrorAggregator}）：同一异常首次出现时完整记录日志，
+ * 之后每个时间窗口最多记录一次并附带被抑制的次数，避免异常风暴拖垮吞吐。
+ * 只作用于仪表盘自身的控制器，不接管业务接口的异常处理。
  * </p>
  * 
  * @author Sky Team
  * @since 1.0.0
  */
-@ControllerAdvice(basePackages = "com.sky.core")
+@ControllerAdvice(basePackages = {"com.sky.core.controller", "com.sky.core.reactive", "com.sky.core.mock",
+        "com.sky.core.relay", "com.sky.core.limit", "com.sky.core.cache"})
 public class DashboardExceptionHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(DashboardExceptionHandler.class);
@@ -40,6 +45,9 @@ public class DashboardExceptionHandler {
      */
     @Value("${spring.profiles.active:prod}")
     private String activeProfile;
+
+    @Autowired
+    private ErrorAggregator errorAggregator;
     
     /**
      * 处理所有未捕获的异常
@@ -53,6 +61,7 @@ public class DashboardExceptionHandler {
      *   "stackTrace": "..."
      * }
      * </pre>
+     * 同一指纹在日志窗口内重复出现时不再格式化堆栈，{@code stackTrace} 只给出提示。
      * </p>
      * 
      * <p>
@@ -78,15 +87,34 @@ public class DashboardExceptionHandler {
         boolean isDevelopment = "dev".equalsIgnoreCase(activeProfile) || 
                                 "development".equalsIgnoreCase(activeProfile);
         
+        // 聚合计数，并决定本次是否输出完整日志
+        ErrorAggregator.ErrorStats stats = errorAggregator.record(e);
+        long suppressed = errorAggregator.claimLog(stats);
+        
         if (isDevelopment) {
             // 开发环境：返回详细错误信息
             error.put("error", "Dashboard encountered an error");
             error.put("message", e.getMessage() != null ? e.getMessage() : "Unknown error");
             error.put("type", e.getClass().getSimpleName());
-            error.put("stackTrace", getStackTraceAsString(e));
+            if (suppressed >= 0) {
+                // 只在本窗口首次出现时格式化堆栈，重复异常的处理成本与次数无关
+                StringWriter stackTrace = new StringWriter();
+                e.printStackTrace(new PrintWriter(stackTrace));
+                error.put("stackTrace", stackTrace.toString());
+            } else {
+                error.put("stackTrace", "(repeated error, stack trace omitted; see the first occurrence in the log)");
+            }
+            if (stats != null) {
+                error.put("fingerprint", stats.getFingerprint());
+            }
             
             // 开发环境也记录到日志（便于IDE查看）
-            logger.error("Dashboard error occurred: {}", e.getMessage(), e);
+            if (suppressed == 0) {
+                logger.error("Dashboard error occurred: {}", e.getMessage(), e);
+            } else if (suppressed > 0) {
+                logger.error("Dashboard error occurred: {} (suppressed {} repeats, fingerprint {})",
+                        e.getMessage(), suppressed, stats != null ? stats.getFingerprint() : "overflow", e);
+            }
         } else {
             // 生产环境：返回通用错误信息，隐藏技术细节
             error.put("error", "服务暂时不可用");
@@ -94,26 +122,16 @@ public class DashboardExceptionHandler {
             error.put("code", "INTERNAL_ERROR");
             
             // 生产环境记录完整错误到日志（用于排查问题）
-            logger.error("Dashboard error in production - Type: {}, Message: {}", 
-                        e.getClass().getSimpleName(), e.getMessage(), e);
+            if (suppressed == 0) {
+                logger.error("Dashboard error in production - Type: {}, Message: {}", 
+                            e.getClass().getSimpleName(), e.getMessage(), e);
+            } else if (suppressed > 0) {
+                logger.error("Dashboard error in production - Type: {}, Message: {} (suppressed {} repeats, fingerprint {})",
+                            e.getClass().getSimpleName(), e.getMessage(), suppressed,
+                            stats != null ? stats.getFingerprint() : "overflow", e);
+            }
         }
         
         return error;
     }
-    
-    /**
-     * 将异常堆栈转换为字符串
-     * <p>
-     * 用于开发环境返回详细的堆栈信息，便于调试。
-     * </p>
-     * 
-     * @param e 异常对象
-     * @return 堆栈跟踪字符串
-     */
-    private String getStackTraceAsString(Exception e) {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        return sw.toString();
-    }
 }
@@ -0,0 +1,320 @@
+package com.sky.core.controller;
+
+import com.sky.core.meta.ApiMetadataService;
+import com.sky.core.monitor.AllocationProfiler;
+import com.sky.core.monitor.BenchmarkService;
+import com.sky.core.monitor.ErrorAggregator;
+import com.sky.core.monitor.ResponseSizeAnalyzer;
+import com.sky.core.monitor.StackSampler;
+import com.sky.core.monitor.StartupRecorder;
+import com.sky.core.monitor.WarmupRunner;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * API 仪表盘监控控制器
+ * <p>
+ * 为仪表盘的 "监控" 面板提供运行时数据，与接口文档相关的功能
+ * 仍由 {@link ApiDashboardController} 负责。
+ * 仅在 Servlet 环境下注册。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DashboardMonitorController {
+
+    @Autowired
+    private ErrorAggregator errorAggregator;
+
+    @Autowired
+    private BenchmarkService benchmarkService;
+
+    @Autowired
+    private AllocationProfiler allocationProfiler;
+
+    @Autowired
+    private StackSampler stackSampler;
+
+    @Autowired
+    private ApiMetadataService metadataService;
+
+    /** 设置 sky.dashboard.startup.enabled=false 时不存在 */
+    @Autowired
+    private ObjectProvider<StartupRecorder> startupRecorder;
+
+    /** 仅在开启 sky.dashboard.warmup.enabled 时存在 */
+    @Autowired
+    private ObjectProvider<WarmupRunner> warmupRunner;
+
+    /** 仅在开启 sky.dashboard.response-size.enabled 时存在 */
+    @Autowired
+    private ObjectProvider<ResponseSizeAnalyzer> responseSizeAnalyzer;
+
+    /**
+     * 获取异常聚合视图
+     * <p>
+     * 按指纹（异常类型 + 栈顶帧）分组，按出现次数降序排列。
+     * </p>
+     *
+     * @return 异常聚合数据
+     */
+    @GetMapping("/api-dashboard/errors")
+    @ResponseBody
+    public Map<String, Object> errors() {
+        return errorAggregator.snapshot();
+    }
+
+    /**
+     * 清空异常聚合数据
+     *
+     * @return 操作结果
+     */
+    @PostMapping("/api-dashboard/errors/clear")
+    @ResponseBody
+    public Map<String, String> clearErrors() {
+        errorAggregator.clear();
+        Map<String, String> result = new HashMap<>();
+        result.put("status", "success");
+        result.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        return result;
+    }
+
+    /**
+     * 获取各处理器方法的内存分配统计
+     * <p>
+     * 按总分配量降序排列，包含每次请求分配量的分位数和对数分桶直方图。
+     * </p>
+     *
+     * @return 分配统计
+     */
+    @GetMapping("/api-dashboard/allocations")
+    @ResponseBody
+    public Map<String, Object> allocations() {
+        return allocationProfiler.snapshot();
+    }
+
+    /**
+     * 清空内存分配统计
+     *
+     * @return 操作结果
+     */
+    @PostMapping("/api-dashboard/allocations/clear")
+    @ResponseBody
+    public Map<String, String> clearAllocations() {
+        allocationProfiler.clear();
+        Map<String, String> result = new HashMap<>();
+        result.put("status", "success");
+        result.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        return result;
+    }
+
+    /**
+     * 获取性能基准运行状态
+     *
+     * @return 是否运行中、进度以及基线/最近一次运行时间
+     */
+    @GetMapping("/api-dashboard/benchmark")
+    @ResponseBody
+    public Map<String, Object> benchmarkStatus() {
+        return benchmarkService.status();
+    }
+
+    /**
+     * 启动一次性能基准运行（异步，通过状态接口查询进度）
+     * <p>
+     * 首次运行（尚无基线）的结果自动保存为基线。
+     * </p>
+     *
+     * @param label 运行标签（如版本号，可选）
+     * @param baseline 完成后是否同时保存为基线
+     * @return 运行状态
+     */
+    @PostMapping("/api-dashboard/benchmark/run")
+    @ResponseBody
+    public Map<String, Object> runBenchmark(@RequestParam(required = false) String label,
+                                            @RequestParam(defaultValue = "false") boolean baseline) {
+        Map<String, Object> result = benchmarkService.status();
+        result.put("started", benchmarkService.start(label, baseline));
+        return result;
+    }
+
+    /**
+     * 将最近一次运行结果设为基线
+     *
+     * @return 操作结果
+     */
+    @PostMapping("/api-dashboard/benchmark/baseline")
+    @ResponseBody
+    public Map<String, String> promoteBaseline() throws IOException {
+        Map<String, String> result = new HashMap<>();
+        result.put("status", benchmarkService.promoteLastRun() ? "success" : "empty");
+        result.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        return result;
+    }
+
+    /**
+     * 获取性能回归报告（最近一次运行 vs 基线）
+     * <p>
+     * 供仪表盘展示，也可在发版检查中直接拉取 JSON，{@code regressions} 大于 0 即存在回归。
+     * </p>
+     *
+     * @return 回归报告
+     */
+    @GetMapping("/api-dashboard/benchmark/report")
+    @ResponseBody
+    public Map<String, Object> benchmarkReport() {
+        return benchmarkService.report();
+    }
+
+    /**
+     * 获取启动预热结果
+     * <p>
+     * 包含每个接口每个统计窗口的 p50/p90（预热曲线）；未开启预热时只返回 {@code enabled=false}。
+     * </p>
+     *
+     * @return 预热状态和曲线
+     */
+    @GetMapping("/api-dashboard/warmup")
+    @ResponseBody
+    public Map<String, Object> warmup() {
+        WarmupRunner runner = warmupRunner.getIfAvailable();
+        if (runner == null) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("enabled", false);
+            return result;
+        }
+        return runner.snapshot();
+    }
+
+    /**
+     * 获取响应体积报告
+     * <p>
+     * 接口按平均响应大小降序，每个接口附带按字段路径拆分的字节数、null 比例和数组长度；
+     * 未开启时只返回 {@code enabled=false}。
+     * </p>
+     *
+     * @return 响应体积报告
+     */
+    @GetMapping("/api-dashboard/response-size")
+    @ResponseBody
+    public Map<String, Object> responseSize() {
+        ResponseSizeAnalyzer analyzer = responseSizeAnalyzer.getIfAvailable();
+        if (analyzer == null) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("enabled", false);
+            return result;
+        }
+        return analyzer.snapshot();
+    }
+
+    /**
+     * 清空响应体积统计
+     *
+     * @return 操作结果
+     */
+    @PostMapping("/api-dashboard/response-size/clear")
+    @ResponseBody
+    public Map<String, String> clearResponseSize() {
+        ResponseSizeAnalyzer analyzer = responseSizeAnalyzer.getIfAvailable();
+        if (analyzer != null) {
+            analyzer.clear();
+        }
+        Map<String, String> result = new HashMap<>();
+        result.put("status", "success");
+        result.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        return result;
+    }
+
+    /**
+     * 获取栈采样状态和各接口的调用树（火焰图数据）
+     *
+     * @return 采样状态；{@code endpoints} 中每个接口的 {@code tree} 为 {n: 帧, v: 样本数, c: 子节点}
+     */
+    @GetMapping("/api-dashboard/profiler")
+    @ResponseBody
+    public Map<String, Object> profiler() {
+        return stackSampler.snapshot();
+    }
+
+    /**
+     * 开始一次限时栈采样（上一次的结果被替换）
+     *
+     * @param seconds 时长（秒）
+     * @param intervalMs 采样间隔（毫秒）
+     * @return 采样状态，{@code started=false} 表示已在采样或不支持
+     */
+    @PostMapping("/api-dashboard/profiler/start")
+    @ResponseBody
+    public Map<String, Object> startProfiler(@RequestParam(defaultValue = "10") int seconds,
+                                             @RequestParam(defaultValue = "20") int intervalMs) {
+        boolean started = stackSampler.start(seconds, intervalMs);
+        Map<String, Object> result = stackSampler.snapshot();
+        result.put("started", started);
+        return result;
+    }
+
+    /**
+     * 提前停止栈采样（已采集的结果保留）
+     *
+     * @return 采样状态
+     */
+    @PostMapping("/api-dashboard/profiler/stop")
+    @ResponseBody
+    public Map<String, Object> stopProfiler() {
+        stackSampler.stop("stopped");
+        return stackSampler.snapshot();
+    }
+
+    /**
+     * 导出折叠栈文本（flamegraph.pl / speedscope 等工具可直接读取）
+     *
+     * @param endpoint 接口（如 "[GET] /demo/hello"），不传时导出全部接口
+     * @return 折叠栈文本
+     */
+    @GetMapping("/api-dashboard/profiler/collapsed")
+    @ResponseBody
+    public ResponseEntity<String> collapsedStacks(@RequestParam(required = false) String endpoint) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .header("Content-Disposition", "attachment; filename=\"stacks.collapsed\"")
+                .body(stackSampler.collapsed(endpoint));
+    }
+
+    /**
+     * 获取宿主应用的启动耗时
+     * <p>
+     * 包含启动阶段、各 Bean 的创建耗时树（子节点为创建过程中触发的依赖）、自身耗时最长的 Bean，
+     * 以及仪表盘自身的元数据生成耗时；关闭记录时只返回 {@code enabled=false} 和元数据生成耗时。
+     * </p>
+     *
+     * @return 启动耗时
+     */
+    @GetMapping("/api-dashboard/startup")
+    @ResponseBody
+    public Map<String, Object> startup() {
+        StartupRecorder recorder = startupRecorder.getIfAvailable();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", recorder != null);
+        if (recorder != null) {
+            result.putAll(recorder.snapshot());
+        }
+        result.put("metadata", metadataService.getBuildStats());
+        return result;
+    }
+}
@@ -0,0 +1,158 @@
+package com.sky.core.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 仪表盘重任务执行器
+ * <p>
+ * 元数据生成、文档导出等耗时操作不占用容器的请求线程：控制器返回 {@link DeferredResult}，
+ * 任务在独立的有界线程池中执行（低优先级守护线程，固定线程数 + 有界队列），完成后再由容器派发写出响应。
+ * 线程和队列都满时立即返回 503（带 {@code Retry-After}），而不是继续排队；
+ * 任务超时同样返回 503，并取消仍在排队的任务（已开始的任务不中断，结果被丢弃）。这样仪表盘对业务吞吐的影响有明确上限：最多占用 {@code threads} 个后台线程，
+ * 容器线程只做极短的派发和写出。
+ * </p>
+ *
+ * <p><b>配置</b>：
+ * <pre>
+ * sky.dashboard.executor.threads=2
+ * sky.dashboard.executor.queue-capacity=8
+ * sky.dashboard.executor.timeout-ms=60000
+ * </pre>
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DashboardTaskExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardTaskExecutor.class);
+
+    /** 拒绝后建议客户端重试的间隔（秒） */
+    private static final String RETRY_AFTER_SECONDS = "2";
+
+    @Value("${sky.dashboard.executor.threads:2}")
+    private int threads;
+
+    @Value("${sky.dashboard.executor.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${sky.dashboard.executor.timeout-ms:60000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        int size = Math.max(1, threads);
+        executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread t = new Thread(r, "sky-dashboard-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        // 空闲时不保留线程，仪表盘不用时没有常驻开销
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 在仪表盘线程池中执行任务
+     * <p>
+     * 任务抛出的异常作为错误结果交给 {@link DashboardExceptionHandler} 处理。
+     * </p>
+     *
+     * @param task 生成响应的任务
+     * @return 异步结果；排不上队或超时时为 503
+     */
+    public DeferredResult<ResponseEntity<?>> submit(Callable<ResponseEntity<?>> task) {
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(timeoutMs);
+        try {
+            Future<?> future = executor.submit(() -> {
+                if (result.isSetOrExpired()) {
+                    // 排队期间已超时，不再执行
+                    return;
+                }
+                try {
+                    result.setResult(task.call());
+                } catch (Throwable e) {
+                    result.setErrorResult(e);
+                }
+            });
+            result.onTimeout(() -> {
+                timedOut.incrementAndGet();
+                // 只取消尚未开始的任务；不中断执行中的任务，它可能正在执行多个请求共享的元数据生成，
+                // 中断会让所有等待者一起失败
+                future.cancel(false);
+                result.setResult(unavailable("Dashboard task timed out"));
+            });
+        } catch (RejectedExecutionException e) {
+            long count = rejected.incrementAndGet();
+            if (count == 1 || Long.bitCount(count) == 1) {
+                // 按 1、2、4、8... 次记录，避免压测时刷屏
+                logger.warn("Dashboard executor saturated ({} threads, queue {}), rejected {} task(s)",
+                        executor.getMaximumPoolSize(), queueCapacity, count);
+            }
+            result.setResult(unavailable("Dashboard is busy, please retry later"));
+        }
+        return result;
+    }
+
+    /**
+     * 线程池当前状态
+     *
+     * @return 线程数、活跃数、排队数和拒绝/超时计数
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("threads", executor.getMaximumPoolSize());
+        status.put("poolSize", executor.getPoolSize());
+        status.put("active", executor.getActiveCount());
+        status.put("queued", executor.getQueue().size());
+        status.put("queueCapacity", queueCapacity);
+        status.put("completed", executor.getCompletedTaskCount());
+        status.put("rejected", rejected.get());
+        status.put("timedOut", timedOut.get());
+        return status;
+    }
+
+    private static ResponseEntity<?> unavailable(String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", "Service Unavailable");
+        error.put("message", message);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", RETRY_AFTER_SECONDS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(error);
+    }
+}
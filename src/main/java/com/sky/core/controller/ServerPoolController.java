@@ -0,0 +1,108 @@
+package com.sky.core.controller;
+
+import com.sky.core.monitor.ServerPoolMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 容器线程池 / 连接饱和度接口
+ * <p>
+ * 提供完整时间序列（面板首次加载）和 SSE 实时推送（之后每个采样点推送一次）。
+ * 仅 Servlet 应用可用，数据来自 {@link ServerPoolMonitor}。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServerPoolController {
+
+    /** 同时订阅的最大客户端数，推送在采样线程上进行，需控制数量 */
+    private static final int MAX_SUBSCRIBERS = 10;
+
+    /** 单个 SSE 连接的最长时间（毫秒），到期后浏览器 EventSource 会自动重连 */
+    private static final long STREAM_TIMEOUT_MS = 10 * 60 * 1000L;
+
+    @Autowired
+    private ServerPoolMonitor serverPoolMonitor;
+
+    @Autowired
+    private DashboardTaskExecutor taskExecutor;
+
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final Consumer<Map<String, Object>> broadcaster = this::broadcast;
+
+    @PostConstruct
+    public void init() {
+        serverPoolMonitor.addListener(broadcaster);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        serverPoolMonitor.removeListener(broadcaster);
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+        emitters.clear();
+    }
+
+    /**
+     * 获取线程池 / 连接时间序列
+     *
+     * @return 容器名称、采样间隔和全部采样点，以及仪表盘自身任务线程池的状态
+     */
+    @GetMapping("/api-dashboard/server-pool")
+    @ResponseBody
+    public Map<String, Object> serverPool() {
+        Map<String, Object> result = new LinkedHashMap<>(serverPoolMonitor.snapshot());
+        result.put("dashboardExecutor", taskExecutor.status());
+        return result;
+    }
+
+    /**
+     * 订阅实时采样点（SSE，事件名 sample）
+     *
+     * @return SSE 连接；订阅数已满时返回 503
+     */
+    @GetMapping("/api-dashboard/server-pool/stream")
+    public ResponseEntity<SseEmitter> stream() {
+        if (emitters.size() >= MAX_SUBSCRIBERS) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        return ResponseEntity.ok().header("Cache-Control", "no-cache").body(emitter);
+    }
+
+    private void broadcast(Map<String, Object> point) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("sample").data(point));
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开
+                emitters.remove(emitter);
+            }
+        }
+    }
+}
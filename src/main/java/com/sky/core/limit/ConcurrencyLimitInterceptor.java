@@ -0,0 +1,82 @@
+package com.sky.core.limit;
+
+import com.sky.core.meta.ApiMetadataService;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 并发限制拦截器
+ * <p>
+ * preHandle 时为处理器方法占用一个名额，超出上限时直接写出 503（带 {@code Retry-After}），不调用处理器；
+ * 请求完成时（afterCompletion）释放名额并把耗时交给 {@link ConcurrencyLimiter}。
+ * 异步请求在主线程释放后仍占用名额，直到异步分派结束；异步分派阶段不重复占用。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".LIMIT";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".START";
+
+    private static final byte[] REJECTED_BODY =
+            "{\"error\":\"Service Unavailable\",\"message\":\"Concurrency limit exceeded\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ConcurrencyLimiter limiter;
+
+    ConcurrencyLimitInterceptor(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        ConcurrencyLimiter.Limit limit = limiter.limitFor(((HandlerMethod) handler).getMethod(), isDashboard(request));
+        if (limit == ConcurrencyLimiter.UNLIMITED) {
+            return true;
+        }
+        if (!limit.tryAcquire()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setHeader("X-Sky-Concurrency-Limit", String.valueOf(limit.getLimit()));
+            response.setContentType("application/json");
+            response.setContentLength(REJECTED_BODY.length);
+            response.getOutputStream().write(REJECTED_BODY);
+            return false;
+        }
+        request.setAttribute(ATTRIBUTE, limit);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object limit = request.getAttribute(ATTRIBUTE);
+        if (!(limit instanceof ConcurrencyLimiter.Limit)) {
+            return;
+        }
+        // 移除属性保证只释放一次
+        request.removeAttribute(ATTRIBUTE);
+        ConcurrencyLimiter.Limit l = (ConcurrencyLimiter.Limit) limit;
+        l.release();
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start instanceof Long) {
+            limiter.onSample(l, System.nanoTime() - (Long) start);
+        }
+    }
+
+    private static boolean isDashboard(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null && ApiMetadataService.isDashboardPath(pattern.toString());
+    }
+}
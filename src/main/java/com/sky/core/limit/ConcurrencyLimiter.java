@@ -0,0 +1,247 @@
+package com.sky.core.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按处理器方法的并发限制
+ * <p>
+ * 每个 {@code HandlerMethod} 一个并发上限，超出时由 {@link ConcurrencyLimitInterceptor} 立即返回 503，
+ * 避免下游变慢时单个接口占满全部容器线程。上限可以是固定值，也可以按实测耗时自适应（AIMD）：
+ * <ul>
+ *   <li>每凑满 {@code window} 个样本评估一次，窗口平均耗时超过基线的 {@code tolerance} 倍时上限乘以 {@code backoff}（乘性减）</li>
+ *   <li>否则若窗口内并发曾接近上限（≥ 80%），上限加 1（加性增）；没用满的上限不再增长</li>
+ *   <li>基线取历史最小窗口耗时，每个窗口向当前耗时缓慢上浮，耗时长期变化后基线随之调整</li>
+ * </ul>
+ * 准入和释放只有 CAS 和原子计数，没有锁；窗口评估由凑满窗口的那个请求顺带完成，
+ * 评估期间并发写入的少量样本可能计入下一个窗口，不影响结果。
+ * </p>
+ *
+ * <p><b>配置项</b>（前缀 {@code sky.dashboard.limiter}，默认关闭）：
+ * <ul>
+ *   <li>{@code enabled}：总开关（默认 false）</li>
+ *   <li>{@code mode}：{@code adaptive}（默认）或 {@code static}</li>
+ *   <li>{@code initial-limit} / {@code min-limit} / {@code max-limit}：初始、最小、最大上限（默认 20 / 1 / 200）</li>
+ *   <li>{@code window}：每次评估的样本数（默认 50）</li>
+ *   <li>{@code tolerance} / {@code backoff}：判定变慢的倍数和减小系数（默认 2.0 / 0.9）</li>
+ * </ul>
+ * 在仪表盘中修改某个接口的上限后，该接口改为固定上限（可恢复自适应）；修改只在当前进程内有效。
+ * </p>
+ *
+ * @see ConcurrencyLimitInterceptor
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.limiter", name = "enabled", havingValue = "true")
+public class ConcurrencyLimiter {
+
+    /** 仪表盘自身的处理器不受限制 */
+    static final Limit UNLIMITED = new Limit(Integer.MAX_VALUE, false);
+
+    @Value("${sky.dashboard.limiter.mode:adaptive}")
+    private String mode = "adaptive";
+
+    @Value("${sky.dashboard.limiter.initial-limit:20}")
+    private int initialLimit = 20;
+
+    @Value("${sky.dashboard.limiter.min-limit:1}")
+    private int minLimit = 1;
+
+    @Value("${sky.dashboard.limiter.max-limit:200}")
+    private int maxLimit = 200;
+
+    @Value("${sky.dashboard.limiter.window:50}")
+    private int window = 50;
+
+    @Value("${sky.dashboard.limiter.tolerance:2.0}")
+    private double tolerance = 2.0;
+
+    @Value("${sky.dashboard.limiter.backoff:0.9}")
+    private double backoff = 0.9;
+
+    private final Map<Method, Limit> limits = new ConcurrentHashMap<>();
+
+    /**
+     * 获取处理器方法的并发限制（首次访问时按默认配置创建）
+     *
+     * @param method 处理器方法
+     * @param dashboard 是否为仪表盘自身的处理器
+     * @return 并发限制
+     */
+    Limit limitFor(Method method, boolean dashboard) {
+        Limit limit = limits.get(method);
+        if (limit == null) {
+            limit = limits.computeIfAbsent(method, m -> dashboard ? UNLIMITED : newLimit());
+        }
+        return limit;
+    }
+
+    /**
+     * 查看处理器方法的并发限制（不创建）
+     *
+     * @param method 处理器方法
+     * @return 并发限制；尚无请求时返回 null
+     */
+    public Limit peek(Method method) {
+        Limit limit = limits.get(method);
+        return limit == UNLIMITED ? null : limit;
+    }
+
+    /**
+     * 修改处理器方法的并发限制
+     *
+     * @param method 处理器方法
+     * @param value 新的上限（为 null 时不改上限）
+     * @param adaptive 是否自适应
+     * @return 修改后的并发限制
+     */
+    public Limit update(Method method, Integer value, boolean adaptive) {
+        Limit limit = limits.computeIfAbsent(method, m -> newLimit());
+        if (value != null) {
+            limit.limit = Math.max(1, value);
+        }
+        limit.adaptive = adaptive;
+        return limit;
+    }
+
+    /**
+     * 默认配置
+     */
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("mode", isAdaptiveMode() ? "adaptive" : "static");
+        settings.put("initialLimit", initialLimit);
+        settings.put("minLimit", minLimit);
+        settings.put("maxLimit", maxLimit);
+        settings.put("window", window);
+        settings.put("tolerance", tolerance);
+        settings.put("backoff", backoff);
+        return settings;
+    }
+
+    private boolean isAdaptiveMode() {
+        return !"static".equalsIgnoreCase(mode);
+    }
+
+    private Limit newLimit() {
+        return new Limit(initialLimit, isAdaptiveMode());
+    }
+
+    /**
+     * 记录一次完成的请求，凑满窗口时评估自适应上限
+     */
+    void onSample(Limit limit, long rttNanos) {
+        if (!limit.adaptive) {
+            return;
+        }
+        limit.windowRtt.addAndGet(rttNanos);
+        if (limit.windowSamples.incrementAndGet() != window) {
+            return;
+        }
+        // 只有凑满窗口的那个线程走到这里
+        long sum = limit.windowRtt.getAndSet(0);
+        int peak = limit.windowPeak.getAndSet(0);
+        limit.windowSamples.set(0);
+
+        long avg = sum / window;
+        limit.lastRtt = avg;
+        long base = limit.baseRtt;
+        base = base == 0 || avg < base ? avg : Math.min(avg, base + base / 16);
+        limit.baseRtt = base;
+
+        int current = limit.limit;
+        if (avg > base * tolerance) {
+            limit.limit = Math.max(minLimit, Math.min(current - 1, (int) (current * backoff)));
+        } else if (peak >= current * 0.8) {
+            limit.limit = Math.min(maxLimit, current + 1);
+        }
+    }
+
+    /**
+     * 单个处理器方法的并发限制
+     */
+    public static final class Limit {
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile int limit;
+        volatile boolean adaptive;
+
+        final LongAdder accepted = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        final AtomicLong windowRtt = new AtomicLong();
+        final AtomicInteger windowSamples = new AtomicInteger();
+        final AtomicInteger windowPeak = new AtomicInteger();
+
+        /** 基线耗时和最近一个窗口的平均耗时（纳秒） */
+        volatile long baseRtt;
+        volatile long lastRtt;
+
+        Limit(int limit, boolean adaptive) {
+            this.limit = limit;
+            this.adaptive = adaptive;
+        }
+
+        /**
+         * 尝试占用一个并发名额
+         *
+         * @return 是否准入
+         */
+        boolean tryAcquire() {
+            for (;;) {
+                int current = inFlight.get();
+                if (current >= limit) {
+                    rejected.increment();
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    accepted.increment();
+                    int peak = windowPeak.get();
+                    while (current + 1 > peak && !windowPeak.compareAndSet(peak, current + 1)) {
+                        peak = windowPeak.get();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        /**
+         * 当前状态
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("limit", limit);
+            map.put("adaptive", adaptive);
+            map.put("inFlight", inFlight.get());
+            map.put("accepted", accepted.sum());
+            map.put("rejected", rejected.sum());
+            map.put("rttMs", toMillis(lastRtt));
+            map.put("baseRttMs", toMillis(baseRtt));
+            return map;
+        }
+
+        private static double toMillis(long nanos) {
+            return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sky.core.limit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 并发限制配置
+ * <p>
+ * 仅在 {@code sky.dashboard.limiter.enabled=true} 的 Servlet 应用中生效，注册 {@link ConcurrencyLimitInterceptor}。
+ * 拦截器排在 Server-Timing 之后、其他拦截器之前，被拒绝的请求不再经过后续拦截器。
+ * </p>
+ *
+ * @see ConcurrencyLimiter
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.limiter", name = "enabled", havingValue = "true")
+public class LimiterConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ConcurrencyLimiter limiter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter)).order(Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+}
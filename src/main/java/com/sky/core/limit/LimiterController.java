@@ -0,0 +1,133 @@
+package com.sky.core.limit;
+
+import com.sky.core.meta.ApiMetadataService;
+import com.sky.core.meta.EndpointMapping;
+import com.sky.core.meta.EndpointMappingSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 并发限制查看 / 调整接口
+ * <p>
+ * 接口 ID 与元数据一致（如 {@code [GET] /demo/hello}），仪表盘据此在接口列表中显示和修改上限。
+ * 同一处理器方法映射到多个路径时共享一个上限。未开启 {@code sky.dashboard.limiter.enabled} 时只返回 {@code enabled: false}。
+ * </p>
+ *
+ * @see ConcurrencyLimiter
+ * @since 1.0.0
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LimiterController {
+
+    @Autowired
+    private ObjectProvider<ConcurrencyLimiter> limiterProvider;
+
+    @Autowired
+    private ObjectProvider<EndpointMappingSource> mappingSources;
+
+    /**
+     * 获取全部接口的并发限制
+     *
+     * @return 默认配置和各接口的上限、在途请求数、准入/拒绝次数、耗时；尚无请求的接口显示默认值
+     */
+    @GetMapping("/api-dashboard/limits")
+    @ResponseBody
+    public Map<String, Object> limits() {
+        ConcurrencyLimiter limiter = limiterProvider.getIfAvailable();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", limiter != null);
+        if (limiter == null) {
+            return result;
+        }
+        Map<String, Object> settings = limiter.settings();
+        result.putAll(settings);
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (Map.Entry<String, Method> entry : handlerMethods().entrySet()) {
+            ConcurrencyLimiter.Limit limit = limiter.peek(entry.getValue());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey());
+            row.put("handler", entry.getValue().getDeclaringClass().getSimpleName() + "#" + entry.getValue().getName());
+            if (limit != null) {
+                row.putAll(limit.toMap());
+            } else {
+                row.put("limit", settings.get("initialLimit"));
+                row.put("adaptive", "adaptive".equals(settings.get("mode")));
+                row.put("inFlight", 0);
+            }
+            endpoints.add(row);
+        }
+        result.put("endpoints", endpoints);
+        return result;
+    }
+
+    /**
+     * 调整接口的并发限制（立即生效，只在当前进程内有效）
+     *
+     * @param endpoint 接口 ID，如 {@code [GET] /demo/hello}
+     * @param limit 新的上限（可选）
+     * @param adaptive 是否自适应；指定上限且不自适应时为固定上限
+     * @return 修改后的状态；接口不存在或未开启时返回 404
+     */
+    @PostMapping("/api-dashboard/limits")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> update(@RequestParam String endpoint,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(defaultValue = "false") boolean adaptive) {
+        ConcurrencyLimiter limiter = limiterProvider.getIfAvailable();
+        Method method = limiter != null ? handlerMethods().get(endpoint) : null;
+        if (method == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", endpoint);
+        row.putAll(limiter.update(method, limit, adaptive).toMap());
+        return ResponseEntity.ok(row);
+    }
+
+    /**
+     * 接口 ID → 处理器方法（不含仪表盘自身和函数式路由），按 ID 排序
+     */
+    private Map<String, Method> handlerMethods() {
+        EndpointMappingSource source = mappingSources.getIfUnique();
+        if (source == null) {
+            return Collections.emptyMap();
+        }
+        List<Map.Entry<String, Method>> entries = new ArrayList<>();
+        for (EndpointMapping mapping : source.collectMappings()) {
+            if (mapping.getHandlerMethod() == null) {
+                continue;
+            }
+            for (String pattern : mapping.getPatterns()) {
+                if (!ApiMetadataService.isDashboardPath(pattern)) {
+                    entries.add(new AbstractMap.SimpleEntry<>(mapping.getMethods() + " " + pattern,
+                            mapping.getHandlerMethod().getMethod()));
+                }
+            }
+        }
+        // 按路径排序（方法描述中没有 "/"）
+        entries.sort(Comparator.comparing(e -> e.getKey().substring(e.getKey().indexOf('/'))));
+        Map<String, Method> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Method> e : entries) {
+            result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,1235 @@
+package com.sky.core.meta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.core.util.JavaDocReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.sky.core.util.StringUtils.*;
+
+/**
+ * 接口元数据服务
+ * <p>
+ * 负责从处理方法生成仪表盘元数据（参数、模板、响应字段、JavaDoc 描述）和 Markdown 文档，
+ * 并维护按映射划分的条目缓存、源码变更失效和持久化快照。
+ * 与具体 Web 栈无关：Servlet 与 WebFlux 控制器各自把映射转换为 {@link EndpointMapping} 后调用。
+ * </p>
+ *
+ * @see com.sky.core.controller.ApiDashboardController
+ * @see com.sky.core.reactive.ReactiveApiDashboardController
+ * @since 1.0.0
+ */
+@Component
+public class ApiMetadataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiMetadataService.class);
+
+    // --- 常量定义 ---
+    private static final int MAX_RECURSION_DEPTH = 3;
+    /** 后台重建失败告警的最小间隔（毫秒），避免持续失败时刷屏 */
+    private static final long REBUILD_WARN_INTERVAL_MS = 60000L;
+    // ✅ 性能优化：根据实际使用调整容量（从2048增加到4096，减少扩容次数）
+    private static final int MARKDOWN_BUILDER_CAPACITY = 4096;
+    private static final int LOGO_WIDTH_PX = 120;
+    private static final String LOGO_RESOURCE_PATH = "static/logo.jpg";
+    
+    // 仪表盘自身接口的路径前缀（监控等接口统一挂在该前缀下，用于过滤）
+    private static final String DASHBOARD_PATH_PREFIX = "/api-dashboard/";
+    
+    // 仪表盘路径集合（用于过滤）
+    private static final java.util.Set<String> DASHBOARD_PATHS = java.util.Collections.unmodifiableSet(
+        new java.util.HashSet<>(java.util.Arrays.asList(
+            "/error",
+            "/api-dashboard",
+            "/api-dashboard/debugger",
+            "/api-dashboard/meta",
+            "/api-dashboard/export-md"
+        ))
+    );
+    
+    // 异步/响应式包装类型：元数据展示其泛型参数（实际响应体）的结构
+    private static final Set<String> ASYNC_WRAPPER_TYPES = Collections.unmodifiableSet(
+        new java.util.HashSet<>(Arrays.asList(
+            "reactor.core.publisher.Mono",
+            "reactor.core.publisher.Flux",
+            "org.reactivestreams.Publisher",
+            "java.util.concurrent.CompletableFuture",
+            "java.util.concurrent.CompletionStage",
+            "java.util.concurrent.Callable",
+            "org.springframework.web.context.request.async.DeferredResult"
+        ))
+    );
+    
+    // 函数式路由（RouterFunction）没有处理方法，统一归入该分组
+    private static final String ROUTER_FUNCTION_GROUP = "RouterFunction";
+    
+    // --- 静态资源缓存 ---
+    // 导出文档中固定不变的页脚（UTF-8 编码后缓存），Logo 见 MarkdownLogo（首次导出时才加载）
+    private static final byte[] MARKDOWN_FOOTER = (
+            "\n---\n\n" +
+            "<div align=\"right\">\n" +
+            "  <sub>由天枢系统为你生成</sub>\n" +
+            "</div>\n").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 导出文档的 Logo 片段（按需加载的持有类）
+     * <p>
+     * 读取图片并 Base64 编码只在第一次导出 Markdown 时发生，
+     * 不导出文档的应用不会为此付出类加载和内存开销。
+     * </p>
+     */
+    private static final class MarkdownLogo {
+        static final byte[] BYTES = load();
+
+        private static byte[] load() {
+            try {
+                org.springframework.core.io.ClassPathResource resource = new org.springframework.core.io.ClassPathResource(LOGO_RESOURCE_PATH);
+                byte[] bytes = org.springframework.util.StreamUtils.copyToByteArray(resource.getInputStream());
+                return ("<div align=\"center\">\n" +
+                        "  <img src=\"data:image/jpeg;base64," + java.util.Base64.getEncoder().encodeToString(bytes) +
+                        "\" width=\"" + LOGO_WIDTH_PX + "\" style=\"border-radius: 50%;\" />\n" +
+                        "</div>\n\n").getBytes(StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                // Logo 是可选的，加载失败不影响核心功能
+                return new byte[0];
+            }
+        }
+    }
+
+    // --- 缓存 ---
+    private volatile Map<String, Object> cachedMetadata = null;
+
+    /**
+     * 预编码的 CBOR 元数据
+     * <p>
+     * 绑定到某一份元数据对象，按 baseUrl 保存编码结果；元数据替换后整体作废，
+     * 因此每个元数据版本（每种访问路径）只编码一次。
+     * </p>
+     */
+    private volatile EncodedMetadata encodedMetadata;
+
+    private static final class EncodedMetadata {
+        /** 同一份元数据最多保留的 baseUrl 数（防止伪造的 Context Path 撑大缓存） */
+        static final int MAX_BASE_URLS = 8;
+
+        final Map<String, Object> meta;
+        final Map<String, byte[]> byBaseUrl = new ConcurrentHashMap<>();
+
+        EncodedMetadata(Map<String, Object> meta) {
+            this.meta = meta;
+        }
+    }
+    
+    /**
+     * 单接口元数据缓存
+     * <p>
+     * Key 为映射信息，Value 记录该映射生成的接口条目及其读取过的源码类，
+     * 源码变更时只需失效依赖了这些类的条目，重新生成的成本与改动规模成正比。
+     * </p>
+     */
+    private volatile Map<Object, EndpointEntry> endpointCache = new ConcurrentHashMap<>();
+
+    /**
+     * 正在进行的元数据生成（同一时间只有一个，并发请求共享其结果）
+     */
+    private final AtomicReference<CompletableFuture<Map<String, Object>>> inFlight = new AtomicReference<>();
+
+    /** 是否有待执行的全量重建（手动刷新后置位，由后台线程消费） */
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    /**
+     * 缓存失效代数：每次按类失效或清空缓存时递增。
+     * 生成过程中代数发生变化说明结果可能已过期，此时结果只返回给本轮等待者，不写入缓存。
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** 元数据版本号和各接口修订号 */
+    private final MetadataVersioning versioning = new MetadataVersioning();
+
+    /** 元数据生成耗时：首次、最近一次（纳秒）及次数，生成本身是串行的 */
+    private volatile long firstBuildNanos;
+    private volatile long lastBuildNanos;
+    private volatile boolean lastBuildFull;
+    private volatile long lastBuildAt;
+    private volatile int lastBuildEndpoints;
+    private final AtomicLong buildCount = new AtomicLong();
+
+    /** 后台重建线程 */
+    private ExecutorService rebuildExecutor;
+
+    /** 上次输出后台重建失败告警的时间 */
+    private final AtomicLong lastRebuildWarnAt = new AtomicLong(Long.MIN_VALUE / 2);
+
+    /** 当前 Web 栈的映射来源（按需从容器获取仪表盘控制器，不强制其提前初始化） */
+    private final Supplier<Collection<EndpointMapping>> mappingSource = this::collectRegisteredMappings;
+    
+    // --- 环境配置 ---
+    /**
+     * 当前运行环境（默认为 prod）
+     * <p>
+     * 开发环境（dev）在源码监听器运行时同样使用缓存（由监听器按类失效），
+     * 监听器未运行时禁用缓存，确保接口变更立即生效。
+     * </p>
+     */
+    @Value("${spring.profiles.active:prod}")
+    private String activeProfile;
+
+    /** 联邦模式下本服务在目录中显示的名称 */
+    @Value("${sky.dashboard.federation.local-name:${spring.application.name:local}}")
+    private String localServiceName;
+    
+    // --- 依赖注入 ---
+    @Autowired
+    private SourceWatcher sourceWatcher;
+
+    @Autowired
+    private FederationService federationService;
+
+    @Autowired
+    private MetadataSnapshotStore snapshotStore;
+
+    @Autowired
+    private ObjectProvider<EndpointMappingSource> mappingSources;
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    /**
+     * 参数信息封装类
+     * <p>
+     * 用于封装方法参数解析的结果，包括参数名列表、详细参数信息、
+     * 请求体模板和请求类型（JSON/FORM）。
+     * </p>
+     * 
+     * @since 1.0
+     */
+    private static class ParameterInfo {
+        /** 参数名称列表，用于 URL 显示 */
+        List<String> paramNames = new ArrayList<>();
+        
+        /** 详细参数信息列表，格式："name|type|location|description" */
+        List<String> detailedParams = new ArrayList<>();
+        
+        /** 请求体 JSON 模板（如果有 @RequestBody） */
+        String bodyTemplate = "";
+        
+        /** 是否为 JSON 请求（true=JSON, false=FORM） */
+        boolean isJson = false;
+    }
+    
+    
+    /**
+     * 解析方法参数信息（提取的核心逻辑）
+     * <p>
+     * 统一处理参数解析，支持以下注解：
+     * <ul>
+     *   <li>@RequestBody - 请求体参数，生成 JSON 模板</li>
+     *   <li>@RequestParam - 查询参数</li>
+     *   <li>@PathVariable - 路径变量</li>
+     *   <li>无注解 - 默认作为查询参数处理</li>
+     * </ul>
+     * </p>
+     * 
+     * <p><b>处理逻辑</b>：
+     * <ol>
+     *   <li>遍历所有方法参数</li>
+     *   <li>提取参数名、类型、JavaDoc 描述</li>
+     *   <li>根据注解类型分类处理</li>
+     *   <li>对复杂类型生成 JSON 模板</li>
+     * </ol>
+     * </p>
+     * 
+     * @param handlerMethod Spring MVC 处理方法对象
+     * @return ParameterInfo 参数信息封装对象
+     * @see ParameterInfo
+     */
+    private ParameterInfo parseMethodParameters(org.springframework.web.method.HandlerMethod handlerMethod) {
+        ParameterInfo info = new ParameterInfo();
+        
+        for (org.springframework.core.MethodParameter param : handlerMethod.getMethodParameters()) {
+            param.initParameterNameDiscovery(parameterNameDiscoverer);
+            String pName = param.getParameterName();
+            String pType = param.getParameterType().getSimpleName();
+            String pDesc = cleanJavaDocDescription(
+                JavaDocReader.getParamDescription(handlerMethod.getBeanType(), handlerMethod.getMethod(), pName),
+                "无描述"
+            );
+
+            if (param.hasParameterAnnotation(org.springframework.web.bind.annotation.RequestBody.class)) {
+                info.isJson = true;
+                Class<?> paramType = param.getParameterType();
+                if (org.springframework.beans.BeanUtils.isSimpleValueType(paramType) || paramType.getName().startsWith("java.lang")) {
+                    info.paramNames.add("BODY:" + pType);
+                    info.detailedParams.add(formatParameterDetail("Body", pType, "Body", "请求体"));
+                } else {
+                    try {
+                        Object template = generateTemplate(paramType, 0);
+                        info.bodyTemplate = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(template);
+                        info.detailedParams.add(formatParameterDetail("Body", pType, "Body", "JSON 结构体"));
+                    } catch (Exception e) {
+                        info.paramNames.add("BODY:ComplexType");
+                    }
+                }
+            } else if (param.hasParameterAnnotation(org.springframework.web.bind.annotation.RequestParam.class)) {
+                org.springframework.web.bind.annotation.RequestParam rp = param.getParameterAnnotation(org.springframework.web.bind.annotation.RequestParam.class);
+                String name = getOrDefault(rp.name(), pName);
+                if (name != null) {
+                    info.paramNames.add(name);
+                    info.detailedParams.add(formatParameterDetail(name, pType, "Query", pDesc));
+                }
+            } else if (param.hasParameterAnnotation(org.springframework.web.bind.annotation.PathVariable.class)) {
+                org.springframework.web.bind.annotation.PathVariable pv = param.getParameterAnnotation(org.springframework.web.bind.annotation.PathVariable.class);
+                String name = getOrDefault(pv.name(), pName);
+                if (name != null) {
+                    info.paramNames.add("PATH:" + name);
+                    info.detailedParams.add(formatParameterDetail(name, pType, "Path", pDesc));
+                }
+            } else {
+                if (org.springframework.beans.BeanUtils.isSimpleValueType(param.getParameterType()) || param.getParameterType().getName().startsWith("java.lang")) {
+                    if (pName != null) {
+                        info.detailedParams.add(formatParameterDetail(pName, pType, "Query", pDesc));
+                    }
+                }
+            }
+        }
+        
+        return info;
+    }
+
+    /**
+     * 是否为仪表盘自身的路径（不出现在接口目录中）
+     */
+    public static boolean isDashboardPath(String pattern) {
+        return DASHBOARD_PATHS.contains(pattern) || pattern.startsWith(DASHBOARD_PATH_PREFIX);
+    }
+
+    /**
+     * 获取接口元数据
+     * <p>
+     * <b>缓存策略</b>：
+     * <ul>
+     *   <li>开发环境（dev）：源码监听器运行时使用缓存并按类失效，否则禁用缓存</li>
+     *   <li>生产环境（prod）：使用缓存，提升性能</li>
+     * </ul>
+     * 返回结果包含 {@code etag}（内容哈希），由调用方结合 baseUrl 处理条件请求。
+     * 返回的 Map 可能是共享缓存，调用方不得修改。
+     * </p>
+     *
+     * @param mappings 当前全部映射（仅在需要生成时调用）
+     * @param baseUrl 基础路径（Context Path）
+     * @return 元数据
+     */
+    public Map<String, Object> getMetadata(Supplier<Collection<EndpointMapping>> mappings, String baseUrl) {
+        boolean cacheable = isCacheable();
+        
+        // 不可缓存时全量重新生成，或缓存为空时（增量）重新生成；并发请求共享同一次生成
+        Map<String, Object> meta = cacheable ? cachedMetadata : null;
+        if (meta == null) {
+            meta = await(startBuild(mappings, baseUrl, !cacheable));
+        }
+        return meta;
+    }
+
+    /**
+     * 获取 CBOR 编码的元数据
+     * <p>
+     * 内容与 JSON 版本相同（附带 {@code baseUrl}），编码见 {@link CborEncoder}。
+     * 传入的是缓存中的元数据时复用预编码结果，否则（如开发环境禁用缓存）每次重新编码。
+     * </p>
+     *
+     * @param meta {@link #getMetadata} 的返回值
+     * @param baseUrl 基础路径（Context Path）
+     * @return CBOR 字节，调用方不得修改
+     */
+    public byte[] getMetadataCbor(Map<String, Object> meta, String baseUrl) {
+        EncodedMetadata encoded = encodedMetadata;
+        if (meta != cachedMetadata) {
+            return encodeWithBaseUrl(meta, baseUrl);
+        }
+        if (encoded == null || encoded.meta != meta) {
+            encoded = new EncodedMetadata(meta);
+            encodedMetadata = encoded;
+        }
+        byte[] bytes = encoded.byBaseUrl.get(baseUrl);
+        if (bytes == null) {
+            bytes = encodeWithBaseUrl(meta, baseUrl);
+            if (encoded.byBaseUrl.size() < EncodedMetadata.MAX_BASE_URLS) {
+                encoded.byBaseUrl.put(baseUrl, bytes);
+            }
+        }
+        return bytes;
+    }
+
+    private static byte[] encodeWithBaseUrl(Map<String, Object> meta, String baseUrl) {
+        Map<String, Object> result = new HashMap<>(meta);
+        result.put("baseUrl", baseUrl);
+        return CborEncoder.encode(result);
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "sky-metadata-rebuild");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 刷新元数据（后台全量重建）
+     * <p>
+     * 与 {@link #clearCaches()} 不同，重建完成前继续返回旧的元数据，
+     * 完成后一次性替换；多次刷新在重建开始前合并为一次。
+     * </p>
+     */
+    public void refresh() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::runPendingRebuild);
+        }
+    }
+
+    private void runPendingRebuild() {
+        if (!rebuildPending.get()) {
+            return;
+        }
+        Map<String, Object> current = cachedMetadata;
+        String baseUrl = current != null ? (String) current.get("baseUrl") : "";
+        try {
+            await(startBuild(mappingSource, baseUrl, false));
+        } catch (RuntimeException e) {
+            // 重建失败时保留旧数据，下次刷新再试；告警按时间窗口限流
+            long now = System.currentTimeMillis();
+            long last = lastRebuildWarnAt.get();
+            if (now - last >= REBUILD_WARN_INTERVAL_MS && lastRebuildWarnAt.compareAndSet(last, now)) {
+                logger.warn("Background metadata rebuild failed, keeping previous metadata", e);
+            } else {
+                logger.debug("Background metadata rebuild failed again: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * 在调用线程上启动一次生成，已有生成在进行时直接返回该生成
+     *
+     * @param full 是否全量重建（丢弃接口条目和 JavaDoc 缓存）；有待执行的刷新时同样全量重建
+     */
+    private CompletableFuture<Map<String, Object>> startBuild(Supplier<Collection<EndpointMapping>> mappings,
+                                                              String baseUrl, boolean full) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        while (!inFlight.compareAndSet(null, future)) {
+            CompletableFuture<Map<String, Object>> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+        }
+        try {
+            future.complete(build(mappings, baseUrl, full));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(future, null);
+            // 本轮进行中收到的刷新请求需要再执行一次
+            if (rebuildPending.get()) {
+                rebuildExecutor.execute(this::runPendingRebuild);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * 执行一次生成
+     * <p>
+     * 全量重建时在新的条目缓存上生成，完成后整体替换，生成期间旧缓存和旧元数据保持可用。
+     * </p>
+     */
+    private Map<String, Object> build(Supplier<Collection<EndpointMapping>> mappings, String baseUrl, boolean full) {
+        long gen = generation.get();
+        boolean rebuild = full || rebuildPending.get();
+        if (rebuild) {
+            rebuildPending.set(false);
+            JavaDocReader.clear();
+        }
+        long start = System.nanoTime();
+        Map<Object, EndpointEntry> cache = rebuild ? new ConcurrentHashMap<>() : endpointCache;
+        Map<String, Object> meta = generateMetadata(mappings.get(), baseUrl, cache);
+
+        if (generation.get() != gen) {
+            // 生成期间缓存被失效，结果可能已过期：只交给本轮等待者，不推进版本；全量重建的请求保留到下一轮
+            if (rebuild && !full) {
+                rebuildPending.set(true);
+            }
+            meta.put("version", versioning.current());
+            meta.put("etag", computeEtag(meta));
+            recordBuild(System.nanoTime() - start, rebuild, cache.size());
+            return meta;
+        }
+        meta.put("version", versioning.apply(controllerGroups(meta)));
+        meta.put("etag", computeEtag(meta));
+        recordBuild(System.nanoTime() - start, rebuild, cache.size());
+        if (rebuild) {
+            endpointCache = cache;
+        }
+        if (isCacheable()) {
+            cachedMetadata = meta;
+        }
+        return meta;
+    }
+
+    private void recordBuild(long nanos, boolean full, int endpoints) {
+        if (buildCount.getAndIncrement() == 0) {
+            firstBuildNanos = nanos;
+        }
+        lastBuildNanos = nanos;
+        lastBuildFull = full;
+        lastBuildEndpoints = endpoints;
+        lastBuildAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 元数据生成耗时统计（首次生成发生在首次打开仪表盘时，不在启动过程中）
+     *
+     * @return 生成次数、首次和最近一次的耗时（毫秒）；尚未生成时 {@code builds} 为 0
+     */
+    public Map<String, Object> getBuildStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("builds", buildCount.get());
+        stats.put("firstMs", firstBuildNanos / 1_000_000.0);
+        stats.put("lastMs", lastBuildNanos / 1_000_000.0);
+        stats.put("lastFull", lastBuildFull);
+        stats.put("lastEndpoints", lastBuildEndpoints);
+        stats.put("lastAt", lastBuildAt);
+        return stats;
+    }
+
+    private static Map<String, Object> await(CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 获取自指定版本以来的元数据增量
+     * <p>
+     * 返回 {@code version}、{@code upserts}（新增或变化的接口及其分组）和 {@code removed}（已删除的接口 ID，
+     * 即接口的 {@code id} 字段）；版本号过旧（早于本进程的历史起点）时返回 null，调用方应返回全量元数据。
+     * </p>
+     *
+     * @param mappings 当前全部映射（仅在需要生成时调用）
+     * @param baseUrl 基础路径（Context Path）
+     * @param since 客户端已有的版本号
+     * @return 增量，无法提供时返回 null
+     */
+    public Map<String, Object> getMetadataDelta(Supplier<Collection<EndpointMapping>> mappings, String baseUrl, long since) {
+        return getMetadataDelta(getMetadata(mappings, baseUrl), since);
+    }
+
+    /**
+     * 基于已取得的元数据计算增量（不会触发生成，可在事件循环线程上调用）
+     *
+     * @param meta 元数据（如 {@link #peekMetadata()} 的结果）
+     * @param since 客户端已有的版本号
+     * @return 增量，无法提供时返回 null
+     */
+    public Map<String, Object> getMetadataDelta(Map<String, Object> meta, long since) {
+        return versioning.delta(meta, since);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<Map<String, String>>> controllerGroups(Map<String, Object> meta) {
+        return (Map<String, List<Map<String, String>>>) meta.get("controllerGroups");
+    }
+
+    /**
+     * 使用当前 Web 栈的映射来源获取元数据
+     * <p>
+     * 供不经过仪表盘控制器的组件（如 Mock 服务）使用，基础路径按空 Context Path 处理。
+     * </p>
+     *
+     * @return 元数据
+     */
+    public Map<String, Object> getMetadata() {
+        return getMetadata(mappingSource, "");
+    }
+
+    /**
+     * 获取各接口的处理方法签名哈希
+     * <p>
+     * Key 为 "方法 路径"（如 "[GET] /demo/hello"），与元数据中的 method/path 对应；
+     * 签名随参数或返回类型结构变化，可用于判断按接口保存的历史数据是否仍然适用。
+     * </p>
+     *
+     * @return 接口 -> 签名哈希
+     */
+    public Map<String, String> getEndpointSignatures() {
+        getMetadata();
+        Map<String, String> signatures = new HashMap<>();
+        for (EndpointEntry entry : endpointCache.values()) {
+            for (Map<String, String> endpoint : entry.getEndpoints()) {
+                signatures.put(endpoint.get("method") + " " + endpoint.get("path"), entry.getSignature());
+            }
+        }
+        return signatures;
+    }
+
+    /**
+     * 获取接口的响应字段树（即元数据中的 responseFieldsDetailed）
+     * <p>
+     * 每个元素为 [字段路径, 类型, 描述]，路径用 "." 连接，集合元素和 Map 值不加下标，
+     * 如 "data.items.name"。
+     * </p>
+     *
+     * @param method 请求方法（如 GET）
+     * @param path 接口路径模式（如 /demo/users/{id}）
+     * @return 响应字段；接口不存在或无法分析时返回空列表
+     */
+    public List<String[]> getResponseFields(String method, String path) {
+        getMetadata();
+        for (EndpointEntry entry : endpointCache.values()) {
+            for (Map<String, String> ep : entry.getEndpoints()) {
+                String methods = ep.get("method");
+                if (!path.equals(ep.get("path")) || methods == null
+                        || !("ALL".equals(methods) || methods.contains(method))) {
+                    continue;
+                }
+                List<String[]> fields = new ArrayList<>();
+                String detailed = ep.get("responseFieldsDetailed");
+                if (detailed != null && !detailed.isEmpty()) {
+                    for (String field : detailed.split("\\|\\|")) {
+                        String[] parts = field.split("\\|", 3);
+                        fields.add(new String[]{parts[0], parts.length > 1 ? parts[1] : "", parts.length > 2 ? parts[2] : ""});
+                    }
+                }
+                return fields;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 通过当前 Web 栈的仪表盘控制器收集映射
+     *
+     * @return 当前全部映射；没有可用的控制器时返回空列表
+     */
+    private Collection<EndpointMapping> collectRegisteredMappings() {
+        EndpointMappingSource source = mappingSources.getIfUnique();
+        return source != null ? source.collectMappings() : Collections.<EndpointMapping>emptyList();
+    }
+
+    /**
+     * 获取已缓存的元数据（无需生成时返回，否则返回 null）
+     * <p>
+     * 供 WebFlux 控制器判断能否直接在事件循环线程上返回，避免无谓的线程切换。
+     * </p>
+     *
+     * @return 缓存的元数据，需要（重新）生成时返回 null
+     */
+    public Map<String, Object> peekMetadata() {
+        return isCacheable() ? cachedMetadata : null;
+    }
+    
+    /**
+     * 开发环境下只有源码监听器在运行时缓存才是准确的
+     */
+    private boolean isCacheable() {
+        boolean isDevelopment = "dev".equalsIgnoreCase(activeProfile) || 
+                                "development".equalsIgnoreCase(activeProfile);
+        return !isDevelopment || sourceWatcher.isRunning();
+    }
+    
+    /**
+     * 计算元数据内容哈希（接口条目均为字符串，哈希值随内容变化且跨进程稳定）
+     */
+    private String computeEtag(Map<String, Object> meta) {
+        return Integer.toHexString(meta.get("controllerGroups").hashCode());
+    }
+
+    /**
+     * 源码变更时按类失效缓存
+     * <p>
+     * 仅移除读取过变更类的接口条目，其余条目在下次请求时直接复用。
+     * </p>
+     *
+     * @param event 源码变更事件
+     */
+    @EventListener
+    public void onSourceChanged(SourceChangedEvent event) {
+        if (event.isOverflow()) {
+            clearCaches();
+            return;
+        }
+        generation.incrementAndGet();
+        JavaDocReader.invalidate(event.getClassNames());
+        endpointCache.values().removeIf(entry -> !Collections.disjoint(entry.getSources().keySet(), event.getClassNames()));
+        cachedMetadata = null;
+    }
+    
+    /**
+     * 立即清空全部缓存（JavaDoc 源码、接口条目和组装结果），下次请求同步重新生成
+     * <p>
+     * 手动刷新请使用 {@link #refresh()}，重建期间不影响仪表盘访问。
+     * </p>
+     */
+    public void clearCaches() {
+        generation.incrementAndGet();
+        JavaDocReader.clear();
+        endpointCache = new ConcurrentHashMap<>();
+        cachedMetadata = null;
+    }
+    
+    /**
+     * 生成 API 元数据（核心逻辑）
+     * <p>
+     * 按映射复用 {@code cache} 中的条目；缓存中没有时先尝试从持久化快照恢复
+     * （签名和源码版本戳均一致），只为新增或已变化的映射重新解析，并在有变化时异步写回快照。
+     * </p>
+     */
+    private Map<String, Object> generateMetadata(Collection<EndpointMapping> mappings, String baseUrl,
+                                                 Map<Object, EndpointEntry> cache) {
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("baseUrl", baseUrl);
+        if (federationService.isEnabled()) {
+            meta.put("federation", true);
+            meta.put("serviceName", localServiceName);
+        }
+        
+        // Map<ControllerName, List<EndpointConf>>
+        Map<String, List<Map<String, String>>> controllerGroups = new TreeMap<>();
+
+        boolean changed = false;
+        Set<Object> keys = new java.util.HashSet<>();
+        for (EndpointMapping mapping : mappings) {
+            // 过滤掉仪表盘自身的映射
+            if (mapping.getPatterns().stream().allMatch(ApiMetadataService::isDashboardPath)) {
+                continue;
+            }
+            keys.add(mapping.getKey());
+            
+            EndpointEntry cached = cache.get(mapping.getKey());
+            if (cached == null) {
+                String signature = computeSignature(mapping);
+                cached = snapshotStore.restore(signature);
+                if (cached != null) {
+                    // 签名不含 Context Path，快照可能来自不同的部署路径：按当前路径重新生成 url
+                    for (Map<String, String> endpoint : cached.getEndpoints()) {
+                        endpoint.put("url", baseUrl + endpoint.get("path"));
+                    }
+                } else {
+                    cached = buildEndpointEntry(mapping, baseUrl);
+                    cached.setSignature(signature);
+                    // 接口 ID：签名区分同一路径上的不同映射（params/headers/consumes/produces），路径区分同一映射的多个模式
+                    for (Map<String, String> endpoint : cached.getEndpoints()) {
+                        endpoint.put("id", signature + " " + endpoint.get("path"));
+                    }
+                    changed = true;
+                }
+                cache.put(mapping.getKey(), cached);
+            }
+            if (!cached.getEndpoints().isEmpty()) {
+                controllerGroups.computeIfAbsent(cached.getGroup(), k -> new ArrayList<>()).addAll(cached.getEndpoints());
+            }
+        }
+        // 移除已注销的映射
+        changed |= cache.keySet().retainAll(keys);
+        if (changed) {
+            snapshotStore.save(cache.values());
+        }
+        
+        // 组内排序
+        controllerGroups.forEach((k, v) -> v.sort(Comparator.comparing(m -> m.get("url"))));
+
+        meta.put("controllerGroups", controllerGroups);
+        return meta;
+    }
+
+    /**
+     * 生成单个映射的元数据条目，并记录生成过程中读取的源码类
+     */
+    private EndpointEntry buildEndpointEntry(EndpointMapping mapping, String baseUrl) {
+        HandlerMethod handlerMethod = mapping.getHandlerMethod();
+        EndpointEntry result = new EndpointEntry();
+        if (handlerMethod == null) {
+            return buildRouterFunctionEntry(mapping, baseUrl, result);
+        }
+        Set<String> sources = JavaDocReader.startRecording();
+        try {
+            // 解析参数信息（提取的方法）
+            ParameterInfo paramInfo = parseMethodParameters(handlerMethod);
+            String paramType = paramInfo.isJson ? "JSON" : "FORM";
+
+            // 返回类型分析
+            String responseBodyTemplate = "";
+            String returnTypeSimpleName = "void";
+            try {
+                Class<?> returnType = rawClass(unwrapAsyncType(handlerMethod.getReturnType().getGenericParameterType()));
+                returnTypeSimpleName = returnType.getSimpleName();
+                if (returnType != void.class && returnType != Void.class) {
+                    Object template = generateTemplate(returnType, 0);
+                    if (template != null) {
+                        responseBodyTemplate = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(template);
+                    }
+                }
+            } catch (Exception e) {
+                // 返回值解析失败不影响接口列表展示，使用默认值
+                responseBodyTemplate = "{}";
+            }
+
+            for (String pattern : mapping.getPatterns()) {
+                // 跳过仪表盘自身、错误端点和内部视图
+                // 过滤仪表盘自身的端点
+                if (isDashboardPath(pattern)) continue;
+
+                Map<String, String> endpoint = new HashMap<>();
+                endpoint.put("url", baseUrl + pattern);
+                endpoint.put("path", pattern); // 原始路径用于过滤
+                endpoint.put("method", mapping.getMethods());
+                
+                String controllerSimpleName = handlerMethod.getBeanType().getSimpleName();
+                String controllerDesc = JavaDocReader.getClassDescription(handlerMethod.getBeanType());
+                // 如果有描述则使用描述，否则使用 SimpleName
+                String controllerInternalName = controllerSimpleName; 
+                String displayGroupName = getOrDefault(controllerDesc, controllerSimpleName);
+
+                endpoint.put("bean", controllerSimpleName);
+                endpoint.put("function", handlerMethod.getMethod().getName());
+                endpoint.put("paramType", paramType);
+                endpoint.put("params", String.join(",", paramInfo.paramNames));
+                // 使用特殊分隔符连接以便于解析
+                endpoint.put("requestParamsDetailed", String.join("||", paramInfo.detailedParams));
+                endpoint.put("bodyTemplate", paramInfo.bodyTemplate);
+                endpoint.put("responseBodyTemplate", responseBodyTemplate);
+                endpoint.put("returnType", returnTypeSimpleName);
+                
+                // 分析响应字段
+                List<String> validResponseFields = new ArrayList<>();
+                try {
+                    Type returnType = unwrapAsyncType(handlerMethod.getReturnType().getGenericParameterType());
+                    if (returnType != void.class && returnType != Void.class) {
+                        analyzeResponseFields(returnType, "", 0, validResponseFields);
+                    }
+                } catch (Exception e) {
+                   // 忽略异常
+                }
+                endpoint.put("responseFieldsDetailed", String.join("||", validResponseFields));
+                
+                // 描述优先级：JavaDoc
+                String desc = "";
+                // 尝试从源码 JavaDoc 读取
+                String doc = JavaDocReader.getMethodDescription(handlerMethod.getBeanType(), handlerMethod.getMethod());
+                if (doc != null) desc = doc;
+                endpoint.put("description", desc);
+
+                result.setGroup(displayGroupName);
+                result.getEndpoints().add(endpoint);
+            }
+        } finally {
+            JavaDocReader.stopRecording();
+        }
+        for (String source : sources) {
+            result.getSources().put(source, JavaDocReader.sourceStamp(source));
+        }
+        return result;
+    }
+
+    /**
+     * 函数式路由没有可反射的处理方法，只展示路径和请求方法
+     */
+    private EndpointEntry buildRouterFunctionEntry(EndpointMapping mapping, String baseUrl, EndpointEntry result) {
+        result.setGroup(ROUTER_FUNCTION_GROUP);
+        for (String pattern : mapping.getPatterns()) {
+            if (isDashboardPath(pattern)) continue;
+            Map<String, String> endpoint = new HashMap<>();
+            endpoint.put("url", baseUrl + pattern);
+            endpoint.put("path", pattern);
+            endpoint.put("method", mapping.getMethods());
+            endpoint.put("bean", ROUTER_FUNCTION_GROUP);
+            endpoint.put("function", "route");
+            endpoint.put("paramType", "FORM");
+            endpoint.put("params", "");
+            endpoint.put("requestParamsDetailed", "");
+            endpoint.put("bodyTemplate", "");
+            endpoint.put("responseBodyTemplate", "");
+            endpoint.put("returnType", "");
+            endpoint.put("responseFieldsDetailed", "");
+            endpoint.put("description", "");
+            result.getEndpoints().add(endpoint);
+        }
+        return result;
+    }
+
+    /**
+     * 解开异步/响应式包装类型（如 {@code Mono<User>} -> {@code User}）
+     * <p>
+     * 按类名判断，不要求 Reactor 在 Classpath 上。
+     * </p>
+     */
+    private static Type unwrapAsyncType(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType pt = (ParameterizedType) type;
+            if (ASYNC_WRAPPER_TYPES.contains(rawClass(pt).getName())) {
+                return unwrapAsyncType(pt.getActualTypeArguments()[0]);
+            }
+        }
+        return type;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return Object.class;
+    }
+
+    /**
+     * 计算处理方法签名哈希（快照索引）
+     * <p>
+     * 覆盖映射条件、方法签名、参数注解以及参数/返回类型的字段结构，
+     * 任何会影响生成结果的结构变化都会改变签名；JavaDoc 变化由源码版本戳判断。
+     * </p>
+     */
+    private String computeSignature(EndpointMapping mapping) {
+        HandlerMethod handlerMethod = mapping.getHandlerMethod();
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(mapping.getKey()).append('|');
+        if (handlerMethod == null) {
+            return Integer.toHexString(sb.toString().hashCode()) + Integer.toHexString(sb.length());
+        }
+        Method method = handlerMethod.getMethod();
+        sb.append(method.toGenericString()).append('|');
+        sb.append(Arrays.deepToString(method.getParameterAnnotations())).append('|');
+        for (Type type : method.getGenericParameterTypes()) {
+            appendTypeShape(type, 0, sb);
+        }
+        appendTypeShape(method.getGenericReturnType(), 0, sb);
+        return Integer.toHexString(sb.toString().hashCode()) + Integer.toHexString(sb.length());
+    }
+
+    /**
+     * 追加类型结构描述（与模板生成相同的递归深度）
+     */
+    private void appendTypeShape(Type type, int depth, StringBuilder sb) {
+        sb.append(type.getTypeName()).append(';');
+        if (depth > MAX_RECURSION_DEPTH) return;
+        if (type instanceof ParameterizedType) {
+            for (Type arg : ((ParameterizedType) type).getActualTypeArguments()) {
+                appendTypeShape(arg, depth + 1, sb);
+            }
+            type = ((ParameterizedType) type).getRawType();
+        }
+        if (!(type instanceof Class)) return;
+        Class<?> clazz = (Class<?>) type;
+        if (clazz.isArray()) {
+            appendTypeShape(clazz.getComponentType(), depth + 1, sb);
+            return;
+        }
+        if (BeanUtils.isSimpleValueType(clazz) || clazz.getName().startsWith("java.")) return;
+        sb.append('{');
+        for (Field field : clazz.getDeclaredFields()) {
+            sb.append(field.getName()).append(':');
+            appendTypeShape(field.getGenericType(), depth + 1, sb);
+        }
+        sb.append('}');
+    }
+
+    private void analyzeResponseFields(Type type, String prefix, int depth, List<String> fields) {
+         if (depth > MAX_RECURSION_DEPTH) return;
+         
+         Class<?> clazz = null;
+         if (type instanceof Class) {
+             clazz = (Class<?>) type;
+         } else if (type instanceof ParameterizedType) {
+             clazz = (Class<?>) ((ParameterizedType) type).getRawType();
+         }
+         
+         if (clazz == null || BeanUtils.isSimpleValueType(clazz) || clazz.getName().startsWith("java.lang") && !Iterable.class.isAssignableFrom(clazz) && !Map.class.isAssignableFrom(clazz)) return;
+         
+         // 处理集合/迭代器
+         if (Iterable.class.isAssignableFrom(clazz) || clazz.isArray()) {
+             if (type instanceof ParameterizedType) {
+                 Type genericType = ((ParameterizedType) type).getActualTypeArguments()[0];
+                 analyzeResponseFields(genericType, prefix, depth + 1, fields);
+             } else if (clazz.isArray()) {
+                 analyzeResponseFields(clazz.getComponentType(), prefix, depth + 1, fields);
+             }
+             return;
+         }
+         
+         // 处理 Map
+         if (Map.class.isAssignableFrom(clazz)) {
+             if (type instanceof ParameterizedType) {
+                 Type[] typeArgs = ((ParameterizedType) type).getActualTypeArguments();
+                 if (typeArgs.length >= 2) {
+                     // Key 通常是字符串，分析 Value
+                     analyzeResponseFields(typeArgs[1], prefix, depth + 1, fields);
+                 }
+             }
+             return;
+         }
+
+         for (Field field : clazz.getDeclaredFields()) {
+             if (Modifier.isStatic(field.getModifiers())) continue;
+             String fName = (prefix.isEmpty() ? "" : prefix + ".") + field.getName();
+             String fType = field.getType().getSimpleName();
+             
+             // 如果字段是泛型（如 List<String> items），尝试获取更友好的显示名称
+             if (field.getGenericType() instanceof ParameterizedType) {
+                 fType = field.getGenericType().toString().replaceAll("class |interface ", "").replaceAll("java\\.lang\\.", "").replaceAll("java\\.util\\.", "");
+                 // 简化自定义类的完整包名。
+                 // 暂时保持简单，如果不是参数化类型则使用简单名称。
+             }
+
+             String fDesc = cleanJavaDocDescription(
+                 JavaDocReader.getFieldDescription(clazz, field.getName()),
+                 "-"
+             );
+             
+             fields.add(fName + "|" + fType + "|" + fDesc);
+             
+             // 复杂类型递归处理
+             if (!BeanUtils.isSimpleValueType(field.getType()) && !field.getType().getName().startsWith("java.lang")) {
+                 analyzeResponseFields(field.getType(), fName, depth + 1, fields);
+             } else if (Collection.class.isAssignableFrom(field.getType()) || Map.class.isAssignableFrom(field.getType())) {
+                 // 同样深入处理集合/Map 类型的字段
+                 analyzeResponseFields(field.getGenericType(), fName, depth + 1, fields);
+             }
+         }
+    }
+
+
+
+    private Object generateTemplate(Type type, int depth) {
+        if (depth > MAX_RECURSION_DEPTH) {
+            return "Recursion Limit Reached";
+        }
+
+        Class<?> rawClass = null;
+        if (type instanceof Class) {
+            rawClass = (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            rawClass = (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+
+        if (rawClass == null) return null;
+
+        if (BeanUtils.isSimpleValueType(rawClass) || rawClass.getName().startsWith("java.lang")) {
+            // 智能默认值：提供合理的示例数据
+            if (rawClass == String.class) return "示例文本";
+            if (rawClass == Integer.class || rawClass == int.class) return 1;
+            if (rawClass == Long.class || rawClass == long.class) return 1L;
+            if (rawClass == Double.class || rawClass == double.class) return 1.0;
+            if (rawClass == Float.class || rawClass == float.class) return 1.0f;
+            if (rawClass == Boolean.class || rawClass == boolean.class) return true;
+            if (rawClass == Byte.class || rawClass == byte.class) return (byte) 1;
+            if (rawClass == Short.class || rawClass == short.class) return (short) 1;
+            return "请填写 " + rawClass.getSimpleName();
+        }
+
+        if (Collection.class.isAssignableFrom(rawClass)) {
+            if (type instanceof ParameterizedType) {
+                Type genericType = ((ParameterizedType) type).getActualTypeArguments()[0];
+                return Collections.singletonList(generateTemplate(genericType, depth + 1));
+            }
+            return Collections.emptyList();
+        }
+
+        if (Map.class.isAssignableFrom(rawClass)) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("demoKey", "demoValue");
+            return map;
+        }
+        
+        if (rawClass.isArray()) {
+            return Collections.singletonList(generateTemplate(rawClass.getComponentType(), depth + 1));
+        }
+
+        // 复杂对象
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Field field : rawClass.getDeclaredFields()) {
+            map.put(field.getName(), generateTemplate(field.getGenericType(), depth + 1));
+        }
+        return map;
+    }
+    /**
+     * 获取指定接口的 Markdown 文档
+     * <p>
+     * 文档正文按路径缓存在对应的 {@link EndpointEntry} 上，随条目一起失效（源码变更、刷新缓存）；
+     * 同一接口的重复导出只需拼接可选的实际响应结果。
+     * </p>
+     *
+     * @param mappings 当前全部映射（仅在元数据需要生成时调用）
+     * @param url 接口地址（完整 URL、含 Context Path 的路径或原始路径）
+     * @param baseUrl 基础路径（Context Path）
+     * @return 文档，找不到接口时返回 null
+     */
+    public MarkdownFragment findMarkdown(Supplier<Collection<EndpointMapping>> mappings, String url, String baseUrl) {
+        getMetadata(mappings, baseUrl);
+        String path = normalizeExportPath(url, baseUrl);
+        for (EndpointEntry entry : endpointCache.values()) {
+            for (Map<String, String> endpoint : entry.getEndpoints()) {
+                String pattern = endpoint.get("path");
+                if (pattern.equals(path) || pattern.equals(url)) {
+                    return entry.getMarkdown().computeIfAbsent(pattern, k -> new MarkdownFragment(
+                            MarkdownLogo.BYTES, renderMarkdownBody(endpoint).getBytes(StandardCharsets.UTF_8), MARKDOWN_FOOTER));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 找不到接口时的提示文档
+     *
+     * @param url 请求的接口地址
+     * @return Markdown 文本
+     */
+    public static String markdownNotFound(String url) {
+        return "# 找不到接口\n\n在当前注册表中未找到请求的 API URL。\n\nURL: " + url;
+    }
+
+    /**
+     * 将导出请求中的地址还原为接口路径（去掉协议、主机和 Context Path）
+     */
+    private static String normalizeExportPath(String url, String baseUrl) {
+        String path = url;
+        int scheme = path.indexOf("://");
+        if (scheme > 0) {
+            int slash = path.indexOf('/', scheme + 3);
+            path = slash >= 0 ? path.substring(slash) : "/";
+        }
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        if (!baseUrl.isEmpty() && path.startsWith(baseUrl + "/")) {
+            path = path.substring(baseUrl.length());
+        }
+        return path;
+    }
+
+    /**
+     * 渲染接口正文（标题到响应示例，不含 Logo、实际响应结果和页脚）
+     */
+    private String renderMarkdownBody(Map<String, String> ep) {
+        StringBuilder sb = new StringBuilder(MARKDOWN_BUILDER_CAPACITY);
+        
+        // 生成标题（优先使用 description，否则使用 function）
+        String description = ep.get("description");
+        String function = ep.get("function");
+        String title = getOrDefault(description, getOrDefault(function, "未命名接口"));
+        sb.append("# ").append(title).append("\n\n");
+        
+        sb.append("## 基本信息\n");
+        sb.append("| 项目 | 内容 |\n");
+        sb.append("| --- | --- |\n");
+        sb.append("| **接口路径** | `").append(getOrDefault(ep.get("path"), "unknown")).append("` |\n");
+        sb.append("| **请求方法** | ").append(getOrDefault(ep.get("method"), "ALL")).append(" |\n");
+        sb.append("| **控制器** | ").append(getOrDefault(ep.get("bean"), "unknown")).append(" |\n\n");
+        
+        sb.append("## 请求参数\n");
+        String detailedParams = ep.get("requestParamsDetailed");
+        if (isNullOrEmpty(detailedParams)) {
+            sb.append("*无参数*\n\n");
+        } else {
+            sb.append("| 参数名 | 类型 | 位置 | 描述 |\n");
+            sb.append("| --- | --- | --- | --- |\n");
+            // 解析 "Name|Type|Loc|Desc || Name|Type|Loc|Desc"
+            String[] paramsList = detailedParams.split("\\|\\|");
+            for (String pStr : paramsList) {
+                if (pStr.trim().isEmpty()) continue;
+                String[] parts = pStr.split("\\|");
+                if (parts.length >= 4) {
+                     sb.append("| ").append(parts[0]).append(" | `").append(parts[1]).append("` | ").append(parts[2]).append(" | ").append(parts[3]).append(" |\n");
+                } else {
+                     // 兜底机制以防万一
+                     sb.append("| ").append(pStr).append(" | - | - | - |\n");
+                }
+            }
+            sb.append("\n");
+        }
+        
+        String body = ep.get("bodyTemplate");
+        if (!isNullOrEmpty(body)) {
+            sb.append("## 请求体示例\n");
+            sb.append("```json\n").append(body).append("\n```\n");
+        }
+
+        String respFields = ep.get("responseFieldsDetailed");
+        
+        sb.append("## 响应参数\n");
+        
+        if (respFields != null && !respFields.isEmpty()) {
+            sb.append("| 字段名 | 类型 | 描述 |\n");
+            sb.append("| --- | --- | --- |\n");
+             String[] fieldsList = respFields.split("\\|\\|");
+            for (String fStr : fieldsList) {
+                if (fStr.trim().isEmpty()) continue;
+                String[] parts = fStr.split("\\|");
+                if (parts.length >= 3) {
+                     sb.append("| ").append(parts[0]).append(" | `").append(parts[1]).append("` | ").append(parts[2]).append(" |\n");
+                }
+            }
+            sb.append("\n");
+        }
+        
+        String respTemplate = ep.get("responseBodyTemplate");
+        if (respTemplate != null && !respTemplate.isEmpty() && !respTemplate.equals("{}")) {
+             sb.append("### 响应示例\n");
+             sb.append("```json\n").append(respTemplate).append("\n```\n");
+        }
+        
+        return sb.toString();
+    }
+}
@@ -0,0 +1,161 @@
+package com.sky.core.meta;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 元数据的 CBOR 编码（RFC 8949）
+ * <p>
+ * 仅覆盖元数据模型用到的类型：Map、Collection/数组、字符串、数字、布尔和 null，其他对象按 {@code toString()} 编码。
+ * 整个文档包在 stringref 命名空间（tag 256）中，重复出现的字符串（字段名、类型名、分组名等）
+ * 第二次起只写表内序号（tag 25），大目录的体积因此明显小于 JSON。
+ * 仪表盘中的解码器见 dashboard-v3.js 的 {@code Cbor.decode}。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class CborEncoder {
+
+    public static final String MEDIA_TYPE = "application/cbor";
+
+    private static final int TAG_STRINGREF_NAMESPACE = 256;
+    private static final int TAG_STRINGREF = 25;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+
+    private CborEncoder() {
+    }
+
+    /**
+     * 编码一个文档
+     *
+     * @param value 根对象（通常是 Map）
+     * @return CBOR 字节
+     */
+    public static byte[] encode(Object value) {
+        CborEncoder encoder = new CborEncoder();
+        encoder.writeHead(6, TAG_STRINGREF_NAMESPACE);
+        encoder.write(value);
+        return encoder.out.toByteArray();
+    }
+
+    private void write(Object value) {
+        if (value == null) {
+            out.write(0xf6);
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? 0xf5 : 0xf4);
+        } else if (value instanceof CharSequence) {
+            writeString(value.toString());
+        } else if (value instanceof Number) {
+            writeNumber((Number) value);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            writeHead(5, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(String.valueOf(entry.getKey()));
+                write(entry.getValue());
+            }
+        } else if (value instanceof Collection) {
+            Collection<?> items = (Collection<?>) value;
+            writeHead(4, items.size());
+            for (Object item : items) {
+                write(item);
+            }
+        } else if (value instanceof Object[]) {
+            Object[] items = (Object[]) value;
+            writeHead(4, items.length);
+            for (Object item : items) {
+                write(item);
+            }
+        } else {
+            writeString(value.toString());
+        }
+    }
+
+    private void writeNumber(Number number) {
+        boolean integral = number instanceof Integer || number instanceof Long
+                || number instanceof Short || number instanceof Byte
+                || (number instanceof BigInteger && ((BigInteger) number).bitLength() < 64);
+        if (!integral) {
+            writeDouble(number.doubleValue());
+            return;
+        }
+        long l = number.longValue();
+        if (l >= 0) {
+            writeHead(0, l);
+        } else {
+            writeHead(1, -1 - l);
+        }
+    }
+
+    private void writeDouble(double d) {
+        out.write(0xfb);
+        long bits = Double.doubleToLongBits(d);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (bits >>> shift));
+        }
+    }
+
+    /**
+     * 写字符串：已在表中的写引用，否则写原文，并按 stringref 规则决定是否加入表
+     */
+    private void writeString(String s) {
+        Integer ref = stringRefs.get(s);
+        if (ref != null) {
+            writeHead(6, TAG_STRINGREF);
+            writeHead(0, ref);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeHead(3, bytes.length);
+        out.write(bytes, 0, bytes.length);
+        if (bytes.length >= minRefLength(stringRefs.size())) {
+            stringRefs.put(s, stringRefs.size());
+        }
+    }
+
+    /**
+     * 引用本身也要占字节，只有比引用更长的字符串才值得入表（IANA 注册的 stringref 扩展，tag 25/256）
+     */
+    private static int minRefLength(int index) {
+        if (index < 24) {
+            return 3;
+        } else if (index < 256) {
+            return 4;
+        } else if (index < 65536) {
+            return 5;
+        } else if (index < 4294967296L) {
+            return 7;
+        }
+        return 11;
+    }
+
+    private void writeHead(int major, long value) {
+        int type = major << 5;
+        if (value < 24) {
+            out.write(type | (int) value);
+        } else if (value < 256) {
+            out.write(type | 24);
+            out.write((int) value);
+        } else if (value < 65536) {
+            out.write(type | 25);
+            out.write((int) (value >>> 8));
+            out.write((int) value);
+        } else if (value < 4294967296L) {
+            out.write(type | 26);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift));
+            }
+        } else {
+            out.write(type | 27);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift));
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sky.core.meta;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单个映射的元数据条目
+ * <p>
+ * 一个 RequestMappingInfo 可能对应多个路径，每个路径生成一条接口信息。
+ * 条目同时记录生成时依赖的源码类及其版本戳，用于按类失效和快照校验。
+ * 字段均可被 Jackson 直接序列化，用于 {@link MetadataSnapshotStore} 持久化。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class EndpointEntry {
+
+    /** 处理方法签名哈希（映射条件 + 方法签名 + 参数/返回类型结构） */
+    private String signature;
+
+    /** 分组名称（控制器 JavaDoc 描述或类名） */
+    private String group;
+
+    /** 该映射下每个路径生成的接口信息 */
+    private List<Map<String, String>> endpoints = new ArrayList<>();
+
+    /** 生成过程中读取过的源码类 -> 源码版本戳 */
+    private Map<String, Long> sources = new LinkedHashMap<>();
+
+    /** 已渲染的 Markdown 文档：路径 -> 文档（不持久化，随条目一起失效） */
+    private final Map<String, MarkdownFragment> markdown = new ConcurrentHashMap<>();
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public void setSignature(String signature) {
+        this.signature = signature;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    public List<Map<String, String>> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Map<String, String>> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public Map<String, Long> getSources() {
+        return sources;
+    }
+
+    public void setSources(Map<String, Long> sources) {
+        this.sources = sources;
+    }
+
+    @JsonIgnore
+    public Map<String, MarkdownFragment> getMarkdown() {
+        return markdown;
+    }
+}
@@ -0,0 +1,52 @@
+package com.sky.core.meta;
+
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Set;
+
+/**
+ * 与 Web 栈无关的接口映射描述
+ * <p>
+ * Servlet（Spring MVC）和 Reactive（WebFlux）各自的 RequestMappingInfo 类型不同，
+ * 由各自的控制器转换为此结构后交给 {@link ApiMetadataService} 生成元数据。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class EndpointMapping {
+
+    /** 缓存 Key（通常为原始 RequestMappingInfo，需实现 equals/hashCode） */
+    private final Object key;
+
+    /** 处理方法；函数式路由（RouterFunction）没有处理方法，为 null */
+    private final HandlerMethod handlerMethod;
+
+    /** URL 模式 */
+    private final Set<String> patterns;
+
+    /** 请求方法描述，如 "[GET]"；不限方法时为 "ALL" */
+    private final String methods;
+
+    public EndpointMapping(Object key, HandlerMethod handlerMethod, Set<String> patterns, Set<?> methods) {
+        this.key = key;
+        this.handlerMethod = handlerMethod;
+        this.patterns = patterns;
+        this.methods = methods == null || methods.isEmpty() ? "ALL" : methods.toString();
+    }
+
+    public Object getKey() {
+        return key;
+    }
+
+    public HandlerMethod getHandlerMethod() {
+        return handlerMethod;
+    }
+
+    public Set<String> getPatterns() {
+        return patterns;
+    }
+
+    public String getMethods() {
+        return methods;
+    }
+}
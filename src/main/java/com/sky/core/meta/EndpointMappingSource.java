@@ -0,0 +1,22 @@
+package com.sky.core.meta;
+
+import java.util.Collection;
+
+/**
+ * 当前 Web 栈的接口映射来源
+ * <p>
+ * 由 Servlet / WebFlux 的仪表盘控制器实现。{@link ApiMetadataService} 在需要时才通过容器获取实现，
+ * 因此控制器可以保持延迟初始化，Mock 服务等非请求场景首次生成元数据时再创建。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public interface EndpointMappingSource {
+
+    /**
+     * 收集当前全部接口映射
+     *
+     * @return 映射列表（每次调用返回当前最新的映射）
+     */
+    Collection<EndpointMapping> collectMappings();
+}
@@ -0,0 +1,301 @@
+package com.sky.core.meta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 联邦仪表盘服务
+ * <p>
+ * 在一个仪表盘实例中聚合多个服务实例的接口目录：并发拉取各节点的
+ * {@code /api-dashboard/meta}，按 ETag 条件请求（未变化时节点返回 304，无需传输和解析），
+ * 并把接口路径改写为指向对应节点的绝对地址，便于直接调试。
+ * </p>
+ *
+ * <p><b>配置示例</b>：
+ * <pre>
+ * sky.dashboard.federation.peers=order=http://localhost:8081,user=http://localhost:8082/user-api
+ * </pre>
+ * 节点地址需包含其 Context Path；未指定名称时使用 host:port 作为服务名。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Component
+public class FederationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FederationService.class);
+
+    private static final String META_PATH = "/api-dashboard/meta";
+
+    /** 节点列表，逗号分隔，格式 name=url 或 url */
+    @Value("${sky.dashboard.federation.peers:}")
+    private String peersConfig;
+
+    @Value("${sky.dashboard.federation.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${sky.dashboard.federation.read-timeout-ms:3000}")
+    private int readTimeoutMs;
+
+    /** 同一节点两次拉取的最小间隔，期间直接使用缓存（避免多人同时打开时重复请求） */
+    @Value("${sky.dashboard.federation.min-interval-ms:2000}")
+    private long minIntervalMs;
+
+    /** 拉取线程数上限 */
+    @Value("${sky.dashboard.federation.max-threads:8}")
+    private int maxThreads;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Peer> peers = new ArrayList<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        for (String item : peersConfig.split(",")) {
+            String s = item.trim();
+            if (s.isEmpty()) continue;
+            int eq = s.indexOf('=');
+            String url = eq > 0 ? s.substring(eq + 1).trim() : s;
+            if (url.endsWith("/")) url = url.substring(0, url.length() - 1);
+            String name = eq > 0 ? s.substring(0, eq).trim() : hostOf(url);
+            peers.add(new Peer(name, url));
+        }
+        if (!peers.isEmpty()) {
+            AtomicInteger seq = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(Math.min(peers.size(), maxThreads), r -> {
+                Thread t = new Thread(r, "sky-federation-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 是否配置了联邦节点
+     */
+    public boolean isEnabled() {
+        return !peers.isEmpty();
+    }
+
+    /**
+     * 并发拉取所有节点的元数据
+     * <p>
+     * 各节点互不阻塞，单个节点失败或超时时返回其上次成功的结果（标记 stale）。
+     * </p>
+     *
+     * @return 按配置顺序排列的各服务元数据
+     */
+    public CompletableFuture<Map<String, Object>> aggregate() {
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(peers.size());
+        for (Peer peer : peers) {
+            futures.add(fetch(peer).thenApply(Snapshot::toMap));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            List<Map<String, Object>> services = new ArrayList<>(futures.size());
+            for (CompletableFuture<Map<String, Object>> f : futures) {
+                services.add(f.join());
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("services", services);
+            result.put("timestamp", System.currentTimeMillis());
+            return result;
+        });
+    }
+
+    /**
+     * 拉取单个节点（同一节点同时只有一个请求在途，后来者共享结果）
+     */
+    private CompletableFuture<Snapshot> fetch(Peer peer) {
+        Snapshot current = peer.snapshot;
+        if (current != null && System.currentTimeMillis() - current.fetchedAt < minIntervalMs) {
+            return CompletableFuture.completedFuture(current);
+        }
+        CompletableFuture<Snapshot> created = new CompletableFuture<>();
+        if (!peer.inFlight.compareAndSet(null, created)) {
+            CompletableFuture<Snapshot> inFlight = peer.inFlight.get();
+            return inFlight != null ? inFlight : fetch(peer);
+        }
+        CompletableFuture.supplyAsync(() -> load(peer), executor).whenComplete((s, ex) -> {
+            peer.inFlight.set(null);
+            if (ex != null) {
+                created.complete(peer.snapshot != null ? peer.snapshot.failed(ex.getMessage())
+                        : new Snapshot(peer, "error", null, null, 0, ex.getMessage()));
+            } else {
+                peer.snapshot = s;
+                created.complete(s);
+            }
+        });
+        return created;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Snapshot load(Peer peer) {
+        Snapshot previous = peer.snapshot;
+        long start = System.currentTimeMillis();
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(peer.url + META_PATH).openConnection();
+            conn.setConnectTimeout(connectTimeoutMs);
+            conn.setReadTimeout(readTimeoutMs);
+            conn.setRequestProperty("Accept", "application/json");
+            if (previous != null && previous.etag != null && previous.groups != null) {
+                conn.setRequestProperty("If-None-Match", previous.etag);
+            }
+
+            int code = conn.getResponseCode();
+            long latency = System.currentTimeMillis() - start;
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED && previous != null) {
+                return previous.revalidated(latency);
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + code);
+            }
+
+            Map<String, Object> meta;
+            try (InputStream in = conn.getInputStream()) {
+                meta = objectMapper.readValue(in, Map.class);
+            }
+            Object groups = meta.get("controllerGroups");
+            Map<String, List<Map<String, Object>>> rewritten = rewrite(peer,
+                    groups instanceof Map ? (Map<String, List<Map<String, Object>>>) groups : Collections.emptyMap());
+            return new Snapshot(peer, "ok", conn.getHeaderField("ETag"), rewritten, latency, null);
+        } catch (Exception e) {
+            logger.debug("Failed to fetch dashboard meta from {}: {}", peer.url, e.getMessage());
+            if (conn != null) {
+                // 成功时不断开，保留 keep-alive 连接供下次复用
+                conn.disconnect();
+            }
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            return previous != null ? previous.failed(error) : new Snapshot(peer, "error", null, null,
+                    System.currentTimeMillis() - start, error);
+        }
+    }
+
+    /**
+     * 将节点接口的相对路径改写为绝对地址，并标注所属服务
+     */
+    private Map<String, List<Map<String, Object>>> rewrite(Peer peer, Map<String, List<Map<String, Object>>> groups) {
+        Map<String, List<Map<String, Object>>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Map<String, Object>>> group : groups.entrySet()) {
+            List<Map<String, Object>> endpoints = new ArrayList<>(group.getValue().size());
+            for (Map<String, Object> ep : group.getValue()) {
+                Map<String, Object> copy = new HashMap<>(ep);
+                Object path = ep.get("path");
+                copy.put("path", peer.url + (path != null ? path : ""));
+                copy.put("service", peer.name);
+                copy.put("dashboardBase", peer.url + "/");
+                endpoints.add(copy);
+            }
+            result.put(group.getKey(), endpoints);
+        }
+        return result;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            URL u = new URL(url);
+            return u.getPort() > 0 ? u.getHost() + ":" + u.getPort() : u.getHost();
+        } catch (IOException e) {
+            return url;
+        }
+    }
+
+    /**
+     * 联邦节点
+     */
+    private static class Peer {
+        final String name;
+        final String url;
+        volatile Snapshot snapshot;
+        final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+        Peer(String name, String url) {
+            this.name = name;
+            this.url = url;
+        }
+    }
+
+    /**
+     * 某个节点的一次拉取结果（不可变）
+     */
+    private static class Snapshot {
+        final String name;
+        final String url;
+        final String status;
+        final String etag;
+        final Map<String, List<Map<String, Object>>> groups;
+        final long latencyMs;
+        final long fetchedAt;
+        final String error;
+        final boolean stale;
+
+        Snapshot(Peer peer, String status, String etag, Map<String, List<Map<String, Object>>> groups,
+                 long latencyMs, String error) {
+            this(peer.name, peer.url, status, etag, groups, latencyMs, System.currentTimeMillis(), error, false);
+        }
+
+        private Snapshot(String name, String url, String status, String etag, Map<String, List<Map<String, Object>>> groups,
+                         long latencyMs, long fetchedAt, String error, boolean stale) {
+            this.name = name;
+            this.url = url;
+            this.status = status;
+            this.etag = etag;
+            this.groups = groups;
+            this.latencyMs = latencyMs;
+            this.fetchedAt = fetchedAt;
+            this.error = error;
+            this.stale = stale;
+        }
+
+        /** 节点返回 304：沿用已有数据 */
+        Snapshot revalidated(long latency) {
+            return new Snapshot(name, url, "not-modified", etag, groups, latency, System.currentTimeMillis(), null, false);
+        }
+
+        /** 拉取失败：沿用上次数据并标记为过期（fetchedAt 不变，下次请求会重试） */
+        Snapshot failed(String err) {
+            return new Snapshot(name, url, "error", etag, groups, latencyMs, fetchedAt, err, groups != null);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("name", name);
+            m.put("url", url);
+            m.put("status", status);
+            m.put("stale", stale);
+            m.put("error", error);
+            m.put("latencyMs", latencyMs);
+            m.put("fetchedAt", fetchedAt);
+            m.put("controllerGroups", groups != null ? groups : Collections.emptyMap());
+            return m;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.sky.core.meta;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 预渲染的单接口 Markdown 文档
+ * <p>
+ * 文档由固定的几段 UTF-8 字节组成：Logo（全局共享）、接口正文（随接口条目缓存）、
+ * 可选的"实际响应结果"（每次请求拼接）和页脚（全局共享）。
+ * 导出时按段直接写入响应流，不再重新拼接字符串和编码。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class MarkdownFragment {
+
+    private final byte[] logo;
+    private final byte[] body;
+    private final byte[] footer;
+    private final String etag;
+
+    MarkdownFragment(byte[] logo, byte[] body, byte[] footer) {
+        this.logo = logo;
+        this.body = body;
+        this.footer = footer;
+        this.etag = Integer.toHexString(Arrays.hashCode(body)) + Integer.toHexString(body.length);
+    }
+
+    /**
+     * 计算文档 ETag（正文哈希，附带实际响应时再加上其哈希）
+     *
+     * @param responseBody 实际响应结果（可选）
+     * @return ETag
+     */
+    public String etag(String responseBody) {
+        return responseBody == null || responseBody.isEmpty()
+                ? etag
+                : etag + "-" + Integer.toHexString(responseBody.hashCode());
+    }
+
+    /**
+     * 按顺序返回文档的各段字节（调用方不得修改）
+     *
+     * @param responseBody 实际响应结果（可选）
+     * @return 文档分段
+     */
+    public List<byte[]> render(String responseBody) {
+        List<byte[]> parts = new ArrayList<>(4);
+        if (logo.length > 0) {
+            parts.add(logo);
+        }
+        parts.add(body);
+        if (responseBody != null && !responseBody.isEmpty()) {
+            String actual = "## 实际响应结果\n```json\n" + responseBody + "\n```\n";
+            parts.add(actual.getBytes(StandardCharsets.UTF_8));
+        }
+        parts.add(footer);
+        return parts;
+    }
+
+    /**
+     * 把各段依次串成一个输入流（不复制字节），供响应按段写出
+     *
+     * @param parts 文档分段
+     * @return 依次读取各段的输入流
+     */
+    public static InputStream stream(List<byte[]> parts) {
+        List<InputStream> streams = new ArrayList<>(parts.size());
+        for (byte[] part : parts) {
+            streams.add(new ByteArrayInputStream(part));
+        }
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    /**
+     * 计算分段总长度
+     *
+     * @param parts 文档分段
+     * @return 字节数
+     */
+    public static int length(List<byte[]> parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        return length;
+    }
+}
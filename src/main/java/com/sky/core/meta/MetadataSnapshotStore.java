@@ -0,0 +1,220 @@
+package com.sky.core.meta;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.core.util.JavaDocReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 元数据快照存储
+ * <p>
+ * 将生成好的接口元数据条目持久化到本地文件，按处理方法签名哈希索引。
+ * 重启后签名未变、依赖源码版本戳也未变的条目直接复用，只有发生变化的接口
+ * 需要重新反射和解析源码，仪表盘重启后的可用时间不再取决于接口数量。
+ * </p>
+ *
+ * <p><b>读取顺序</b>：
+ * <ol>
+ *   <li>{@code sky.dashboard.snapshot.path} 指定的本地文件（运行时写入）</li>
+ *   <li>Classpath 中的 {@code META-INF/sky-dashboard/meta-snapshot.json}（构建时预生成后打入 jar）</li>
+ * </ol>
+ * 可通过 {@code sky.dashboard.snapshot.enabled=false} 关闭。
+ * </p>
+ *
+ * <p>
+ * 快照内容会直接展示给仪表盘用户，本地文件默认放在用户目录下（{@code ~/.sky-dashboard}，仅属主可访问），
+ * 而不是所有用户可写的临时目录；不属于当前用户或可被其他用户写入的快照文件会被忽略。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Component
+public class MetadataSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetadataSnapshotStore.class);
+
+    /** 快照格式版本，格式不兼容时递增 */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final String CLASSPATH_SNAPSHOT = "META-INF/sky-dashboard/meta-snapshot.json";
+
+    @Value("${sky.dashboard.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sky.dashboard.snapshot.path:${user.home}/.sky-dashboard/${spring.application.name:app}-${server.port:8080}.json}")
+    private String path;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /** 启动时读取的快照条目：签名哈希 -> 条目（被复用后移除） */
+    private final Map<String, EndpointEntry> restored = new ConcurrentHashMap<>();
+
+    /** 写入线程：只保留最新一次待写内容 */
+    private final AtomicReference<List<EndpointEntry>> pending = new AtomicReference<>();
+    private ExecutorService writer;
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "sky-snapshot-writer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        Path file = Paths.get(path);
+        boolean local = Files.exists(file);
+        if (local && !isTrusted(file)) {
+            logger.warn("Ignoring dashboard metadata snapshot {}: not owned by the current user or writable by others", file);
+            local = false;
+        }
+        try (InputStream in = local ? Files.newInputStream(file)
+                : getClass().getClassLoader().getResourceAsStream(CLASSPATH_SNAPSHOT)) {
+            if (in == null) {
+                return;
+            }
+            Snapshot snapshot = objectMapper.readValue(in, Snapshot.class);
+            if (snapshot.version != FORMAT_VERSION || snapshot.entries == null) {
+                return;
+            }
+            for (EndpointEntry entry : snapshot.entries) {
+                if (entry.getSignature() != null) {
+                    restored.put(entry.getSignature(), entry);
+                }
+            }
+            logger.debug("Loaded {} dashboard metadata entries from snapshot", restored.size());
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable dashboard metadata snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * 取出与签名匹配且源码未变化的快照条目
+     *
+     * @param signature 处理方法签名哈希
+     * @return 可复用的条目，不存在或已过期时返回 null
+     */
+    public EndpointEntry restore(String signature) {
+        EndpointEntry entry = restored.remove(signature);
+        if (entry == null) {
+            return null;
+        }
+        for (Map.Entry<String, Long> source : entry.getSources().entrySet()) {
+            if (JavaDocReader.sourceStamp(source.getKey()) != source.getValue()) {
+                return null;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 异步保存当前全部条目（覆盖写入，连续调用只写最后一次）
+     *
+     * @param entries 当前条目
+     */
+    public void save(Collection<EndpointEntry> entries) {
+        if (writer == null) {
+            return;
+        }
+        if (pending.getAndSet(new ArrayList<>(entries)) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        List<EndpointEntry> entries = pending.getAndSet(null);
+        if (entries == null) {
+            return;
+        }
+        Snapshot snapshot = new Snapshot();
+        snapshot.version = FORMAT_VERSION;
+        snapshot.entries = entries;
+
+        Path file = Paths.get(path);
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            if (!Files.isDirectory(dir)) {
+                if (dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                    Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+                } else {
+                    Files.createDirectories(dir);
+                }
+            }
+            // 先写临时文件再替换，避免进程中断留下半个文件
+            Path tmp = Files.createTempFile(dir, "meta-snapshot", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), snapshot);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write dashboard metadata snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 快照文件是否可信：属于当前用户，且组和其他用户不可写（非 POSIX 文件系统只依赖目录权限）
+     */
+    private static boolean isTrusted(Path file) {
+        PosixFileAttributeView view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        if (view == null) {
+            return true;
+        }
+        try {
+            PosixFileAttributes attributes = view.readAttributes();
+            Set<PosixFilePermission> permissions = attributes.permissions();
+            return attributes.owner().getName().equals(System.getProperty("user.name"))
+                    && !permissions.contains(PosixFilePermission.GROUP_WRITE)
+                    && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 快照文件结构
+     */
+    static class Snapshot {
+        public int version;
+        public List<EndpointEntry> entries = Collections.emptyList();
+    }
+}
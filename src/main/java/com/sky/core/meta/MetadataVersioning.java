@@ -0,0 +1,171 @@
+package com.sky.core.meta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 元数据版本管理
+ * <p>
+ * 每次生成后对比各接口内容：有新增、变化或删除时版本号加一，变化的接口记录当前版本为其修订号
+ * （写入接口信息副本的 {@code rev} 字段），删除的接口记录为墓碑。客户端携带已有版本号请求时，
+ * 只返回修订号更新的接口和之后删除的接口，传输量与改动规模成正比。
+ * </p>
+ *
+ * <p>
+ * 版本号从启动时刻（毫秒）开始递增，重启后的版本号总是大于重启前的，
+ * 客户端持有的旧版本号早于本进程的历史起点，会自动退回全量同步。
+ * 墓碑数量有上限，被淘汰的墓碑之前的版本同样只能全量同步。
+ * </p>
+ *
+ * <p>非线程安全：{@link #apply} 只在单次生成中调用（生成过程已单飞），{@link #delta} 只读取墓碑的快照。</p>
+ *
+ * @since 1.0.0
+ */
+class MetadataVersioning {
+
+    /** 墓碑上限 */
+    private static final int MAX_TOMBSTONES = 1000;
+
+    /** 接口 ID -> [修订号, 内容哈希] */
+    private final Map<String, long[]> revisions = new HashMap<>();
+
+    /** 已删除接口 ID -> 删除时的版本号（按删除顺序） */
+    private final LinkedHashMap<String, Long> tombstones = new LinkedHashMap<>();
+
+    /** 当前版本号 */
+    private volatile long version = System.currentTimeMillis();
+
+    /** 可提供增量的最早版本号（早于此版本的客户端需要全量同步） */
+    private volatile long oldestVersion = version;
+
+    /**
+     * 接口 ID（处理方法签名 + 路径，生成条目时写入 {@code id} 字段）
+     * <p>
+     * 同一方法和路径可能对应多个映射（按 params、headers、consumes、produces 区分），
+     * 不能用 "方法 路径" 作为增量的键。
+     * </p>
+     */
+    static String endpointId(Map<String, String> endpoint) {
+        return endpoint.get("id");
+    }
+
+    /**
+     * 当前版本号（不做对比，供不写入缓存的过期结果使用）
+     */
+    long current() {
+        return version;
+    }
+
+    /**
+     * 对比本次生成的结果，更新版本号和各接口修订号
+     * <p>
+     * 接口信息与接口条目缓存、已发布的元数据共享，不能原地修改：
+     * 修订号写入副本，并替换分组列表中的对应元素（分组列表每次生成时新建）。
+     * </p>
+     *
+     * @param controllerGroups 分组 -> 接口列表
+     * @return 当前版本号
+     */
+    synchronized long apply(Map<String, List<Map<String, String>>> controllerGroups) {
+        long next = version + 1;
+        boolean changed = false;
+        Set<String> seen = new HashSet<>();
+        for (Map.Entry<String, List<Map<String, String>>> group : controllerGroups.entrySet()) {
+            for (ListIterator<Map<String, String>> it = group.getValue().listIterator(); it.hasNext(); ) {
+                Map<String, String> endpoint = it.next();
+                String id = endpointId(endpoint);
+                seen.add(id);
+                long hash = contentHash(group.getKey(), endpoint);
+                long[] revision = revisions.get(id);
+                if (revision == null || revision[1] != hash) {
+                    revision = new long[]{next, hash};
+                    revisions.put(id, revision);
+                    tombstones.remove(id);
+                    changed = true;
+                }
+                Map<String, String> stamped = new LinkedHashMap<>(endpoint);
+                stamped.put("rev", String.valueOf(revision[0]));
+                it.set(stamped);
+            }
+        }
+        for (Iterator<String> it = revisions.keySet().iterator(); it.hasNext(); ) {
+            String id = it.next();
+            if (!seen.contains(id)) {
+                it.remove();
+                tombstones.put(id, next);
+                changed = true;
+            }
+        }
+        while (tombstones.size() > MAX_TOMBSTONES) {
+            Iterator<Map.Entry<String, Long>> it = tombstones.entrySet().iterator();
+            oldestVersion = it.next().getValue();
+            it.remove();
+        }
+        if (changed) {
+            version = next;
+        }
+        return version;
+    }
+
+    /**
+     * 计算增量
+     *
+     * @param meta 当前元数据（包含 version）
+     * @param since 客户端已有的版本号
+     * @return 增量；无法提供增量（版本过旧或来自未来）时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    synchronized Map<String, Object> delta(Map<String, Object> meta, long since) {
+        long current = (Long) meta.get("version");
+        if (since < oldestVersion || since > current) {
+            return null;
+        }
+        List<Map<String, Object>> upserts = new ArrayList<>();
+        Map<String, List<Map<String, String>>> groups = (Map<String, List<Map<String, String>>>) meta.get("controllerGroups");
+        for (Map.Entry<String, List<Map<String, String>>> group : groups.entrySet()) {
+            for (Map<String, String> endpoint : group.getValue()) {
+                String rev = endpoint.get("rev");
+                if (rev != null && Long.parseLong(rev) > since) {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("group", group.getKey());
+                    item.put("endpoint", endpoint);
+                    upserts.add(item);
+                }
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (Map.Entry<String, Long> tombstone : tombstones.entrySet()) {
+            if (tombstone.getValue() > since && tombstone.getValue() <= current) {
+                removed.add(tombstone.getKey());
+            }
+        }
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("version", current);
+        delta.put("since", since);
+        delta.put("delta", true);
+        delta.put("upserts", upserts);
+        delta.put("removed", removed);
+        return delta;
+    }
+
+    /**
+     * 接口内容哈希（包含所在分组，不含修订号本身）
+     */
+    private static long contentHash(String group, Map<String, String> endpoint) {
+        long hash = group.hashCode();
+        for (Map.Entry<String, String> entry : new java.util.TreeMap<>(endpoint).entrySet()) {
+            if ("rev".equals(entry.getKey())) continue;
+            hash = hash * 31 + entry.getKey().hashCode();
+            hash = hash * 31 + (entry.getValue() != null ? entry.getValue().hashCode() : 0);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sky.core.meta;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 源码变更事件
+ * <p>
+ * 由 {@link SourceWatcher} 在检测到 .java 文件变更后发布，
+ * 监听方据此按类失效 JavaDoc 缓存和接口元数据缓存。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class SourceChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 发生变更的源码类名（包名 + 简单类名） */
+    private final Set<String> classNames;
+
+    /** 是否丢失了部分事件（WatchService 溢出），此时应全量失效 */
+    private final boolean overflow;
+
+    public SourceChangedEvent(Object source, Set<String> classNames, boolean overflow) {
+        super(source);
+        this.classNames = Collections.unmodifiableSet(classNames);
+        this.overflow = overflow;
+    }
+
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    public boolean isOverflow() {
+        return overflow;
+    }
+}
@@ -0,0 +1,220 @@
+package com.sky.core.meta;
+
+import com.sky.core.util.JavaDocReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 源码目录监听器 (开发环境)
+ * <p>
+ * 基于 {@link WatchService} 监听源码根目录（默认 {@code src/main/java}，可通过
+ * {@code sky.dashboard.source-roots} 配置多个，逗号分隔）。检测到 .java 文件变更后，
+ * 将短时间内的连续变更合并为一次 {@link SourceChangedEvent} 发布，
+ * 由元数据缓存按类失效，使开发环境也能像生产环境一样缓存元数据。
+ * </p>
+ *
+ * <p>仅在 dev/development 环境启动，可通过 {@code sky.dashboard.watch.enabled=false} 关闭。</p>
+ *
+ * @since 1.0.0
+ */
+@Component
+public class SourceWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceWatcher.class);
+
+    private static final String JAVA_SUFFIX = ".java";
+
+    @Value("${spring.profiles.active:prod}")
+    private String activeProfile;
+
+    /** 源码根目录，逗号分隔 */
+    @Value("${sky.dashboard.source-roots:src/main/java}")
+    private String sourceRoots;
+
+    @Value("${sky.dashboard.watch.enabled:true}")
+    private boolean enabled;
+
+    /** 合并连续变更的等待时间（IDE 保存时常在短时间内产生多个事件） */
+    @Value("${sky.dashboard.watch.debounce-ms:200}")
+    private long debounceMs;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<WatchKey, Path> keyRoots = new HashMap<>();
+    private final Map<WatchKey, Path> keyDirs = new HashMap<>();
+    private volatile WatchService watchService;
+
+    @PostConstruct
+    public void start() {
+        List<String> roots = new ArrayList<>();
+        for (String root : sourceRoots.split(",")) {
+            if (!root.trim().isEmpty()) {
+                roots.add(root.trim());
+            }
+        }
+        JavaDocReader.setSourceRoots(roots);
+
+        boolean isDevelopment = "dev".equalsIgnoreCase(activeProfile) ||
+                                "development".equalsIgnoreCase(activeProfile);
+        if (!isDevelopment || !enabled) {
+            return;
+        }
+
+        try {
+            WatchService ws = FileSystems.getDefault().newWatchService();
+            for (String root : roots) {
+                Path rootPath = Paths.get(root).toAbsolutePath();
+                if (Files.isDirectory(rootPath)) {
+                    registerTree(ws, rootPath, rootPath);
+                }
+            }
+            if (keyDirs.isEmpty()) {
+                ws.close();
+                return;
+            }
+            watchService = ws;
+        } catch (IOException e) {
+            logger.warn("Source watcher disabled: {}", e.getMessage());
+            return;
+        }
+
+        Thread thread = new Thread(this::watchLoop, "sky-source-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching {} source directories under {}", keyDirs.size(), roots);
+    }
+
+    @PreDestroy
+    public void stop() {
+        WatchService ws = watchService;
+        watchService = null;
+        if (ws != null) {
+            try {
+                ws.close();
+            } catch (IOException e) {
+                // 关闭失败不影响应用退出
+            }
+        }
+    }
+
+    /**
+     * 监听器是否在运行（运行时源码变更会被自动感知，元数据可以安全缓存）
+     */
+    public boolean isRunning() {
+        return watchService != null;
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchService ws = watchService;
+                if (ws == null) {
+                    return;
+                }
+                WatchKey key = ws.take();
+                Set<String> changed = new HashSet<>();
+                boolean overflow = drain(ws, key, changed);
+
+                // 合并窗口内的后续事件
+                while ((key = ws.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= drain(ws, key, changed);
+                }
+
+                if (overflow || !changed.isEmpty()) {
+                    logger.debug("Source changed: {}{}", changed, overflow ? " (overflow)" : "");
+                    eventPublisher.publishEvent(new SourceChangedEvent(this, changed, overflow));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // 应用关闭
+        }
+    }
+
+    /**
+     * 处理一个 WatchKey 上的事件，收集变更的类名
+     *
+     * @return 是否发生了事件溢出
+     */
+    private boolean drain(WatchService ws, WatchKey key, Set<String> changed) {
+        Path dir = keyDirs.get(key);
+        Path root = keyRoots.get(key);
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            if (dir == null) {
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                // 新建的包目录需要补充注册（WatchService 不递归）
+                try {
+                    registerTree(ws, path, root);
+                } catch (IOException e) {
+                    overflow = true;
+                }
+                continue;
+            }
+            String relative = root.relativize(path).toString();
+            if (relative.endsWith(JAVA_SUFFIX)) {
+                relative = relative.substring(0, relative.length() - JAVA_SUFFIX.length());
+                changed.add(relative.replace(path.getFileSystem().getSeparator(), "."));
+            }
+        }
+
+        if (!key.reset()) {
+            // 目录已删除
+            keyDirs.remove(key);
+            keyRoots.remove(key);
+        }
+        return overflow;
+    }
+
+    private void registerTree(WatchService ws, Path start, Path root) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(ws,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                keyDirs.put(key, dir);
+                keyRoots.put(key, root);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
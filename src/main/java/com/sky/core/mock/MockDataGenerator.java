@@ -0,0 +1,84 @@
+package com.sky.core.mock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Mock 数据生成器
+ * <p>
+ * 规则与前端 {@code generateMockFromTemplate} 保持一致：数字和布尔值随机生成，
+ * 字符串按字段名识别（id、name、time、email 等），数组生成 2 个元素，对象逐字段递归。
+ * 随机源由调用方传入，相同种子生成相同结果。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+final class MockDataGenerator {
+
+    private MockDataGenerator() {
+    }
+
+    /**
+     * 基于模板生成随机数据
+     *
+     * @param template 模板（Jackson 解析出的 Map/List/基础类型）
+     * @param fieldName 当前值所在的字段名（用于识别字符串语义，可为 null）
+     * @param random 随机源
+     * @return 随机数据
+     */
+    @SuppressWarnings("unchecked")
+    static Object randomize(Object template, String fieldName, Random random) {
+        if (template == null) {
+            return null;
+        }
+        if (template instanceof Number) {
+            return template instanceof Double || template instanceof Float
+                    ? Math.round(random.nextDouble() * 100000) / 100.0
+                    : random.nextInt(1000);
+        }
+        if (template instanceof Boolean) {
+            return random.nextBoolean();
+        }
+        if (template instanceof String) {
+            return randomString((String) template, fieldName, random);
+        }
+        if (template instanceof Collection) {
+            Collection<Object> items = (Collection<Object>) template;
+            List<Object> result = new ArrayList<>(2);
+            if (!items.isEmpty()) {
+                Object item = items.iterator().next();
+                result.add(randomize(item, fieldName, random));
+                result.add(randomize(item, fieldName, random));
+            }
+            return result;
+        }
+        if (template instanceof Map) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) template).entrySet()) {
+                result.put(entry.getKey(), randomize(entry.getValue(), entry.getKey(), random));
+            }
+            return result;
+        }
+        return template;
+    }
+
+    private static String randomString(String value, String fieldName, Random random) {
+        String hint = (fieldName != null ? fieldName : value).toLowerCase();
+        if (hint.contains("time") || hint.contains("date")) {
+            // 最近一年内的随机时间点
+            long millis = 1_700_000_000_000L + (long) (random.nextDouble() * 31_536_000_000L);
+            return java.time.Instant.ofEpochMilli(millis).toString();
+        }
+        if (hint.contains("email")) return "test" + random.nextInt(100) + "@example.com";
+        if (hint.contains("name")) return "User-" + random.nextInt(100);
+        if (hint.contains("id")) return "ID-" + Integer.toString(100000 + random.nextInt(900000), 36).toUpperCase();
+        if (hint.contains("url")) return "http://localhost:8080/demo";
+        if (hint.contains("status")) return "ACTIVE";
+        if (hint.contains("desc")) return "This is a mock description.";
+        return value + "-" + random.nextInt(1000);
+    }
+}
@@ -0,0 +1,221 @@
+package com.sky.core.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Mock 路由表（不可变）
+ * <p>
+ * 由元数据中的接口条目一次性构建：响应模板在构建时序列化为字节数组（含按种子生成的随机变体），
+ * 请求时只做 Map 查找和预编译的路径模式匹配，不涉及反射和 JSON 序列化。
+ * 元数据变化时整体重建并替换，读取无需加锁。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+final class MockRouteTable {
+
+    /** 不限请求方法的路由使用的 Key */
+    private static final String ANY_METHOD = "*";
+
+    static final MockRouteTable EMPTY = new MockRouteTable(Collections.emptyMap(), Collections.emptyList(), null, 0L);
+
+    /** 无路径变量的路由：路径 -> (方法 -> 响应) */
+    private final Map<String, Map<String, Responses>> exactRoutes;
+
+    /** 含路径变量或通配符的路由，按元数据顺序依次匹配 */
+    private final List<PatternRoute> patternRoutes;
+
+    /** 构建来源（元数据对象），用于判断是否需要重建 */
+    private final Object source;
+
+    private final long builtAt;
+
+    private MockRouteTable(Map<String, Map<String, Responses>> exactRoutes, List<PatternRoute> patternRoutes,
+                           Object source, long builtAt) {
+        this.exactRoutes = exactRoutes;
+        this.patternRoutes = patternRoutes;
+        this.source = source;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * 根据元数据构建路由表
+     *
+     * @param meta 元数据（读取 controllerGroups 中的 path/method/responseBodyTemplate）
+     * @param variants 每个接口额外生成的随机变体数量（0 表示只返回模板本身）
+     * @param seed 随机种子（相同种子和元数据生成相同的变体）
+     * @param objectMapper JSON 序列化器
+     * @return 路由表
+     */
+    @SuppressWarnings("unchecked")
+    static MockRouteTable build(Map<String, Object> meta, int variants, long seed, ObjectMapper objectMapper) {
+        Map<String, Map<String, Responses>> exact = new HashMap<>();
+        Map<String, Map<String, Responses>> patterned = new LinkedHashMap<>();
+
+        Object groups = meta.get("controllerGroups");
+        if (groups instanceof Map) {
+            for (Object endpoints : ((Map<String, Object>) groups).values()) {
+                if (!(endpoints instanceof Collection)) continue;
+                for (Object item : (Collection<Object>) endpoints) {
+                    Map<String, String> ep = (Map<String, String>) item;
+                    String path = ep.get("path");
+                    if (path == null || path.isEmpty()) continue;
+
+                    Responses responses = Responses.of(path, ep.get("responseBodyTemplate"), variants, seed, objectMapper);
+                    Map<String, Map<String, Responses>> target = isPattern(path) ? patterned : exact;
+                    Map<String, Responses> byMethod = target.computeIfAbsent(path, k -> new HashMap<>());
+                    for (String method : parseMethods(ep.get("method"))) {
+                        byMethod.putIfAbsent(method, responses);
+                    }
+                }
+            }
+        }
+
+        List<PatternRoute> patternRoutes = new ArrayList<>(patterned.size());
+        for (Map.Entry<String, Map<String, Responses>> entry : patterned.entrySet()) {
+            try {
+                patternRoutes.add(new PatternRoute(PathPatternParser.defaultInstance.parse(entry.getKey()), entry.getValue()));
+            } catch (Exception e) {
+                // 无法解析的模式（如旧式 Ant 后缀写法）不提供 Mock
+            }
+        }
+        // 与 Spring 一致：更具体的模式优先匹配
+        patternRoutes.sort((a, b) -> PathPattern.SPECIFICITY_COMPARATOR.compare(a.pattern, b.pattern));
+        return new MockRouteTable(exact, patternRoutes, meta, System.currentTimeMillis());
+    }
+
+    /**
+     * 查找路由
+     *
+     * @param method 请求方法
+     * @param path 去掉前缀后的请求路径
+     * @return 路径不存在时为 null；路径存在但方法不匹配时为 {@link Responses#METHOD_NOT_ALLOWED}
+     */
+    Responses lookup(String method, String path) {
+        Map<String, Responses> byMethod = exactRoutes.get(path);
+        if (byMethod == null && !patternRoutes.isEmpty()) {
+            PathContainer container = PathContainer.parsePath(path);
+            for (PatternRoute route : patternRoutes) {
+                if (route.pattern.matches(container)) {
+                    byMethod = route.byMethod;
+                    break;
+                }
+            }
+        }
+        if (byMethod == null) {
+            return null;
+        }
+        Responses responses = byMethod.get(method);
+        if (responses == null) {
+            responses = byMethod.get(ANY_METHOD);
+        }
+        if (responses == null && "HEAD".equals(method)) {
+            responses = byMethod.get("GET");
+        }
+        return responses != null ? responses : Responses.METHOD_NOT_ALLOWED;
+    }
+
+    Object getSource() {
+        return source;
+    }
+
+    long getBuiltAt() {
+        return builtAt;
+    }
+
+    int getExactRouteCount() {
+        return exactRoutes.size();
+    }
+
+    int getPatternRouteCount() {
+        return patternRoutes.size();
+    }
+
+    private static boolean isPattern(String path) {
+        return path.indexOf('{') >= 0 || path.indexOf('*') >= 0 || path.indexOf('?') >= 0;
+    }
+
+    /**
+     * 解析元数据中的方法描述（"[GET, POST]" 或 "ALL"）
+     */
+    private static List<String> parseMethods(String label) {
+        if (label == null || label.isEmpty() || "ALL".equals(label)) {
+            return Collections.singletonList(ANY_METHOD);
+        }
+        List<String> methods = new ArrayList<>();
+        for (String m : label.replace("[", "").replace("]", "").split(",")) {
+            String trimmed = m.trim();
+            if (!trimmed.isEmpty()) methods.add(trimmed);
+        }
+        return methods.isEmpty() ? Collections.singletonList(ANY_METHOD) : methods;
+    }
+
+    /**
+     * 含路径变量的路由
+     */
+    private static final class PatternRoute {
+        final PathPattern pattern;
+        final Map<String, Responses> byMethod;
+
+        PatternRoute(PathPattern pattern, Map<String, Responses> byMethod) {
+            this.pattern = pattern;
+            this.byMethod = byMethod;
+        }
+    }
+
+    /**
+     * 单个接口的预序列化响应
+     * <p>
+     * bodies[0] 为模板本身，其余为随机变体；没有响应模板（void）时为空响应体。
+     * </p>
+     */
+    static final class Responses {
+
+        static final Responses METHOD_NOT_ALLOWED = new Responses(new byte[][]{
+                "{\"code\":405,\"message\":\"Method Not Allowed\"}".getBytes(StandardCharsets.UTF_8)});
+
+        final byte[][] bodies;
+
+        private Responses(byte[][] bodies) {
+            this.bodies = bodies;
+        }
+
+        static Responses of(String path, String template, int variants, long seed, ObjectMapper objectMapper) {
+            if (template == null || template.trim().isEmpty()) {
+                return new Responses(new byte[][]{new byte[0]});
+            }
+            Object tree;
+            try {
+                tree = objectMapper.readValue(template, Object.class);
+            } catch (Exception e) {
+                return new Responses(new byte[][]{template.getBytes(StandardCharsets.UTF_8)});
+            }
+
+            byte[][] bodies = new byte[1 + Math.max(0, variants)][];
+            // 每个路径使用独立的派生种子，增删其他接口不影响已有接口的变体
+            Random random = new Random(seed ^ path.hashCode());
+            for (int i = 0; i < bodies.length; i++) {
+                Object body = i == 0 ? tree : MockDataGenerator.randomize(tree, null, random);
+                try {
+                    bodies[i] = objectMapper.writeValueAsBytes(body);
+                } catch (Exception e) {
+                    bodies[i] = template.getBytes(StandardCharsets.UTF_8);
+                }
+            }
+            return new Responses(bodies);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.sky.core.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.core.meta.ApiMetadataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mock 服务
+ * <p>
+ * 按元数据中的响应模板为每个接口提供模拟响应，供前端和合作方联调、压测：
+ * <ul>
+ *   <li>前缀模式：{@code sky.dashboard.mock.prefix}（默认 /mock）下的路径，如 /mock/demo/user</li>
+ *   <li>端口模式：{@code sky.dashboard.mock.port} 指定的独立端口（仅内嵌 Tomcat），路径与真实接口一致</li>
+ *   <li>{@code variants}/{@code seed}：按种子预生成随机变体，请求时随机选取</li>
+ *   <li>{@code latency-ms}/{@code latency-jitter-ms}：模拟延迟，通过异步请求实现，不占用容器线程</li>
+ * </ul>
+ * 请求在过滤器中直接应答（不经过 DispatcherServlet），只查内存路由表并写出预序列化的字节，
+ * 路由表在元数据变化时整体重建。
+ * </p>
+ *
+ * @see MockServerConfig
+ * @since 1.0.0
+ */
+public class MockServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockServer.class);
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    /** 前缀模式的路径前缀，为空时关闭前缀模式 */
+    @Value("${sky.dashboard.mock.prefix:/mock}")
+    private String prefix;
+
+    /** 独立端口（0 表示不开启端口模式） */
+    @Value("${sky.dashboard.mock.port:0}")
+    private int port;
+
+    /** 每个接口额外生成的随机变体数量 */
+    @Value("${sky.dashboard.mock.variants:0}")
+    private int variants;
+
+    /** 随机变体种子 */
+    @Value("${sky.dashboard.mock.seed:42}")
+    private long seed;
+
+    /** 固定延迟（毫秒） */
+    @Value("${sky.dashboard.mock.latency-ms:0}")
+    private long latencyMs;
+
+    /** 随机抖动上限（毫秒），实际延迟为 latency-ms + [0, jitter] */
+    @Value("${sky.dashboard.mock.latency-jitter-ms:0}")
+    private long latencyJitterMs;
+
+    @Autowired
+    private ApiMetadataService metadataService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile MockRouteTable table = MockRouteTable.EMPTY;
+    private volatile boolean portConnectorAdded;
+    private ScheduledExecutorService delayScheduler;
+
+    @PostConstruct
+    public void init() {
+        if (prefix.endsWith("/")) {
+            prefix = prefix.substring(0, prefix.length() - 1);
+        }
+        if (latencyMs > 0 || latencyJitterMs > 0) {
+            AtomicInteger seq = new AtomicInteger();
+            delayScheduler = Executors.newScheduledThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), r -> {
+                Thread t = new Thread(r, "sky-mock-delay-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (delayScheduler != null) {
+            delayScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 应用就绪后构建路由表（此时全部映射已注册）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (port > 0 && !portConnectorAdded) {
+            logger.warn("Mock port {} requires embedded Tomcat, only prefix mode is available", port);
+        }
+        reload();
+        logger.info("Mock server enabled: prefix={}, port={}, routes={}", prefix.isEmpty() ? "-" : prefix,
+                portConnectorAdded ? String.valueOf(port) : "-", table.getExactRouteCount() + table.getPatternRouteCount());
+    }
+
+    /**
+     * 按当前元数据重建路由表
+     */
+    public void reload() {
+        table = MockRouteTable.build(metadataService.getMetadata(), variants, seed, objectMapper);
+    }
+
+    /**
+     * 获取路由表，元数据缓存已更新时顺带重建（由发现变化的那个请求重建，其他请求继续使用旧表）
+     */
+    private MockRouteTable currentTable() {
+        MockRouteTable current = table;
+        Map<String, Object> meta = metadataService.peekMetadata();
+        if (meta != null && meta != current.getSource() && rebuilding.compareAndSet(false, true)) {
+            try {
+                current = MockRouteTable.build(meta, variants, seed, objectMapper);
+                table = current;
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+        return current;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    void markPortConnectorAdded() {
+        this.portConnectorAdded = true;
+    }
+
+    /**
+     * 判断请求是否由 Mock 服务处理
+     *
+     * @param request 当前请求
+     * @return 去掉前缀后的接口路径；不属于 Mock 的请求返回 null
+     */
+    String resolvePath(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (!contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        if (portConnectorAdded && request.getLocalPort() == port) {
+            return path.isEmpty() ? "/" : path;
+        }
+        if (!prefix.isEmpty() && path.startsWith(prefix)) {
+            if (path.length() == prefix.length()) {
+                return "/";
+            }
+            if (path.charAt(prefix.length()) == '/') {
+                return path.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 应答 Mock 请求
+     *
+     * @param request 当前请求
+     * @param response 当前响应
+     * @param path 接口路径
+     */
+    void serve(HttpServletRequest request, HttpServletResponse response, String path) throws IOException {
+        String origin = request.getHeader("Origin");
+        if (origin != null) {
+            response.setHeader("Access-Control-Allow-Origin", origin);
+            response.setHeader("Access-Control-Allow-Credentials", "true");
+            response.setHeader("Vary", "Origin");
+        }
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method) && request.getHeader("Access-Control-Request-Method") != null) {
+            // 跨域预检
+            response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, PATCH, OPTIONS");
+            String requestHeaders = request.getHeader("Access-Control-Request-Headers");
+            if (requestHeaders != null) {
+                response.setHeader("Access-Control-Allow-Headers", requestHeaders);
+            }
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            return;
+        }
+
+        MockRouteTable.Responses responses = currentTable().lookup(method, path);
+        if (responses == null) {
+            misses.increment();
+            write(response, HttpServletResponse.SC_NOT_FOUND,
+                    ("{\"code\":404,\"message\":\"No mock route for " + method + " " + path.replace("\"", "") + "\"}")
+                            .getBytes(StandardCharsets.UTF_8), false);
+            return;
+        }
+        if (responses == MockRouteTable.Responses.METHOD_NOT_ALLOWED) {
+            misses.increment();
+            write(response, HttpServletResponse.SC_METHOD_NOT_ALLOWED, responses.bodies[0], false);
+            return;
+        }
+
+        served.increment();
+        byte[][] bodies = responses.bodies;
+        byte[] body = bodies.length == 1 ? bodies[0] : bodies[ThreadLocalRandom.current().nextInt(bodies.length)];
+        boolean head = "HEAD".equals(method);
+
+        long delay = latencyMs + (latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0);
+        if (delay <= 0 || delayScheduler == null) {
+            write(response, HttpServletResponse.SC_OK, body, head);
+            return;
+        }
+        if (!request.isAsyncSupported()) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            write(response, HttpServletResponse.SC_OK, body, head);
+            return;
+        }
+        AsyncContext async = request.startAsync();
+        async.setTimeout(delay + 30_000L);
+        delayScheduler.schedule(() -> {
+            try {
+                write((HttpServletResponse) async.getResponse(), HttpServletResponse.SC_OK, body, head);
+            } catch (IOException e) {
+                // 客户端已断开
+            } finally {
+                async.complete();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static void write(HttpServletResponse response, int status, byte[] body, boolean head) throws IOException {
+        response.setStatus(status);
+        response.setHeader("X-Sky-Mock", "true");
+        if (body.length > 0) {
+            response.setContentType(CONTENT_TYPE);
+        }
+        response.setContentLength(body.length);
+        if (!head && body.length > 0) {
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * 获取 Mock 服务状态
+     *
+     * @return 配置、路由数量和请求计数
+     */
+    public Map<String, Object> status() {
+        MockRouteTable current = table;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("prefix", prefix);
+        result.put("port", portConnectorAdded ? port : 0);
+        result.put("variants", variants);
+        result.put("seed", seed);
+        result.put("latencyMs", latencyMs);
+        result.put("latencyJitterMs", latencyJitterMs);
+        result.put("exactRoutes", current.getExactRouteCount());
+        result.put("patternRoutes", current.getPatternRouteCount());
+        result.put("builtAt", current.getBuiltAt());
+        result.put("served", served.sum());
+        result.put("misses", misses.sum());
+        return result;
+    }
+}
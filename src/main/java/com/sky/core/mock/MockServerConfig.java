@@ -0,0 +1,68 @@
+package com.sky.core.mock;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Mock 服务配置
+ * <p>
+ * 仅在 {@code sky.dashboard.mock.enabled=true} 的 Servlet 应用中生效：
+ * 注册 {@link MockServer} 和最高优先级的 {@link MockServerFilter}；
+ * 配置了 {@code sky.dashboard.mock.port} 且使用内嵌 Tomcat 时，额外开放一个 Mock 专用端口。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.mock", name = "enabled", havingValue = "true")
+public class MockServerConfig {
+
+    @Bean
+    public MockServer mockServer() {
+        return new MockServer();
+    }
+
+    @Bean
+    public FilterRegistrationBean<MockServerFilter> mockServerFilter(MockServer mockServer) {
+        FilterRegistrationBean<MockServerFilter> registration = new FilterRegistrationBean<>(new MockServerFilter(mockServer));
+        registration.setName("skyMockServerFilter");
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    /**
+     * 内嵌 Tomcat：为 Mock 端口添加额外的 Connector（与业务端口共用同一个应用）
+     * <p>
+     * 嵌套配置类同样会被组件扫描单独注册，因此需要重复外层的开关条件。
+     * </p>
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+    @ConditionalOnProperty(prefix = "sky.dashboard.mock", name = "enabled", havingValue = "true")
+    static class TomcatMockPortConfig {
+
+        @Bean
+        public WebServerFactoryCustomizer<TomcatServletWebServerFactory> mockPortCustomizer(MockServer mockServer) {
+            return factory -> {
+                if (mockServer.getPort() <= 0) {
+                    return;
+                }
+                Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+                connector.setPort(mockServer.getPort());
+                factory.addAdditionalTomcatConnectors(connector);
+                mockServer.markPortConnectorAdded();
+            };
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.sky.core.mock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+/**
+ * Mock 服务管理接口
+ *
+ * @since 1.0.0
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.mock", name = "enabled", havingValue = "true")
+public class MockServerController {
+
+    @Autowired
+    private MockServer mockServer;
+
+    /**
+     * 获取 Mock 服务状态
+     *
+     * @return 配置、路由数量和请求计数
+     */
+    @GetMapping("/api-dashboard/mock")
+    @ResponseBody
+    public Map<String, Object> status() {
+        return mockServer.status();
+    }
+
+    /**
+     * 按当前元数据重建 Mock 路由表
+     * <p>
+     * 开发环境未开启源码监听时元数据不缓存，接口变更后需调用此接口刷新。
+     * </p>
+     *
+     * @return Mock 服务状态
+     */
+    @PostMapping("/api-dashboard/mock/reload")
+    @ResponseBody
+    public Map<String, Object> reload() {
+        mockServer.reload();
+        return mockServer.status();
+    }
+}
@@ -0,0 +1,42 @@
+package com.sky.core.mock;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Mock 请求过滤器
+ * <p>
+ * 以最高优先级注册，命中 Mock 前缀或 Mock 端口的请求直接由 {@link MockServer} 应答，
+ * 其余请求原样放行。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+class MockServerFilter implements Filter {
+
+    private final MockServer mockServer;
+
+    MockServerFilter(MockServer mockServer) {
+        this.mockServer = mockServer;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (request instanceof HttpServletRequest && request.getDispatcherType() == javax.servlet.DispatcherType.REQUEST) {
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            String path = mockServer.resolvePath(httpRequest);
+            if (path != null) {
+                mockServer.serve(httpRequest, (HttpServletResponse) response, path);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
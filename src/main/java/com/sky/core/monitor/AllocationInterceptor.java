@@ -0,0 +1,75 @@
+package com.sky.core.monitor;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 内存分配统计拦截器
+ * <p>
+ * preHandle 时读取当前线程的累计分配字节数，afterCompletion 时再读一次，差值记入 {@link AllocationProfiler}。
+ * 两次读取必须在同一线程上才有意义：异步请求在主线程释放时（afterConcurrentHandlingStarted）结束采样，
+ * 异步分派阶段不再采样，其他线程上的分配不计入。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+class AllocationInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATTRIBUTE = AllocationInterceptor.class.getName() + ".START";
+
+    /** 统计器，首次访问仪表盘的分配统计时才创建并接入；之前拦截器不做任何读取 */
+    private volatile AllocationProfiler profiler;
+
+    void attach(AllocationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AllocationProfiler profiler = this.profiler;
+        if (profiler != null
+                && handler instanceof HandlerMethod
+                && request.getDispatcherType() != DispatcherType.ASYNC
+                && profiler.shouldSample()) {
+            long start = profiler.currentThreadAllocatedBytes();
+            if (start >= 0) {
+                request.setAttribute(ATTRIBUTE, new long[]{Thread.currentThread().getId(), start});
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        finish(request, handler);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        finish(request, handler);
+    }
+
+    private void finish(HttpServletRequest request, Object handler) {
+        Object value = request.getAttribute(ATTRIBUTE);
+        AllocationProfiler profiler = this.profiler;
+        if (profiler == null || !(value instanceof long[]) || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        long end = profiler.currentThreadAllocatedBytes();
+        request.removeAttribute(ATTRIBUTE);
+        long[] start = (long[]) value;
+        if (start[0] != Thread.currentThread().getId() || end < 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = "[" + request.getMethod() + "] " + (pattern != null ? pattern : request.getRequestURI());
+        profiler.record(((HandlerMethod) handler).getMethod(), endpoint, end - start[1]);
+    }
+}
@@ -0,0 +1,273 @@
+package com.sky.core.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 接口内存分配统计
+ * <p>
+ * 通过 {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes} 读取当前线程累计分配的字节数，
+ * 在处理器执行前后各读一次，差值即单次请求在请求线程上的分配量（含参数解析和响应序列化），
+ * 按处理器方法聚合为对数分桶直方图，用于定位 GC 压力来自哪些接口。
+ * </p>
+ *
+ * <ul>
+ *   <li>{@code sky.dashboard.allocation.enabled}：总开关（默认开启）</li>
+ *   <li>{@code sky.dashboard.allocation.sample-rate}：采样率（0~1，默认 1），生产环境可调低以控制开销</li>
+ *   <li>{@code sky.dashboard.allocation.max-handlers}：最多跟踪的处理器数量，超出部分只计数</li>
+ * </ul>
+ *
+ * <p>
+ * 统计器随仪表盘延迟创建，创建后才接入拦截器开始采样（首次打开分配统计面板之前的请求不采样）。
+ * JVM 不支持线程分配计数（非 HotSpot 或被禁用）时自动关闭，拦截器不再做任何读取。
+ * 直方图按线程分条（stripe）累加，记录路径只有几次无竞争的原子操作。
+ * </p>
+ *
+ * @see AllocationInterceptor
+ * @since 1.0.0
+ */
+@Component
+public class AllocationProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AllocationProfiler.class);
+
+    /** 分桶数：第 i 桶统计 [2^(i-1), 2^i) 字节，第 0 桶为 0 字节 */
+    private static final int BUCKETS = 65;
+    private static final int COUNT = BUCKETS;
+    private static final int SUM = BUCKETS + 1;
+    private static final int MAX = BUCKETS + 2;
+
+    @Value("${sky.dashboard.allocation.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${sky.dashboard.allocation.sample-rate:1.0}")
+    private double sampleRate = 1.0;
+
+    @Value("${sky.dashboard.allocation.max-handlers:1000}")
+    private int maxHandlers = 1000;
+
+    private final Map<Method, AllocationHistogram> histograms = new ConcurrentHashMap<>();
+
+    /** 处理器表已满时无法跟踪的采样次数 */
+    private final LongAdder overflow = new LongAdder();
+
+    private final int stripes = stripeCount();
+
+    private com.sun.management.ThreadMXBean threadBean;
+    private volatile boolean supported;
+
+    /** Servlet 应用中由 {@link MonitorWebConfig} 注册的拦截器，WebFlux 应用中不存在 */
+    @Autowired(required = false)
+    private AllocationInterceptor interceptor;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                        sunBean.setThreadAllocatedMemoryEnabled(true);
+                    }
+                    threadBean = sunBean;
+                    supported = true;
+                }
+            }
+        } catch (LinkageError | RuntimeException e) {
+            logger.debug("Thread allocation counters unavailable: {}", e.toString());
+        }
+        if (!supported) {
+            logger.info("Thread allocation counters are not supported by this JVM, allocation profiling disabled");
+        } else if (interceptor != null) {
+            interceptor.attach(this);
+        }
+    }
+
+    /**
+     * 本次请求是否需要采样
+     */
+    boolean shouldSample() {
+        return supported && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * 读取当前线程累计分配的字节数
+     *
+     * @return 字节数；读取失败时返回 -1
+     */
+    long currentThreadAllocatedBytes() {
+        try {
+            return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 记录一次采样
+     *
+     * @param method 处理器方法
+     * @param endpoint 接口（首次采样时记录，如 "[GET] /demo/hello"）
+     * @param bytes 本次请求分配的字节数
+     */
+    void record(Method method, String endpoint, long bytes) {
+        if (bytes < 0) {
+            return;
+        }
+        AllocationHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            if (histograms.size() >= maxHandlers) {
+                overflow.increment();
+                return;
+            }
+            histogram = histograms.computeIfAbsent(method, m -> new AllocationHistogram(m, endpoint, stripes));
+        }
+        histogram.record(bytes);
+    }
+
+    /**
+     * 生成仪表盘 "allocations" 视图数据（按总分配量降序）
+     *
+     * @return 统计结果
+     */
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> items = new ArrayList<>(histograms.size());
+        for (AllocationHistogram histogram : histograms.values()) {
+            Map<String, Object> item = histogram.toMap();
+            if ((Long) item.get("samples") > 0) {
+                items.add(item);
+            }
+        }
+        items.sort((a, b) -> Long.compare((Long) b.get("totalBytes"), (Long) a.get("totalBytes")));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("supported", supported);
+        result.put("enabled", enabled);
+        result.put("sampleRate", sampleRate);
+        result.put("overflow", overflow.sum());
+        result.put("handlers", items);
+        return result;
+    }
+
+    /**
+     * 清空统计数据
+     */
+    public void clear() {
+        histograms.clear();
+        overflow.reset();
+    }
+
+    private static int stripeCount() {
+        int n = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        return Math.min(16, n);
+    }
+
+    /**
+     * 单个处理器方法的分配量直方图
+     * <p>
+     * 每个分条是一个独立的 {@link AtomicLongArray}（各桶计数 + 次数 + 总量 + 最大值），
+     * 线程按 ID 固定落在某个分条上，高并发时各线程基本不争用同一缓存行。
+     * </p>
+     */
+    static class AllocationHistogram {
+        private final String handler;
+        private final String endpoint;
+        private final AtomicLongArray[] stripes;
+        private final int mask;
+
+        AllocationHistogram(Method method, String endpoint, int stripeCount) {
+            this.handler = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+            this.endpoint = endpoint;
+            this.stripes = new AtomicLongArray[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new AtomicLongArray(BUCKETS + 3);
+            }
+            this.mask = stripeCount - 1;
+        }
+
+        void record(long bytes) {
+            long id = Thread.currentThread().getId();
+            AtomicLongArray stripe = stripes[(int) (id ^ (id >>> 16)) & mask];
+            stripe.incrementAndGet(64 - Long.numberOfLeadingZeros(bytes));
+            stripe.incrementAndGet(COUNT);
+            stripe.addAndGet(SUM, bytes);
+            long max;
+            while (bytes > (max = stripe.get(MAX)) && !stripe.compareAndSet(MAX, max, bytes)) {
+                // 重试
+            }
+        }
+
+        Map<String, Object> toMap() {
+            long[] buckets = new long[BUCKETS];
+            long count = 0;
+            long sum = 0;
+            long max = 0;
+            for (AtomicLongArray stripe : stripes) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    buckets[i] += stripe.get(i);
+                }
+                count += stripe.get(COUNT);
+                sum += stripe.get(SUM);
+                max = Math.max(max, stripe.get(MAX));
+            }
+
+            List<long[]> distribution = new ArrayList<>();
+            for (int i = 0; i < BUCKETS; i++) {
+                if (buckets[i] > 0) {
+                    distribution.add(new long[]{upperBound(i), buckets[i]});
+                }
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("handler", handler);
+            result.put("endpoint", endpoint);
+            result.put("samples", count);
+            result.put("totalBytes", sum);
+            result.put("avgBytes", count > 0 ? sum / count : 0);
+            result.put("p50", Math.min(max, percentile(buckets, count, 0.5)));
+            result.put("p99", Math.min(max, percentile(buckets, count, 0.99)));
+            result.put("maxBytes", max);
+            // [桶上界（字节）, 次数]
+            result.put("buckets", distribution);
+            return result;
+        }
+
+        /**
+         * 估算分位数（返回所在桶的上界）
+         */
+        private static long percentile(long[] buckets, long count, double q) {
+            long target = (long) Math.ceil(count * q);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= target && seen > 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        private static long upperBound(int bucket) {
+            return bucket == 0 ? 0 : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+    }
+}
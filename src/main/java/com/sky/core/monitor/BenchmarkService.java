@@ -0,0 +1,571 @@
+package com.sky.core.monitor;
+
+import com.sky.core.meta.ApiMetadataService;
+import com.sky.core.monitor.BenchmarkStore.BenchmarkRun;
+import com.sky.core.monitor.BenchmarkStore.EndpointResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 接口性能基准服务
+ * <p>
+ * 复用元数据中的接口描述和请求模板（路径变量、查询参数、请求体）构造请求，
+ * 通过回环地址依次压测每个接口，统计延迟分布、吞吐量和响应大小，
+ * 与 {@link BenchmarkStore} 中保存的基线对比生成回归报告。
+ * </p>
+ *
+ * <p><b>配置项</b>（前缀 {@code sky.dashboard.benchmark}）：
+ * <ul>
+ *   <li>{@code warmup}：每个接口的预热请求数（默认 20，不计入结果）</li>
+ *   <li>{@code requests}：每个接口的计量请求数（默认 200）</li>
+ *   <li>{@code concurrency}：并发数（默认 4）</li>
+ *   <li>{@code threshold-percent}：判定回归的变化幅度（默认 20）</li>
+ *   <li>{@code min-delta-ms}：延迟回归的最小绝对增量，避免亚毫秒接口的抖动被误判（默认 1）</li>
+ *   <li>{@code include-unsafe-methods}：是否压测 POST/PUT/DELETE 等非幂等接口（默认 false）</li>
+ * </ul>
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Component
+public class BenchmarkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkService.class);
+
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{([^}:]+)(:[^}]*)?}");
+    private static final List<String> SAFE_METHODS = Arrays.asList("GET", "HEAD", "OPTIONS");
+
+    @Value("${sky.dashboard.benchmark.warmup:20}")
+    private int warmup;
+
+    @Value("${sky.dashboard.benchmark.requests:200}")
+    private int requests;
+
+    @Value("${sky.dashboard.benchmark.concurrency:4}")
+    private int concurrency;
+
+    @Value("${sky.dashboard.benchmark.threshold-percent:20}")
+    private double thresholdPercent;
+
+    @Value("${sky.dashboard.benchmark.min-delta-ms:1}")
+    private double minDeltaMs;
+
+    @Value("${sky.dashboard.benchmark.include-unsafe-methods:false}")
+    private boolean includeUnsafeMethods;
+
+    @Value("${sky.dashboard.benchmark.timeout-ms:5000}")
+    private int timeoutMs;
+
+    @Value("${server.servlet.context-path:${spring.webflux.base-path:}}")
+    private String contextPath;
+
+    @Autowired
+    private ApiMetadataService metadataService;
+
+    @Autowired
+    private BenchmarkStore store;
+
+    @Autowired
+    private Environment environment;
+
+    /** 当前运行进度，未运行时为 null */
+    private final AtomicReference<Progress> running = new AtomicReference<>();
+
+    /** 最近一次运行失败的原因 */
+    private volatile String lastError;
+
+    /**
+     * 主应用的实际监听端口（容器启动后由 Spring Boot 写入 local.server.port，管理端口使用单独的属性）
+     */
+    int serverPort() {
+        return environment.getProperty("local.server.port", Integer.class, -1);
+    }
+
+    /**
+     * 异步启动一次基准运行（同一时间只允许一次）
+     *
+     * @param label 运行标签（如版本号）
+     * @param saveAsBaseline 完成后是否同时保存为基线
+     * @return 是否已启动；已有运行在进行中时返回 false
+     */
+    public boolean start(String label, boolean saveAsBaseline) {
+        if (serverPort() <= 0) {
+            throw new IllegalStateException("Web server port is not available");
+        }
+        List<Target> targets = collectTargets();
+        Progress progress = new Progress(targets.size());
+        if (!running.compareAndSet(null, progress)) {
+            return false;
+        }
+        lastError = null;
+        Thread thread = new Thread(() -> {
+            try {
+                BenchmarkRun run = execute(label, targets, progress);
+                store.saveLastRun(run);
+                if (saveAsBaseline || store.loadBaseline() == null) {
+                    store.saveBaseline(run);
+                }
+            } catch (Exception e) {
+                lastError = e.getMessage();
+                logger.warn("Benchmark run failed: {}", e.getMessage());
+            } finally {
+                running.set(null);
+            }
+        }, "sky-benchmark");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * 将最近一次运行结果设为基线
+     *
+     * @return 是否成功（没有运行结果时返回 false）
+     */
+    public boolean promoteLastRun() throws IOException {
+        BenchmarkRun last = store.loadLastRun();
+        if (last == null) {
+            return false;
+        }
+        store.saveBaseline(last);
+        return true;
+    }
+
+    /**
+     * 获取运行状态
+     *
+     * @return 是否运行中、进度以及基线/最近一次运行的时间
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Progress progress = running.get();
+        result.put("running", progress != null);
+        if (progress != null) {
+            result.put("total", progress.total);
+            result.put("done", progress.done.get());
+            result.put("current", progress.current);
+        }
+        BenchmarkRun baseline = store.loadBaseline();
+        BenchmarkRun last = store.loadLastRun();
+        result.put("baselineAt", baseline != null ? baseline.finishedAt : 0);
+        result.put("lastRunAt", last != null ? last.finishedAt : 0);
+        result.put("lastError", lastError);
+        return result;
+    }
+
+    /**
+     * 生成回归报告（最近一次运行 vs 基线）
+     * <p>
+     * 每个接口的状态：
+     * <ul>
+     *   <li>{@code regressed}：p50/p99 延迟或响应大小增幅、吞吐量降幅超过阈值，或开始出现错误</li>
+     *   <li>{@code improved}：p50 延迟降幅超过阈值</li>
+     *   <li>{@code ok}：变化在阈值内</li>
+     *   <li>{@code changed}：接口签名已变化，旧基线不再适用</li>
+     *   <li>{@code new}：基线中没有该接口</li>
+     * </ul>
+     * </p>
+     *
+     * @return 报告
+     */
+    public Map<String, Object> report() {
+        BenchmarkRun baseline = store.loadBaseline();
+        BenchmarkRun current = store.loadLastRun();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("thresholdPercent", thresholdPercent);
+        report.put("baseline", baseline != null ? summary(baseline) : null);
+        report.put("current", current != null ? summary(current) : null);
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        int regressions = 0;
+        if (current != null) {
+            Map<String, String> baselineSignatures = new LinkedHashMap<>();
+            if (baseline != null) {
+                for (EndpointResult r : baseline.results.values()) {
+                    baselineSignatures.put(r.endpoint, r.signature);
+                }
+            }
+            for (Map.Entry<String, EndpointResult> entry : current.results.entrySet()) {
+                EndpointResult now = entry.getValue();
+                EndpointResult before = baseline != null ? baseline.results.get(entry.getKey()) : null;
+
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("endpoint", now.endpoint);
+                item.put("current", now);
+                item.put("baseline", before);
+                List<String> reasons = new ArrayList<>();
+                String status;
+                if (now.failure != null) {
+                    status = "failed";
+                    reasons.add(now.failure);
+                } else if (before == null || before.failure != null) {
+                    status = baselineSignatures.containsKey(now.endpoint) ? "changed" : "new";
+                } else {
+                    compare(before, now, reasons);
+                    if (!reasons.isEmpty()) {
+                        status = "regressed";
+                        regressions++;
+                    } else if (now.p50 < before.p50 * (1 - thresholdPercent / 100) && before.p50 - now.p50 >= minDeltaMs) {
+                        status = "improved";
+                    } else {
+                        status = "ok";
+                    }
+                }
+                item.put("status", status);
+                item.put("reasons", reasons);
+                endpoints.add(item);
+            }
+        }
+        report.put("regressions", regressions);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void compare(EndpointResult before, EndpointResult now, List<String> reasons) {
+        double factor = 1 + thresholdPercent / 100;
+        if (now.p50 > before.p50 * factor && now.p50 - before.p50 >= minDeltaMs) {
+            reasons.add(String.format("p50 %.2fms -> %.2fms", before.p50, now.p50));
+        }
+        if (now.p99 > before.p99 * factor && now.p99 - before.p99 >= minDeltaMs) {
+            reasons.add(String.format("p99 %.2fms -> %.2fms", before.p99, now.p99));
+        }
+        if (now.throughput < before.throughput / factor) {
+            reasons.add(String.format("吞吐 %.0f/s -> %.0f/s", before.throughput, now.throughput));
+        }
+        if (now.avgBytes > before.avgBytes * factor && now.avgBytes - before.avgBytes > 64) {
+            reasons.add(String.format("响应 %dB -> %dB", before.avgBytes, now.avgBytes));
+        }
+        if (before.errors == 0 && now.errors > 0) {
+            reasons.add("出现错误 " + now.errors + " 次（HTTP " + now.lastErrorStatus + "）");
+        }
+    }
+
+    private static Map<String, Object> summary(BenchmarkRun run) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", run.label);
+        summary.put("startedAt", run.startedAt);
+        summary.put("finishedAt", run.finishedAt);
+        summary.put("requests", run.requests);
+        summary.put("concurrency", run.concurrency);
+        summary.put("endpoints", run.results.size());
+        return summary;
+    }
+
+    // --- 运行 ---
+
+    /**
+     * 根据元数据构造压测目标
+     */
+    private List<Target> collectTargets() {
+        return collectTargets(includeUnsafeMethods);
+    }
+
+    /**
+     * 根据元数据构造请求目标（路径变量、查询参数和请求体按模板填充），预热也复用这份目标列表
+     *
+     * @param includeUnsafe 是否包含 POST/PUT/DELETE 等非幂等接口
+     * @return 请求目标
+     */
+    @SuppressWarnings("unchecked")
+    List<Target> collectTargets(boolean includeUnsafe) {
+        Map<String, Object> meta = metadataService.getMetadata();
+        Map<String, String> signatures = metadataService.getEndpointSignatures();
+        List<Target> targets = new ArrayList<>();
+        Object groups = meta.get("controllerGroups");
+        if (!(groups instanceof Map)) {
+            return targets;
+        }
+        for (Object endpoints : ((Map<String, Object>) groups).values()) {
+            for (Map<String, String> ep : (Collection<Map<String, String>>) endpoints) {
+                String label = ep.get("method");
+                String method = "ALL".equals(label) ? "GET" : label.replace("[", "").replace("]", "").split(",")[0].trim();
+                if (!includeUnsafe && !SAFE_METHODS.contains(method)) {
+                    continue;
+                }
+                String id = label + " " + ep.get("path");
+                Target target = new Target();
+                target.id = id;
+                target.signature = signatures.get(id);
+                target.method = method;
+                target.url = buildUrl(ep);
+                if ("JSON".equals(ep.get("paramType")) && ep.get("bodyTemplate") != null && !ep.get("bodyTemplate").isEmpty()) {
+                    target.body = ep.get("bodyTemplate").getBytes(StandardCharsets.UTF_8);
+                }
+                targets.add(target);
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * 通过回环地址访问本应用的根地址（含 Context Path）
+     */
+    String baseUrl() {
+        return "http://127.0.0.1:" + serverPort() + contextPath;
+    }
+
+    /**
+     * 按模板填充路径变量和查询参数
+     */
+    private String buildUrl(Map<String, String> ep) {
+        Matcher matcher = PATH_VARIABLE.matcher(ep.get("path"));
+        StringBuffer path = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(path, "1");
+        }
+        matcher.appendTail(path);
+        String resolved = path.toString().replace("/**", "/sample").replace("*", "sample");
+
+        StringBuilder url = new StringBuilder(baseUrl()).append(resolved);
+        String detailed = ep.get("requestParamsDetailed");
+        if (detailed != null && !detailed.isEmpty()) {
+            char sep = '?';
+            for (String param : detailed.split("\\|\\|")) {
+                String[] parts = param.split("\\|");
+                if (parts.length < 3 || !"Query".equals(parts[2])) continue;
+                try {
+                    url.append(sep).append(URLEncoder.encode(parts[0], "UTF-8")).append('=').append(sampleValue(parts[1]));
+                } catch (java.io.UnsupportedEncodingException e) {
+                    continue;
+                }
+                sep = '&';
+            }
+        }
+        return url.toString();
+    }
+
+    private static String sampleValue(String type) {
+        String t = type.toLowerCase();
+        if (t.contains("int") || t.contains("long") || t.contains("short") || t.contains("double")
+                || t.contains("float") || t.contains("decimal") || t.contains("number")) {
+            return "1";
+        }
+        return t.contains("boolean") ? "true" : "test";
+    }
+
+    private BenchmarkRun execute(String label, List<Target> targets, Progress progress) throws Exception {
+        BenchmarkRun run = new BenchmarkRun();
+        run.label = label;
+        run.startedAt = System.currentTimeMillis();
+        run.requests = requests;
+        run.concurrency = concurrency;
+
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread t = new Thread(r, "sky-benchmark-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (Target target : targets) {
+                progress.current = target.id;
+                EndpointResult result;
+                try {
+                    result = measure(target, pool);
+                } catch (ExecutionException | RuntimeException e) {
+                    // 单个接口异常只记为失败，继续压测其余接口
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                    logger.debug("Benchmark of {} failed", target.id, cause);
+                    result = failed(target, cause);
+                }
+                run.results.put(target.signature + " " + target.id, result);
+                progress.done.incrementAndGet();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        run.finishedAt = System.currentTimeMillis();
+        return run;
+    }
+
+    /**
+     * 压测单个接口：先串行预热，再以固定并发发送计量请求
+     */
+    private EndpointResult measure(Target target, ExecutorService pool) throws InterruptedException, ExecutionException {
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger lastErrorStatus = new AtomicInteger();
+        for (int i = 0; i < warmup; i++) {
+            try {
+                send(target);
+            } catch (IOException e) {
+                // 与计量请求一致：连接失败记为错误（状态码 -1）
+                errors.incrementAndGet();
+                lastErrorStatus.set(-1);
+            }
+        }
+
+        long[] latencies = new long[Math.max(1, requests)];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+
+        List<Future<?>> workers = new ArrayList<>();
+        long wallStart = System.nanoTime();
+        for (int w = 0; w < Math.max(1, concurrency); w++) {
+            workers.add(pool.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < latencies.length) {
+                    long start = System.nanoTime();
+                    int status;
+                    long size;
+                    try {
+                        long[] response = send(target);
+                        status = (int) response[0];
+                        size = response[1];
+                    } catch (IOException e) {
+                        status = -1;
+                        size = 0;
+                    }
+                    latencies[i] = System.nanoTime() - start;
+                    bytes.addAndGet(size);
+                    if (!isSuccess(status)) {
+                        errors.incrementAndGet();
+                        lastErrorStatus.set(status);
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+
+        Arrays.sort(latencies);
+        long total = 0;
+        for (long l : latencies) total += l;
+
+        EndpointResult result = new EndpointResult();
+        result.endpoint = target.id;
+        result.signature = target.signature;
+        result.samples = latencies.length;
+        result.errors = errors.get();
+        result.lastErrorStatus = lastErrorStatus.get();
+        result.mean = round(total / (double) latencies.length / 1_000_000);
+        result.p50 = percentile(latencies, 0.50);
+        result.p90 = percentile(latencies, 0.90);
+        result.p99 = percentile(latencies, 0.99);
+        result.max = round(latencies[latencies.length - 1] / 1_000_000.0);
+        result.throughput = round(latencies.length / (wallNanos / 1_000_000_000.0));
+        result.avgBytes = bytes.get() / latencies.length;
+        return result;
+    }
+
+    /**
+     * 压测过程中抛出异常的接口：只记录失败原因，不参与延迟对比
+     */
+    private static EndpointResult failed(Target target, Throwable cause) {
+        EndpointResult result = new EndpointResult();
+        result.endpoint = target.id;
+        result.signature = target.signature;
+        result.failure = cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return round(sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /**
+     * 请求是否成功：只有 2xx 计为成功（重定向、304 等不代表接口被真正执行），压测与预热共用此判定
+     */
+    static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * 发送一次请求并读完响应体（读完后连接回到 keep-alive 池中复用）
+     *
+     * @return [状态码, 响应体字节数]
+     */
+    long[] send(Target target) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(target.url).openConnection();
+        conn.setConnectTimeout(timeoutMs);
+        conn.setReadTimeout(timeoutMs);
+        conn.setRequestMethod(target.method);
+        conn.setRequestProperty("Accept", "application/json, */*");
+        if (target.headers != null) {
+            for (Map.Entry<String, String> header : target.headers.entrySet()) {
+                conn.setRequestProperty(header.getKey(), header.getValue());
+            }
+        }
+        if (target.body != null) {
+            conn.setDoOutput(true);
+            if (conn.getRequestProperty("Content-Type") == null) {
+                conn.setRequestProperty("Content-Type", "application/json");
+            }
+            try (OutputStream out = conn.getOutputStream()) {
+                out.write(target.body);
+            }
+        }
+        int status = conn.getResponseCode();
+        long size = 0;
+        InputStream in = status >= 400 ? conn.getErrorStream() : conn.getInputStream();
+        if (in != null) {
+            try (InputStream body = in) {
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = body.read(buffer)) != -1) {
+                    size += n;
+                }
+            }
+        }
+        return new long[]{status, size};
+    }
+
+    /**
+     * 压测目标
+     */
+    static class Target {
+        String id;
+        String signature;
+        String method;
+        String url;
+        Map<String, String> headers;
+        byte[] body;
+    }
+
+    /**
+     * 运行进度
+     */
+    private static class Progress {
+        final int total;
+        final AtomicInteger done = new AtomicInteger();
+        volatile String current;
+
+        Progress(int total) {
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.sky.core.monitor;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 性能基准存储
+ * <p>
+ * 在 {@code sky.dashboard.benchmark.dir} 目录下保存两份结果：
+ * <ul>
+ *   <li>{@code baseline.json}：基线（通常在发版时确认）</li>
+ *   <li>{@code last-run.json}：最近一次运行结果，与基线对比生成回归报告</li>
+ * </ul>
+ * 结果按 "签名哈希 + 方法 + 路径" 索引，接口结构变化后旧基线不再参与对比。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Component
+public class BenchmarkStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkStore.class);
+
+    /** 存储格式版本，格式不兼容时递增 */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String BASELINE_FILE = "baseline.json";
+    private static final String LAST_RUN_FILE = "last-run.json";
+
+    @Value("${sky.dashboard.benchmark.dir:${java.io.tmpdir}/sky-dashboard/benchmark/${spring.application.name:app}}")
+    private String dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * 读取基线
+     *
+     * @return 基线，不存在时返回 null
+     */
+    public synchronized BenchmarkRun loadBaseline() {
+        return read(BASELINE_FILE);
+    }
+
+    /**
+     * 读取最近一次运行结果
+     *
+     * @return 运行结果，不存在时返回 null
+     */
+    public synchronized BenchmarkRun loadLastRun() {
+        return read(LAST_RUN_FILE);
+    }
+
+    public synchronized void saveBaseline(BenchmarkRun run) throws IOException {
+        write(BASELINE_FILE, run);
+    }
+
+    public synchronized void saveLastRun(BenchmarkRun run) throws IOException {
+        write(LAST_RUN_FILE, run);
+    }
+
+    private BenchmarkRun read(String name) {
+        Path file = Paths.get(dir, name);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            BenchmarkRun run = objectMapper.readValue(file.toFile(), BenchmarkRun.class);
+            return run.version == FORMAT_VERSION ? run : null;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable benchmark file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String name, BenchmarkRun run) throws IOException {
+        run.version = FORMAT_VERSION;
+        Path directory = Paths.get(dir).toAbsolutePath();
+        Files.createDirectories(directory);
+        // 先写临时文件再替换，避免进程中断留下半个文件
+        Path tmp = Files.createTempFile(directory, "benchmark", ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), run);
+        Path file = directory.resolve(name);
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 一次基准运行
+     */
+    public static class BenchmarkRun {
+        public int version;
+        public String label;
+        public long startedAt;
+        public long finishedAt;
+        /** 每个接口的请求数、并发数 */
+        public int requests;
+        public int concurrency;
+        /** 签名哈希 + " " + 方法 + " " + 路径 -> 结果 */
+        public Map<String, EndpointResult> results = new LinkedHashMap<>();
+    }
+
+    /**
+     * 单个接口的基准结果（延迟单位：毫秒）
+     */
+    public static class EndpointResult {
+        public String endpoint;
+        public String signature;
+        public int samples;
+        /** 失败请求数（含预热阶段的连接失败） */
+        public int errors;
+        public double mean;
+        public double p50;
+        public double p90;
+        public double p99;
+        public double max;
+        /** 每秒请求数 */
+        public double throughput;
+        /** 平均响应体字节数 */
+        public long avgBytes;
+        /** 最近一次非 2xx 状态码（无错误时为 0，连接失败为 -1） */
+        public int lastErrorStatus;
+        /** 压测该接口时抛出的异常（正常完成时为 null），此时其余字段无意义 */
+        public String failure;
+    }
+}
@@ -0,0 +1,207 @@
+package com.sky.core.monitor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异常聚合器
+ * <p>
+ * 按指纹（异常类型 + 栈顶若干帧）聚合异常，用于在异常风暴中控制日志成本：
+ * <ul>
+ *   <li>同一指纹首次出现时完整记录</li>
+ *   <li>之后每个时间窗口最多完整记录一次，并附带窗口内被抑制的次数</li>
+ *   <li>指纹数量有上限，超出部分计入溢出计数，内存占用恒定；溢出的异常共用一个全局日志窗口，不会完全静默</li>
+ * </ul>
+ * 记录路径只有一次哈希计算和几次原子操作，与异常重复次数无关。
+ * </p>
+ *
+ * @see com.sky.core.controller.DashboardExceptionHandler
+ * @since 1.0.0
+ */
+@Component
+public class ErrorAggregator {
+
+    /** 参与指纹计算的栈帧数量 */
+    private static final int FINGERPRINT_FRAMES = 5;
+
+    /** 返回值：本次不需要记录日志 */
+    public static final long SKIP = -1L;
+
+    /** 最多跟踪的指纹数量 */
+    @Value("${sky.dashboard.errors.max-fingerprints:500}")
+    private int maxFingerprints = 500;
+
+    /** 同一指纹两次完整日志之间的最小间隔（毫秒） */
+    @Value("${sky.dashboard.errors.log-interval-ms:60000}")
+    private long logIntervalMs = 60000L;
+
+    private final Map<Long, ErrorStats> stats = new ConcurrentHashMap<>();
+
+    /** 指纹表已满时无法跟踪的异常次数 */
+    private final LongAdder overflow = new LongAdder();
+
+    /** 溢出异常共用的日志窗口：上次记录时间与之后被抑制的次数 */
+    private final AtomicLong overflowLastLogged = new AtomicLong(Long.MIN_VALUE / 2);
+    private final AtomicLong overflowSuppressed = new AtomicLong();
+
+    /**
+     * 记录一次异常
+     *
+     * @param e 异常对象
+     * @return 该指纹的统计信息；指纹表已满时返回 null（仅计入溢出计数）
+     */
+    public ErrorStats record(Throwable e) {
+        long fingerprint = fingerprint(e);
+        ErrorStats s = stats.get(fingerprint);
+        if (s == null) {
+            if (stats.size() >= maxFingerprints) {
+                overflow.increment();
+                return null;
+            }
+            s = stats.computeIfAbsent(fingerprint, k -> new ErrorStats(k, e));
+        }
+        s.count.increment();
+        s.lastSeen = System.currentTimeMillis();
+        return s;
+    }
+
+    /**
+     * 决定本次是否需要输出完整日志（每个指纹每个时间窗口只有一个线程能获得记录权）
+     * <p>
+     * 指纹表已满时（{@code s} 为 null），所有溢出异常共用一个全局时间窗口，
+     * 保证新出现的异常类型至少能按窗口频率留下日志。
+     * </p>
+     *
+     * @param s 统计信息（可为 null）
+     * @return {@link #SKIP} 表示无需记录；否则为上次记录以来被抑制的次数（首次出现为 0）
+     */
+    public long claimLog(ErrorStats s) {
+        if (s == null) {
+            return claim(overflowLastLogged, overflowSuppressed);
+        }
+        return claim(s.lastLogged, s.suppressed);
+    }
+
+    private long claim(AtomicLong lastLogged, AtomicLong suppressed) {
+        long now = System.currentTimeMillis();
+        long last = lastLogged.get();
+        if (now - last >= logIntervalMs && lastLogged.compareAndSet(last, now)) {
+            return suppressed.getAndSet(0);
+        }
+        suppressed.incrementAndGet();
+        return SKIP;
+    }
+
+    /**
+     * 生成仪表盘 "errors" 视图数据（按出现次数降序）
+     *
+     * @return 聚合结果
+     */
+    public Map<String, Object> snapshot() {
+        List<ErrorStats> all = new ArrayList<>(stats.values());
+        all.sort((a, b) -> Long.compare(b.count.sum(), a.count.sum()));
+
+        List<Map<String, Object>> items = new ArrayList<>(all.size());
+        long total = overflow.sum();
+        for (ErrorStats s : all) {
+            items.add(s.toMap());
+            total += s.count.sum();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", total);
+        result.put("overflow", overflow.sum());
+        result.put("maxFingerprints", maxFingerprints);
+        result.put("logIntervalMs", logIntervalMs);
+        result.put("fingerprints", items);
+        return result;
+    }
+
+    /**
+     * 清空所有聚合数据
+     */
+    public void clear() {
+        stats.clear();
+        overflow.reset();
+        overflowSuppressed.set(0);
+    }
+
+    /**
+     * 计算异常指纹：异常类型 + 栈顶 {@link #FINGERPRINT_FRAMES} 帧
+     * <p>
+     * 直接组合各部分的 hashCode（String 会缓存哈希值），不拼接字符串。
+     * </p>
+     */
+    private static long fingerprint(Throwable e) {
+        long h = e.getClass().getName().hashCode();
+        StackTraceElement[] frames = e.getStackTrace();
+        int n = Math.min(FINGERPRINT_FRAMES, frames.length);
+        for (int i = 0; i < n; i++) {
+            StackTraceElement f = frames[i];
+            h = h * 31 + f.getClassName().hashCode();
+            h = h * 31 + f.getMethodName().hashCode();
+            h = h * 31 + f.getLineNumber();
+        }
+        return h;
+    }
+
+    /**
+     * 单个指纹的统计信息
+     */
+    public static class ErrorStats {
+        private final String fingerprint;
+        private final String type;
+        private final String message;
+        private final List<String> frames;
+        private final long firstSeen;
+
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong suppressed = new AtomicLong();
+        private final AtomicLong lastLogged = new AtomicLong(Long.MIN_VALUE / 2);
+        private volatile long lastSeen;
+
+        ErrorStats(long fingerprint, Throwable e) {
+            this.fingerprint = Long.toHexString(fingerprint);
+            this.type = e.getClass().getName();
+            this.message = e.getMessage();
+            this.firstSeen = System.currentTimeMillis();
+
+            StackTraceElement[] trace = e.getStackTrace();
+            List<String> top = new ArrayList<>();
+            for (int i = 0; i < Math.min(FINGERPRINT_FRAMES, trace.length); i++) {
+                top.add(trace[i].toString());
+            }
+            this.frames = Collections.unmodifiableList(top);
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("fingerprint", fingerprint);
+            m.put("type", type);
+            m.put("message", message);
+            m.put("frames", frames);
+            m.put("count", count.sum());
+            m.put("suppressed", suppressed.get());
+            m.put("firstSeen", firstSeen);
+            m.put("lastSeen", lastSeen);
+            return m;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sky.core.monitor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 运行时监控的 Web MVC 配置
+ * <p>
+ * 仅在 Servlet 应用中生效，注册监控相关的拦截器：
+ * <ul>
+ *   <li>{@link AllocationInterceptor}：按处理器方法统计内存分配</li>
+ *   <li>{@link StackSamplerInterceptor}：栈采样期间登记各请求线程正在执行的处理器方法</li>
+ * </ul>
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class MonitorWebConfig implements WebMvcConfigurer {
+
+    /**
+     * 内存分配拦截器（{@link AllocationProfiler} 创建后才接入，之前只有一次空判断）
+     */
+    @Bean
+    AllocationInterceptor allocationInterceptor() {
+        return new AllocationInterceptor();
+    }
+
+    /**
+     * 栈采样拦截器（{@link StackSampler} 创建后才接入，采样期间才登记线程）
+     */
+    @Bean
+    StackSamplerInterceptor stackSamplerInterceptor() {
+        return new StackSamplerInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(allocationInterceptor());
+        registry.addInterceptor(stackSamplerInterceptor());
+    }
+}
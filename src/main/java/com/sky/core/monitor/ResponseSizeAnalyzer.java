@@ -0,0 +1,404 @@
+package com.sky.core.monitor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sky.core.meta.ApiMetadataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 响应体积分析
+ * <p>
+ * 按接口统计序列化后的 JSON 响应大小，并把样本按字段路径拆分：每个字段（含其子字段）占用的字节数、
+ * 为 null 的比例、数组长度。字段路径与元数据中的响应字段树（responseFieldsDetailed）一致，
+ * 集合元素和 Map 值不加下标（如 {@code data.items.name}），报告中附带字段树里的类型和描述，
+ * 并列出字段树中声明但样本里从未出现的字段（多半被 NON_NULL 等策略省略）。
+ * </p>
+ *
+ * <p>
+ * 样本来自 {@link ResponseSizeFilter}：按采样率抽取线上流量，仪表盘调试台发出的请求
+ * （携带 {@code X-Sky-Size} 请求头）总是采样。解析在单独的后台线程上用 Jackson 流式解析器进行，
+ * 请求线程只负责复制响应字节；队列满时直接丢弃样本。统计的是容器压缩（gzip）之前的字节数。
+ * </p>
+ *
+ * <p><b>配置项</b>（前缀 {@code sky.dashboard.response-size}，默认关闭）：
+ * <ul>
+ *   <li>{@code enabled}：总开关（默认 false）</li>
+ *   <li>{@code sample-rate}：线上流量采样率（0~1，默认 0.01）</li>
+ *   <li>{@code max-sample-bytes}：单个样本最多复制的字节数，超出部分只计大小不做字段拆分（默认 1 MB）</li>
+ *   <li>{@code max-endpoints} / {@code max-fields}：最多跟踪的接口数 / 每个接口的字段路径数（默认 200 / 300）</li>
+ * </ul>
+ * </p>
+ *
+ * @see ResponseSizeConfig
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.response-size", name = "enabled", havingValue = "true")
+public class ResponseSizeAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseSizeAnalyzer.class);
+
+    /** 超出字段上限后的字节归入该路径 */
+    private static final String OTHER = "(other)";
+
+    /** 待解析样本的队列长度 */
+    private static final int QUEUE_CAPACITY = 4;
+
+    @Value("${sky.dashboard.response-size.sample-rate:0.01}")
+    private double sampleRate = 0.01;
+
+    @Value("${sky.dashboard.response-size.max-sample-bytes:1048576}")
+    private int maxSampleBytes = 1024 * 1024;
+
+    @Value("${sky.dashboard.response-size.max-endpoints:200}")
+    private int maxEndpoints = 200;
+
+    @Value("${sky.dashboard.response-size.max-fields:300}")
+    private int maxFields = 300;
+
+    @Autowired
+    private ApiMetadataService metadataService;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /** 接口表已满无法跟踪的样本数 */
+    private final LongAdder overflow = new LongAdder();
+
+    /** 解析队列已满被丢弃的样本数 */
+    private final LongAdder dropped = new LongAdder();
+
+    private ThreadPoolExecutor worker;
+
+    @PostConstruct
+    public void init() {
+        worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+            Thread t = new Thread(r, "sky-response-size");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * 本次请求是否需要采样
+     *
+     * @param forced 调试台请求（总是采样）
+     */
+    boolean shouldSample(boolean forced) {
+        return forced || sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    int getMaxSampleBytes() {
+        return maxSampleBytes;
+    }
+
+    /**
+     * 提交一个样本（在请求线程上调用，只入队）
+     *
+     * @param method 请求方法
+     * @param pattern 接口路径模式
+     * @param body 复制的响应字节（可能只是前一部分）
+     * @param length body 中的有效字节数
+     * @param totalBytes 响应体实际大小
+     */
+    void submit(String method, String pattern, byte[] body, int length, long totalBytes) {
+        try {
+            worker.execute(() -> analyze(method, pattern, body, length, totalBytes));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void analyze(String method, String pattern, byte[] body, int length, long totalBytes) {
+        String id = "[" + method + "] " + pattern;
+        EndpointStats stats = endpoints.get(id);
+        if (stats == null) {
+            if (endpoints.size() >= maxEndpoints) {
+                overflow.increment();
+                return;
+            }
+            stats = endpoints.computeIfAbsent(id, k -> new EndpointStats(k, declaredFields(method, pattern)));
+        }
+        boolean complete = length == totalBytes;
+        Map<String, FieldSample> fields = null;
+        if (complete) {
+            try {
+                fields = breakDown(body, length);
+            } catch (IOException | RuntimeException e) {
+                // 不是合法 JSON（或被截断），只记录大小
+                logger.debug("Failed to parse sampled response of {}: {}", id, e.getMessage());
+            }
+        }
+        stats.record(totalBytes, fields, maxFields);
+    }
+
+    private Map<String, String[]> declaredFields(String method, String pattern) {
+        Map<String, String[]> declared = new LinkedHashMap<>();
+        try {
+            for (String[] field : metadataService.getResponseFields(method, pattern)) {
+                declared.put(field[0], field);
+            }
+        } catch (RuntimeException e) {
+            // 元数据生成失败时不附带字段树
+        }
+        return declared;
+    }
+
+    /**
+     * 单个样本中一个字段路径的统计
+     */
+    static class FieldSample {
+        long bytes;
+        long count;
+        long nulls;
+        long arrays;
+        long arrayLength;
+        long maxArrayLength;
+    }
+
+    /**
+     * 解析过程中打开的对象 / 数组
+     */
+    private static class Frame {
+        final String path;
+        final boolean array;
+        /** 作为字段值时，从字段名开始的偏移；数组元素或根节点为 -1 */
+        final long fieldStart;
+        long length;
+
+        Frame(String path, boolean array, long fieldStart) {
+            this.path = path;
+            this.array = array;
+            this.fieldStart = fieldStart;
+        }
+    }
+
+    /**
+     * 流式解析一个 JSON 样本，按字段路径汇总字节数
+     * <p>
+     * 字段的字节数从字段名开始，到下一个 token 开始（标量）或对象 / 数组的结束括号为止，
+     * 包含键名、分隔符和全部子字段，因此父字段的字节数包含子字段。
+     * </p>
+     */
+    Map<String, FieldSample> breakDown(byte[] body, int length) throws IOException {
+        Map<String, FieldSample> fields = new HashMap<>();
+        Deque<Frame> stack = new ArrayDeque<>();
+        String fieldPath = null;
+        long fieldStart = -1;
+        String pendingPath = null;
+        long pendingStart = 0;
+        boolean pendingNull = false;
+
+        try (JsonParser parser = jsonFactory.createParser(body, 0, length)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                long offset = parser.getTokenLocation().getByteOffset();
+                if (pendingPath != null) {
+                    FieldSample sample = fields.computeIfAbsent(pendingPath, k -> new FieldSample());
+                    sample.bytes += offset - pendingStart;
+                    sample.count++;
+                    if (pendingNull) {
+                        sample.nulls++;
+                    }
+                    pendingPath = null;
+                }
+                Frame parent = stack.peek();
+                switch (token) {
+                    case FIELD_NAME:
+                        fieldPath = parent.path.isEmpty() ? parser.getCurrentName() : parent.path + "." + parser.getCurrentName();
+                        fieldStart = offset;
+                        break;
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        boolean inObject = parent != null && !parent.array;
+                        if (parent != null && parent.array) {
+                            parent.length++;
+                        }
+                        stack.push(new Frame(inObject ? fieldPath : parent != null ? parent.path : "",
+                                token == JsonToken.START_ARRAY, inObject ? fieldStart : -1));
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        Frame frame = stack.pop();
+                        if (frame.fieldStart >= 0) {
+                            // 嵌套在数组中的数组不单独统计长度
+                            FieldSample sample = fields.computeIfAbsent(frame.path, k -> new FieldSample());
+                            sample.bytes += offset + 1 - frame.fieldStart;
+                            sample.count++;
+                            if (frame.array) {
+                                sample.arrays++;
+                                sample.arrayLength += frame.length;
+                                sample.maxArrayLength = Math.max(sample.maxArrayLength, frame.length);
+                            }
+                        }
+                        break;
+                    default:
+                        // 标量：字段值在下一个 token 到达时结算；数组元素只计数
+                        if (parent == null) {
+                            break;
+                        }
+                        if (parent.array) {
+                            parent.length++;
+                        } else {
+                            pendingPath = fieldPath;
+                            pendingStart = fieldStart;
+                            pendingNull = token == JsonToken.VALUE_NULL;
+                        }
+                        break;
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 生成仪表盘 "response-size" 视图数据（按平均大小降序）
+     *
+     * @return 统计结果
+     */
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> items = new ArrayList<>(endpoints.size());
+        for (EndpointStats stats : endpoints.values()) {
+            items.add(stats.toMap());
+        }
+        items.sort((a, b) -> Long.compare((Long) b.get("avgBytes"), (Long) a.get("avgBytes")));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", true);
+        result.put("sampleRate", sampleRate);
+        result.put("maxSampleBytes", maxSampleBytes);
+        result.put("overflow", overflow.sum());
+        result.put("dropped", dropped.sum());
+        result.put("endpoints", items);
+        return result;
+    }
+
+    /**
+     * 清空统计数据
+     */
+    public void clear() {
+        endpoints.clear();
+        overflow.reset();
+        dropped.reset();
+    }
+
+    /**
+     * 单个接口的累计统计（只由解析线程写入，读取时加锁复制）
+     */
+    static class EndpointStats {
+        private final String endpoint;
+        private final Map<String, String[]> declared;
+        private final Map<String, FieldSample> fields = new HashMap<>();
+        private long samples;
+        private long analyzed;
+        private long analyzedBytes;
+        private long totalBytes;
+        private long maxBytes;
+        private long lastBytes;
+
+        EndpointStats(String endpoint, Map<String, String[]> declared) {
+            this.endpoint = endpoint;
+            this.declared = declared;
+        }
+
+        synchronized void record(long bytes, Map<String, FieldSample> sample, int maxFields) {
+            samples++;
+            totalBytes += bytes;
+            maxBytes = Math.max(maxBytes, bytes);
+            lastBytes = bytes;
+            if (sample == null) {
+                return;
+            }
+            analyzed++;
+            analyzedBytes += bytes;
+            for (Map.Entry<String, FieldSample> entry : sample.entrySet()) {
+                String path = entry.getKey();
+                FieldSample total = fields.get(path);
+                if (total == null) {
+                    // 超出上限后新字段（多为以 Map 键命名的动态字段）统一归入 (other)
+                    total = fields.computeIfAbsent(fields.size() < maxFields ? path : OTHER, k -> new FieldSample());
+                }
+                FieldSample value = entry.getValue();
+                total.bytes += value.bytes;
+                total.count += value.count;
+                total.nulls += value.nulls;
+                total.arrays += value.arrays;
+                total.arrayLength += value.arrayLength;
+                total.maxArrayLength = Math.max(total.maxArrayLength, value.maxArrayLength);
+            }
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("endpoint", endpoint);
+            result.put("samples", samples);
+            result.put("analyzed", analyzed);
+            result.put("avgBytes", samples > 0 ? totalBytes / samples : 0L);
+            result.put("maxBytes", maxBytes);
+            result.put("lastBytes", lastBytes);
+            result.put("totalBytes", totalBytes);
+
+            List<Map<String, Object>> items = new ArrayList<>(fields.size());
+            for (Map.Entry<String, FieldSample> entry : fields.entrySet()) {
+                FieldSample f = entry.getValue();
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("path", entry.getKey());
+                String[] field = declared.get(entry.getKey());
+                item.put("type", field != null ? field[1] : null);
+                item.put("description", field != null ? field[2] : null);
+                item.put("avgBytes", analyzed > 0 ? f.bytes / analyzed : 0L);
+                item.put("share", analyzedBytes > 0 ? Math.round(f.bytes * 1000.0 / analyzedBytes) / 10.0 : 0.0);
+                item.put("occurrences", f.count);
+                item.put("nullPercent", f.count > 0 ? Math.round(f.nulls * 1000.0 / f.count) / 10.0 : 0.0);
+                item.put("avgArrayLength", f.arrays > 0 ? Math.round(f.arrayLength * 10.0 / f.arrays) / 10.0 : null);
+                item.put("maxArrayLength", f.arrays > 0 ? f.maxArrayLength : null);
+                items.add(item);
+            }
+            items.sort((a, b) -> Long.compare((Long) b.get("avgBytes"), (Long) a.get("avgBytes")));
+            result.put("fields", items);
+
+            List<String> absent = new ArrayList<>();
+            if (analyzed > 0) {
+                for (String path : declared.keySet()) {
+                    if (!fields.containsKey(path)) {
+                        absent.add(path);
+                    }
+                }
+            }
+            result.put("absentFields", absent);
+            return result;
+        }
+    }
+}
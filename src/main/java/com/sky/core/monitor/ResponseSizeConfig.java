@@ -0,0 +1,35 @@
+package com.sky.core.monitor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 响应体积分析配置
+ * <p>
+ * 仅在 {@code sky.dashboard.response-size.enabled=true} 的 Servlet 应用中生效，
+ * 注册 {@link ResponseSizeFilter}；未采样的请求只多一次随机数判断。
+ * </p>
+ *
+ * @see ResponseSizeAnalyzer
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.response-size", name = "enabled", havingValue = "true")
+public class ResponseSizeConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseSizeFilter> responseSizeFilter(ResponseSizeAnalyzer analyzer) {
+        FilterRegistrationBean<ResponseSizeFilter> registration = new FilterRegistrationBean<>(new ResponseSizeFilter(analyzer));
+        registration.setName("skyResponseSizeFilter");
+        registration.addUrlPatterns("/*");
+        // 排在 Server-Timing 之后：复制的是 Server-Timing 缓冲交给容器之前的字节，两者互不影响
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
@@ -0,0 +1,87 @@
+package com.sky.core.monitor;
+
+import com.sky.core.meta.ApiMetadataService;
+import com.sky.core.util.CapturingResponseWrapper;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 响应体积采样过滤器
+ * <p>
+ * 按采样率（调试台请求携带 {@code X-Sky-Size} 时总是）包装响应，请求结束后把复制的字节交给
+ * {@link ResponseSizeAnalyzer}。只统计映射到处理器的 JSON 响应，仪表盘自身的接口不统计。
+ * 异步请求在异步处理完成时提交样本。
+ * </p>
+ *
+ * @see ResponseSizeConfig
+ * @since 1.0.0
+ */
+class ResponseSizeFilter implements Filter {
+
+    /** 调试台请求头：总是采样 */
+    static final String REQUEST_HEADER = "X-Sky-Size";
+
+    private final ResponseSizeAnalyzer analyzer;
+
+    ResponseSizeFilter(ResponseSizeAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || !(request instanceof HttpServletRequest)
+                || !analyzer.shouldSample(((HttpServletRequest) request).getHeader(REQUEST_HEADER) != null)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        CapturingResponseWrapper capture = new CapturingResponseWrapper((HttpServletResponse) response, analyzer.getMaxSampleBytes());
+        chain.doFilter(request, capture);
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    submit(httpRequest, capture);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            submit(httpRequest, capture);
+        }
+    }
+
+    private void submit(HttpServletRequest request, CapturingResponseWrapper capture) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String contentType = capture.getContentType();
+        if (pattern == null || capture.getTotal() == 0 || contentType == null || !contentType.contains("json")
+                || ApiMetadataService.isDashboardPath(pattern.toString())) {
+            return;
+        }
+        analyzer.submit(request.getMethod(), pattern.toString(), capture.getCopy(), capture.getCopied(), capture.getTotal());
+    }
+}
@@ -0,0 +1,214 @@
+package com.sky.core.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 容器线程池 / 连接饱和度监控
+ * <p>
+ * 定时采样内嵌容器的工作线程池（当前线程数、忙碌线程数、最大线程数、排队任务数）
+ * 和主 Connector 的连接（当前连接数、最大连接数、keep-alive 连接数），
+ * 写入固定容量的环形缓冲区，供仪表盘绘制时间序列并通过 SSE 实时推送。
+ * 采样在首次访问（打开面板）时才开始，之前不占用任何线程。
+ * </p>
+ *
+ * <ul>
+ *   <li>{@code sky.dashboard.server-pool.enabled}：总开关（默认开启）</li>
+ *   <li>{@code sky.dashboard.server-pool.interval-ms}：采样间隔（默认 1000）</li>
+ *   <li>{@code sky.dashboard.server-pool.capacity}：保留的采样点数（默认 300，即最近 5 分钟）</li>
+ * </ul>
+ *
+ * <p>
+ * 每次采样只是读取几个计数器，结果写入预分配的 long 数组，不产生垃圾，可以在生产环境常开。
+ * 操作系统层面的 accept 队列长度无法从 JVM 内读取：当前连接数达到最大连接数时，
+ * 新连接开始在 accept 队列（容量为 acceptCount）中等待，面板以此判断连接饱和。
+ * </p>
+ *
+ * @see ServerPoolProbe
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServerPoolMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerPoolMonitor.class);
+
+    /** 指标下标 */
+    static final int TIME = 0;
+    static final int THREADS = 1;
+    static final int BUSY = 2;
+    static final int MAX_THREADS = 3;
+    static final int QUEUED = 4;
+    static final int CONNECTIONS = 5;
+    static final int MAX_CONNECTIONS = 6;
+    static final int KEEP_ALIVE = 7;
+    static final int ACCEPT_COUNT = 8;
+    private static final int FIELDS = 9;
+
+    /** 指标名称（与下标一一对应，作为 JSON 字段名） */
+    private static final String[] FIELD_NAMES = {
+            "time", "threads", "busy", "maxThreads", "queued", "connections", "maxConnections", "keepAlive", "acceptCount"
+    };
+
+    @Value("${sky.dashboard.server-pool.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${sky.dashboard.server-pool.interval-ms:1000}")
+    private long intervalMs = 1000L;
+
+    @Value("${sky.dashboard.server-pool.capacity:300}")
+    private int capacity = 300;
+
+    private final List<Consumer<Map<String, Object>>> listeners = new CopyOnWriteArrayList<>();
+    private final long[] scratch = new long[FIELDS];
+
+    /** 环形缓冲区：capacity 个采样点，每个 FIELDS 个 long */
+    private long[] ring;
+    private int head;
+    private int size;
+
+    private volatile ServerPoolProbe probe;
+    private ScheduledExecutorService sampler;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private boolean started;
+
+    /**
+     * 首次访问时开始采样（面板从未打开过的应用不启动采样线程）
+     */
+    private synchronized void ensureStarted() {
+        if (started || !enabled) {
+            return;
+        }
+        if (!(applicationContext instanceof WebServerApplicationContext)
+                || ((WebServerApplicationContext) applicationContext).getWebServer() == null) {
+            // 容器尚未启动，下次访问再试
+            return;
+        }
+        started = true;
+        WebServer webServer = ((WebServerApplicationContext) applicationContext).getWebServer();
+        ServerPoolProbe found = ServerPoolProbe.forWebServer(webServer);
+        if (found == null) {
+            logger.info("Server pool monitoring is not supported for {}", webServer.getClass().getSimpleName());
+            return;
+        }
+        ring = new long[Math.max(1, capacity) * FIELDS];
+        probe = found;
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sky-server-pool-sampler");
+            t.setDaemon(true);
+            return t;
+        });
+        sampler.scheduleAtFixedRate(this::sample, 0, Math.max(100L, intervalMs), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+
+    /**
+     * 订阅新的采样点（在采样线程上回调，回调需尽快返回）
+     *
+     * @param listener 回调
+     */
+    public void addListener(Consumer<Map<String, Object>> listener) {
+        ensureStarted();
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Map<String, Object>> listener) {
+        listeners.remove(listener);
+    }
+
+    private void sample() {
+        try {
+            Arrays.fill(scratch, -1L);
+            scratch[TIME] = System.currentTimeMillis();
+            probe.sample(scratch);
+            synchronized (this) {
+                System.arraycopy(scratch, 0, ring, head * FIELDS, FIELDS);
+                head = (head + 1) % capacity();
+                if (size < capacity()) {
+                    size++;
+                }
+            }
+            if (!listeners.isEmpty()) {
+                Map<String, Object> point = toMap(scratch, 0);
+                for (Consumer<Map<String, Object>> listener : listeners) {
+                    listener.accept(point);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Server pool sampling failed: {}", e.toString());
+        }
+    }
+
+    private int capacity() {
+        return ring.length / FIELDS;
+    }
+
+    /**
+     * 获取完整的时间序列（按时间升序）
+     *
+     * @return 容器名称、采样间隔和采样点
+     */
+    public Map<String, Object> snapshot() {
+        ensureStarted();
+        ServerPoolProbe current = probe;
+        List<Map<String, Object>> points = new ArrayList<>();
+        if (current != null) {
+            long[] copy;
+            int start;
+            int count;
+            synchronized (this) {
+                copy = ring.clone();
+                count = size;
+                start = (head - size + capacity()) % capacity();
+            }
+            for (int i = 0; i < count; i++) {
+                points.add(toMap(copy, ((start + i) % (copy.length / FIELDS)) * FIELDS));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("supported", current != null);
+        result.put("enabled", enabled);
+        result.put("server", current != null ? current.name() : null);
+        result.put("intervalMs", intervalMs);
+        result.put("capacity", capacity);
+        result.put("points", points);
+        return result;
+    }
+
+    private static Map<String, Object> toMap(long[] values, int offset) {
+        Map<String, Object> point = new LinkedHashMap<>();
+        for (int i = 0; i < FIELDS; i++) {
+            point.put(FIELD_NAMES[i], values[offset + i]);
+        }
+        return point;
+    }
+}
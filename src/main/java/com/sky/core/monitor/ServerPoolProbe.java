@@ -0,0 +1,238 @@
+package com.sky.core.monitor;
+
+import org.apache.catalina.Service;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * 内嵌容器线程池 / 连接探针
+ * <p>
+ * 每次采样把指标写入调用方提供的数组（下标见 {@link ServerPoolMonitor} 的字段常量），
+ * 无法获取的指标写 -1。各容器的实现只在对应容器存在时才会被加载：
+ * <ul>
+ *   <li>Tomcat：直接读取主 Connector 的协议处理器和线程池（Spring Boot 默认关闭了 Tomcat 的 MBean）</li>
+ *   <li>Jetty：反射读取 QueuedThreadPool 和 Connector 的已连接端点数</li>
+ *   <li>Undertow：读取 XNIO Worker 注册的 MBean</li>
+ * </ul>
+ * </p>
+ *
+ * @since 1.0.0
+ */
+interface ServerPoolProbe {
+
+    /**
+     * 容器名称
+     */
+    String name();
+
+    /**
+     * 采样一次
+     *
+     * @param out 指标数组（时间戳已由调用方写入）
+     */
+    void sample(long[] out);
+
+    /**
+     * 按容器类型选择探针
+     *
+     * @param webServer 已启动的内嵌容器
+     * @return 探针，不支持的容器返回 null
+     */
+    static ServerPoolProbe forWebServer(WebServer webServer) {
+        String type = webServer.getClass().getName();
+        try {
+            if (type.endsWith(".TomcatWebServer")) {
+                return new TomcatProbe(webServer);
+            }
+            if (type.endsWith(".JettyWebServer")) {
+                return new JettyProbe(webServer);
+            }
+            if (type.contains(".undertow.")) {
+                return new UndertowProbe();
+            }
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // 容器版本不兼容，按不支持处理
+        }
+        return null;
+    }
+
+    static long number(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+
+    /**
+     * Tomcat：主 Connector 的线程池、连接数和 keep-alive 连接数
+     */
+    final class TomcatProbe implements ServerPoolProbe {
+
+        private final Service service;
+        private final Method endpointGetter;
+        private volatile Method keepAliveGetter;
+
+        TomcatProbe(WebServer webServer) throws NoSuchMethodException {
+            // 不能调用 Tomcat#getConnector()：容器启动前 Connector 被暂时移除，该方法会另建一个默认 Connector
+            this.service = ((TomcatWebServer) webServer).getTomcat().getService();
+            Method getter = AbstractProtocol.class.getDeclaredMethod("getEndpoint");
+            getter.setAccessible(true);
+            this.endpointGetter = getter;
+        }
+
+        @Override
+        public String name() {
+            return "Tomcat";
+        }
+
+        @Override
+        public void sample(long[] out) {
+            Connector[] connectors = service.findConnectors();
+            if (connectors.length == 0) {
+                // 容器尚未启动
+                return;
+            }
+            // 第一个是主 Connector，附加的（如 Mock 端口）排在其后
+            ProtocolHandler handler = connectors[0].getProtocolHandler();
+            Executor executor = handler.getExecutor();
+            if (executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor) {
+                org.apache.tomcat.util.threads.ThreadPoolExecutor pool = (org.apache.tomcat.util.threads.ThreadPoolExecutor) executor;
+                out[ServerPoolMonitor.THREADS] = pool.getPoolSize();
+                out[ServerPoolMonitor.BUSY] = pool.getActiveCount();
+                out[ServerPoolMonitor.MAX_THREADS] = pool.getMaximumPoolSize();
+                out[ServerPoolMonitor.QUEUED] = pool.getQueue().size();
+            } else if (executor instanceof java.util.concurrent.ThreadPoolExecutor) {
+                java.util.concurrent.ThreadPoolExecutor pool = (java.util.concurrent.ThreadPoolExecutor) executor;
+                out[ServerPoolMonitor.THREADS] = pool.getPoolSize();
+                out[ServerPoolMonitor.BUSY] = pool.getActiveCount();
+                out[ServerPoolMonitor.MAX_THREADS] = pool.getMaximumPoolSize();
+                out[ServerPoolMonitor.QUEUED] = pool.getQueue().size();
+            }
+            if (handler instanceof AbstractProtocol) {
+                AbstractProtocol<?> protocol = (AbstractProtocol<?>) handler;
+                out[ServerPoolMonitor.CONNECTIONS] = protocol.getConnectionCount();
+                out[ServerPoolMonitor.MAX_CONNECTIONS] = protocol.getMaxConnections();
+                out[ServerPoolMonitor.ACCEPT_COUNT] = protocol.getAcceptCount();
+                out[ServerPoolMonitor.KEEP_ALIVE] = keepAliveCount(protocol);
+            }
+        }
+
+        private long keepAliveCount(AbstractProtocol<?> protocol) {
+            try {
+                Object endpoint = endpointGetter.invoke(protocol);
+                Method getter = keepAliveGetter;
+                if (getter == null) {
+                    // NIO / NIO2 端点才有该方法
+                    getter = endpoint.getClass().getMethod("getKeepAliveCount");
+                    keepAliveGetter = getter;
+                }
+                return number(getter.invoke(endpoint));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Jetty：QueuedThreadPool 和第一个 Connector 的已连接端点数（不依赖 Jetty 编译期类型）
+     */
+    final class JettyProbe implements ServerPoolProbe {
+
+        private final Object threadPool;
+        private final Object connector;
+
+        JettyProbe(WebServer webServer) throws ReflectiveOperationException {
+            Object server = webServer.getClass().getMethod("getServer").invoke(webServer);
+            this.threadPool = server.getClass().getMethod("getThreadPool").invoke(server);
+            Object[] connectors = (Object[]) server.getClass().getMethod("getConnectors").invoke(server);
+            this.connector = connectors.length > 0 ? connectors[0] : null;
+        }
+
+        @Override
+        public String name() {
+            return "Jetty";
+        }
+
+        @Override
+        public void sample(long[] out) {
+            out[ServerPoolMonitor.THREADS] = call(threadPool, "getThreads");
+            out[ServerPoolMonitor.BUSY] = call(threadPool, "getBusyThreads");
+            out[ServerPoolMonitor.MAX_THREADS] = call(threadPool, "getMaxThreads");
+            out[ServerPoolMonitor.QUEUED] = call(threadPool, "getQueueSize");
+            if (connector != null) {
+                try {
+                    Object endPoints = connector.getClass().getMethod("getConnectedEndPoints").invoke(connector);
+                    out[ServerPoolMonitor.CONNECTIONS] = endPoints instanceof Collection ? ((Collection<?>) endPoints).size() : -1;
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    out[ServerPoolMonitor.CONNECTIONS] = -1;
+                }
+                out[ServerPoolMonitor.ACCEPT_COUNT] = call(connector, "getAcceptQueueSize");
+            }
+        }
+
+        private static long call(Object target, String method) {
+            try {
+                return number(target.getClass().getMethod(method).invoke(target));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Undertow：XNIO Worker 及其监听地址的 MBean
+     */
+    final class UndertowProbe implements ServerPoolProbe {
+
+        private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        private volatile ObjectName worker;
+        private volatile ObjectName listener;
+
+        @Override
+        public String name() {
+            return "Undertow";
+        }
+
+        @Override
+        public void sample(long[] out) {
+            try {
+                if (worker == null) {
+                    worker = first(server.queryNames(new ObjectName("org.xnio:type=Xnio,provider=*,worker=*"), null));
+                    listener = first(server.queryNames(new ObjectName("org.xnio:type=Xnio,provider=*,worker=*,address=*"), null));
+                }
+                if (worker != null) {
+                    out[ServerPoolMonitor.THREADS] = attribute(worker, "WorkerPoolSize");
+                    out[ServerPoolMonitor.BUSY] = attribute(worker, "BusyWorkerThreadCount");
+                    out[ServerPoolMonitor.MAX_THREADS] = attribute(worker, "MaxWorkerPoolSize");
+                    out[ServerPoolMonitor.QUEUED] = attribute(worker, "WorkerQueueSize");
+                }
+                if (listener != null) {
+                    out[ServerPoolMonitor.CONNECTIONS] = attribute(listener, "ConnectionCount");
+                    out[ServerPoolMonitor.MAX_CONNECTIONS] = attribute(listener, "ConnectionLimitHighWater");
+                }
+            } catch (Exception e) {
+                // MBean 尚未注册或属性不存在，本次采样保留 -1
+            }
+        }
+
+        private long attribute(ObjectName name, String attribute) {
+            try {
+                return number(server.getAttribute(name, attribute));
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+
+        private static ObjectName first(Set<ObjectName> names) {
+            return names.isEmpty() ? null : names.iterator().next();
+        }
+    }
+}
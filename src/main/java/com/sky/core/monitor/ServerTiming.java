@@ -0,0 +1,145 @@
+package com.sky.core.monitor;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * 单个请求的服务端耗时分段
+ * <p>
+ * 由 {@link ServerTimingFilter} 在带有 {@code X-Sky-Timing} 请求头的请求上创建并存入请求属性，
+ * 请求经过各个阶段时记录时间点，最终生成 {@code Server-Timing} 响应头：
+ * <ul>
+ *   <li>{@code chain}：过滤器链、DispatcherServlet 分发和处理器查找</li>
+ *   <li>{@code args}：请求体反序列化（仅有 @RequestBody 参数时出现）</li>
+ *   <li>{@code handler}：其余参数解析和处理器方法执行</li>
+ *   <li>{@code serialize}：响应体序列化（或视图渲染）</li>
+ *   <li>{@code total}：从进入过滤器到提交响应头</li>
+ * </ul>
+ * 响应头在提交时生成，尚未到达的阶段不会出现在响应头中。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class ServerTiming {
+
+    /** 开启分段计时的请求头（仪表盘调试请求携带） */
+    public static final String REQUEST_HEADER = "X-Sky-Timing";
+
+    /** 响应头 */
+    public static final String RESPONSE_HEADER = "Server-Timing";
+
+    static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    private final long start = System.nanoTime();
+
+    /** 各阶段时间点（System.nanoTime，0 表示未到达） */
+    private volatile long handlerFound;
+    private volatile long bodyRead;
+    private volatile long bodyWrite;
+    private volatile long handled;
+    private volatile long completed;
+
+    ServerTiming() {
+    }
+
+    /**
+     * 获取请求上的计时上下文
+     *
+     * @param request 当前请求
+     * @return 计时上下文，未开启计时的请求返回 null
+     */
+    static ServerTiming of(ServletRequest request) {
+        Object timing = request.getAttribute(ATTRIBUTE);
+        return timing instanceof ServerTiming ? (ServerTiming) timing : null;
+    }
+
+    /**
+     * 获取当前线程请求上的计时上下文（供无法直接拿到请求对象的扩展点使用）
+     */
+    static ServerTiming current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object timing = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return timing instanceof ServerTiming ? (ServerTiming) timing : null;
+    }
+
+    /** 拦截器 preHandle：已找到处理器，即将解析参数 */
+    void markHandlerFound() {
+        handlerFound = System.nanoTime();
+    }
+
+    /** 请求体读取完成（多个 @RequestBody 参数时以最后一个为准） */
+    void markBodyRead() {
+        bodyRead = System.nanoTime();
+    }
+
+    /** 处理器已返回，即将写出响应体 */
+    void markBodyWrite() {
+        if (bodyWrite == 0) {
+            bodyWrite = System.nanoTime();
+        }
+    }
+
+    /** 拦截器 postHandle：@ResponseBody 已写出，视图尚未渲染 */
+    void markHandled() {
+        handled = System.nanoTime();
+    }
+
+    /** 拦截器 afterCompletion：视图渲染完成 */
+    void markCompleted() {
+        completed = System.nanoTime();
+    }
+
+    /**
+     * 生成 Server-Timing 响应头
+     *
+     * @return 响应头的值
+     */
+    String toHeader() {
+        long now = System.nanoTime();
+        StringBuilder header = new StringBuilder(160);
+        if (handlerFound == 0) {
+            // 未进入处理器（静态资源、过滤器直接应答、404 等），只有总耗时
+            append(header, "chain", start, now, "filter chain");
+        } else {
+            append(header, "chain", start, handlerFound, "filter chain + dispatch");
+            long handlerStart = handlerFound;
+            if (bodyRead != 0) {
+                append(header, "args", handlerFound, bodyRead, "request body");
+                handlerStart = bodyRead;
+            }
+            if (bodyWrite != 0) {
+                // @ResponseBody：处理器结束于写出响应体之前，序列化在 postHandle 之前完成
+                append(header, "handler", handlerStart, bodyWrite, "handler");
+                append(header, "serialize", bodyWrite, handled != 0 ? handled : now, "response body");
+            } else if (handled != 0) {
+                // 视图：处理器结束于 postHandle，视图渲染在 afterCompletion 之前完成
+                append(header, "handler", handlerStart, handled, "handler");
+                append(header, "serialize", handled, completed != 0 ? completed : now, "view render");
+            } else {
+                append(header, "handler", handlerStart, completed != 0 ? completed : now, "handler");
+            }
+        }
+        append(header, "total", start, now, null);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String name, long from, long to, String desc) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        long micros = Math.max(0, to - from) / 1000;
+        header.append(name).append(";dur=").append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) header.append('0');
+        if (fraction < 10) header.append('0');
+        header.append(fraction);
+        if (desc != null) {
+            header.append(";desc=\"").append(desc).append('"');
+        }
+    }
+}
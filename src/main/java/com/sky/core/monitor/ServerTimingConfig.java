@@ -0,0 +1,43 @@
+package com.sky.core.monitor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Server-Timing 配置
+ * <p>
+ * 仅在 {@code sky.dashboard.server-timing.enabled=true} 的 Servlet 应用中生效。
+ * 开启后，仪表盘调试台发出的请求（携带 {@code X-Sky-Timing} 请求头）会在响应中附带
+ * Server-Timing，调试台据此绘制服务端耗时瀑布图；普通请求只多一次请求头判断。
+ * </p>
+ *
+ * @see ServerTiming
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setName("skyServerTimingFilter");
+        registration.addUrlPatterns("/*");
+        // 排在所有业务过滤器之前，chain 阶段覆盖完整的过滤器链
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor()).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
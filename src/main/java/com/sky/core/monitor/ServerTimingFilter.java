@@ -0,0 +1,52 @@
+package com.sky.core.monitor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Server-Timing 过滤器
+ * <p>
+ * 只处理携带 {@code X-Sky-Timing} 请求头的请求（仪表盘调试台发出的请求），
+ * 其余请求直接放行，不创建任何对象。计时请求的响应体经 {@link ServerTimingResponse} 缓冲，
+ * 过滤器链执行完毕后写入 Server-Timing 响应头再输出。
+ * </p>
+ *
+ * <p>
+ * 进入异步处理的请求（Callable、DeferredResult 等）在主线程返回时即提交响应头，
+ * 分段只覆盖同步部分。
+ * </p>
+ *
+ * @see ServerTimingConfig
+ * @since 1.0.0
+ */
+class ServerTimingFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || !(request instanceof HttpServletRequest)
+                || ((HttpServletRequest) request).getHeader(ServerTiming.REQUEST_HEADER) == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ServerTiming timing = new ServerTiming();
+        request.setAttribute(ServerTiming.ATTRIBUTE, timing);
+        ServerTimingResponse wrapped = new ServerTimingResponse((HttpServletResponse) response, timing);
+        try {
+            chain.doFilter(request, wrapped);
+        } catch (IOException | ServletException | RuntimeException e) {
+            wrapped.abort();
+            throw e;
+        }
+        wrapped.finish();
+    }
+}
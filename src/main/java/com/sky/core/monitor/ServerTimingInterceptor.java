@@ -0,0 +1,46 @@
+package com.sky.core.monitor;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Server-Timing 拦截器
+ * <p>
+ * 以最高优先级注册，记录找到处理器、处理器返回（@ResponseBody 已写出）和视图渲染完成三个时间点。
+ * </p>
+ *
+ * @see ServerTiming
+ * @since 1.0.0
+ */
+class ServerTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ServerTiming timing = ServerTiming.of(request);
+        if (timing != null) {
+            timing.markHandlerFound();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        ServerTiming timing = ServerTiming.of(request);
+        if (timing != null) {
+            timing.markHandled();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ServerTiming timing = ServerTiming.of(request);
+        if (timing != null) {
+            timing.markCompleted();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.sky.core.monitor;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * 延迟提交的响应包装
+ * <p>
+ * Server-Timing 必须在响应头提交前写入，而序列化阶段结束时响应体往往已经开始输出。
+ * 包装后响应体先写入内存缓冲，以下任一情况发生时才写入 Server-Timing 并把缓冲交给容器：
+ * <ul>
+ *   <li>过滤器链执行完毕（{@link #finish()}）</li>
+ *   <li>业务代码主动 flush（流式输出等）</li>
+ *   <li>缓冲超过上限（大响应不再缓冲，之后的数据直接写出）</li>
+ *   <li>sendError / sendRedirect</li>
+ * </ul>
+ * 只有携带计时请求头的调试请求会被包装，普通流量不受影响。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    /** 缓冲上限 */
+    private static final int BUFFER_LIMIT = 1024 * 1024;
+
+    private final ServerTiming timing;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+    private final BufferedOutputStream outputStream = new BufferedOutputStream();
+    private PrintWriter writer;
+    private boolean headerWritten;
+    private boolean passThrough;
+
+    ServerTimingResponse(HttpServletResponse response, ServerTiming timing) {
+        super(response);
+        this.timing = timing;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        commit();
+        super.flushBuffer();
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return headerWritten || super.isCommitted();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (!passThrough) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (!passThrough) {
+            buffer.reset();
+        }
+        super.reset();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeader();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeader();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * 请求处理完毕：写入 Server-Timing 并输出缓冲的响应体
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        commit();
+    }
+
+    /**
+     * 请求异常结束：只写入 Server-Timing，丢弃缓冲（容器随后会重置响应并转发到错误页）
+     */
+    void abort() {
+        writeHeader();
+        buffer.reset();
+    }
+
+    private void writeHeader() {
+        if (!headerWritten) {
+            headerWritten = true;
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (!response.isCommitted()) {
+                response.setHeader(ServerTiming.RESPONSE_HEADER, timing.toHeader());
+            }
+        }
+    }
+
+    private void commit() throws IOException {
+        writeHeader();
+        if (!passThrough) {
+            passThrough = true;
+            if (buffer.size() > 0) {
+                buffer.writeTo(getResponse().getOutputStream());
+                buffer.reset();
+            }
+        }
+    }
+
+    private class BufferedOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (passThrough) {
+                getResponse().getOutputStream().write(b);
+                return;
+            }
+            buffer.write(b);
+            if (buffer.size() > BUFFER_LIMIT) {
+                commit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (passThrough) {
+                getResponse().getOutputStream().write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() > BUFFER_LIMIT) {
+                commit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            commit();
+            getResponse().getOutputStream().flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            if (!passThrough) {
+                return true;
+            }
+            try {
+                return getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            try {
+                commit();
+                getResponse().getOutputStream().setWriteListener(listener);
+            } catch (IOException e) {
+                listener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.sky.core.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按处理器方法的栈采样（火焰图）
+ * <p>
+ * 在仪表盘中手动开启，限定时长：后台线程按固定间隔用 {@link ThreadMXBean#getThreadInfo(long[], int)}
+ * 一次性取出所有正在处理请求的线程的栈，按线程当前执行的处理器方法（由 {@link StackSamplerInterceptor} 登记）
+ * 归入各接口的调用树。取栈前后线程必须仍在处理同一个请求，否则丢弃该样本。
+ * 栈从 {@code DispatcherServlet.doDispatch} 开始截取（包含拦截器、参数解析和响应序列化），
+ * 阻塞和等待中的线程在栈顶追加 {@code [BLOCKED] 锁类型} / {@code [WAITING] 锁类型} 节点。
+ * </p>
+ *
+ * <p><b>开销控制</b>：
+ * <ul>
+ *   <li>到时自动停止，时长不超过 {@code sky.dashboard.profiler.max-duration-seconds}（默认 60）</li>
+ *   <li>采样间隔不低于 {@code min-interval-ms}（默认 10）；采样线程平均每次消耗的 CPU 时间超过间隔的 {@code max-overhead}（默认 2%）时间隔翻倍，回落后再逐步恢复</li>
+ *   <li>每个栈最多 {@code max-depth} 帧（默认 128），超出而取不到 {@code doDispatch} 的栈归入 {@code (truncated)} 节点；
+ *       全部调用树合计最多 {@code max-nodes} 个节点（默认 50000），超出后新路径的样本计在已有的最深节点上</li>
+ * </ul>
+ * 没有采样时拦截器只有一次 volatile 读，也没有后台线程。
+ * </p>
+ *
+ * @see StackSamplerInterceptor
+ * @since 1.0.0
+ */
+@Component
+public class StackSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StackSampler.class);
+
+    /** 栈截取起点 */
+    private static final String DISPATCH_CLASS = "org.springframework.web.servlet.DispatcherServlet";
+    private static final String DISPATCH_METHOD = "doDispatch";
+
+    /** 栈被截断、找不到 doDispatch 时样本所归入的节点 */
+    private static final String TRUNCATED = "(truncated)";
+
+    @Value("${sky.dashboard.profiler.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${sky.dashboard.profiler.max-duration-seconds:60}")
+    private int maxDurationSeconds = 60;
+
+    @Value("${sky.dashboard.profiler.min-interval-ms:10}")
+    private int minIntervalMs = 10;
+
+    @Value("${sky.dashboard.profiler.max-overhead:0.02}")
+    private double maxOverhead = 0.02;
+
+    @Value("${sky.dashboard.profiler.max-depth:128}")
+    private int maxDepth = 128;
+
+    @Value("${sky.dashboard.profiler.max-nodes:50000}")
+    private int maxNodes = 50000;
+
+    /** 线程 ID → 正在执行的处理器方法 */
+    private final Map<Long, Active> active = new ConcurrentHashMap<>();
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private boolean cpuTimeSupported;
+
+    /** Servlet 应用中由 {@link MonitorWebConfig} 注册的拦截器，WebFlux 应用中不存在 */
+    @Autowired(required = false)
+    private StackSamplerInterceptor interceptor;
+
+    private volatile Session session;
+
+    @PostConstruct
+    public void init() {
+        try {
+            cpuTimeSupported = threadBean.isCurrentThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            cpuTimeSupported = false;
+        }
+        if (enabled && interceptor != null) {
+            interceptor.attach(this);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stop("shutdown");
+    }
+
+    boolean isRunning() {
+        Session s = session;
+        return s != null && s.running;
+    }
+
+    /**
+     * 登记当前线程开始执行处理器方法
+     */
+    void enter(Method method, String endpoint) {
+        active.put(Thread.currentThread().getId(), new Active(method, endpoint));
+    }
+
+    /**
+     * 注销当前线程
+     */
+    void exit() {
+        active.remove(Thread.currentThread().getId());
+    }
+
+    /**
+     * 开始一次采样
+     *
+     * @param seconds 时长（秒，超过上限时按上限）
+     * @param intervalMs 采样间隔（毫秒，低于下限时按下限）
+     * @return 是否开始；已在采样、未开启或非 Servlet 应用时返回 false
+     */
+    public synchronized boolean start(int seconds, int intervalMs) {
+        if (!enabled || interceptor == null || isRunning()) {
+            return false;
+        }
+        Session s = new Session(Math.max(1, Math.min(seconds, maxDurationSeconds)), Math.max(minIntervalMs, intervalMs));
+        session = s;
+        Thread thread = new Thread(() -> run(s), "sky-profiler");
+        thread.setDaemon(true);
+        s.thread = thread;
+        thread.start();
+        logger.info("Stack sampling started for {}s at {}ms intervals", s.durationSeconds, s.intervalMs);
+        return true;
+    }
+
+    /**
+     * 提前停止采样（结果保留）
+     */
+    public synchronized void stop(String reason) {
+        Session s = session;
+        if (s != null && s.running) {
+            s.stopReason = reason;
+            s.running = false;
+            s.thread.interrupt();
+        }
+    }
+
+    private void run(Session s) {
+        long deadline = s.startedAt + TimeUnit.SECONDS.toNanos(s.durationSeconds);
+        try {
+            while (s.running && System.nanoTime() < deadline) {
+                long begin = cpuTime();
+                sample(s);
+                long cost = cpuTime() - begin;
+                s.costNanos += cost;
+                adjustInterval(s, cost);
+                Thread.sleep(Math.max(0, Math.min(s.intervalMs, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+            }
+            s.stopReason = s.stopReason != null ? s.stopReason : "completed";
+        } catch (InterruptedException e) {
+            // stop() 已记录原因
+        } catch (RuntimeException e) {
+            s.stopReason = "failed: " + e;
+            logger.warn("Stack sampling failed", e);
+        } finally {
+            s.running = false;
+            s.endedAt = System.nanoTime();
+        }
+        logger.info("Stack sampling stopped ({}), {} samples in {} ticks", s.stopReason, s.samples, s.ticks);
+    }
+
+    /**
+     * 采样线程的 CPU 时间（不支持时退化为墙钟时间）：单核或负载高时墙钟时间包含等待调度的时间，会高估开销
+     */
+    private long cpuTime() {
+        return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    /**
+     * 按平滑后的取栈耗时调整间隔：超出开销上限时翻倍（最长 1 秒），降到上限的四分之一以下时减半（不低于请求的间隔）
+     */
+    private void adjustInterval(Session s, long cost) {
+        s.avgCostNanos = s.avgCostNanos == 0 ? cost : (s.avgCostNanos * 7 + cost) / 8;
+        double budget = TimeUnit.MILLISECONDS.toNanos(s.intervalMs) * maxOverhead;
+        if (s.avgCostNanos > budget && s.intervalMs < 1000) {
+            s.intervalMs = Math.min(1000, s.intervalMs * 2);
+        } else if (s.avgCostNanos < budget / 4 && s.intervalMs > s.requestedIntervalMs) {
+            s.intervalMs = Math.max(s.requestedIntervalMs, s.intervalMs / 2);
+        }
+    }
+
+    private void sample(Session s) {
+        s.ticks++;
+        if (active.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Active>> threads = new ArrayList<>(active.entrySet());
+        long[] ids = new long[threads.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = threads.get(i).getKey();
+        }
+        ThreadInfo[] infos = threadBean.getThreadInfo(ids, maxDepth);
+        synchronized (s) {
+            for (int i = 0; i < infos.length; i++) {
+                Active current = threads.get(i).getValue();
+                // 取栈期间线程已换了请求：栈和处理器对不上
+                if (infos[i] == null || active.get(ids[i]) != current) {
+                    continue;
+                }
+                s.profileFor(current).add(infos[i], s, maxDepth);
+                s.samples++;
+            }
+        }
+    }
+
+    /**
+     * 生成仪表盘 "profiler" 视图数据（接口按样本数降序，含调用树）
+     *
+     * @return 采样状态和结果；尚未采样时 {@code endpoints} 为空
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("supported", interceptor != null);
+        result.put("maxDurationSeconds", maxDurationSeconds);
+        result.put("minIntervalMs", minIntervalMs);
+        Session s = session;
+        if (s == null) {
+            result.put("running", false);
+            result.put("endpoints", new ArrayList<>());
+            return result;
+        }
+        result.put("running", s.running);
+        synchronized (s) {
+            long elapsed = Math.max(0, (s.endedAt != 0 ? s.endedAt : System.nanoTime()) - s.startedAt);
+            result.put("durationSeconds", s.durationSeconds);
+            result.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(elapsed));
+            result.put("requestedIntervalMs", s.requestedIntervalMs);
+            result.put("intervalMs", s.intervalMs);
+            result.put("ticks", s.ticks);
+            result.put("samples", s.samples);
+            result.put("sampleCpuUs", TimeUnit.NANOSECONDS.toMicros(s.avgCostNanos));
+            result.put("overheadPercent", elapsed > 0 ? Math.round(s.costNanos * 10000.0 / elapsed) / 100.0 : 0);
+            result.put("nodes", s.nodes);
+            result.put("truncated", s.nodes >= maxNodes);
+            result.put("stopReason", s.stopReason);
+            List<Profile> profiles = new ArrayList<>(s.profiles.values());
+            profiles.sort((a, b) -> Long.compare(b.root.total, a.root.total));
+            List<Map<String, Object>> endpoints = new ArrayList<>();
+            for (Profile p : profiles) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("endpoint", p.endpoint);
+                item.put("handler", p.handler);
+                item.put("samples", p.root.total);
+                item.put("states", new LinkedHashMap<>(p.states));
+                item.put("tree", p.root.toMap());
+                endpoints.add(item);
+            }
+            result.put("endpoints", endpoints);
+        }
+        return result;
+    }
+
+    /**
+     * 导出折叠栈格式（每行 {@code 帧;帧;帧 次数}），可直接交给 flamegraph.pl、speedscope 等工具
+     *
+     * @param endpoint 接口（如 "[GET] /demo/hello"），为空时导出全部接口（以接口名为根帧）
+     * @return 折叠栈文本
+     */
+    public String collapsed(String endpoint) {
+        StringBuilder sb = new StringBuilder();
+        Session s = session;
+        if (s == null) {
+            return "";
+        }
+        synchronized (s) {
+            for (Profile p : s.profiles.values()) {
+                if (endpoint == null || endpoint.isEmpty()) {
+                    p.root.collapse(p.endpoint, sb);
+                } else if (endpoint.equals(p.endpoint)) {
+                    for (Node child : p.root.children.values()) {
+                        child.collapse(child.name, sb);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 正在执行的处理器方法（每个请求一个实例，用于判断取栈前后是否为同一请求）
+     */
+    private static final class Active {
+        final Method method;
+        final String endpoint;
+
+        Active(Method method, String endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+    }
+
+    /**
+     * 一次采样及其结果（调用树只由采样线程写入，读写都在 Session 上同步）
+     */
+    private final class Session {
+        final long startedAt = System.nanoTime();
+        final int durationSeconds;
+        final int requestedIntervalMs;
+        volatile int intervalMs;
+        volatile boolean running = true;
+        volatile String stopReason;
+        volatile long endedAt;
+        Thread thread;
+
+        long ticks;
+        long samples;
+        long costNanos;
+        long avgCostNanos;
+        int nodes;
+        final Map<String, Profile> profiles = new HashMap<>();
+
+        Session(int durationSeconds, int intervalMs) {
+            this.durationSeconds = durationSeconds;
+            this.requestedIntervalMs = intervalMs;
+            this.intervalMs = intervalMs;
+        }
+
+        Profile profileFor(Active a) {
+            return profiles.computeIfAbsent(a.endpoint, e -> new Profile(a.method, e));
+        }
+
+        /** 调用树节点数未达上限时才允许新建节点 */
+        boolean reserveNode() {
+            if (nodes >= maxNodes) {
+                return false;
+            }
+            nodes++;
+            return true;
+        }
+    }
+
+    /**
+     * 单个接口的调用树
+     */
+    private static final class Profile {
+        final String endpoint;
+        final String handler;
+        final Node root;
+        final Map<String, Long> states = new LinkedHashMap<>();
+
+        Profile(Method method, String endpoint) {
+            this.endpoint = endpoint;
+            this.handler = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+            this.root = new Node(endpoint);
+        }
+
+        void add(ThreadInfo info, Session s, int maxDepth) {
+            StackTraceElement[] stack = info.getStackTrace();
+            // 从栈底找截取起点（栈顶在下标 0）
+            int from = -1;
+            for (int i = stack.length - 1; i >= 0; i--) {
+                if (DISPATCH_METHOD.equals(stack[i].getMethodName()) && DISPATCH_CLASS.equals(stack[i].getClassName())) {
+                    from = i;
+                    break;
+                }
+            }
+            Thread.State state = info.getThreadState();
+            states.merge(state.name(), 1L, Long::sum);
+
+            Node node = root;
+            node.total++;
+            if (from < 0) {
+                from = stack.length - 1;
+                if (stack.length >= maxDepth) {
+                    // 栈超过 max-depth 被截断，doDispatch 不在取到的帧中：起点是任意一帧，单独归入一个根，避免与真实调用路径混在一起
+                    node = node.child(TRUNCATED, s);
+                }
+            }
+            for (int i = from; i >= 0 && node != null; i--) {
+                node = node.child(stack[i].getClassName() + "." + stack[i].getMethodName(), s);
+            }
+            if (node != null
+                    && (state == Thread.State.BLOCKED || state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING)) {
+                String lock = info.getLockName();
+                node.child("[" + state.name() + "]" + (lock != null ? " " + stripIdentity(lock) : ""), s);
+            }
+        }
+
+        /** 锁名形如 java.lang.Object@1b6d3586，去掉对象标识以便同类锁合并 */
+        private static String stripIdentity(String lockName) {
+            int at = lockName.lastIndexOf('@');
+            return at > 0 ? lockName.substring(0, at) : lockName;
+        }
+    }
+
+    /**
+     * 调用树节点（total 为经过此帧的样本数，自身样本数 = total - 子节点 total 之和）
+     */
+    private static final class Node {
+        final String name;
+        long total;
+        final Map<String, Node> children = new LinkedHashMap<>();
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 获取或创建子节点并计入一个样本
+         *
+         * @return 子节点；节点数已达上限时返回 null（样本停在当前节点上）
+         */
+        Node child(String childName, Session s) {
+            Node child = children.get(childName);
+            if (child == null) {
+                if (!s.reserveNode()) {
+                    return null;
+                }
+                child = new Node(childName);
+                children.put(childName, child);
+            }
+            child.total++;
+            return child;
+        }
+
+        /** {n: 名称, v: 样本数, c: 子节点（按样本数降序）} */
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("n", name);
+            map.put("v", total);
+            if (!children.isEmpty()) {
+                List<Node> sorted = new ArrayList<>(children.values());
+                sorted.sort((a, b) -> Long.compare(b.total, a.total));
+                List<Map<String, Object>> list = new ArrayList<>(sorted.size());
+                for (Node child : sorted) {
+                    list.add(child.toMap());
+                }
+                map.put("c", list);
+            }
+            return map;
+        }
+
+        void collapse(String path, StringBuilder sb) {
+            long self = total;
+            for (Node child : children.values()) {
+                self -= child.total;
+                child.collapse(path + ";" + child.name, sb);
+            }
+            if (self > 0) {
+                sb.append(path).append(' ').append(self).append('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sky.core.monitor;
+
+import com.sky.core.meta.ApiMetadataService;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 栈采样拦截器
+ * <p>
+ * 采样进行中时，preHandle 把当前线程登记为正在执行该处理器方法，请求在本线程上结束
+ * （afterCompletion / afterConcurrentHandlingStarted）时注销，{@link StackSampler} 只对登记的线程取栈。
+ * 异步分派阶段重新登记；没有采样时只有一次 volatile 读。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+class StackSamplerInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATTRIBUTE = StackSamplerInterceptor.class.getName() + ".ACTIVE";
+
+    /** 采样器，首次访问仪表盘的栈采样时才创建并接入 */
+    private volatile StackSampler sampler;
+
+    void attach(StackSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StackSampler sampler = this.sampler;
+        if (sampler == null || !sampler.isRunning() || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null && ApiMetadataService.isDashboardPath(pattern.toString())) {
+            return true;
+        }
+        String endpoint = "[" + request.getMethod() + "] " + (pattern != null ? pattern : request.getRequestURI());
+        sampler.enter(((HandlerMethod) handler).getMethod(), endpoint);
+        request.setAttribute(ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        exit(request);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        exit(request);
+    }
+
+    private void exit(HttpServletRequest request) {
+        StackSampler sampler = this.sampler;
+        if (sampler != null && request.getAttribute(ATTRIBUTE) != null) {
+            request.removeAttribute(ATTRIBUTE);
+            sampler.exit();
+        }
+    }
+}
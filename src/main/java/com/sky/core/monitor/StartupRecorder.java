@@ -0,0 +1,323 @@
+package com.sky.core.monitor;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 宿主应用启动耗时记录
+ * <p>
+ * 作为最先注册的 {@code BeanPostProcessor}（随 {@code @EnableApiDashboard} 扫描注册），记录每个 Bean 从开始创建
+ * （{@code postProcessBeforeInstantiation}）到初始化完成（{@code postProcessAfterInitialization}）的耗时，
+ * 其中初始化阶段（{@code @PostConstruct}、{@code afterPropertiesSet} 等）单独计时。
+ * 创建过程中触发的依赖 Bean 记为子节点，自身耗时 = 总耗时 - 子节点耗时，据此定位真正慢的 Bean。
+ * </p>
+ *
+ * <p>
+ * 同时记录启动阶段的时间点（JVM 启动、后置处理器注册、单例创建完成、Web 服务器启动、上下文刷新完成、
+ * ApplicationRunner 执行完毕）；宿主应用使用 {@link BufferingApplicationStartup} 时一并读取其中的上下文刷新步骤。
+ * {@code ApplicationReadyEvent} 之后停止记录（之后创建的延迟 Bean 不计入），每个回调只剩一次 volatile 读；
+ * 记录数超过 {@value #MAX_BEANS} 时不再新增。
+ * </p>
+ *
+ * <p>
+ * 在本记录器之前创建的 Bean（其他 {@code PriorityOrdered} 后置处理器及其依赖）不在记录中。
+ * 设置 {@code sky.dashboard.startup.enabled=false} 可关闭。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "sky.dashboard.startup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StartupRecorder implements InstantiationAwareBeanPostProcessor, SmartInitializingSingleton,
+        ApplicationListener<ApplicationEvent>, ApplicationContextAware, PriorityOrdered {
+
+    /** 最多记录的 Bean 数量 */
+    static final int MAX_BEANS = 20000;
+
+    /** 自身耗时达到该值的应用 Bean 标记为延迟加载候选（毫秒） */
+    private static final double LAZY_CANDIDATE_MS = 100;
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final long createdMillis = System.currentTimeMillis();
+    private final long createdNanos = System.nanoTime();
+
+    private volatile boolean recording = true;
+
+    private final List<BeanRecord> records = new ArrayList<>();
+    private final ThreadLocal<Deque<BeanRecord>> creating = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /** 时间点（纳秒，0 表示尚未发生） */
+    private volatile long singletonsNanos;
+    private volatile long webServerNanos;
+    private volatile long refreshedNanos;
+    private volatile long startedNanos;
+    private volatile long readyNanos;
+
+    private ApplicationContext applicationContext;
+    private volatile List<Map<String, Object>> startupSteps;
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+        if (recording) {
+            Deque<BeanRecord> stack = creating.get();
+            BeanRecord record = new BeanRecord(beanName, stack.peek(), System.nanoTime());
+            synchronized (records) {
+                if (records.size() < MAX_BEANS) {
+                    records.add(record);
+                }
+            }
+            stack.push(record);
+        }
+        return null;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (recording) {
+            BeanRecord record = creating.get().peek();
+            if (record != null && record.name.equals(beanName)) {
+                record.initNanos = System.nanoTime();
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (recording) {
+            Deque<BeanRecord> stack = creating.get();
+            // 栈顶之上可能残留创建失败的 Bean；FactoryBean 的产品对象使用同一名称但不在栈中，直接忽略
+            for (Iterator<BeanRecord> it = stack.iterator(); it.hasNext(); ) {
+                if (it.next().name.equals(beanName)) {
+                    BeanRecord record;
+                    do {
+                        record = stack.pop();
+                    } while (!record.name.equals(beanName));
+                    record.endNanos = System.nanoTime();
+                    record.type = ClassUtils.getUserClass(AopUtils.getTargetClass(bean)).getName();
+                    break;
+                }
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        singletonsNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        long now = System.nanoTime();
+        if (event instanceof WebServerInitializedEvent) {
+            if (webServerNanos == 0) {
+                webServerNanos = now;
+            }
+        } else if (event instanceof ContextRefreshedEvent) {
+            if (refreshedNanos == 0 && ((ContextRefreshedEvent) event).getApplicationContext() == applicationContext) {
+                refreshedNanos = now;
+            }
+        } else if (event instanceof ApplicationStartedEvent) {
+            startedNanos = now;
+        } else if (event instanceof ApplicationReadyEvent) {
+            readyNanos = now;
+            recording = false;
+            creating.remove();
+            startupSteps = readStartupSteps();
+        }
+    }
+
+    /**
+     * 读取 {@link BufferingApplicationStartup} 中 Bean 创建以外的步骤（上下文刷新各阶段）
+     */
+    private List<Map<String, Object>> readStartupSteps() {
+        if (!(applicationContext instanceof ConfigurableApplicationContext)) {
+            return null;
+        }
+        ApplicationStartup startup = ((ConfigurableApplicationContext) applicationContext).getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup)) {
+            return null;
+        }
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : ((BufferingApplicationStartup) startup).getBufferedTimeline().getEvents()) {
+            String name = event.getStartupStep().getName();
+            if (name.startsWith("spring.beans.")) {
+                continue;
+            }
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("name", name);
+            step.put("startMs", event.getStartTime().toEpochMilli() - jvmStartMillis);
+            step.put("durationMs", round(event.getDuration().toNanos()));
+            steps.add(step);
+        }
+        return steps;
+    }
+
+    /**
+     * 生成仪表盘 "startup" 视图数据
+     * <p>
+     * {@code phases} 为相邻时间点之间的阶段；{@code beans} 为顶层 Bean 的调用树（子节点为创建过程中触发的依赖），
+     * 按开始时间排列；{@code slowest} 为自身耗时最长的 Bean。时间均为相对 JVM 启动的毫秒数。
+     * </p>
+     *
+     * @return 启动耗时
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("recording", recording);
+        result.put("startedAt", jvmStartMillis);
+        result.put("readyMs", readyNanos != 0 ? offsetMs(readyNanos) : null);
+
+        List<Map<String, Object>> phases = new ArrayList<>();
+        double previous = 0;
+        previous = phase(phases, "JVM 启动、环境准备、配置类解析", previous, createdNanos);
+        previous = phase(phases, "单例 Bean 创建（含 Web 服务器创建）", previous, singletonsNanos);
+        previous = phase(phases, "Web 服务器启动", previous, webServerNanos);
+        previous = phase(phases, "上下文刷新收尾", previous, refreshedNanos);
+        previous = phase(phases, "启动事件", previous, startedNanos);
+        phase(phases, "ApplicationRunner / CommandLineRunner", previous, readyNanos);
+        result.put("phases", phases);
+        result.put("steps", startupSteps);
+
+        List<BeanRecord> snapshot;
+        synchronized (records) {
+            snapshot = new ArrayList<>(records);
+        }
+        Map<BeanRecord, List<BeanRecord>> children = new LinkedHashMap<>();
+        List<BeanRecord> roots = new ArrayList<>();
+        for (BeanRecord record : snapshot) {
+            if (record.endNanos == 0) {
+                continue;
+            }
+            if (record.parent == null) {
+                roots.add(record);
+            } else {
+                children.computeIfAbsent(record.parent, p -> new ArrayList<>()).add(record);
+            }
+        }
+        List<Map<String, Object>> flat = new ArrayList<>();
+        List<Map<String, Object>> beans = new ArrayList<>();
+        for (BeanRecord root : roots) {
+            beans.add(toMap(root, children, flat));
+        }
+        flat.sort((a, b) -> Double.compare((Double) b.get("selfMs"), (Double) a.get("selfMs")));
+        result.put("beanCount", flat.size());
+        result.put("truncated", snapshot.size() >= MAX_BEANS);
+        result.put("totalBeanMs", round(roots.stream().mapToLong(BeanRecord::totalNanos).sum()));
+        result.put("beans", beans);
+        result.put("slowest", flat.subList(0, Math.min(30, flat.size())));
+        return result;
+    }
+
+    private double phase(List<Map<String, Object>> phases, String name, double fromMs, long toNanos) {
+        if (toNanos == 0) {
+            return fromMs;
+        }
+        double toMs = offsetMs(toNanos);
+        Map<String, Object> phase = new LinkedHashMap<>();
+        phase.put("name", name);
+        phase.put("startMs", fromMs);
+        phase.put("durationMs", Math.round((toMs - fromMs) * 100) / 100.0);
+        phases.add(phase);
+        return toMs;
+    }
+
+    private Map<String, Object> toMap(BeanRecord record, Map<BeanRecord, List<BeanRecord>> children,
+                                      List<Map<String, Object>> flat) {
+        long childNanos = 0;
+        List<Map<String, Object>> nested = new ArrayList<>();
+        for (BeanRecord child : children.getOrDefault(record, new ArrayList<>())) {
+            childNanos += child.totalNanos();
+            nested.add(toMap(child, children, flat));
+        }
+        double selfMs = round(Math.max(0, record.totalNanos() - childNanos));
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", record.name);
+        map.put("type", record.type);
+        map.put("startMs", offsetMs(record.startNanos));
+        map.put("totalMs", round(record.totalNanos()));
+        map.put("selfMs", selfMs);
+        map.put("initMs", record.initNanos != 0 ? round(record.endNanos - record.initNanos) : 0.0);
+        map.put("lazyCandidate", selfMs >= LAZY_CANDIDATE_MS && record.type != null
+                && !record.type.startsWith("org.springframework."));
+        if (!nested.isEmpty()) {
+            map.put("children", nested);
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>(map);
+        row.remove("children");
+        flat.add(row);
+        return map;
+    }
+
+    /** 相对 JVM 启动的毫秒数 */
+    private double offsetMs(long nanos) {
+        return Math.round(((createdMillis - jvmStartMillis) + (nanos - createdNanos) / 1e6) * 100) / 100.0;
+    }
+
+    private static double round(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+    }
+
+    /**
+     * 单个 Bean 的创建记录（由创建它的线程写入，ready 之后只读）
+     */
+    private static final class BeanRecord {
+        final String name;
+        final BeanRecord parent;
+        final long startNanos;
+        volatile long initNanos;
+        volatile long endNanos;
+        volatile String type;
+
+        BeanRecord(String name, BeanRecord parent, long startNanos) {
+            this.name = name;
+            this.parent = parent;
+            this.startNanos = startNanos;
+        }
+
+        long totalNanos() {
+            return endNanos - startNanos;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.sky.core.monitor;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.core.monitor.BenchmarkService.Target;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 启动预热（JIT warm-up）
+ * <p>
+ * 新实例刚启动时代码以解释模式运行，最先到达的真实请求 p99 明显偏高。开启后，在应用报告就绪之前
+ * （{@link ApplicationRunner} 在 {@code ApplicationReadyEvent} 和 {@code ReadinessState.ACCEPTING_TRAFFIC}
+ * 之前执行，就绪探针此时仍返回未就绪），按接口目录通过回环地址反复请求选中的接口，
+ * 直到延迟趋于稳定或达到迭代上限。请求模板与 {@link BenchmarkService} 相同；
+ * 也可以提供录制的请求文件，按原样回放。
+ * </p>
+ *
+ * <p>
+ * 每个接口按 {@code window} 个请求为一个窗口统计中位数，相邻两个窗口的中位数变化都小于
+ * {@code stable-percent} 时视为已稳定。每个窗口的 p50/p90 组成该接口的预热曲线，在仪表盘 "预热" 页查看。
+ * 预热请求带有 {@code X-Sky-Warmup: 1} 请求头，业务统计可据此排除。
+ * </p>
+ *
+ * <p><b>配置项</b>（前缀 {@code sky.dashboard.warmup}，默认关闭）：
+ * <ul>
+ *   <li>{@code enabled}：总开关（默认 false）</li>
+ *   <li>{@code include} / {@code exclude}：按路径筛选接口（Ant 风格，逗号分隔；include 为空表示全部）</li>
+ *   <li>{@code allow-unsafe}：允许预热的非 GET/HEAD 接口（Ant 风格路径，默认无）</li>
+ *   <li>{@code recorded}：录制的请求文件（JSON 数组，元素为 {@code {method, path, headers, body}}），
+ *       提供后只回放这些请求</li>
+ *   <li>{@code min-iterations} / {@code max-iterations}：每个接口的最少 / 最多请求数（默认 100 / 2000）</li>
+ *   <li>{@code window}：统计窗口大小（默认 50）；{@code stable-percent}：稳定阈值（默认 10）</li>
+ *   <li>{@code concurrency}：同时预热的接口数（默认 2）</li>
+ *   <li>{@code timeout-ms}：整个预热阶段的时间上限，超时后未完成的接口直接结束（默认 60000）</li>
+ * </ul>
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "sky.dashboard.warmup", name = "enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    /** 连续失败该次数后放弃该接口（多半是模板参数不满足校验） */
+    private static final int MAX_CONSECUTIVE_ERRORS = 5;
+
+    private static final List<String> SAFE_METHODS = Arrays.asList("GET", "HEAD");
+
+    @Value("${sky.dashboard.warmup.include:}")
+    private String[] include;
+
+    @Value("${sky.dashboard.warmup.exclude:}")
+    private String[] exclude;
+
+    @Value("${sky.dashboard.warmup.allow-unsafe:}")
+    private String[] allowUnsafe;
+
+    @Value("${sky.dashboard.warmup.recorded:}")
+    private String recorded;
+
+    @Value("${sky.dashboard.warmup.min-iterations:100}")
+    private int minIterations;
+
+    @Value("${sky.dashboard.warmup.max-iterations:2000}")
+    private int maxIterations;
+
+    @Value("${sky.dashboard.warmup.window:50}")
+    private int window;
+
+    @Value("${sky.dashboard.warmup.stable-percent:10}")
+    private double stablePercent;
+
+    @Value("${sky.dashboard.warmup.concurrency:2}")
+    private int concurrency;
+
+    @Value("${sky.dashboard.warmup.timeout-ms:60000}")
+    private long timeoutMs;
+
+    @Autowired
+    private BenchmarkService benchmarkService;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** 预热状态：pending / running / done / failed */
+    private volatile String state = "pending";
+    private volatile String error;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private final List<Curve> curves = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (benchmarkService.serverPort() <= 0) {
+            state = "failed";
+            error = "Web server port is not available";
+            logger.warn("Skipping warm-up: {}", error);
+            return;
+        }
+        state = "running";
+        startedAt = System.currentTimeMillis();
+        try {
+            List<Target> targets = recorded.isEmpty() ? selectTargets() : loadRecorded();
+            logger.info("Warming up {} endpoint(s) before reporting ready", targets.size());
+            warmUp(targets);
+            state = "done";
+        } catch (Exception e) {
+            // 预热失败不影响启动
+            state = "failed";
+            error = e.getMessage();
+            logger.warn("Warm-up failed: {}", e.getMessage());
+        } finally {
+            finishedAt = System.currentTimeMillis();
+        }
+        logger.info("Warm-up finished in {} ms", finishedAt - startedAt);
+    }
+
+    private List<Target> selectTargets() {
+        List<Target> targets = new ArrayList<>();
+        for (Target target : benchmarkService.collectTargets(true)) {
+            String path = target.id.substring(target.id.lastIndexOf(' ') + 1);
+            if (!matchesAny(include, path, true) || matchesAny(exclude, path, false)) {
+                continue;
+            }
+            if (!SAFE_METHODS.contains(target.method) && !matchesAny(allowUnsafe, path, false)) {
+                continue;
+            }
+            targets.add(target);
+        }
+        return targets;
+    }
+
+    private List<Target> loadRecorded() throws IOException {
+        List<Map<String, Object>> entries = objectMapper.readValue(new File(recorded),
+                new TypeReference<List<Map<String, Object>>>() {
+                });
+        String base = benchmarkService.baseUrl();
+        List<Target> targets = new ArrayList<>();
+        for (Map<String, Object> entry : entries) {
+            Object path = entry.get("path");
+            if (path == null) {
+                continue;
+            }
+            Target target = new Target();
+            target.method = entry.get("method") != null ? entry.get("method").toString().toUpperCase() : "GET";
+            target.url = base + URI.create(path.toString().startsWith("/") ? path.toString() : "/" + path);
+            target.id = "[" + target.method + "] " + path;
+            Object headers = entry.get("headers");
+            if (headers instanceof Map) {
+                Map<String, String> copy = new LinkedHashMap<>();
+                ((Map<?, ?>) headers).forEach((k, v) -> copy.put(String.valueOf(k), String.valueOf(v)));
+                target.headers = copy;
+            }
+            Object body = entry.get("body");
+            if (body != null) {
+                target.body = (body instanceof String ? (String) body : objectMapper.writeValueAsString(body))
+                        .getBytes(StandardCharsets.UTF_8);
+            }
+            targets.add(target);
+        }
+        return targets;
+    }
+
+    private boolean matchesAny(String[] patterns, String path, boolean emptyMatches) {
+        boolean empty = true;
+        for (String pattern : patterns) {
+            String p = pattern.trim();
+            if (p.isEmpty()) {
+                continue;
+            }
+            empty = false;
+            if (pathMatcher.match(p, path)) {
+                return true;
+            }
+        }
+        return empty && emptyMatches;
+    }
+
+    private void warmUp(List<Target> targets) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread t = new Thread(r, "sky-warmup-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Target target : targets) {
+                Map<String, String> headers = target.headers != null ? new LinkedHashMap<>(target.headers) : new LinkedHashMap<>();
+                headers.put("X-Sky-Warmup", "1");
+                target.headers = headers;
+                Curve curve = new Curve(target.id);
+                curves.add(curve);
+                futures.add(pool.submit(() -> warmUp(target, curve, deadline)));
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(Math.max(1, deadline - System.currentTimeMillis()) + 1000, TimeUnit.MILLISECONDS)) {
+                logger.warn("Warm-up timed out after {} ms", timeoutMs);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 预热单个接口
+     */
+    private void warmUp(Target target, Curve curve, long deadline) {
+        int size = Math.max(1, window);
+        long[] latencies = new long[size];
+        int filled = 0;
+        int consecutiveErrors = 0;
+        double previous = -1;
+        int stableWindows = 0;
+        curve.state = "running";
+        for (int i = 1; i <= Math.max(1, maxIterations); i++) {
+            if (System.currentTimeMillis() > deadline || Thread.currentThread().isInterrupted()) {
+                curve.state = "timeout";
+                return;
+            }
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = (int) benchmarkService.send(target)[0];
+            } catch (IOException e) {
+                status = -1;
+            }
+            long elapsed = System.nanoTime() - start;
+            curve.iterations = i;
+            if (i == 1) {
+                curve.firstMs = round(elapsed / 1_000_000.0);
+            }
+            if (!BenchmarkService.isSuccess(status)) {
+                curve.errors++;
+                curve.lastErrorStatus = status;
+                if (++consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
+                    curve.state = "failed";
+                    return;
+                }
+                continue;
+            }
+            consecutiveErrors = 0;
+            latencies[filled++] = elapsed;
+            if (filled < size) {
+                continue;
+            }
+
+            // 一个窗口结束
+            filled = 0;
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double p50 = round(sorted[(sorted.length - 1) / 2] / 1_000_000.0);
+            double p90 = round(sorted[(int) Math.ceil(sorted.length * 0.9) - 1] / 1_000_000.0);
+            curve.addPoint(i, p50, p90);
+            if (previous > 0 && Math.abs(p50 - previous) <= previous * stablePercent / 100) {
+                stableWindows++;
+            } else {
+                stableWindows = 0;
+            }
+            previous = p50;
+            if (stableWindows >= 2 && i >= minIterations) {
+                curve.state = "stable";
+                return;
+            }
+        }
+        curve.state = "max-iterations";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /**
+     * 生成仪表盘 "warmup" 视图数据
+     *
+     * @return 预热状态和各接口的预热曲线
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", true);
+        result.put("state", state);
+        result.put("error", error);
+        result.put("startedAt", startedAt);
+        result.put("finishedAt", finishedAt);
+        result.put("window", window);
+        result.put("stablePercent", stablePercent);
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        synchronized (curves) {
+            for (Curve curve : curves) {
+                endpoints.add(curve.toMap());
+            }
+        }
+        result.put("endpoints", endpoints);
+        return result;
+    }
+
+    /**
+     * 单个接口的预热曲线
+     */
+    private static class Curve {
+        final String endpoint;
+        volatile String state = "pending";
+        volatile int iterations;
+        volatile int errors;
+        volatile int lastErrorStatus;
+        volatile double firstMs;
+        /** [迭代次数, p50, p90] */
+        final List<double[]> points = Collections.synchronizedList(new ArrayList<>());
+
+        Curve(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void addPoint(int iteration, double p50, double p90) {
+            points.add(new double[]{iteration, p50, p90});
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("endpoint", endpoint);
+            result.put("state", state);
+            result.put("iterations", iterations);
+            result.put("errors", errors);
+            result.put("lastErrorStatus", lastErrorStatus);
+            result.put("firstMs", firstMs);
+            List<double[]> copy;
+            synchronized (points) {
+                copy = new ArrayList<>(points);
+            }
+            result.put("finalP50", copy.isEmpty() ? null : copy.get(copy.size() - 1)[1]);
+            result.put("curve", copy);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.sky.core.reactive;
+
+import com.sky.core.meta.ApiMetadataService;
+import com.sky.core.meta.CborEncoder;
+import com.sky.core.meta.EndpointMapping;
+import com.sky.core.meta.EndpointMappingSource;
+import com.sky.core.meta.FederationService;
+import com.sky.core.meta.MarkdownFragment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.result.condition.RequestMethodsRequestCondition;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * API 仪表盘控制器 (WebFlux)
+ * <p>
+ * {@link com.sky.core.controller.ApiDashboardController} 的响应式版本，供基于 Netty 的 WebFlux 服务使用：
+ * <ul>
+ *   <li>从响应式 {@link RequestMappingHandlerMapping} 读取注解接口</li>
+ *   <li>从容器中的 {@link RouterFunction} 读取函数式路由（仅路径和方法）</li>
+ *   <li>元数据已缓存时直接在事件循环线程返回；需要反射和读取源码时切换到
+ *       {@link Schedulers#boundedElastic()}，不阻塞事件循环</li>
+ * </ul>
+ * 元数据生成、缓存和 Markdown 导出与 Servlet 版本共用 {@link ApiMetadataService}。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApiDashboardController implements EndpointMappingSource {
+
+    @Autowired
+    private RequestMappingHandlerMapping requestMappingHandlerMapping;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ApiMetadataService metadataService;
+
+    @Autowired
+    private FederationService federationService;
+
+    /**
+     * 获取当前服务的基础 URL（Context Path）
+     */
+    private String getBaseUrl(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().contextPath().value();
+    }
+
+    /**
+     * 收集注解接口和函数式路由，转换为与 Web 栈无关的描述
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public Collection<EndpointMapping> collectMappings() {
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = requestMappingHandlerMapping.getHandlerMethods();
+        List<EndpointMapping> mappings = new ArrayList<>(handlerMethods.size());
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMethods.entrySet()) {
+            RequestMappingInfo mappingInfo = entry.getKey();
+            Set<String> patterns = new LinkedHashSet<>();
+            for (PathPattern pattern : mappingInfo.getPatternsCondition().getPatterns()) {
+                patterns.add(pattern.getPatternString());
+            }
+            RequestMethodsRequestCondition methodsCondition = mappingInfo.getMethodsCondition();
+            Set<RequestMethod> methods = (methodsCondition != null) ? methodsCondition.getMethods() : Collections.emptySet();
+            mappings.add(new EndpointMapping(mappingInfo, entry.getValue(), patterns, methods));
+        }
+
+        Collection<RouterFunction> routerFunctions = applicationContext.getBeansOfType(RouterFunction.class).values();
+        mappings.addAll(RouterFunctionScanner.scan((Collection) routerFunctions));
+        return mappings;
+    }
+
+    /**
+     * 渲染仪表盘主页 (Thymeleaf Mode)
+     */
+    @GetMapping("/api-dashboard")
+    public String dashboard(ServerWebExchange exchange, Model model) {
+        model.addAttribute("baseUrl", getBaseUrl(exchange));
+        return "dashboard";
+    }
+
+    /**
+     * 获取仪表盘元数据 (JSON)
+     * <p>
+     * 行为与 Servlet 版本一致（缓存、ETag/304、{@code since} 增量）。
+     * </p>
+     *
+     * @param exchange 当前请求
+     * @return API元数据，未修改时为空（304）
+     */
+    @GetMapping("/api-dashboard/meta")
+    @ResponseBody
+    public Mono<Map<String, Object>> dashboardMeta(ServerWebExchange exchange) {
+        String baseUrl = getBaseUrl(exchange);
+        exchange.getResponse().getHeaders().add("Vary", "Accept");
+        String since = exchange.getRequest().getQueryParams().getFirst("since");
+        if (since != null && since.matches("\\d+")) {
+            // 增量基于 loadMeta 取得的同一份元数据计算：需要生成时已切换到 boundedElastic，不会在事件循环线程上生成
+            Mono<Map<String, Object>> delta = loadMeta(baseUrl).flatMap(m -> {
+                Map<String, Object> d = metadataService.getMetadataDelta(m, Long.parseLong(since));
+                if (d != null) {
+                    d.put("baseUrl", baseUrl);
+                }
+                return Mono.justOrEmpty(d);
+            });
+            return delta.switchIfEmpty(Mono.defer(() -> fullMeta(exchange, baseUrl)));
+        }
+        return fullMeta(exchange, baseUrl);
+    }
+
+    /**
+     * 获取仪表盘元数据 (CBOR)
+     * <p>
+     * 与 Servlet 版本一致：仅当 Accept 明确包含 {@code application/cbor} 时匹配，全量元数据每个版本只编码一次。
+     * </p>
+     *
+     * @param exchange 当前请求
+     * @return CBOR 编码的元数据，未修改时为空（304）
+     */
+    @GetMapping(value = "/api-dashboard/meta", produces = CborEncoder.MEDIA_TYPE)
+    @ResponseBody
+    public Mono<byte[]> dashboardMetaCbor(ServerWebExchange exchange) {
+        String baseUrl = getBaseUrl(exchange);
+        exchange.getResponse().getHeaders().add("Vary", "Accept");
+        String since = exchange.getRequest().getQueryParams().getFirst("since");
+        Mono<byte[]> full = Mono.defer(() -> loadMeta(baseUrl).flatMap(m -> {
+            String etag = m.get("etag") + "-" + Integer.toHexString(baseUrl.hashCode()) + "-cbor";
+            if (exchange.checkNotModified(etag)) {
+                return Mono.empty();
+            }
+            return Mono.just(metadataService.getMetadataCbor(m, baseUrl));
+        }));
+        if (since != null && since.matches("\\d+")) {
+            Mono<byte[]> delta = loadMeta(baseUrl).flatMap(m -> {
+                Map<String, Object> d = metadataService.getMetadataDelta(m, Long.parseLong(since));
+                if (d == null) {
+                    return Mono.empty();
+                }
+                d.put("baseUrl", baseUrl);
+                return Mono.just(CborEncoder.encode(d));
+            });
+            return delta.switchIfEmpty(full);
+        }
+        return full;
+    }
+
+    private Mono<Map<String, Object>> loadMeta(String baseUrl) {
+        Map<String, Object> cached = metadataService.peekMetadata();
+        return cached != null
+                ? Mono.just(cached)
+                : Mono.fromCallable(() -> metadataService.getMetadata(this::collectMappings, baseUrl))
+                      .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Map<String, Object>> fullMeta(ServerWebExchange exchange, String baseUrl) {
+        return loadMeta(baseUrl).flatMap(m -> {
+            // ETag = 内容哈希 + baseUrl（baseUrl 随访问域名变化）
+            String etag = m.get("etag") + "-" + Integer.toHexString(baseUrl.hashCode());
+            if (exchange.checkNotModified(etag)) {
+                return Mono.empty();
+            }
+            Map<String, Object> result = new HashMap<>(m);
+            result.put("baseUrl", baseUrl);
+            return Mono.just(result);
+        });
+    }
+
+    /**
+     * 获取联邦节点的接口目录
+     *
+     * @return 各服务的接口目录
+     */
+    @GetMapping("/api-dashboard/federation")
+    @ResponseBody
+    public Mono<Map<String, Object>> federation() {
+        return Mono.fromFuture(federationService.aggregate());
+    }
+
+    /**
+     * 手动刷新元数据缓存
+     *
+     * @return 刷新结果信息
+     */
+    @GetMapping("/api-dashboard/refresh-cache")
+    @ResponseBody
+    public Map<String, String> refreshCache() {
+        metadataService.refresh();
+        Map<String, String> result = new HashMap<>();
+        result.put("status", "success");
+        result.put("message", "已开始后台重建，完成前继续使用当前数据");
+        result.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        return result;
+    }
+
+    /**
+     * 导出指定接口的 Markdown 文档
+     * <p>
+     * 前端以表单 POST 提交，WebFlux 的 {@code @RequestParam} 不读取表单体，
+     * 因此合并查询参数和表单数据；首次渲染需要读取源码，在 boundedElastic 上执行。
+     * 文档分段包装为 DataBuffer 直接写出，带 ETag（行为与 Servlet 版本一致）。
+     * </p>
+     *
+     * @param exchange 当前请求
+     * @return 写出完成信号
+     */
+    @RequestMapping(value = "/api-dashboard/export-md", method = {RequestMethod.GET, RequestMethod.POST}, produces = "text/markdown;charset=UTF-8")
+    public Mono<Void> exportMd(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set("Content-Disposition", "attachment; filename=\"api-doc.md\"");
+        response.getHeaders().setContentType(MediaType.parseMediaType("text/markdown;charset=UTF-8"));
+        String baseUrl = getBaseUrl(exchange);
+        MultiValueMap<String, String> query = exchange.getRequest().getQueryParams();
+
+        return exchange.getFormData()
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(form -> {
+                    String url = form.containsKey("url") ? form.getFirst("url") : query.getFirst("url");
+                    String responseBody = form.containsKey("responseBody") ? form.getFirst("responseBody") : query.getFirst("responseBody");
+                    List<byte[]> parts;
+                    if (url == null) {
+                        parts = Collections.singletonList("# 缺少参数\n\n请提供 url 参数。".getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        MarkdownFragment doc = metadataService.findMarkdown(this::collectMappings, url, baseUrl);
+                        if (doc == null) {
+                            parts = Collections.singletonList(ApiMetadataService.markdownNotFound(url).getBytes(StandardCharsets.UTF_8));
+                        } else if (exchange.checkNotModified(doc.etag(responseBody))) {
+                            return response.setComplete();
+                        } else {
+                            parts = doc.render(responseBody);
+                        }
+                    }
+                    response.getHeaders().setContentLength(MarkdownFragment.length(parts));
+                    List<DataBuffer> buffers = new ArrayList<>(parts.size());
+                    for (byte[] part : parts) {
+                        buffers.add(response.bufferFactory().wrap(part));
+                    }
+                    return response.writeWith(Flux.fromIterable(buffers));
+                });
+    }
+}
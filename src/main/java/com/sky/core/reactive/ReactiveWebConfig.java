@@ -0,0 +1,51 @@
+package com.sky.core.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.config.CorsRegistration;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.lang.reflect.Method;
+
+/**
+ * WebFlux 全局配置
+ * <p>
+ * 与 {@link com.sky.core.config.WebConfig} 相同的 CORS 策略，仅在 Reactive 应用中生效。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    /** 应用 CORS 策略的路径（默认只覆盖仪表盘自身的接口） */
+    @Value("${sky.dashboard.cors.path-patterns:/api-dashboard,/api-dashboard/**}")
+    private String[] corsPathPatterns;
+
+    /**
+     * 配置 CORS 跨域策略（允许所有来源、常用方法和请求头，允许携带凭证）
+     *
+     * @param registry CORS 注册器
+     */
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        for (String pattern : corsPathPatterns) {
+            CorsRegistration reg = registry.addMapping(pattern.trim());
+
+            // Spring 5.3+ 使用 allowedOriginPatterns("*")，更早版本降级到 allowedOrigins("*")
+            try {
+                Method method = CorsRegistration.class.getMethod("allowedOriginPatterns", String[].class);
+                method.invoke(reg, (Object) new String[]{"*"});
+            } catch (Exception e) {
+                reg.allowedOrigins("*");
+            }
+
+            reg.allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
+               .allowedHeaders("*")
+               .allowCredentials(true);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.sky.core.reactive;
+
+import com.sky.core.meta.EndpointMapping;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * 函数式路由扫描器
+ * <p>
+ * 通过 {@link RouterFunctions.Visitor} 遍历 {@link RouterFunction} Bean，
+ * 从请求断言中提取路径（含 nest 前缀）和请求方法。函数式路由没有可反射的处理方法，
+ * 因此只能展示路径和方法，无法生成参数和响应模板。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+class RouterFunctionScanner {
+
+    /**
+     * 扫描路由函数
+     *
+     * @param routerFunctions 容器中的 RouterFunction Bean
+     * @return 接口映射
+     */
+    static List<EndpointMapping> scan(Collection<RouterFunction<?>> routerFunctions) {
+        RouteVisitor visitor = new RouteVisitor();
+        for (RouterFunction<?> routerFunction : routerFunctions) {
+            routerFunction.accept(visitor);
+        }
+        return visitor.mappings;
+    }
+
+    /**
+     * 遍历路由树，维护 nest 路径前缀栈
+     */
+    private static class RouteVisitor implements RouterFunctions.Visitor {
+        final List<EndpointMapping> mappings = new ArrayList<>();
+        final Deque<String> prefixes = new ArrayDeque<>();
+
+        @Override
+        public void startNested(RequestPredicate predicate) {
+            PredicateVisitor pv = PredicateVisitor.of(predicate);
+            prefixes.push(currentPrefix() + (pv.paths.isEmpty() ? "" : pv.paths.iterator().next()));
+        }
+
+        @Override
+        public void endNested(RequestPredicate predicate) {
+            prefixes.pop();
+        }
+
+        @Override
+        public void route(RequestPredicate predicate, HandlerFunction<?> handlerFunction) {
+            PredicateVisitor pv = PredicateVisitor.of(predicate);
+            String prefix = currentPrefix();
+            Set<String> patterns = new LinkedHashSet<>();
+            if (pv.paths.isEmpty()) {
+                patterns.add(prefix.isEmpty() ? "/" : prefix);
+            }
+            for (String path : pv.paths) {
+                patterns.add(prefix + path);
+            }
+            String key = "router:" + pv.methods + patterns;
+            mappings.add(new EndpointMapping(key, null, patterns, pv.methods));
+        }
+
+        @Override
+        public void resources(Function<ServerRequest, Mono<Resource>> lookupFunction) {
+            // 静态资源路由不属于接口
+        }
+
+        @Override
+        public void attributes(Map<String, Object> attributes) {
+            // 路由属性不影响展示
+        }
+
+        @Override
+        public void unknown(RouterFunction<?> routerFunction) {
+            // 无法识别的自定义路由，忽略
+        }
+
+        private String currentPrefix() {
+            return prefixes.isEmpty() ? "" : prefixes.peek();
+        }
+    }
+
+    /**
+     * 从请求断言中收集路径和请求方法（取并集，忽略 header/query/取反等条件）
+     */
+    private static class PredicateVisitor implements RequestPredicates.Visitor {
+        final Set<String> paths = new LinkedHashSet<>();
+        final Set<String> methods = new TreeSet<>();
+
+        static PredicateVisitor of(RequestPredicate predicate) {
+            PredicateVisitor visitor = new PredicateVisitor();
+            predicate.accept(visitor);
+            return visitor;
+        }
+
+        @Override
+        public void method(Set<HttpMethod> httpMethods) {
+            for (HttpMethod m : httpMethods) {
+                methods.add(m.name());
+            }
+        }
+
+        @Override
+        public void path(String pattern) {
+            paths.add(pattern);
+        }
+
+        @Override
+        public void pathExtension(String extension) {
+        }
+
+        @Override
+        public void header(String name, String value) {
+        }
+
+        @Override
+        public void queryParam(String name, String value) {
+        }
+
+        @Override
+        public void startAnd() {
+        }
+
+        @Override
+        public void and() {
+        }
+
+        @Override
+        public void endAnd() {
+        }
+
+        @Override
+        public void startOr() {
+        }
+
+        @Override
+        public void or() {
+        }
+
+        @Override
+        public void endOr() {
+        }
+
+        @Override
+        public void startNegate() {
+        }
+
+        @Override
+        public void endNegate() {
+        }
+
+        @Override
+        public void unknown(RequestPredicate predicate) {
+        }
+    }
+
+    private RouterFunctionScanner() {
+    }
+}
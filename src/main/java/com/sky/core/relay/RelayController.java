@@ -0,0 +1,130 @@
+package com.sky.core.relay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 服务端请求中继接口
+ * <p>
+ * {@code POST /api-dashboard/relay} 的响应体就是目标服务的响应体（原样流式转发），
+ * 目标响应的元数据放在响应头中：
+ * <ul>
+ *   <li>{@code X-Sky-Relay-Id}：中继请求 ID，读完响应体后用它查询下载耗时和字节数</li>
+ *   <li>{@code X-Sky-Relay-Status}：目标服务的状态码</li>
+ *   <li>{@code X-Sky-Relay-Headers}：目标服务的响应头（JSON，URL 编码）</li>
+ *   <li>{@code Server-Timing}：connect / send / wait 三个阶段</li>
+ * </ul>
+ * 中继自身的错误（地址不允许、连接失败等）以非 200 状态码和 JSON 返回，且不带 {@code X-Sky-Relay-Status}。
+ * </p>
+ *
+ * @see RequestRelay
+ * @since 1.0.0
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.relay", name = "enabled", havingValue = "true")
+public class RelayController {
+
+    @Autowired
+    private RequestRelay requestRelay;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 获取中继配置（仪表盘据此决定是否提供 "服务端中继" 选项）
+     *
+     * @return 允许的主机、方法和并发情况
+     */
+    @GetMapping("/api-dashboard/relay")
+    @ResponseBody
+    public Map<String, Object> status() {
+        return requestRelay.status();
+    }
+
+    /**
+     * 代发请求并流式转发响应体
+     *
+     * @param request 目标方法、地址、请求头和请求体
+     * @param response 当前响应
+     */
+    @PostMapping("/api-dashboard/relay")
+    public void relay(@RequestBody RequestRelay.Request request, HttpServletResponse response) throws IOException {
+        RequestRelay.Exchange exchange;
+        try {
+            exchange = requestRelay.execute(request);
+        } catch (IllegalArgumentException e) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (IOException e) {
+            writeError(response, HttpServletResponse.SC_BAD_GATEWAY, e.getClass().getSimpleName() + ": " + e.getMessage());
+            return;
+        }
+        if (exchange == null) {
+            writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many concurrent relay requests");
+            return;
+        }
+
+        try (RequestRelay.Exchange ex = exchange) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setHeader("X-Sky-Relay-Id", String.valueOf(ex.getTiming().getId()));
+            response.setHeader("X-Sky-Relay-Status", String.valueOf(ex.getStatus()));
+            response.setHeader("X-Sky-Relay-Headers", encode(objectMapper.writeValueAsString(ex.getHeaders())));
+            response.setHeader("Server-Timing", ex.getTiming().toServerTimingHeader());
+            response.setHeader("Cache-Control", "no-store");
+            String contentType = ex.getHeader("Content-Type");
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            String contentEncoding = ex.getHeader("Content-Encoding");
+            if (contentEncoding != null) {
+                // 原样转发压缩后的字节，由浏览器解压
+                response.setHeader("Content-Encoding", contentEncoding);
+            }
+            ex.transferTo(response.getOutputStream());
+        }
+    }
+
+    /**
+     * 获取中继请求的完整计时（含下载耗时和字节数）
+     *
+     * @param id 中继请求 ID
+     * @return 计时结果；已被淘汰时返回 404
+     */
+    @GetMapping("/api-dashboard/relay/{id}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> timing(@PathVariable long id) {
+        Map<String, Object> timing = requestRelay.timing(id);
+        return timing != null ? ResponseEntity.ok(timing) : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", "Relay failed");
+        error.put("message", message);
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(error));
+    }
+
+    private static String encode(String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+    }
+}
@@ -0,0 +1,426 @@
+package com.sky.core.relay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 服务端请求中继
+ * <p>
+ * 调试器在浏览器中用 fetch 发请求，受跨域限制，也访问不到只在内网可达的下游服务，
+ * 且浏览器侧的计时混有排队、预检等噪声。开启中继后，调试请求改由服务端代发，
+ * 并精确记录各阶段耗时：
+ * <ul>
+ *   <li>{@code connect}：建立连接（含 TLS 握手），复用 keep-alive 连接时接近 0</li>
+ *   <li>{@code send}：发送请求头和请求体</li>
+ *   <li>{@code wait}：发送完毕到收到响应头（服务端处理 + 网络往返）</li>
+ *   <li>{@code download}：读取响应体</li>
+ * </ul>
+ * 响应体边读边写回浏览器，不在内存中整体缓冲，大响应也只占用一个固定大小的缓冲区。
+ * 连接复用 JDK 内置的 keep-alive 连接池（每个目标地址保留的空闲连接数由系统属性
+ * {@code http.maxConnections} 控制，默认 5），响应体读完后连接自动归还。
+ * </p>
+ *
+ * <p><b>配置项</b>（前缀 {@code sky.dashboard.relay}，默认关闭）：
+ * <ul>
+ *   <li>{@code enabled}：总开关（默认 false）</li>
+ *   <li>{@code allowed-hosts}：允许中继的目标主机，逗号分隔，{@code *} 表示不限制（默认只允许本机）</li>
+ *   <li>{@code connect-timeout-ms} / {@code read-timeout-ms}：超时（默认 3000 / 30000）</li>
+ *   <li>{@code max-concurrent}：同时进行的中继请求数上限，超出返回 503（默认 8）</li>
+ * </ul>
+ * 中继可以访问服务端所在网络，生产环境开启前务必收紧 {@code allowed-hosts}。
+ * HttpURLConnection 不支持 PATCH，此类请求仍由浏览器直接发送。
+ * </p>
+ *
+ * @see RelayController
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "sky.dashboard.relay", name = "enabled", havingValue = "true")
+public class RequestRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestRelay.class);
+
+    /** 最多保留的计时结果数（浏览器读完响应体后按 ID 取回） */
+    private static final int MAX_RESULTS = 64;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final List<String> METHODS = Arrays.asList("GET", "POST", "PUT", "DELETE", "HEAD", "OPTIONS");
+
+    /** 不转发的请求头：由连接自行管理，或会让目标服务误判来源 */
+    private static final Set<String> SKIPPED_HEADERS = new HashSet<>(Arrays.asList(
+            "host", "connection", "content-length", "transfer-encoding", "keep-alive", "upgrade",
+            "origin", "referer", "x-sky-timing"));
+
+    @Value("${sky.dashboard.relay.allowed-hosts:localhost,127.0.0.1,::1}")
+    private String allowedHostsConfig;
+
+    @Value("${sky.dashboard.relay.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${sky.dashboard.relay.read-timeout-ms:30000}")
+    private int readTimeoutMs;
+
+    @Value("${sky.dashboard.relay.max-concurrent:8}")
+    private int maxConcurrent;
+
+    private Set<String> allowedHosts = Collections.emptySet();
+    private boolean anyHost;
+    private Semaphore permits;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** 最近的计时结果（按插入顺序淘汰） */
+    private final Map<Long, Timing> results = new LinkedHashMap<Long, Timing>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Timing> eldest) {
+            return size() > MAX_RESULTS;
+        }
+    };
+
+    @PostConstruct
+    public void init() {
+        Set<String> hosts = new HashSet<>();
+        for (String host : allowedHostsConfig.split(",")) {
+            String trimmed = host.trim().toLowerCase(Locale.ROOT);
+            if ("*".equals(trimmed)) {
+                anyHost = true;
+            } else if (!trimmed.isEmpty()) {
+                hosts.add(trimmed.startsWith("[") ? trimmed.substring(1, trimmed.length() - 1) : trimmed);
+            }
+        }
+        allowedHosts = hosts;
+        permits = new Semaphore(Math.max(1, maxConcurrent));
+        logger.info("Request relay enabled, allowed hosts: {}", anyHost ? "*" : allowedHosts);
+    }
+
+    /**
+     * 中继请求
+     */
+    public static class Request {
+        public String method;
+        public String url;
+        public Map<String, String> headers;
+        public String body;
+    }
+
+    /**
+     * 已收到响应头的中继请求，调用方写完响应头后调用 {@link #transferTo} 转发响应体
+     */
+    public final class Exchange implements AutoCloseable {
+        private final HttpURLConnection conn;
+        private final Timing timing;
+        private final InputStream body;
+        private boolean released;
+
+        Exchange(HttpURLConnection conn, Timing timing, InputStream body) {
+            this.conn = conn;
+            this.timing = timing;
+            this.body = body;
+        }
+
+        public Timing getTiming() {
+            return timing;
+        }
+
+        public int getStatus() {
+            return timing.status;
+        }
+
+        /**
+         * 目标服务的响应头（状态行除外，同名头以逗号合并）
+         */
+        public Map<String, String> getHeaders() {
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> entry : conn.getHeaderFields().entrySet()) {
+                if (entry.getKey() != null) {
+                    headers.put(entry.getKey(), String.join(", ", entry.getValue()));
+                }
+            }
+            return headers;
+        }
+
+        public String getHeader(String name) {
+            return conn.getHeaderField(name);
+        }
+
+        /**
+         * 边读边写响应体，完成后记录下载耗时和字节数
+         *
+         * @param out 浏览器响应流
+         * @throws IOException 读取目标响应或写回浏览器失败
+         */
+        public void transferTo(OutputStream out) throws IOException {
+            long start = System.nanoTime();
+            long bytes = 0;
+            boolean complete = false;
+            try {
+                if (body != null) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int n;
+                    while ((n = body.read(buffer)) != -1) {
+                        out.write(buffer, 0, n);
+                        bytes += n;
+                    }
+                    out.flush();
+                }
+                complete = true;
+            } finally {
+                timing.downloadNanos = System.nanoTime() - start;
+                timing.responseBytes = bytes;
+                timing.complete = complete;
+                if (!complete) {
+                    // 未读完的连接不能归还连接池
+                    conn.disconnect();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            try {
+                if (body != null) {
+                    body.close();
+                }
+            } catch (IOException e) {
+                conn.disconnect();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * 各阶段耗时和字节数
+     */
+    public static class Timing {
+        final long id;
+        final String method;
+        final String url;
+        final long createdAt = System.currentTimeMillis();
+        int status;
+        long connectNanos;
+        long sendNanos;
+        long waitNanos;
+        volatile long downloadNanos = -1;
+        long requestBytes;
+        volatile long responseBytes;
+        volatile boolean complete;
+
+        Timing(long id, String method, String url) {
+            this.id = id;
+            this.method = method;
+            this.url = url;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * 以 Server-Timing 响应头格式输出已完成的阶段（不含尚未开始的 download）
+         */
+        public String toServerTimingHeader() {
+            return "connect;dur=" + millis(connectNanos) + ";desc=\"relay connect\", "
+                    + "send;dur=" + millis(sendNanos) + ";desc=\"relay send\", "
+                    + "wait;dur=" + millis(waitNanos) + ";desc=\"relay wait\"";
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", id);
+            result.put("method", method);
+            result.put("url", url);
+            result.put("status", status);
+            result.put("connectMs", millis(connectNanos));
+            result.put("sendMs", millis(sendNanos));
+            result.put("waitMs", millis(waitNanos));
+            result.put("ttfbMs", millis(connectNanos + sendNanos + waitNanos));
+            long download = downloadNanos;
+            result.put("downloadMs", download >= 0 ? millis(download) : null);
+            result.put("totalMs", download >= 0 ? millis(connectNanos + sendNanos + waitNanos + download) : null);
+            result.put("requestBytes", requestBytes);
+            result.put("responseBytes", responseBytes);
+            result.put("complete", complete);
+            result.put("timestamp", createdAt);
+            return result;
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1000.0) / 1000.0;
+        }
+    }
+
+    /**
+     * 发起中继请求，返回时已收到响应头
+     *
+     * @param request 中继请求
+     * @return 进行中的请求；并发数已满时返回 null
+     * @throws IllegalArgumentException 方法不支持、地址无效或目标主机不在白名单内
+     * @throws IOException 连接或发送失败
+     */
+    public Exchange execute(Request request) throws IOException {
+        String method = request.method == null ? "GET" : request.method.toUpperCase(Locale.ROOT);
+        if (!METHODS.contains(method)) {
+            throw new IllegalArgumentException("Method not supported by relay: " + method);
+        }
+        URL url = parseUrl(request.url);
+        if (!isAllowed(url.getHost())) {
+            throw new IllegalArgumentException("Host not allowed by sky.dashboard.relay.allowed-hosts: " + url.getHost());
+        }
+        if (!permits.tryAcquire()) {
+            return null;
+        }
+
+        Timing timing = new Timing(sequence.incrementAndGet(), method, request.url);
+        HttpURLConnection conn = null;
+        boolean handedOver = false;
+        try {
+            conn = (HttpURLConnection) url.openConnection();
+            conn.setConnectTimeout(connectTimeoutMs);
+            conn.setReadTimeout(readTimeoutMs);
+            conn.setInstanceFollowRedirects(false);
+            conn.setUseCaches(false);
+            conn.setRequestMethod(method);
+            if (request.headers != null) {
+                for (Map.Entry<String, String> header : request.headers.entrySet()) {
+                    String name = header.getKey();
+                    if (name != null && header.getValue() != null
+                            && !SKIPPED_HEADERS.contains(name.trim().toLowerCase(Locale.ROOT))) {
+                        conn.setRequestProperty(name.trim(), header.getValue());
+                    }
+                }
+            }
+            byte[] body = request.body != null && !"GET".equals(method) && !"HEAD".equals(method)
+                    ? request.body.getBytes(StandardCharsets.UTF_8) : null;
+            if (body != null) {
+                conn.setDoOutput(true);
+                conn.setFixedLengthStreamingMode(body.length);
+            }
+
+            long start = System.nanoTime();
+            conn.connect();
+            long connected = System.nanoTime();
+            if (body != null) {
+                try (OutputStream out = conn.getOutputStream()) {
+                    out.write(body);
+                }
+                timing.requestBytes = body.length;
+            }
+            long sent = System.nanoTime();
+            timing.status = conn.getResponseCode();
+            long received = System.nanoTime();
+            timing.connectNanos = connected - start;
+            timing.sendNanos = sent - connected;
+            timing.waitNanos = received - sent;
+
+            InputStream in = timing.status >= 400 ? conn.getErrorStream() : conn.getInputStream();
+            synchronized (results) {
+                results.put(timing.id, timing);
+            }
+            handedOver = true;
+            return new Exchange(conn, timing, in);
+        } finally {
+            if (!handedOver) {
+                if (conn != null) {
+                    conn.disconnect();
+                }
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * 获取计时结果
+     *
+     * @param id 中继请求 ID（响应头 X-Sky-Relay-Id）
+     * @return 计时结果，已被淘汰或不存在时返回 null
+     */
+    public Map<String, Object> timing(long id) {
+        Timing timing;
+        synchronized (results) {
+            timing = results.get(id);
+        }
+        return timing != null ? timing.toMap() : null;
+    }
+
+    /**
+     * 获取中继配置
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", true);
+        result.put("allowedHosts", anyHost ? Collections.singleton("*") : allowedHosts);
+        result.put("methods", METHODS);
+        result.put("maxConcurrent", maxConcurrent);
+        result.put("active", maxConcurrent - permits.availablePermits());
+        return result;
+    }
+
+    private static URL parseUrl(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Relay url is required");
+        }
+        try {
+            URL url = new URL(value.trim());
+            String protocol = url.getProtocol();
+            if (!"http".equals(protocol) && !"https".equals(protocol)) {
+                throw new IllegalArgumentException("Only http/https urls can be relayed: " + value);
+            }
+            return url;
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid relay url: " + value);
+        }
+    }
+
+    private boolean isAllowed(String host) {
+        if (anyHost) {
+            return true;
+        }
+        String normalized = host.toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("[")) {
+            normalized = normalized.substring(1, normalized.length() - 1);
+        }
+        if (allowedHosts.contains(normalized)) {
+            return true;
+        }
+        // 回环地址的其他写法（如 127.0.1.1、0:0:0:0:0:0:0:1）在允许本机时同样放行
+        if (allowedHosts.contains("localhost") && normalized.matches("[0-9.:a-f]+")) {
+            try {
+                return InetAddress.getByName(normalized).isLoopbackAddress();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,235 @@
+package com.sky.core.util;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * 复制响应体的响应包装
+ * <p>
+ * 不延迟输出：写入的数据照常交给容器，同时把前 {@code limit} 个字节复制一份，超出部分只计数。
+ * 未激活（{@link #activate} 之前）时直接透传，没有额外开销。
+ * 响应体积采样（{@code ResponseSizeFilter}）和响应缓存（{@code ResponseCacheFilter}）共用此包装。
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private int limit;
+    private byte[] copy;
+    private int copied;
+    private long total;
+    private CapturingOutputStream outputStream;
+    private PrintWriter writer;
+
+    /**
+     * 创建未激活的包装（调用 {@link #activate} 后才开始复制）
+     *
+     * @param response 原始响应
+     */
+    public CapturingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * 创建立即开始复制的包装
+     *
+     * @param response 原始响应
+     * @param limit 最多复制的字节数
+     */
+    public CapturingResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        activate(limit);
+    }
+
+    /**
+     * 开始复制响应体（需在处理器写出响应之前调用）
+     *
+     * @param limit 最多复制的字节数
+     */
+    public void activate(int limit) {
+        this.limit = limit;
+        this.copy = new byte[Math.min(limit, 1024)];
+    }
+
+    public boolean isActive() {
+        return copy != null;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (copy == null) {
+            return super.getOutputStream();
+        }
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (copy == null) {
+            return super.getWriter();
+        }
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+            // 每次写入都把编码后的字节交给输出流（异步请求在过滤器返回后才写完，没有统一的时机再 flush），
+            // 但不触发容器 flush，避免每次写入都提交一个分块
+            OutputStream encoded = new FilterOutputStream(outputStream) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void flush() {
+                }
+            };
+            writer = new PrintWriter(new OutputStreamWriter(encoded, getCharacterEncoding()) {
+                @Override
+                public void write(char[] cbuf, int off, int len) throws IOException {
+                    super.write(cbuf, off, len);
+                    flush();
+                }
+
+                @Override
+                public void write(String str, int off, int len) throws IOException {
+                    super.write(str, off, len);
+                    flush();
+                }
+
+                @Override
+                public void write(int c) throws IOException {
+                    super.write(c);
+                    flush();
+                }
+            });
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        copied = 0;
+        total = 0;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        copied = 0;
+        total = 0;
+    }
+
+    /**
+     * 复制缓冲区（有效数据为前 {@link #getCopied()} 个字节，调用方不得修改）
+     */
+    public byte[] getCopy() {
+        return copy;
+    }
+
+    /**
+     * 已复制的字节数
+     */
+    public int getCopied() {
+        return copied;
+    }
+
+    /**
+     * 已写出的总字节数
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * 完整的响应体
+     *
+     * @return 响应体副本；未激活或超出复制上限时返回 null
+     */
+    public byte[] getBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return copy == null || total > copied ? null : Arrays.copyOf(copy, copied);
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        total += len;
+        int room = limit - copied;
+        if (room <= 0) {
+            return;
+        }
+        int n = Math.min(room, len);
+        if (copied + n > copy.length) {
+            copy = Arrays.copyOf(copy, Math.min(limit, Math.max(copy.length * 2, copied + n)));
+        }
+        System.arraycopy(b, off, copy, copied, n);
+        copied += n;
+    }
+
+    private class CapturingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        CapturingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
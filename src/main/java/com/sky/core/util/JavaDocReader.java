@@ -18,12 +18,21 @@ import org.slf4j.LoggerFactory;
  * 策略：
  * 1. 优先尝试读取本地源码文件 (Dev 环境)
  * 2. 降级尝试读取 Classpath 中的源码资源 (Prod 环境，需用户打包源码)
+ * 源码按类缓存，文件变更时由 {@link com.sky.core.meta.SourceWatcher} 调用 {@link #invalidate} 按类失效。
  * </p>
  */
 public class JavaDocReader {
 
     private static final String SRC_FOLDER = "src/main/java";
-    private static final java.util.Map<Class<?>, List<String>> CACHE = new java.util.concurrent.ConcurrentHashMap<>();
+
+    // 源码缓存：Key 为源码类名（包名 + 简单类名，与源码文件一一对应），便于文件变更时按类失效
+    private static final java.util.Map<String, List<String>> CACHE = new java.util.concurrent.ConcurrentHashMap<>();
+
+    // 本地源码根目录（可通过 sky.dashboard.source-roots 配置多个）
+    private static volatile List<String> sourceRoots = java.util.Collections.singletonList(SRC_FOLDER);
+
+    // 依赖记录：记录当前线程在一段生成逻辑中读取过哪些源码类
+    private static final ThreadLocal<java.util.Set<String>> RECORDER = new ThreadLocal<>();
     
     // ✅ 性能优化：预编译参数正则表达式
     private static final java.util.regex.Pattern PARAM_PATTERN = java.util.regex.Pattern.compile("@param\\s+(\\w+)\\s+(.*)");
@@ -68,6 +77,91 @@ public class JavaDocReader {
         return null;
     }
 
+    /**
+     * 读取方法注释中的自定义标签，如 {@code @sky.cache ttl=30s key=query}
+     *
+     * @param clazz 声明方法的类
+     * @param method 方法
+     * @param tag 标签名（含 @）
+     * @return 标签后的文本（没有参数时为空字符串）；没有该标签或找不到源码时返回 null
+     */
+    public static String getMethodTag(Class<?> clazz, Method method, String tag) {
+        List<String> lines = readSourceLines(clazz);
+        if (lines == null || lines.isEmpty()) return null;
+
+        java.util.regex.Pattern declaration = declarationPattern(method);
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (declaration.matcher(line).lookingAt() && countParameters(lines, i) == method.getParameterCount()) {
+                String fullComment = extractCommentBlock(lines, i, true);
+                if (fullComment == null) return null;
+                for (String commentLine : fullComment.split("\n")) {
+                    if (commentLine.equals(tag) || commentLine.startsWith(tag + " ")) {
+                        return commentLine.substring(tag.length()).trim();
+                    }
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 方法声明行的正则：行首可有注解和修饰符，之后是返回类型（可带包名、泛型、数组）和方法名
+     * <p>
+     * 要求返回类型与方法一致，调用处（{@code foo(...)}、{@code return foo(...)}、{@code x = foo(...)}）不会被误认为声明。
+     * </p>
+     */
+    private static java.util.regex.Pattern declarationPattern(Method method) {
+        java.lang.reflect.Type generic = method.getGenericReturnType();
+        String returnType = generic instanceof java.lang.reflect.TypeVariable
+                ? ((java.lang.reflect.TypeVariable<?>) generic).getName()
+                : method.getReturnType().getSimpleName().replace("[]", "");
+        return java.util.regex.Pattern.compile("\\s*(?:@[\\w.]+(?:\\([^)]*\\))?\\s+)*"
+                + "(?:(?:public|protected|private|static|final|synchronized|abstract|default|native|strictfp)\\s+)*"
+                + "(?:<.*>\\s+)?"
+                + "(?:[\\w.]+\\.)?" + java.util.regex.Pattern.quote(returnType) + "(?:\\s*<.*>)?(?:\\s*\\[\\s*\\])*"
+                + "\\s+" + java.util.regex.Pattern.quote(method.getName()) + "\\s*\\(");
+    }
+
+    /**
+     * 统计从第 {@code start} 行开始的方法声明的参数个数（用于区分重载），声明可跨多行
+     *
+     * @return 参数个数；括号在若干行内没有闭合时返回 -1
+     */
+    private static int countParameters(List<String> lines, int start) {
+        StringBuilder decl = new StringBuilder();
+        for (int i = start; i < lines.size() && i < start + 20; i++) {
+            decl.append(lines.get(i)).append(' ');
+            int open = decl.indexOf("(");
+            int depth = 0;
+            int angle = 0;
+            int count = 0;
+            boolean empty = true;
+            for (int j = open + 1; j < decl.length(); j++) {
+                char c = decl.charAt(j);
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    if (depth == 0) {
+                        return empty ? 0 : count + 1;
+                    }
+                    depth--;
+                } else if (c == '<') {
+                    angle++;
+                } else if (c == '>') {
+                    angle--;
+                } else if (c == ',' && depth == 0 && angle == 0) {
+                    count++;
+                } else if (!Character.isWhitespace(c)) {
+                    empty = false;
+                }
+            }
+        }
+        return -1;
+    }
+
     public static String getFieldDescription(Class<?> clazz, String fieldName) {
         List<String> lines = readSourceLines(clazz);
         if (lines == null || lines.isEmpty()) return null;
@@ -101,12 +195,105 @@ public class JavaDocReader {
         return null;
     }
 
+    /**
+     * 设置本地源码根目录
+     *
+     * @param roots 源码根目录列表（相对于工作目录或绝对路径）
+     */
+    public static void setSourceRoots(List<String> roots) {
+        sourceRoots = java.util.Collections.unmodifiableList(new ArrayList<>(roots));
+        CACHE.clear();
+    }
+
+    public static List<String> getSourceRoots() {
+        return sourceRoots;
+    }
+
+    /**
+     * 获取类对应的源码类名（包名 + 简单类名）
+     */
+    public static String sourceName(Class<?> clazz) {
+        return clazz.getPackage().getName() + "." + clazz.getSimpleName();
+    }
+
+    /**
+     * 获取源码版本戳（用于判断持久化的元数据是否仍与源码一致）
+     * <p>
+     * 本地源码取文件修改时间，Classpath 源码取资源修改时间，找不到源码返回 0。
+     * </p>
+     *
+     * @param className 源码类名（包名 + 简单类名）
+     * @return 版本戳
+     */
+    public static long sourceStamp(String className) {
+        String relativePath = className.replace('.', '/') + ".java";
+        for (String root : sourceRoots) {
+            File sourceFile = new File(root + File.separator + relativePath);
+            if (sourceFile.exists()) {
+                return sourceFile.lastModified();
+            }
+        }
+        java.net.URL url = JavaDocReader.class.getClassLoader().getResource(relativePath);
+        if (url != null) {
+            try {
+                if ("file".equals(url.getProtocol())) {
+                    return new File(url.toURI()).lastModified();
+                }
+                // jar 内资源：取 jar 文件的修改时间（重新打包即视为变更）
+                return url.openConnection().getLastModified();
+            } catch (IOException | java.net.URISyntaxException e) {
+                // 视为无源码
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * 开始记录当前线程读取的源码类
+     * <p>
+     * 与 {@link #stopRecording()} 成对使用（放在 finally 中），
+     * 用于得知某段元数据依赖了哪些源码文件，从而在文件变更时精确失效。
+     * </p>
+     *
+     * @return 记录集合（停止前会持续写入）
+     */
+    public static java.util.Set<String> startRecording() {
+        java.util.Set<String> sources = new java.util.HashSet<>();
+        RECORDER.set(sources);
+        return sources;
+    }
+
+    public static void stopRecording() {
+        RECORDER.remove();
+    }
+
+    /**
+     * 使指定类的源码缓存失效（源码文件变更时调用）
+     *
+     * @param classNames 源码类名集合
+     */
+    public static void invalidate(java.util.Collection<String> classNames) {
+        CACHE.keySet().removeAll(classNames);
+    }
+
+    /**
+     * 清空全部源码缓存
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
     /**
      * 核心读取逻辑：双模式支持
      */
     private static List<String> readSourceLines(Class<?> clazz) {
+        String name = sourceName(clazz);
+        java.util.Set<String> recorder = RECORDER.get();
+        if (recorder != null) {
+            recorder.add(name);
+        }
         // 使用 computeIfAbsent 保证线程安全（避免 Check-Then-Act 竞争条件）
-        return CACHE.computeIfAbsent(clazz, k -> loadSourceLines(k));
+        return CACHE.computeIfAbsent(name, k -> loadSourceLines(clazz));
     }
     
     /**
@@ -121,12 +308,15 @@ public class JavaDocReader {
         List<String> lines = null;
 
         // 1. 尝试本地文件系统 (Dev 模式)
-        File sourceFile = new File(SRC_FOLDER + File.separator + relativePath);
-        if (sourceFile.exists()) {
-            try {
-                lines = Files.readAllLines(sourceFile.toPath(), StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                // 忽略，尝试 classpath
+        for (String root : sourceRoots) {
+            File sourceFile = new File(root + File.separator + relativePath);
+            if (sourceFile.exists()) {
+                try {
+                    lines = Files.readAllLines(sourceFile.toPath(), StandardCharsets.UTF_8);
+                    break;
+                } catch (IOException e) {
+                    // 忽略，尝试下一个目录或 classpath
+                }
             }
         }
 
@@ -7,11 +7,12 @@
  * 1. 星空粒子动画 (Star Constellation Animation)
  * 2. 流星特效 (Meteor Shower Effect)
  * 3. API 客户端 (API Client)
- * 4. 历史记录管理 (History Manager)
+ * 4. 历史记录管理 (History Manager, IndexedDB)
  * 5. UI 交互逻辑 (UI Interaction Logic)
  * 6. 侧边栏折叠 (Sidebar Toggle)
  * 7. 模态框管理 (Modal Management)
  * 8. 请求调试台 (Console Debugger)
+ * 9. 监控面板 (Monitor Panel)
  */
 
 
@@ -22,7 +23,13 @@
 const CONFIG = {
     PARTICLE_COUNT: 50,           // 星空粒子数量
     CONNECTION_DISTANCE: 150,     // 连线距离阈值
-    HISTORY_MAX_ITEMS: 5          // 历史记录最大条数
+    HISTORY_MAX_ITEMS: 5,         // 历史记录最大条数
+    HISTORY_MAX_SIZE: 500,        // 历史记录最大保存条数
+    HISTORY_MAX_BYTES: 20 * 1024 * 1024,          // 历史记录最大占用字节数
+    HISTORY_COMPRESS_THRESHOLD: 4096,             // 超过该长度的请求体/响应体压缩保存
+    HISTORY_MAX_RESPONSE_CHARS: 2 * 1024 * 1024,  // 超过该长度的响应体不保存
+    STREAM_PREVIEW_CHARS: 16384,  // 流式读取时预览的最大字符数
+    META_SYNC_INTERVAL: 5000      // 元数据增量同步间隔 (ms)
 };
 
 const JSON_HIGHLIGHT_REGEX = /("(\\u[a-zA-Z0-9]{4}|\\[^u]|[^\\"])*"(\s*:)?|\b(true|false|null)\b|-?\d+(?:\.\d*)?(?:[eE][+\-]?\d+)?)/g;
@@ -124,7 +131,7 @@ const JSON_HIGHLIGHT_REGEX = /("(\\u[a-zA-Z0-9]{4}|\\[^u]|[^\\"])*"(\s*:)?|\b(tr
  * Smart Relay 仪表盘核心逻辑
  * 包含：
  * 1. ApiClient: 统一的 HTTP 请求客户端
- * 2. HistoryManager: 控制台请求历史记录管理
+ * 2. HistoryManager / RequestHistory: 控制台状态与请求历史 (IndexedDB)
  * 3. UI 交互逻辑 (弹窗、折叠、参数处理)
  */
 class ApiClient {
@@ -175,8 +182,9 @@ class ApiClient {
      * @param {object} headers 请求头对象
      * @param {string} bodyStr 原始请求体字符串 (JSON 或 Key:Val)
      * @param {string} bodyMode 'json' 或 'form'
+     * @param {function} [onProgress] 流式读取回调 ({ received, preview })，首批字节到达即可预览
      */
-    static async send(method, url, headers, bodyStr, bodyMode) {
+    static async send(method, url, headers, bodyStr, bodyMode, onProgress) {
         // 合并全局 Headers
         const globalRaw = localStorage.getItem('sky_global_headers') || '';
         const globalHeaders = ApiClient.parseHeaders(globalRaw);
@@ -247,31 +255,38 @@ class ApiClient {
             }
         }
 
+        // 服务端中继 (需开启 sky.dashboard.relay.enabled)：由服务端代发，不受跨域限制，计时更精确
+        if (ApiClient.useRelay(method)) {
+            return ApiClient.sendViaRelay(method, targetUrl, opts, onProgress);
+        }
+
+        // 同源请求请求服务端分段计时 (需开启 sky.dashboard.server-timing.enabled)，
+        // 并总是参与响应体积采样 (需开启 sky.dashboard.response-size.enabled)；
+        // 跨域目标不加，避免对方不认识该请求头而在预检时失败
+        if (ApiClient.isSameOrigin(targetUrl)) {
+            opts.headers['X-Sky-Timing'] = '1';
+            opts.headers['X-Sky-Size'] = '1';
+        }
+
         const startTime = Date.now();
         try {
             const res = await fetch(targetUrl, opts);
-            const duration = Date.now() - startTime;
-
-            let text = '';
-            let isJson = false;
+            const ttfb = Date.now() - startTime;
             const ct = res.headers.get('content-type');
+            const body = await ApiClient.readBody(res, onProgress);
+            const duration = Date.now() - startTime;
 
-            if (ct && ct.includes('json')) {
-                const j = await res.json();
-                text = JSON.stringify(j, null, 2);
-                isJson = true;
-            } else {
-                text = await res.text();
-            }
-
+            // 格式化与高亮交由 JsonView (Web Worker) 处理，这里只保留原始文本
             return {
                 ok: res.ok,
                 status: res.status,
                 statusText: res.statusText,
                 duration: duration,
-                size: new Blob([text]).size,
-                text: text,
-                isJson: isJson
+                size: body.size,
+                text: body.text,
+                isJson: !!(ct && ct.includes('json')),
+                ttfb: ttfb,
+                serverTiming: ApiClient.parseServerTiming(res.headers.get('server-timing'))
             };
         } catch (e) {
             return {
@@ -285,34 +300,290 @@ class ApiClient {
             };
         }
     }
+
+    /**
+     * 是否通过服务端中继发送 (设置中开启；服务端不支持 PATCH，此类请求仍由浏览器直接发送)
+     */
+    static useRelay(method) {
+        return localStorage.getItem('sky_relay') === '1' && method !== 'PATCH';
+    }
+
+    /**
+     * 通过服务端中继发送请求
+     * 中继响应体即目标响应体 (流式转发)，目标状态码和响应头在 X-Sky-Relay-* 响应头中；
+     * 读完响应体后再按中继 ID 取回下载耗时和字节数。
+     * @returns {Promise<object>} 与 send() 相同的结构，另含 relay 计时
+     */
+    static async sendViaRelay(method, targetUrl, opts, onProgress) {
+        const payload = {
+            method,
+            url: new URL(targetUrl, window.location.href).href,
+            headers: opts.headers,
+            body: opts.body !== undefined ? String(opts.body) : null
+        };
+        const startTime = Date.now();
+        try {
+            const res = await fetch(dashboardUrl('api-dashboard/relay'), {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify(payload)
+            });
+            const ttfb = Date.now() - startTime;
+            const upstreamStatus = res.headers.get('x-sky-relay-status');
+            const body = await ApiClient.readBody(res, onProgress);
+            const duration = Date.now() - startTime;
+            if (upstreamStatus === null) {
+                // 中继自身失败 (未开启、地址不允许、连接失败等)
+                return {
+                    ok: false,
+                    status: res.status,
+                    statusText: 'Relay Error',
+                    duration,
+                    size: body.size,
+                    text: body.text,
+                    isJson: true
+                };
+            }
+
+            let relay = null;
+            const relayId = res.headers.get('x-sky-relay-id');
+            if (relayId) {
+                try {
+                    const timingRes = await fetch(dashboardUrl('api-dashboard/relay/' + encodeURIComponent(relayId)));
+                    if (timingRes.ok) relay = await timingRes.json();
+                } catch (e) {
+                    // 计时结果仅用于展示，取不到时忽略
+                }
+            }
+            let headers = {};
+            try {
+                headers = JSON.parse(decodeURIComponent((res.headers.get('x-sky-relay-headers') || '{}').replace(/\+/g, ' ')));
+            } catch (e) {
+                headers = {};
+            }
+            const status = parseInt(upstreamStatus, 10);
+            const ct = Object.keys(headers).find(k => k.toLowerCase() === 'content-type');
+            return {
+                ok: status >= 200 && status < 300,
+                status,
+                statusText: 'via relay',
+                duration,
+                size: relay ? relay.responseBytes : body.size,
+                text: body.text,
+                isJson: !!(ct && headers[ct].includes('json')),
+                ttfb,
+                headers,
+                relay
+            };
+        } catch (e) {
+            return {
+                ok: false,
+                status: 0,
+                statusText: 'Network Error',
+                duration: Date.now() - startTime,
+                size: 0,
+                text: 'Error: ' + e.message,
+                isJson: false
+            };
+        }
+    }
+
+    static isSameOrigin(url) {
+        try {
+            return new URL(url, window.location.href).origin === window.location.origin;
+        } catch (e) {
+            return false;
+        }
+    }
+
+    /**
+     * 解析 Server-Timing 响应头
+     * 例: chain;dur=0.412;desc="filter chain", handler;dur=3.1, total;dur=4.2
+     * @returns {Array<{name: string, dur: number, desc: string}>} 无该响应头时为空数组
+     */
+    static parseServerTiming(header) {
+        if (!header) return [];
+        return header.split(',').map(metric => {
+            const [name, ...params] = metric.split(';').map(p => p.trim());
+            const entry = { name, dur: 0, desc: '' };
+            params.forEach(p => {
+                const eq = p.indexOf('=');
+                if (eq < 0) return;
+                const key = p.substring(0, eq).trim().toLowerCase();
+                const val = p.substring(eq + 1).trim().replace(/^"|"$/g, '');
+                if (key === 'dur') entry.dur = parseFloat(val) || 0;
+                else if (key === 'desc') entry.desc = val;
+            });
+            return entry;
+        }).filter(entry => entry.name);
+    }
+
+    /**
+     * 流式读取响应体 (ReadableStream)
+     * 分块解码并累积，避免 res.text() 整体缓冲期间界面无反馈；
+     * 仅将前 CONFIG.STREAM_PREVIEW_CHARS 个字符交给回调做预览，不重复拼接大字符串。
+     * @param {Response} res fetch 响应
+     * @param {function} [onProgress] 进度回调
+     * @returns {Promise<{text: string, size: number}>}
+     */
+    static async readBody(res, onProgress) {
+        if (!res.body || typeof res.body.getReader !== 'function' || typeof TextDecoder === 'undefined') {
+            const text = await res.text();
+            return { text, size: new Blob([text]).size };
+        }
+
+        const reader = res.body.getReader();
+        const decoder = new TextDecoder('utf-8');
+        const parts = [];
+        let received = 0;
+        let preview = '';
+
+        while (true) {
+            const { done, value } = await reader.read();
+            if (done) break;
+            received += value.byteLength;
+            const chunk = decoder.decode(value, { stream: true });
+            parts.push(chunk);
+            if (preview.length < CONFIG.STREAM_PREVIEW_CHARS) {
+                preview += chunk.substring(0, CONFIG.STREAM_PREVIEW_CHARS - preview.length);
+            }
+            if (onProgress) onProgress({ received, preview });
+        }
+        parts.push(decoder.decode());
+        return { text: parts.join(''), size: received };
+    }
 }
 
 // 存储 API 响应：{ "normalized_path": "response_text" }
 window.API_RESPONSES = {};
 
+/**
+ * IndexedDB 存储 (请求历史 / 控制台状态)
+ * - history：每次请求一条记录 (自增 id)，按 timestamp 与 [endpoint, timestamp] 建索引
+ * - kv：小型键值状态 (控制台状态、历史占用字节数等)
+ * 所有读写均为异步的单条记录操作，不再整体解析/重写 JSON。
+ */
+const SkyDB = {
+    NAME: 'sky-dashboard',
+    VERSION: 1,
+    opening: null,
+
+    /**
+     * 打开 (或升级) 数据库，仅执行一次
+     * @returns {Promise<IDBDatabase>}
+     */
+    open() {
+        if (this.opening) return this.opening;
+        this.opening = new Promise((resolve, reject) => {
+            if (typeof indexedDB === 'undefined') {
+                reject(new Error('IndexedDB not supported'));
+                return;
+            }
+            const req = indexedDB.open(this.NAME, this.VERSION);
+            req.onupgradeneeded = () => {
+                const db = req.result;
+                if (!db.objectStoreNames.contains('history')) {
+                    const store = db.createObjectStore('history', { keyPath: 'id', autoIncrement: true });
+                    store.createIndex('timestamp', 'timestamp');
+                    store.createIndex('endpoint', ['endpoint', 'timestamp']);
+                }
+                if (!db.objectStoreNames.contains('kv')) {
+                    db.createObjectStore('kv');
+                }
+            };
+            req.onsuccess = () => resolve(req.result);
+            req.onerror = () => reject(req.error);
+        });
+        return this.opening;
+    },
+
+    /**
+     * 在单个事务中执行操作，事务提交后返回 fn 的结果
+     * @param {string|string[]} stores 对象仓库名
+     * @param {string} mode 'readonly' 或 'readwrite'
+     * @param {function} fn (tx) => result，只能发起 IDB 请求，不能 await 其他异步操作
+     */
+    async run(stores, mode, fn) {
+        const db = await this.open();
+        return new Promise((resolve, reject) => {
+            const tx = db.transaction(stores, mode);
+            let result;
+            tx.oncomplete = () => resolve(result);
+            tx.onerror = () => reject(tx.error);
+            tx.onabort = () => reject(tx.error);
+            result = fn(tx);
+        });
+    },
+
+    /**
+     * IDBRequest 结果回调的简写
+     */
+    onResult(req, fn) {
+        req.onsuccess = () => fn(req.result);
+    }
+};
+
+/**
+ * 大文本压缩 (CompressionStream gzip)
+ * 浏览器不支持时原样保存
+ */
+const TextCompressor = {
+    supported: typeof CompressionStream !== 'undefined' && typeof DecompressionStream !== 'undefined',
+
+    /**
+     * 超过阈值的文本压缩为 Blob，否则原样返回
+     * @param {string} text 原始文本
+     * @returns {Promise<string|Blob>}
+     */
+    async pack(text) {
+        if (!text || !this.supported || text.length < CONFIG.HISTORY_COMPRESS_THRESHOLD) return text;
+        const stream = new Blob([text]).stream().pipeThrough(new CompressionStream('gzip'));
+        return new Response(stream).blob();
+    },
+
+    /**
+     * 还原 pack() 的结果
+     * @param {string|Blob} value 文本或压缩后的 Blob
+     * @returns {Promise<string>}
+     */
+    async unpack(value) {
+        if (!(value instanceof Blob)) return value || '';
+        const stream = value.stream().pipeThrough(new DecompressionStream('gzip'));
+        return new Response(stream).text();
+    },
+
+    /**
+     * 估算存储占用字节数
+     */
+    sizeOf(value) {
+        if (!value) return 0;
+        return value instanceof Blob ? value.size : value.length * 2;
+    }
+};
+
 /**
  * 历史记录管理器 (用于控制台状态持久化)
  */
 class HistoryManager {
     static saveState() {
-        try {
-            const state = {
-                method: document.getElementById('c-method').value,
-                url: document.getElementById('c-url').value,
-                base: document.getElementById('c-base').value,
-                body: document.getElementById('c-body').value,
-                headers: document.getElementById('c-headers').value,
-                bodyMode: window.cBodyMode || 'json'
-            };
-            localStorage.setItem('sky_console_state', JSON.stringify(state));
-        } catch (e) { console.error(e); }
+        const state = {
+            method: document.getElementById('c-method').value,
+            url: document.getElementById('c-url').value,
+            base: document.getElementById('c-base').value,
+            body: document.getElementById('c-body').value,
+            headers: document.getElementById('c-headers').value,
+            bodyMode: window.cBodyMode || 'json'
+        };
+        return SkyDB.run('kv', 'readwrite', tx => tx.objectStore('kv').put(state, 'console-state'))
+            .catch(e => console.error(e));
     }
 
-    static loadState() {
+    static async loadState() {
         try {
-            const saved = localStorage.getItem('sky_console_state');
-            if (!saved) return;
-            const state = JSON.parse(saved);
+            let state = null;
+            await SkyDB.run('kv', 'readonly', tx =>
+                SkyDB.onResult(tx.objectStore('kv').get('console-state'), v => state = v));
+            if (!state) return;
             if (state.method) document.getElementById('c-method').value = state.method;
             if (state.url) document.getElementById('c-url').value = state.url;
 
@@ -339,54 +610,189 @@ window.cBodyMode = 'json';
 // ============ P0 极简功能增强 ============
 // 请求历史功能
 /**
- * 请求历史管理器
- * 用于保存和加载用户的 API 请求历史
+ * 请求历史管理器 (IndexedDB)
+ * - 每条历史单独存储，保存/列表均与历史总量无关
+ * - 超过条数或字节上限时按时间从最旧开始淘汰
+ * - 较大的请求体/响应体使用 gzip 压缩保存
+ * - 支持按接口 (method + path) 索引查询
  */
 const RequestHistory = {
     /**
-     * 保存请求到 LocalStorage
-     * @param {Object} request - 请求对象（包含 method, url, headers 等）
+     * 接口索引键
+     */
+    endpointKey(method, url) {
+        return (method || 'GET') + ' ' + (url || '');
+    },
+
+    /**
+     * 保存请求到 IndexedDB
+     * @param {Object} request - 请求对象（包含 method, url, headers, body, response 等）
+     * @returns {Promise<boolean>} 事务是否成功提交
      */
-    save(request) {
+    async save(request) {
         try {
-            const history = JSON.parse(localStorage.getItem('sky-history') || '[]');
-            // 添加时间戳并插入到数组开头
-            history.unshift({ ...request, timestamp: Date.now() });
-            // 保留最近的 N 条记录
-            localStorage.setItem('sky-history', JSON.stringify(history.slice(0, CONFIG.HISTORY_MAX_SIZE)));
+            await this.write([await this.pack(request)]);
+            return true;
         } catch (e) {
             console.warn('[RequestHistory] Failed to save:', e);
+            return false;
         }
     },
+
+    /**
+     * 把请求转换为存储条目 (压缩请求体/响应体)
+     * 压缩需在事务外完成 (事务在等待其他异步操作时会自动提交)
+     * @param {Object} request - 请求对象；带 timestamp 时保留原时间 (迁移旧数据)
+     */
+    async pack(request) {
+        let response = request.response || '';
+        const responseTruncated = response.length > CONFIG.HISTORY_MAX_RESPONSE_CHARS;
+        if (responseTruncated) response = '';
+
+        const body = await TextCompressor.pack(request.body || '');
+        const packedResponse = await TextCompressor.pack(response);
+        const entry = {
+            method: request.method || 'GET',
+            url: request.url || '',
+            endpoint: this.endpointKey(request.method, request.url),
+            headers: request.headers || '',
+            status: request.status,
+            body,
+            response: packedResponse,
+            responseTruncated,
+            timestamp: request.timestamp || Date.now()
+        };
+        entry.bytes = TextCompressor.sizeOf(body) + TextCompressor.sizeOf(packedResponse)
+            + (entry.url.length + entry.headers.length) * 2;
+        return entry;
+    },
+
     /**
-     * 从 LocalStorage 加载历史记录
-     * @returns {Array} 历史请求数组
+     * 在一个事务中写入若干条目，并按条数与字节上限淘汰最旧的记录
+     * @param {Array} entries - pack() 生成的条目
+     * @returns {Promise} 事务提交后 resolve，任一写入失败则整体回滚并 reject
      */
-    load() {
+    write(entries) {
+        const added = entries.reduce((sum, entry) => sum + entry.bytes, 0);
+        return SkyDB.run(['history', 'kv'], 'readwrite', tx => {
+            const store = tx.objectStore('history');
+            const kv = tx.objectStore('kv');
+            entries.forEach(entry => store.add(entry));
+            SkyDB.onResult(kv.get('history-bytes'), (bytes) => {
+                let total = (bytes || 0) + added;
+                SkyDB.onResult(store.count(), (count) => {
+                    // 从最旧的记录开始淘汰，直到满足条数与字节上限
+                    const cursorReq = store.index('timestamp').openCursor();
+                    cursorReq.onsuccess = () => {
+                        const cursor = cursorReq.result;
+                        if (cursor && (count > CONFIG.HISTORY_MAX_SIZE || total > CONFIG.HISTORY_MAX_BYTES)) {
+                            total -= cursor.value.bytes || 0;
+                            count--;
+                            cursor.delete();
+                            cursor.continue();
+                        } else {
+                            kv.put(Math.max(total, 0), 'history-bytes');
+                        }
+                    };
+                });
+            });
+        });
+    },
+
+    /**
+     * 按时间倒序加载最近的历史记录 (不解压请求体/响应体)
+     * @param {number} limit 最大条数
+     * @returns {Promise<Array>} 历史请求数组
+     */
+    async list(limit = CONFIG.HISTORY_MAX_ITEMS) {
+        return this.collect(store => store.index('timestamp').openCursor(null, 'prev'), limit);
+    },
+
+    /**
+     * 按接口查询历史记录 (使用 [endpoint, timestamp] 索引，时间倒序)
+     * @param {string} method HTTP 方法
+     * @param {string} url 请求路径
+     * @param {number} limit 最大条数
+     * @returns {Promise<Array>}
+     */
+    async listByEndpoint(method, url, limit = CONFIG.HISTORY_MAX_ITEMS) {
+        const key = this.endpointKey(method, url);
+        const range = IDBKeyRange.bound([key, 0], [key, Number.MAX_SAFE_INTEGER]);
+        return this.collect(store => store.index('endpoint').openCursor(range, 'prev'), limit);
+    },
+
+    /**
+     * 通过游标读取至多 limit 条记录
+     */
+    async collect(openCursor, limit) {
         try {
-            return JSON.parse(localStorage.getItem('sky-history') || '[]');
+            const items = [];
+            await SkyDB.run('history', 'readonly', tx => {
+                const req = openCursor(tx.objectStore('history'));
+                req.onsuccess = () => {
+                    const cursor = req.result;
+                    if (cursor && items.length < limit) {
+                        items.push(cursor.value);
+                        cursor.continue();
+                    }
+                };
+            });
+            return items;
         } catch (e) {
             console.warn('[RequestHistory] Failed to load:', e);
             return [];
         }
     },
+
     /**
-     * 恢复指定的历史记录到当前请求
-     * @param {number} index - 历史记录索引
+     * 读取单条历史记录，并解压请求体/响应体
+     * @param {number} id - 历史记录 id
      */
-    restore(index) {
+    async restore(id) {
         try {
-            const history = this.load();
-            const item = history[index];
-            if (item) {
-                // TODO: 恢复请求参数到 UI (待实现)
-                console.log('[RequestHistory] Restoring:', item);
-            }
-            return item || null; // 确保未找到时返回 null，保持一致性
+            let item = null;
+            await SkyDB.run('history', 'readonly', tx =>
+                SkyDB.onResult(tx.objectStore('history').get(id), v => item = v));
+            if (!item) return null; // 确保未找到时返回 null，保持一致性
+            item.body = await TextCompressor.unpack(item.body);
+            item.response = await TextCompressor.unpack(item.response);
+            return item;
         } catch (e) {
             console.warn('[RequestHistory] Failed to restore:', e);
             return null;
         }
+    },
+
+    /**
+     * 一次性迁移旧版 localStorage 中的 'sky-history' 与 'sky_console_state'
+     * 全部历史在一个事务中写入 (保留原时间戳)，事务提交后才删除旧数据；
+     * 失败时事务整体回滚，下次加载重试不会产生重复记录
+     */
+    async migrateLegacy() {
+        const legacy = localStorage.getItem('sky-history');
+        if (legacy) {
+            try {
+                // 旧数据按时间倒序存放，逆序写入以保持时间顺序
+                const entries = [];
+                for (const item of (JSON.parse(legacy) || []).reverse()) {
+                    entries.push(await this.pack(item));
+                }
+                await this.write(entries);
+                localStorage.removeItem('sky-history');
+            } catch (e) {
+                console.warn('[RequestHistory] Failed to migrate legacy history:', e);
+            }
+        }
+        const legacyState = localStorage.getItem('sky_console_state');
+        if (legacyState) {
+            try {
+                const state = JSON.parse(legacyState);
+                await SkyDB.run('kv', 'readwrite', tx => tx.objectStore('kv').put(state, 'console-state'));
+                localStorage.removeItem('sky_console_state');
+            } catch (e) {
+                console.warn('[RequestHistory] Failed to migrate legacy console state:', e);
+            }
+        }
     }
 };
 
@@ -432,6 +838,265 @@ function syntaxHighlight(json) {
     });
 }
 
+/**
+ * 响应体视图 (JSON Viewer)
+ * 解析、美化与高亮在 Web Worker (json-worker.js) 中完成，UI 线程只负责插入结果；
+ * 大文档以懒加载树的形式呈现，子节点在点击展开时才向 Worker 请求。
+ * Worker 不可用时 (如 CSP 限制) 降级为同步的 prettyJSON。
+ */
+const JsonView = {
+    worker: undefined,
+    seq: 0,
+    pending: new Map(),
+
+    /**
+     * 懒创建 Worker，失败时返回 null 并走降级逻辑
+     */
+    getWorker() {
+        if (this.worker !== undefined) return this.worker;
+        try {
+            const contextPath = (typeof CTX !== 'undefined' ? CTX : '');
+            const cleanContext = contextPath.endsWith('/') ? contextPath : contextPath + '/';
+            this.worker = new Worker(cleanContext + 'js/json-worker.js');
+            this.worker.onmessage = (e) => {
+                const resolve = this.pending.get(e.data.id);
+                if (resolve) {
+                    this.pending.delete(e.data.id);
+                    resolve(e.data.result);
+                }
+            };
+            this.worker.onerror = (e) => {
+                console.warn('[JsonView] Worker failed, falling back to main thread:', e.message);
+                this.worker = null;
+                this.pending.forEach(resolve => resolve(null));
+                this.pending.clear();
+            };
+        } catch (e) {
+            this.worker = null;
+        }
+        return this.worker;
+    },
+
+    /**
+     * 向 Worker 发送消息，返回其应答结果 (Worker 不可用时为 null)
+     */
+    call(msg) {
+        const worker = this.getWorker();
+        if (!worker) return Promise.resolve(null);
+        return new Promise(resolve => {
+            const id = ++this.seq;
+            this.pending.set(id, resolve);
+            worker.postMessage({ ...msg, id });
+        });
+    },
+
+    /**
+     * 流式下载进度：展示已到达的首批字节 (每帧最多刷新一次)
+     * @param {HTMLElement} el 响应容器
+     * @param {{received: number, preview: string}} progress 进度信息
+     */
+    showProgress(el, progress) {
+        el._progress = progress;
+        if (el._progressFrame) return;
+        el._progressFrame = requestAnimationFrame(() => {
+            el._progressFrame = null;
+            const p = el._progress;
+            el.textContent = p.preview + '\n\n… 已接收 ' + (p.received / 1024).toFixed(1) + ' KB';
+        });
+    },
+
+    /**
+     * 渲染响应文本到容器
+     * @param {HTMLElement} el 响应容器
+     * @param {string} text 原始响应文本
+     */
+    async render(el, text) {
+        if (el._progressFrame) {
+            cancelAnimationFrame(el._progressFrame);
+            el._progressFrame = null;
+        }
+        if (el._docId) this.call({ type: 'release', docId: el._docId });
+
+        const docId = ++this.seq;
+        el._docId = docId;
+        el._rawText = text;
+
+        const result = await this.call({ type: 'render', docId, text });
+        if (el._docId !== docId) return; // 已被更新的请求覆盖
+
+        if (!result || result.error) {
+            el.innerHTML = prettyJSON(text);
+        } else if (result.kind === 'tree') {
+            el.innerHTML = '';
+            const root = this.createNode(docId, [], result.root);
+            el.appendChild(root);
+            this.toggle(root, docId, []);
+        } else {
+            el.innerHTML = result.html;
+        }
+    },
+
+    /**
+     * 创建树节点 (容器节点点击后才加载子节点)
+     */
+    createNode(docId, path, desc) {
+        const node = document.createElement('div');
+        node.className = 'json-tree-node';
+
+        const line = document.createElement('div');
+        line.className = 'json-tree-line';
+        node.appendChild(line);
+
+        const isContainer = desc.type === 'object' || desc.type === 'array';
+        const toggle = document.createElement('span');
+        toggle.className = 'json-tree-toggle';
+        toggle.textContent = isContainer ? '▶' : '';
+        line.appendChild(toggle);
+
+        if (desc.key !== null && desc.key !== undefined) {
+            const key = document.createElement('span');
+            key.className = 'json-key';
+            key.textContent = (typeof desc.key === 'number' ? desc.key : JSON.stringify(desc.key)) + ': ';
+            line.appendChild(key);
+        }
+
+        const value = document.createElement('span');
+        if (isContainer) {
+            value.className = 'json-tree-summary';
+            value.textContent = desc.type === 'array' ? `[…] ${desc.size} items` : `{…} ${desc.size} keys`;
+            line.onclick = () => this.toggle(node, docId, path);
+        } else {
+            // Worker 返回的预览已转义并高亮
+            value.innerHTML = desc.html;
+        }
+        line.appendChild(value);
+        return node;
+    },
+
+    /**
+     * 展开/折叠节点，首次展开时向 Worker 请求子节点
+     */
+    async toggle(node, docId, path) {
+        let children = node.querySelector(':scope > .json-tree-children');
+        const toggle = node.querySelector(':scope > .json-tree-line > .json-tree-toggle');
+        if (children) {
+            const collapsed = children.style.display === 'none';
+            children.style.display = collapsed ? 'block' : 'none';
+            toggle.textContent = collapsed ? '▼' : '▶';
+            return;
+        }
+        children = document.createElement('div');
+        children.className = 'json-tree-children';
+        node.appendChild(children);
+        toggle.textContent = '▼';
+        await this.loadChildren(children, docId, path, 0);
+    },
+
+    /**
+     * 分页加载子节点，超出一页时追加 "加载更多"
+     */
+    async loadChildren(container, docId, path, offset) {
+        const res = await this.call({ type: 'children', docId, path, offset });
+        if (!res || res.error) return;
+        const fragment = document.createDocumentFragment();
+        res.items.forEach(item => fragment.appendChild(this.createNode(docId, path.concat([item.key]), item)));
+        if (res.next >= 0) {
+            const more = document.createElement('div');
+            more.className = 'json-tree-more';
+            more.textContent = `加载更多 (剩余 ${res.total - res.next})`;
+            more.onclick = () => {
+                more.remove();
+                this.loadChildren(container, docId, path, res.next);
+            };
+            fragment.appendChild(more);
+        }
+        container.appendChild(fragment);
+    }
+};
+
+/**
+ * 服务端耗时瀑布图
+ * 依据 Server-Timing 响应头 (服务端需开启 sky.dashboard.server-timing.enabled) 绘制：
+ * 服务端各阶段依次排列，两侧为网络与下载耗时 (浏览器总耗时减去服务端总耗时，往返各算一半)。
+ * 没有 Server-Timing 时隐藏。
+ */
+const TimingWaterfall = {
+    LABELS: {
+        chain: '过滤器链',
+        args: '参数反序列化',
+        handler: '处理器执行',
+        serialize: '响应序列化'
+    },
+
+    RELAY_PHASES: [
+        { key: 'connectMs', label: '建立连接', desc: '含 TLS 握手；复用 keep-alive 连接时接近 0', cls: 'net' },
+        { key: 'sendMs', label: '发送请求', desc: '请求头和请求体', cls: 'args' },
+        { key: 'waitMs', label: '等待响应', desc: '目标服务处理 + 网络往返', cls: 'handler' },
+        { key: 'downloadMs', label: '下载响应', desc: '读取并转发响应体', cls: 'serialize' }
+    ],
+
+    render(el, res) {
+        if (!el) return;
+        if (res.relay) {
+            this.renderRelay(el, res.relay);
+            return;
+        }
+        const metrics = res.serverTiming || [];
+        const total = metrics.find(m => m.name === 'total');
+        if (!total) {
+            el.style.display = 'none';
+            el.innerHTML = '';
+            return;
+        }
+        const phases = metrics.filter(m => m.name !== 'total');
+        const duration = Math.max(res.duration, total.dur);
+        const network = Math.max(0, (res.ttfb || res.duration) - total.dur);
+        const download = Math.max(0, res.duration - (res.ttfb || res.duration));
+
+        const rows = [];
+        let offset = network / 2;
+        rows.push({ label: '请求发送', desc: '网络 (估算)', start: 0, dur: network / 2, cls: 'net' });
+        phases.forEach(m => {
+            rows.push({ label: this.LABELS[m.name] || m.name, desc: m.desc, start: offset, dur: m.dur, cls: m.name });
+            offset += m.dur;
+        });
+        rows.push({ label: '响应接收', desc: '网络 (估算) + 下载', start: offset, dur: network / 2 + download, cls: 'net' });
+
+        el.innerHTML = rows.map(r => this.row(r, duration)).join('') +
+            `<div class="timing-summary">服务端 ${total.dur.toFixed(1)} ms / 浏览器 ${res.duration} ms</div>`;
+        el.style.display = 'block';
+    },
+
+    /**
+     * 中继请求的计时 (服务端测得，不含浏览器到中继的往返)
+     */
+    renderRelay(el, relay) {
+        const rows = [];
+        let offset = 0;
+        this.RELAY_PHASES.forEach(p => {
+            const dur = relay[p.key];
+            if (typeof dur !== 'number') return;
+            rows.push({ label: p.label, desc: p.desc, start: offset, dur, cls: p.cls });
+            offset += dur;
+        });
+        const duration = Math.max(offset, relay.totalMs || 0);
+        el.innerHTML = rows.map(r => this.row(r, duration)).join('') +
+            `<div class="timing-summary">中继 ${duration.toFixed(1)} ms / 发送 ${formatBytes(relay.requestBytes)} / 接收 ${formatBytes(relay.responseBytes)}${relay.complete ? '' : ' (未读完)'}</div>`;
+        el.style.display = 'block';
+    },
+
+    row(r, duration) {
+        const pct = v => (duration > 0 ? Math.min(100, v / duration * 100) : 0).toFixed(2);
+        return `
+            <div class="timing-row" title="${escapeHtml(r.desc || r.label)}">
+                <span class="timing-label">${escapeHtml(r.label)}</span>
+                <span class="timing-track"><span class="timing-bar timing-${escapeHtml(r.cls)}"
+                    style="left:${pct(r.start)}%; width:${Math.max(0.5, pct(r.dur))}%;"></span></span>
+                <span class="timing-dur">${r.dur.toFixed(r.dur < 10 ? 2 : 1)} ms</span>
+            </div>`;
+    }
+};
+
 // 1️⃣ 历史记录 UI 逻辑
 /**
  * 切换历史记录下拉菜单显示/隐藏
@@ -459,54 +1124,54 @@ document.addEventListener('click', (e) => {
  * 渲染历史记录列表
  * 将保存的请求历史显示为下拉列表
  */
-function renderHistoryList() {
+async function renderHistoryList() {
     const list = document.getElementById('history-list');
-    const history = RequestHistory.load();
+    const history = await RequestHistory.list(CONFIG.HISTORY_MAX_ITEMS);
 
     if (history.length === 0) {
         list.innerHTML = '<div style="padding:15px; text-align:center; color:#666; font-size:12px;">暂无历史记录</div>';
         return;
     }
 
-    list.innerHTML = history.slice(0, CONFIG.HISTORY_MAX_ITEMS).map((item, index) => `
-        <div class="history-item" data-index="${index}">
-            <div class="history-method">${item.method || 'GET'}</div>
-            <div class="history-url" title="${item.url || ''}">${(item.url || '').length > 40 ? (item.url || '').substring(0, 40) + '...' : (item.url || '')
-        }</div>
+    list.innerHTML = history.map(item => {
+        const url = item.url || '';
+        const shortUrl = url.length > 40 ? url.substring(0, 40) + '...' : url;
+        return `
+        <div class="history-item" data-id="${item.id}">
+            <div class="history-method">${escapeHtml(item.method || 'GET')}</div>
+            <div class="history-url" title="${escapeHtml(url)}">${escapeHtml(shortUrl)}</div>
         </div>
-    `).join('');
+    `;
+    }).join('');
 
     // ✅ 使用事件委托代替每个元素添加监听器（避免内存泄漏）
     list.onclick = (e) => {
         const item = e.target.closest('.history-item');
         if (item) {
-            const index = parseInt(item.dataset.index);
-            restoreHistoryItem(index);
+            restoreHistoryItem(parseInt(item.dataset.id));
             document.getElementById('history-dropdown').style.display = 'none';
         }
     };
 }
 
 /**
- * 恢复历史记录项到当前请求表单
- * @param {number} index - 历史记录的索引
+ * 恢复历史记录项到调试台表单
+ * @param {number} id - 历史记录 id
  */
-function restoreHistoryItem(index) {
-    const history = RequestHistory.load();
-    const item = history[index];
+async function restoreHistoryItem(id) {
+    const item = await RequestHistory.restore(id);
     if (!item) return;
 
-    // 恢复 URL 和方法
-    document.getElementById('inpUrl').value = item.url || '';
-    if (item.method) setMethod(item.method);
+    // 恢复 URL、方法、请求头和请求体
+    document.getElementById('c-url').value = item.url || '';
+    if (item.method) document.getElementById('c-method').value = item.method;
+    document.getElementById('c-headers').value = item.headers || '';
+    document.getElementById('c-body').value = item.body || '';
 
-    // 恢复请求头
-    if (item.headers) {
-        document.getElementById('headerKvContainer').innerHTML = '';
-        item.headers.split('\n').forEach(line => {
-            const [k, ...v] = line.split(':');
-            if (k) addHeaderKv(k.trim(), v.join(':').trim());
-        });
+    // 恢复当时的响应结果
+    if (item.response) {
+        const resBodyEl = document.getElementById('c-res-body');
+        JsonView.render(resBodyEl, item.response);
     }
 }
 
@@ -753,10 +1418,14 @@ async function initDashboard() {
         // 修复: 使用注入的 CTX 变量获取绝对上下文路径，以适配 Nginx 子路径部署
         const contextPath = (typeof CTX !== 'undefined' ? CTX : '');
         const cleanContext = contextPath.endsWith('/') ? contextPath : contextPath + '/';
-        const res = await fetch(cleanContext + 'api-dashboard/meta');
-        const data = await res.json();
-        CONTROLLER_GROUPS = data.controllerGroups;
+        const res = await fetchMeta(cleanContext + 'api-dashboard/meta');
+        const data = res.data;
+        MetaSync.load(data);
+        CONTROLLER_GROUPS = data.federation
+            ? await loadFederatedGroups(cleanContext)
+            : MetaSync.compose();
         BASE_URL = data.baseUrl;
+        MetaSync.start();
 
         const hostInput = document.getElementById('target-host');
         if (hostInput && !hostInput.value) hostInput.value = BASE_URL;
@@ -786,6 +1455,259 @@ async function initDashboard() {
     }
 }
 
+/**
+ * 联邦模式：合并本服务与各节点的接口目录，按 "服务 · 分组" 展示
+ *
+ * 节点接口的 path 已由服务端改写为绝对地址，调试请求直接发往对应节点。
+ * 本服务的分组由 MetaSync 维护（增量同步），这里只拉取其他节点。
+ *
+ * @param {string} cleanContext 上下文路径 (以 / 结尾)
+ * @returns {Promise<Object>} 合并后的分组
+ */
+async function loadFederatedGroups(cleanContext) {
+    const groups = {};
+    const addService = (name, serviceGroups, suffix = '') => {
+        for (const [groupName, endpoints] of Object.entries(serviceGroups || {})) {
+            groups[`${name} · ${groupName}${suffix}`] = endpoints.map(ep => ({ service: name, ...ep }));
+        }
+    };
+
+    try {
+        const res = await fetch(cleanContext + 'api-dashboard/federation');
+        const data = await res.json();
+        const failed = [];
+        (data.services || []).forEach(svc => {
+            if (svc.status === 'error') failed.push(svc.name);
+            addService(svc.name, svc.controllerGroups, svc.stale ? ' (缓存)' : '');
+        });
+        if (failed.length) showToast(`⚠️ 以下服务拉取失败：${failed.join(', ')}`, 4000);
+    } catch (e) {
+        showToast('⚠️ 联邦节点加载失败：' + e.message, 4000);
+    }
+    MetaSync.remoteGroups = groups;
+    return MetaSync.compose();
+}
+
+/**
+ * CBOR 解码 (RFC 8949，含 stringref 扩展)
+ *
+ * 只覆盖服务端 CborEncoder 产出的子集：整数、浮点、字符串、数组、Map、布尔、null，
+ * 以及 tag 256 (stringref 命名空间) / tag 25 (引用此前出现过的字符串)。
+ */
+const Cbor = {
+    MEDIA_TYPE: 'application/cbor',
+    utf8: new TextDecoder('utf-8'),
+
+    decode(buffer) {
+        const view = new DataView(buffer);
+        const bytes = new Uint8Array(buffer);
+        let pos = 0;
+        let refs = null;
+
+        const length = (info) => {
+            if (info < 24) return info;
+            let n;
+            switch (info) {
+                case 24: n = view.getUint8(pos); pos += 1; return n;
+                case 25: n = view.getUint16(pos); pos += 2; return n;
+                case 26: n = view.getUint32(pos); pos += 4; return n;
+                case 27: n = view.getUint32(pos) * 4294967296 + view.getUint32(pos + 4); pos += 8; return n;
+                default: throw new Error('Unsupported CBOR length: ' + info);
+            }
+        };
+
+        // 与服务端一致：字符串达到该长度才进入引用表
+        const minRefLength = (index) => index < 24 ? 3 : index < 256 ? 4 : index < 65536 ? 5 : index < 4294967296 ? 7 : 11;
+
+        const read = () => {
+            const head = view.getUint8(pos++);
+            const major = head >> 5;
+            const info = head & 0x1f;
+            if (major === 7) {
+                switch (info) {
+                    case 20: return false;
+                    case 21: return true;
+                    case 22: case 23: return null;
+                    case 25: { const v = getFloat16(view.getUint16(pos)); pos += 2; return v; }
+                    case 26: { const v = view.getFloat32(pos); pos += 4; return v; }
+                    case 27: { const v = view.getFloat64(pos); pos += 8; return v; }
+                    default: throw new Error('Unsupported CBOR simple value: ' + info);
+                }
+            }
+            if (info === 27 && major <= 1) {
+                // 超出安全整数范围的 long 先按 BigInt 计算，再与 JSON.parse 一样舍入到最近的 double
+                const big = view.getBigUint64(pos);
+                pos += 8;
+                return Number(major === 0 ? big : -1n - big);
+            }
+            const n = length(info);
+            switch (major) {
+                case 0: return n;
+                case 1: return -1 - n;
+                case 2: { const v = bytes.slice(pos, pos + n); pos += n; return v; }
+                case 3: {
+                    const v = n < 32 ? shortString(pos, n) : this.utf8.decode(bytes.subarray(pos, pos + n));
+                    pos += n;
+                    if (refs && n >= minRefLength(refs.length)) refs.push(v);
+                    return v;
+                }
+                case 4: {
+                    const arr = new Array(n);
+                    for (let i = 0; i < n; i++) arr[i] = read();
+                    return arr;
+                }
+                case 5: {
+                    const obj = {};
+                    for (let i = 0; i < n; i++) {
+                        const key = read();
+                        obj[key] = read();
+                    }
+                    return obj;
+                }
+                case 6: {
+                    if (n === 25) return refs[read()];
+                    if (n === 256) {
+                        const outer = refs;
+                        refs = [];
+                        const v = read();
+                        refs = outer;
+                        return v;
+                    }
+                    return read();
+                }
+            }
+        };
+
+        // 短字符串（字段名、类型名）多为 ASCII，逐字节拼接比 TextDecoder 调用开销小
+        const shortString = (start, n) => {
+            let v = '';
+            for (let i = start; i < start + n; i++) {
+                const c = bytes[i];
+                if (c > 0x7f) return this.utf8.decode(bytes.subarray(start, start + n));
+                v += String.fromCharCode(c);
+            }
+            return v;
+        };
+
+        const getFloat16 = (half) => {
+            const exp = (half >> 10) & 0x1f;
+            const mant = half & 0x3ff;
+            const sign = half & 0x8000 ? -1 : 1;
+            if (exp === 0) return sign * Math.pow(2, -14) * (mant / 1024);
+            if (exp === 31) return mant ? NaN : sign * Infinity;
+            return sign * Math.pow(2, exp - 15) * (1 + mant / 1024);
+        };
+
+        return read();
+    }
+};
+
+/**
+ * 请求元数据：优先协商 CBOR（体积更小，大目录解析更快），服务端不支持时按 JSON 处理
+ *
+ * @param {string} url 元数据地址
+ * @param {number} retries 服务端繁忙 (503) 时的剩余重试次数
+ * @returns {Promise<Response & {data: Object}>} 响应，解码结果放在 data 上
+ */
+async function fetchMeta(url, retries = 2) {
+    const res = await fetch(url, { headers: { 'Accept': Cbor.MEDIA_TYPE + ', application/json;q=0.9' } });
+    if (res.status === 503 && retries > 0) {
+        // 仪表盘任务线程池已满，按 Retry-After 稍后重试
+        const seconds = parseInt(res.headers.get('Retry-After'), 10) || 2;
+        await new Promise(resolve => setTimeout(resolve, seconds * 1000));
+        return fetchMeta(url, retries - 1);
+    }
+    if (res.ok) {
+        const type = res.headers.get('Content-Type') || '';
+        res.data = type.startsWith(Cbor.MEDIA_TYPE)
+            ? Cbor.decode(await res.arrayBuffer())
+            : await res.json();
+    }
+    return res;
+}
+
+/**
+ * 元数据增量同步
+ *
+ * 记录已加载的元数据版本，页面可见时定期请求 meta?since=<version>，
+ * 服务端只返回新增/变化 (upserts) 和删除 (removed) 的接口，应用到本地模型后重新渲染列表。
+ * 版本过旧时服务端直接返回全量元数据。
+ */
+const MetaSync = {
+    version: null,
+    localGroups: {},     // 本服务：分组 -> 接口列表
+    remoteGroups: null,  // 联邦模式下其他节点的分组 (已加服务前缀)
+    serviceName: null,   // 联邦模式下本服务名称
+    timer: null,
+
+    /**
+     * 载入全量元数据
+     */
+    load(data) {
+        this.version = data.version;
+        this.localGroups = data.controllerGroups || {};
+        this.serviceName = data.federation ? data.serviceName : null;
+    },
+
+    /**
+     * 组合出侧边栏使用的分组
+     */
+    compose() {
+        if (!this.serviceName) return this.localGroups;
+        const groups = {};
+        for (const [groupName, endpoints] of Object.entries(this.localGroups)) {
+            groups[`${this.serviceName} · ${groupName}`] = endpoints.map(ep => ({ service: this.serviceName, ...ep }));
+        }
+        return Object.assign(groups, this.remoteGroups || {});
+    },
+
+    /**
+     * 应用增量：先移除变化和删除的接口，再按分组插入新版本，排序与服务端一致
+     */
+    apply(delta) {
+        // 与服务端 MetadataVersioning.endpointId 一致：签名 + 路径，同一路径上的不同映射互不覆盖
+        const idOf = ep => ep.id;
+        const drop = new Set([...delta.removed, ...delta.upserts.map(u => idOf(u.endpoint))]);
+        const groups = {};
+        for (const [groupName, endpoints] of Object.entries(this.localGroups)) {
+            const kept = endpoints.filter(ep => !drop.has(idOf(ep)));
+            if (kept.length) groups[groupName] = kept;
+        }
+        delta.upserts.forEach(u => (groups[u.group] = groups[u.group] || []).push(u.endpoint));
+
+        const byUrl = (a, b) => (a.url < b.url ? -1 : a.url > b.url ? 1 : 0);
+        this.localGroups = {};
+        Object.keys(groups).sort().forEach(name => this.localGroups[name] = groups[name].sort(byUrl));
+        this.version = delta.version;
+    },
+
+    async poll() {
+        if (document.hidden || this.version == null) return;
+        const res = await fetchMeta(dashboardUrl('api-dashboard/meta?since=' + this.version));
+        if (!res.ok) return;
+        const data = res.data;
+        if (!data.delta) {
+            this.load(data);
+        } else if (data.upserts.length || data.removed.length) {
+            this.apply(data);
+        } else {
+            this.version = data.version;
+            return;
+        }
+
+        CONTROLLER_GROUPS = this.compose();
+        renderSidebar();
+        // 保持当前搜索过滤
+        const search = document.getElementById('api-search');
+        if (search && search.value && search.oninput) search.oninput({ target: search });
+    },
+
+    start() {
+        if (this.timer) return;
+        this.timer = setInterval(() => this.poll().catch(e => console.warn('Meta sync failed', e)), CONFIG.META_SYNC_INTERVAL);
+    }
+};
+
 /**
  * 渲染侧边栏 API 列表
  * 
@@ -863,6 +1785,13 @@ function renderSidebar() {
             pathDiv.textContent = ApiClient.resolveUrl(document.getElementById('target-host').value, ep.path);
             apiInfo.appendChild(pathDiv);
 
+            if (ep.service) {
+                const serviceSpan = document.createElement('span');
+                serviceSpan.className = 'api-service';
+                serviceSpan.textContent = ep.service;
+                apiInfo.appendChild(serviceSpan);
+            }
+
             const descDiv = document.createElement('div');
             descDiv.className = 'api-desc';
             descDiv.textContent = ep.description || ep.function;  // textContent自动转义
@@ -874,6 +1803,8 @@ function renderSidebar() {
             actionsDiv.className = 'api-actions';
             actionsDiv.onclick = (e) => e.stopPropagation();
 
+            if (!ep.service) actionsDiv.appendChild(ConcurrencyLimits.badge(ep));
+
             const exportBtn = document.createElement('button');
             exportBtn.className = 'btn-test';
             exportBtn.title = '导出文档';
@@ -902,6 +1833,7 @@ function renderSidebar() {
         section.appendChild(list);
         container.appendChild(section);
     }
+    ConcurrencyLimits.refresh();
     // 强制显示侧边栏
     // sidebar.style.display = 'block'; // 根据用户请求默认隐藏
 }
@@ -1038,26 +1970,26 @@ async function execConsoleRequest() {
     resBodyEl.innerText = 'Sending...';
 
     try {
-        const res = await ApiClient.send(method, url, headers, bodyStr, window.cBodyMode);
+        const res = await ApiClient.send(method, url, headers, bodyStr, window.cBodyMode,
+            (progress) => JsonView.showProgress(resBodyEl, progress));
         document.getElementById('c-status-bar').style.display = 'flex';
         document.getElementById('c-status').innerText = res.status;
         document.getElementById('c-time').innerText = res.duration + ' ms';
         document.getElementById('c-size').innerText = res.size + ' B';
+        TimingWaterfall.render(document.getElementById('c-timing'), res);
 
-        // 3️⃣ 响应结果美化
-        if (res.text && res.text.trim().startsWith('{')) {
-            resBodyEl.innerHTML = prettyJSON(res.text);
-        } else {
-            resBodyEl.innerText = res.text;
-        }
+        // 3️⃣ 响应结果美化 (解析与高亮在 Web Worker 中完成)
         resBodyEl.style.color = res.ok ? '#00ffca' : '#d00';
+        await JsonView.render(resBodyEl, res.text);
 
         // 1️⃣ 保存请求历史（移到正确位置）
         RequestHistory.save({
             url: path,
             method: method,
             body: bodyStr,
-            headers: headerStr
+            headers: headerStr,
+            status: res.status,
+            response: res.text
         });
 
         HistoryManager.saveState();
@@ -1171,7 +2103,8 @@ function exportDoc(ep) {
     const contextPath = (typeof CTX !== 'undefined' ? CTX : '');
     // Ensure contextPath ends with / and api-dashboard doesn't start with / to avoid //
     const cleanContext = contextPath.endsWith('/') ? contextPath : contextPath + '/';
-    form.action = cleanContext + 'api-dashboard/export-md';
+    // 联邦模式下由接口所属节点生成文档
+    form.action = (ep.dashboardBase || cleanContext) + 'api-dashboard/export-md';
     form.style.display = 'none';
     form.style.display = 'none';
 
@@ -1202,6 +2135,7 @@ function exportDoc(ep) {
  */
 function saveSettings() {
     localStorage.setItem('sky_global_headers', document.getElementById('globalHeaders').value);
+    localStorage.setItem('sky_relay', document.getElementById('relayEnabled').checked ? '1' : '0');
     closeSettings();
 }
 
@@ -1214,12 +2148,34 @@ function openSettings() {
     s.style.display = 'block';
     s.querySelector('.modal').style.display = 'block';
     document.getElementById('globalHeaders').value = localStorage.getItem('sky_global_headers') || '';
+    loadRelaySetting();
     setTimeout(() => {
         s.classList.add('active');
         s.querySelector('.modal').classList.add('active');
     }, 10);
 }
 
+/**
+ * 加载服务端中继开关
+ * 服务端未开启中继 (sky.dashboard.relay.enabled) 时禁用该选项
+ */
+async function loadRelaySetting() {
+    const box = document.getElementById('relayEnabled');
+    const hint = document.getElementById('relayHint');
+    box.checked = localStorage.getItem('sky_relay') === '1';
+    try {
+        const res = await fetch(dashboardUrl('api-dashboard/relay'));
+        if (!res.ok) throw new Error('HTTP ' + res.status);
+        const status = await res.json();
+        box.disabled = false;
+        hint.textContent = '允许的目标主机：' + (status.allowedHosts || []).join(', ');
+    } catch (e) {
+        box.disabled = true;
+        box.checked = false;
+        hint.textContent = '服务端未开启中继 (sky.dashboard.relay.enabled=true)';
+    }
+}
+
 /**
  * 关闭设置模态框
  */
@@ -1230,9 +2186,860 @@ function closeSettings() {
     setTimeout(() => s.style.display = 'none', 300);
 }
 
+// --- MONITOR PANEL ---
+/**
+ * 拼接仪表盘接口地址 (适配 Context Path)
+ * @param {string} path 以 'api-dashboard/' 开头的相对路径
+ * @returns {string} 完整地址
+ */
+function dashboardUrl(path) {
+    const contextPath = (typeof CTX !== 'undefined' ? CTX : '');
+    const cleanContext = contextPath.endsWith('/') ? contextPath : contextPath + '/';
+    return cleanContext + path;
+}
+
+/**
+ * 监控面板
+ * 各功能通过 register() 注册标签页，打开时只渲染当前标签页，不预加载其他数据。
+ */
+const MonitorPanel = {
+    tabs: [],
+    active: null,
+
+    /**
+     * 注册标签页
+     * @param {string} id 标签页 ID
+     * @param {string} title 标题
+     * @param {function} render (container) => void|Promise，渲染标签页内容
+     */
+    register(id, title, render) {
+        this.tabs.push({ id, title, render });
+    },
+
+    open(id) {
+        const overlay = document.getElementById('monitorOverlay');
+        overlay.style.display = 'block';
+        overlay.querySelector('.modal').style.display = 'block';
+        setTimeout(() => {
+            overlay.classList.add('active');
+            overlay.querySelector('.modal').classList.add('active');
+        }, 10);
+        this.show(id || this.active || (this.tabs[0] && this.tabs[0].id));
+    },
+
+    close() {
+        const overlay = document.getElementById('monitorOverlay');
+        if (!overlay || !overlay.classList.contains('active')) return;
+        if (typeof ServerPoolView !== 'undefined') ServerPoolView.stop();
+        overlay.classList.remove('active');
+        overlay.querySelector('.modal').classList.remove('active');
+        setTimeout(() => overlay.style.display = 'none', 300);
+    },
+
+    /**
+     * 切换并渲染标签页
+     */
+    async show(id) {
+        const tab = this.tabs.find(t => t.id === id);
+        if (!tab) return;
+        this.active = id;
+
+        const bar = document.getElementById('monitor-tabs');
+        bar.innerHTML = '';
+        this.tabs.forEach(t => {
+            const el = document.createElement('div');
+            el.className = 'c-tab' + (t.id === id ? ' active' : '');
+            el.textContent = t.title;
+            el.onclick = () => this.show(t.id);
+            bar.appendChild(el);
+        });
+
+        const content = document.getElementById('monitor-content');
+        content.innerHTML = '<div class="monitor-empty">加载中...</div>';
+        try {
+            await tab.render(content);
+        } catch (e) {
+            content.innerHTML = `<div class="monitor-empty">⚠️ 加载失败：${escapeHtml(e.message)}</div>`;
+        }
+    },
+
+    /**
+     * 重新渲染当前标签页
+     */
+    refresh() {
+        if (this.active) this.show(this.active);
+    }
+};
+
+/**
+ * 格式化时间戳
+ */
+function formatTime(ts) {
+    return ts ? new Date(ts).toLocaleTimeString() : '-';
+}
+
+/**
+ * 监控标签页：异常聚合
+ * 展示按指纹分组的异常及其出现/抑制次数
+ */
+async function renderErrorsPanel(container) {
+    const res = await fetch(dashboardUrl('api-dashboard/errors'));
+    const data = await res.json();
+    const rows = data.fingerprints || [];
+
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>共 ${data.total} 次异常，${rows.length} 个指纹${data.overflow ? `，${data.overflow} 次超出指纹上限` : ''}</span>
+            <button class="btn-add" onclick="MonitorPanel.refresh()">刷新</button>
+            <button class="btn-add" onclick="clearErrors()">清空</button>
+        </div>
+        ${rows.length === 0 ? '<div class="monitor-empty">暂无异常 🎉</div>' : `
+        <table class="monitor-table">
+            <thead><tr><th>异常</th><th class="num">次数</th><th class="num">已抑制</th><th class="num">首次 / 最近</th></tr></thead>
+            <tbody>${rows.map(r => `
+                <tr>
+                    <td>
+                        <div>${escapeHtml(r.type)}</div>
+                        <div style="opacity:0.8;">${escapeHtml(r.message || '')}</div>
+                        <div class="monitor-mono">${escapeHtml((r.frames || []).join('\n'))}</div>
+                    </td>
+                    <td class="num">${r.count}</td>
+                    <td class="num">${r.suppressed}</td>
+                    <td class="num">${formatTime(r.firstSeen)}<br>${formatTime(r.lastSeen)}</td>
+                </tr>`).join('')}
+            </tbody>
+        </table>`}
+    `;
+}
+
+async function clearErrors() {
+    await fetch(dashboardUrl('api-dashboard/errors/clear'), { method: 'POST' });
+    MonitorPanel.refresh();
+}
+
+MonitorPanel.register('errors', '🚨 异常聚合', renderErrorsPanel);
+
+/**
+ * 监控标签页：性能基线
+ * 展示最近一次基准运行与基线的对比，运行中时轮询进度
+ */
+async function renderBenchmarkPanel(container) {
+    const [status, report] = await Promise.all([
+        fetch(dashboardUrl('api-dashboard/benchmark')).then(r => r.json()),
+        fetch(dashboardUrl('api-dashboard/benchmark/report')).then(r => r.json())
+    ]);
+    const rows = report.endpoints || [];
+    const statusLabel = { regressed: '🔴 回归', improved: '🟢 提升', ok: '⚪ 正常', changed: '🟡 签名变化', 'new': '🆕 新增', failed: '🔴 失败' };
+    const cell = (r, key, unit) => {
+        const now = r.current ? r.current[key] : null;
+        const before = r.baseline ? r.baseline[key] : null;
+        return `${now != null ? now + unit : '-'}${before != null ? `<br><span style="opacity:0.6;">${before}${unit}</span>` : ''}`;
+    };
+
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>${status.running
+                ? `运行中 ${status.done}/${status.total}：${escapeHtml(status.current || '')}`
+                : `基线 ${formatTime(status.baselineAt)} · 最近运行 ${formatTime(status.lastRunAt)} · 回归 ${report.regressions} 个（阈值 ${report.thresholdPercent}%）`}
+                ${status.lastError ? `<br>⚠️ ${escapeHtml(status.lastError)}` : ''}</span>
+            <button class="btn-add" onclick="runBenchmark(false)" ${status.running ? 'disabled' : ''}>运行</button>
+            <button class="btn-add" onclick="promoteBenchmark()" ${status.running || !status.lastRunAt ? 'disabled' : ''}>设为基线</button>
+            <a class="btn-add" href="${dashboardUrl('api-dashboard/benchmark/report')}" target="_blank">JSON</a>
+        </div>
+        ${rows.length === 0 ? '<div class="monitor-empty">暂无运行结果，点击"运行"采集基线</div>' : `
+        <table class="monitor-table">
+            <thead><tr><th>接口</th><th>状态</th><th class="num">p50</th><th class="num">p99</th><th class="num">吞吐</th><th class="num">响应</th></tr></thead>
+            <tbody>${rows.map(r => `
+                <tr>
+                    <td>
+                        <div class="monitor-mono">${escapeHtml(r.endpoint)}</div>
+                        ${r.reasons.length ? `<div style="opacity:0.8;">${r.reasons.map(escapeHtml).join('；')}</div>` : ''}
+                    </td>
+                    <td>${statusLabel[r.status] || r.status}</td>
+                    <td class="num">${cell(r, 'p50', 'ms')}</td>
+                    <td class="num">${cell(r, 'p99', 'ms')}</td>
+                    <td class="num">${cell(r, 'throughput', '/s')}</td>
+                    <td class="num">${cell(r, 'avgBytes', 'B')}</td>
+                </tr>`).join('')}
+            </tbody>
+        </table>`}
+    `;
+
+    if (status.running) {
+        setTimeout(() => { if (MonitorPanel.active === 'benchmark') MonitorPanel.refresh(); }, 1000);
+    }
+}
+
+async function runBenchmark(baseline) {
+    const res = await fetch(dashboardUrl('api-dashboard/benchmark/run?baseline=' + baseline), { method: 'POST' });
+    const data = await res.json();
+    if (!data.started) showToast('⏳ 已有基准运行在进行中');
+    MonitorPanel.refresh();
+}
+
+async function promoteBenchmark() {
+    await fetch(dashboardUrl('api-dashboard/benchmark/baseline'), { method: 'POST' });
+    showToast('✅ 已将最近一次运行设为基线');
+    MonitorPanel.refresh();
+}
+
+MonitorPanel.register('benchmark', '⏱️ 性能基线', renderBenchmarkPanel);
+
+/**
+ * 格式化字节数
+ */
+function formatBytes(bytes) {
+    if (bytes == null) return '-';
+    if (bytes < 1024) return bytes + ' B';
+    const units = ['KB', 'MB', 'GB', 'TB'];
+    let value = bytes / 1024;
+    let i = 0;
+    while (value >= 1024 && i < units.length - 1) {
+        value /= 1024;
+        i++;
+    }
+    return value.toFixed(value < 10 ? 1 : 0) + ' ' + units[i];
+}
+
+/**
+ * 监控标签页：内存分配
+ * 按处理器方法展示每次请求在请求线程上分配的字节数（对数分桶直方图）
+ */
+async function renderAllocationsPanel(container) {
+    const res = await fetch(dashboardUrl('api-dashboard/allocations'));
+    const data = await res.json();
+    const rows = data.handlers || [];
+    const histogram = buckets => {
+        const peak = Math.max(1, ...buckets.map(b => b[1]));
+        return `<div class="alloc-histogram">${buckets.map(b =>
+            `<span style="height:${Math.max(2, Math.round(b[1] / peak * 24))}px;" title="≤ ${formatBytes(b[0])}：${b[1]} 次"></span>`).join('')}</div>`;
+    };
+
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>${!data.enabled ? '未开启（sky.dashboard.allocation.enabled）'
+                : !data.supported ? '当前 JVM 不支持线程分配计数'
+                : `采样率 ${Math.round(data.sampleRate * 100)}% · ${rows.length} 个处理器${data.overflow ? `，${data.overflow} 次超出上限` : ''}`}</span>
+            <button class="btn-add" onclick="MonitorPanel.refresh()">刷新</button>
+            <button class="btn-add" onclick="clearAllocations()">清空</button>
+        </div>
+        ${rows.length === 0 ? '<div class="monitor-empty">暂无采样数据</div>' : `
+        <table class="monitor-table">
+            <thead><tr><th>处理器</th><th class="num">采样</th><th class="num">平均</th><th class="num">p50 / p99</th><th class="num">最大</th><th class="num">总量</th><th>分布</th></tr></thead>
+            <tbody>${rows.map(r => `
+                <tr>
+                    <td>
+                        <div class="monitor-mono">${escapeHtml(r.endpoint || '')}</div>
+                        <div style="opacity:0.8;">${escapeHtml(r.handler)}</div>
+                    </td>
+                    <td class="num">${r.samples}</td>
+                    <td class="num">${formatBytes(r.avgBytes)}</td>
+                    <td class="num">≤ ${formatBytes(r.p50)}<br>≤ ${formatBytes(r.p99)}</td>
+                    <td class="num">${formatBytes(r.maxBytes)}</td>
+                    <td class="num">${formatBytes(r.totalBytes)}</td>
+                    <td>${histogram(r.buckets || [])}</td>
+                </tr>`).join('')}
+            </tbody>
+        </table>`}
+    `;
+}
+
+async function clearAllocations() {
+    await fetch(dashboardUrl('api-dashboard/allocations/clear'), { method: 'POST' });
+    MonitorPanel.refresh();
+}
+
+MonitorPanel.register('allocations', '🧮 内存分配', renderAllocationsPanel);
+
+/**
+ * 监控标签页：容器线程池 / 连接
+ * 先加载完整时间序列，再通过 SSE 接收新的采样点；标签页切走或面板关闭后断开
+ */
+const ServerPoolView = {
+    source: null,
+    data: null,
+
+    async render(container) {
+        this.stop();
+        this.data = await fetch(dashboardUrl('api-dashboard/server-pool')).then(r => r.json());
+        this.draw(container);
+        if (!this.data.supported || typeof EventSource === 'undefined') return;
+
+        this.source = new EventSource(dashboardUrl('api-dashboard/server-pool/stream'));
+        this.source.addEventListener('sample', (e) => {
+            const overlay = document.getElementById('monitorOverlay');
+            if (MonitorPanel.active !== 'server-pool' || !overlay.classList.contains('active') || !document.body.contains(container)) {
+                this.stop();
+                return;
+            }
+            const points = this.data.points;
+            points.push(JSON.parse(e.data));
+            if (points.length > this.data.capacity) points.shift();
+            this.draw(container);
+        });
+    },
+
+    stop() {
+        if (this.source) {
+            this.source.close();
+            this.source = null;
+        }
+    },
+
+    /**
+     * 折线图 (SVG)，series: [{ key, color }]，limitKey 为上限虚线
+     */
+    chart(points, series, limitKey) {
+        const w = 600, h = 80;
+        const values = points.flatMap(p => series.map(s => p[s.key]).concat(limitKey ? [p[limitKey]] : []));
+        const peak = Math.max(1, ...values.filter(v => v >= 0));
+        const x = i => (points.length > 1 ? i / (points.length - 1) * w : w).toFixed(1);
+        const y = v => (h - Math.max(0, v) / peak * (h - 4)).toFixed(1);
+        const line = (key, color, dash) => `<polyline fill="none" stroke="${color}" stroke-width="1.5" ${dash ? 'stroke-dasharray="4 3"' : ''}
+            points="${points.map((p, i) => p[key] >= 0 ? `${x(i)},${y(p[key])}` : '').join(' ')}"/>`;
+        return `<svg class="pool-chart" viewBox="0 0 ${w} ${h}" preserveAspectRatio="none">
+            ${limitKey ? line(limitKey, '#ff3b30', true) : ''}
+            ${series.map(s => line(s.key, s.color)).join('')}
+        </svg>`;
+    },
+
+    draw(container) {
+        const data = this.data;
+        if (!data.supported) {
+            container.innerHTML = `<div class="monitor-empty">${data.enabled
+                ? '当前容器不支持线程池采样（支持 Tomcat / Jetty / Undertow）'
+                : '未开启（sky.dashboard.server-pool.enabled）'}</div>`;
+            return;
+        }
+        const points = data.points;
+        const last = points[points.length - 1] || {};
+        const show = v => (v == null || v < 0 ? '-' : v);
+        const ratio = (a, b) => (a >= 0 && b > 0 ? Math.round(a / b * 100) : null);
+        const threadUsage = ratio(last.busy, last.maxThreads);
+        const connUsage = ratio(last.connections, last.maxConnections);
+        const level = pct => (pct == null ? '' : pct >= 90 ? 'pool-hot' : pct >= 70 ? 'pool-warm' : '');
+        const exec = data.dashboardExecutor;
+
+        container.innerHTML = `
+            <div class="monitor-toolbar">
+                <span>${escapeHtml(data.server)} · 每 ${data.intervalMs} ms 采样 · 最近 ${points.length} 个点 · 最后 ${formatTime(last.time)}</span>
+                <button class="btn-add" onclick="MonitorPanel.refresh()">刷新</button>
+            </div>
+            <div class="pool-cards">
+                <div class="pool-card ${level(threadUsage)}"><div>忙碌线程</div><b>${show(last.busy)} / ${show(last.maxThreads)}</b><span>${threadUsage != null ? threadUsage + '%' : ''}，当前 ${show(last.threads)} 个线程</span></div>
+                <div class="pool-card ${last.queued > 0 ? 'pool-warm' : ''}"><div>排队任务</div><b>${show(last.queued)}</b><span>等待工作线程的请求</span></div>
+                <div class="pool-card ${level(connUsage)}"><div>连接</div><b>${show(last.connections)} / ${show(last.maxConnections)}</b><span>${connUsage != null ? connUsage + '%' : ''}${last.acceptCount >= 0 ? `，满后进入 accept 队列 (${last.acceptCount})` : ''}</span></div>
+                <div class="pool-card"><div>Keep-Alive</div><b>${show(last.keepAlive)}</b><span>空闲长连接</span></div>
+                ${exec ? `<div class="pool-card ${exec.rejected > 0 ? 'pool-warm' : ''}"><div>仪表盘任务</div><b>${exec.active} / ${exec.threads}</b><span>排队 ${exec.queued} / ${exec.queueCapacity}，已拒绝 ${exec.rejected}，超时 ${exec.timedOut}</span></div>` : ''}
+            </div>
+            <div class="pool-legend">线程：<i style="background:var(--accent-blue)"></i>忙碌 <i style="background:#8e8e93"></i>当前 <i style="background:#ff3b30"></i>上限</div>
+            ${this.chart(points, [{ key: 'threads', color: '#8e8e93' }, { key: 'busy', color: 'var(--accent-blue)' }], 'maxThreads')}
+            <div class="pool-legend">排队：<i style="background:#ff9f0a"></i>任务数</div>
+            ${this.chart(points, [{ key: 'queued', color: '#ff9f0a' }])}
+            <div class="pool-legend">连接：<i style="background:#34c759"></i>当前 <i style="background:#af52de"></i>Keep-Alive <i style="background:#ff3b30"></i>上限</div>
+            ${this.chart(points, [{ key: 'connections', color: '#34c759' }, { key: 'keepAlive', color: '#af52de' }], 'maxConnections')}
+        `;
+    }
+};
+
+MonitorPanel.register('server-pool', '🧵 线程池', (container) => ServerPoolView.render(container));
+
+/**
+ * 监控标签页：启动预热
+ * 每个接口一条预热曲线 (每个统计窗口的 p50，虚线为 p90)，曲线走平即 JIT 编译基本完成
+ */
+async function renderWarmupPanel(container) {
+    const data = await fetch(dashboardUrl('api-dashboard/warmup')).then(r => r.json());
+    if (!data.enabled) {
+        container.innerHTML = '<div class="monitor-empty">未开启（sky.dashboard.warmup.enabled）</div>';
+        return;
+    }
+    const rows = data.endpoints || [];
+    const stateLabel = { stable: '🟢 已稳定', 'max-iterations': '🟡 达到上限', timeout: '🟠 超时', failed: '🔴 请求失败', running: '⏳ 预热中', pending: '⚪ 等待' };
+    const curve = points => {
+        if (points.length < 2) return '-';
+        const w = 160, h = 32;
+        const peak = Math.max(...points.map(p => p[2]), 0.001);
+        const last = points[points.length - 1][0];
+        const line = (idx, dash) => `<polyline fill="none" stroke="var(--accent-blue)" stroke-width="1.5" ${dash ? 'stroke-dasharray="3 2" opacity="0.5"' : ''}
+            points="${points.map(p => `${(p[0] / last * w).toFixed(1)},${(h - p[idx] / peak * (h - 2)).toFixed(1)}`).join(' ')}"/>`;
+        return `<svg class="warmup-curve" viewBox="0 0 ${w} ${h}" preserveAspectRatio="none">${line(2, true)}${line(1)}</svg>`;
+    };
+
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>${data.state === 'running' ? '预热中…' : data.state === 'failed' ? `⚠️ ${escapeHtml(data.error || '预热失败')}`
+                : `完成于 ${formatTime(data.finishedAt)}，耗时 ${data.finishedAt - data.startedAt} ms`}
+                · ${rows.length} 个接口 · 窗口 ${data.window} 次 · 稳定阈值 ${data.stablePercent}%</span>
+            <button class="btn-add" onclick="MonitorPanel.refresh()">刷新</button>
+        </div>
+        ${rows.length === 0 ? '<div class="monitor-empty">没有匹配的接口</div>' : `
+        <table class="monitor-table">
+            <thead><tr><th>接口</th><th>状态</th><th class="num">请求数</th><th class="num">首次</th><th class="num">最终 p50</th><th>曲线</th></tr></thead>
+            <tbody>${rows.map(r => `
+                <tr>
+                    <td>
+                        <div class="monitor-mono">${escapeHtml(r.endpoint)}</div>
+                        ${r.errors ? `<div style="opacity:0.8;">失败 ${r.errors} 次（HTTP ${r.lastErrorStatus}）</div>` : ''}
+                    </td>
+                    <td>${stateLabel[r.state] || escapeHtml(r.state)}</td>
+                    <td class="num">${r.iterations}</td>
+                    <td class="num">${r.firstMs} ms</td>
+                    <td class="num">${r.finalP50 != null ? r.finalP50 + ' ms' : '-'}</td>
+                    <td>${curve(r.curve || [])}</td>
+                </tr>`).join('')}
+            </tbody>
+        </table>`}
+    `;
+
+    if (data.state === 'running') {
+        setTimeout(() => { if (MonitorPanel.active === 'warmup') MonitorPanel.refresh(); }, 1000);
+    }
+}
+
+MonitorPanel.register('warmup', '🔥 预热', renderWarmupPanel);
+
+/**
+ * 监控标签页：响应体积
+ * 接口按平均响应大小排序，展开后按字段路径查看字节占比 (父字段包含子字段)、null 比例和数组长度
+ */
+async function renderResponseSizePanel(container) {
+    const data = await fetch(dashboardUrl('api-dashboard/response-size')).then(r => r.json());
+    if (!data.enabled) {
+        container.innerHTML = '<div class="monitor-empty">未开启（sky.dashboard.response-size.enabled）</div>';
+        return;
+    }
+    const rows = data.endpoints || [];
+    const fieldTable = r => (r.fields.length === 0 ? '<div class="monitor-empty">暂无字段拆分（样本超出上限或不是合法 JSON）</div>' : `
+        <table class="monitor-table">
+            <thead><tr><th>字段</th><th class="num">平均字节</th><th>占比</th><th class="num">null</th><th class="num">数组长度</th></tr></thead>
+            <tbody>${r.fields.map(f => `
+                <tr>
+                    <td>
+                        <div class="monitor-mono" style="padding-left:${(f.path.split('.').length - 1) * 12}px;">${escapeHtml(f.path)}</div>
+                        ${f.type ? `<div style="opacity:0.7;">${escapeHtml(f.type)}${f.description && f.description !== '-' ? ' · ' + escapeHtml(f.description) : ''}</div>` : ''}
+                    </td>
+                    <td class="num">${formatBytes(f.avgBytes)}</td>
+                    <td><div class="size-share"><span style="width:${Math.min(100, f.share)}%;"></span></div>${f.share}%</td>
+                    <td class="num ${f.nullPercent >= 50 ? 'size-null-heavy' : ''}">${f.nullPercent}%</td>
+                    <td class="num">${f.avgArrayLength != null ? `${f.avgArrayLength} / ${f.maxArrayLength}` : '-'}</td>
+                </tr>`).join('')}
+            </tbody>
+        </table>
+        ${r.absentFields.length ? `<div style="opacity:0.8; margin-top:6px;">从未出现的字段：${r.absentFields.map(escapeHtml).join(', ')}</div>` : ''}`);
+
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>采样率 ${Math.round(data.sampleRate * 1000) / 10}%（调试台请求总是采样） · ${rows.length} 个接口${data.dropped ? ` · 丢弃 ${data.dropped} 个样本` : ''}${data.overflow ? ` · ${data.overflow} 次超出接口上限` : ''}</span>
+            <button class="btn-add" onclick="MonitorPanel.refresh()">刷新</button>
+            <button class="btn-add" onclick="clearResponseSize()">清空</button>
+        </div>
+        ${rows.length === 0 ? '<div class="monitor-empty">暂无样本</div>' : rows.map(r => `
+            <details class="size-endpoint">
+                <summary>
+                    <span class="monitor-mono">${escapeHtml(r.endpoint)}</span>
+                    <span>平均 ${formatBytes(r.avgBytes)} · 最大 ${formatBytes(r.maxBytes)} · ${r.samples} 个样本</span>
+                </summary>
+                ${fieldTable(r)}
+            </details>`).join('')}
+    `;
+}
+
+async function clearResponseSize() {
+    await fetch(dashboardUrl('api-dashboard/response-size/clear'), { method: 'POST' });
+    MonitorPanel.refresh();
+}
+
+MonitorPanel.register('response-size', '📦 响应体积', renderResponseSizePanel);
+
+/**
+ * 接口并发限制
+ * 开启 sky.dashboard.limiter.enabled 后，接口列表中每个接口显示 "在途 / 上限" 徽标（自适应上限带 ~），
+ * 点击可修改；列表可见时定期刷新。监控面板中的 "并发限制" 标签页列出全部接口。
+ */
+const ConcurrencyLimits = {
+    REFRESH_INTERVAL: 3000,
+    rows: {},
+    enabled: null,
+    timer: null,
+
+    badge(ep) {
+        const btn = document.createElement('button');
+        btn.className = 'btn-test limit-badge';
+        btn.dataset.endpoint = ep.method + ' ' + ep.path;
+        btn.style.display = 'none';
+        btn.onclick = () => this.edit(btn.dataset.endpoint);
+        return btn;
+    },
+
+    async refresh() {
+        if (this.enabled === false) return;
+        try {
+            const data = await fetch(dashboardUrl('api-dashboard/limits')).then(r => r.json());
+            this.enabled = data.enabled;
+            if (!data.enabled) return;
+            this.rows = {};
+            data.endpoints.forEach(r => this.rows[r.endpoint] = r);
+            this.paint();
+        } catch (e) {
+            console.warn('Concurrency limits unavailable', e);
+            return;
+        }
+        if (!this.timer) {
+            this.timer = setInterval(() => { if (!document.hidden) this.refresh(); }, this.REFRESH_INTERVAL);
+        }
+    },
+
+    paint() {
+        document.querySelectorAll('.limit-badge').forEach(btn => {
+            const r = this.rows[btn.dataset.endpoint];
+            if (!r) return;
+            btn.style.display = '';
+            btn.textContent = `🚦 ${r.inFlight}/${r.adaptive ? '~' : ''}${r.limit}`;
+            btn.title = `并发上限 ${r.limit}（${r.adaptive ? '自适应' : '固定'}），已拒绝 ${r.rejected || 0} 次，点击修改`;
+            btn.classList.toggle('limit-hot', r.inFlight >= r.limit * 0.8 || r.rejected > 0);
+        });
+    },
+
+    async edit(endpoint) {
+        const r = this.rows[endpoint];
+        if (!r) return;
+        const input = prompt(`${endpoint} 的并发上限（当前 ${r.limit}，${r.adaptive ? '自适应' : '固定'}）\n输入数字设为固定上限，输入 auto 恢复自适应：`, r.limit);
+        if (input == null || input.trim() === '') return;
+        const params = new URLSearchParams({ endpoint });
+        if (input.trim().toLowerCase() === 'auto') {
+            params.set('adaptive', 'true');
+        } else if (/^\d+$/.test(input.trim()) && parseInt(input, 10) > 0) {
+            params.set('limit', input.trim());
+        } else {
+            showToast('⚠️ 请输入正整数或 auto');
+            return;
+        }
+        const res = await fetch(dashboardUrl('api-dashboard/limits'), { method: 'POST', body: params });
+        if (!res.ok) {
+            showToast('⚠️ 修改失败：' + res.status);
+            return;
+        }
+        const row = await res.json();
+        this.rows[endpoint] = Object.assign(r, row);
+        this.paint();
+        showToast(`✅ ${endpoint} 上限 ${row.limit}${row.adaptive ? '（自适应）' : ''}`);
+        if (MonitorPanel.active === 'limits') MonitorPanel.refresh();
+    }
+};
+
+/**
+ * 监控标签页：并发限制
+ */
+async function renderLimitsPanel(container) {
+    const data = await fetch(dashboardUrl('api-dashboard/limits')).then(r => r.json());
+    if (!data.enabled) {
+        container.innerHTML = '<div class="monitor-empty">未开启（sky.dashboard.limiter.enabled）</div>';
+        return;
+    }
+    data.endpoints.forEach(r => ConcurrencyLimits.rows[r.endpoint] = r);
+    ConcurrencyLimits.paint();
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>默认 ${data.mode === 'adaptive' ? `自适应（${data.minLimit} ~ ${data.maxLimit}，每 ${data.window} 个请求评估，耗时超过基线 ${data.tolerance} 倍时乘以 ${data.backoff}）` : '固定'}上限 ${data.initialLimit} · 超出上限立即返回 503</span>
+            <button class="btn-add" onclick="MonitorPanel.refresh()">刷新</button>
+        </div>
+        <table class="monitor-table">
+            <thead><tr><th>接口</th><th class="num">在途 / 上限</th><th>模式</th><th class="num">准入</th><th class="num">拒绝</th><th class="num">耗时 / 基线</th><th></th></tr></thead>
+            <tbody>${data.endpoints.map(r => `
+                <tr>
+                    <td><div class="monitor-mono">${escapeHtml(r.endpoint)}</div><div style="opacity:0.7;">${escapeHtml(r.handler)}</div></td>
+                    <td class="num ${r.inFlight >= r.limit * 0.8 ? 'limit-hot' : ''}">${r.inFlight} / ${r.limit}</td>
+                    <td>${r.adaptive ? '自适应' : '固定'}</td>
+                    <td class="num">${r.accepted != null ? r.accepted : '-'}</td>
+                    <td class="num ${r.rejected > 0 ? 'limit-hot' : ''}">${r.rejected != null ? r.rejected : '-'}</td>
+                    <td class="num">${r.rttMs ? `${r.rttMs} / ${r.baseRttMs} ms` : '-'}</td>
+                    <td><button class="btn-add" data-endpoint="${escapeHtml(r.endpoint)}" onclick="ConcurrencyLimits.edit(this.dataset.endpoint)">修改</button></td>
+                </tr>`).join('')}
+            </tbody>
+        </table>
+    `;
+    setTimeout(() => { if (MonitorPanel.active === 'limits') MonitorPanel.refresh(); }, 2000);
+}
+
+MonitorPanel.register('limits', '🚦 并发限制', renderLimitsPanel);
+
+/**
+ * 监控标签页：响应缓存
+ * 列出方法注释带 @sky.cache（或标注 @SkyCache）的接口及其命中率；合并表示等待同一个键的首个请求后直接复用其结果。
+ */
+async function renderCachePanel(container) {
+    const data = await fetch(dashboardUrl('api-dashboard/cache')).then(r => r.json());
+    if (!data.enabled) {
+        container.innerHTML = '<div class="monitor-empty">未开启（sky.dashboard.cache.enabled）</div>';
+        return;
+    }
+    const ttl = ms => ms % 3600000 === 0 ? ms / 3600000 + 'h' : ms % 60000 === 0 ? ms / 60000 + 'm' : ms % 1000 === 0 ? ms / 1000 + 's' : ms + 'ms';
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>${data.entries} / ${data.maxEntries} 条 · ${formatBytes(data.bytes)} / ${formatBytes(data.maxBytes)} · 淘汰 ${data.evictions} 次</span>
+            <button class="btn-add" onclick="clearResponseCache()">清空</button>
+            <button class="btn-add" onclick="MonitorPanel.refresh()">刷新</button>
+        </div>
+        ${data.endpoints.length === 0 ? '<div class="monitor-empty">没有开启缓存的接口（在方法注释中添加 @sky.cache ttl=30s key=query）</div>' : `
+        <table class="monitor-table">
+            <thead><tr><th>接口</th><th class="num">TTL</th><th>缓存键</th><th class="num">条目</th><th class="num">占用</th><th class="num">命中</th><th class="num">合并</th><th class="num">未命中</th><th class="num">不可缓存</th><th class="num">命中率</th></tr></thead>
+            <tbody>${data.endpoints.map(r => `
+                <tr>
+                    <td class="monitor-mono">${escapeHtml(r.endpoint)}</td>
+                    <td class="num">${ttl(r.ttlMs)}</td>
+                    <td class="monitor-mono">${escapeHtml(r.key)}</td>
+                    <td class="num">${r.entries}</td>
+                    <td class="num">${formatBytes(r.bytes)}</td>
+                    <td class="num">${r.hits}</td>
+                    <td class="num">${r.coalesced}</td>
+                    <td class="num">${r.misses}</td>
+                    <td class="num">${r.uncacheable}</td>
+                    <td class="num">${r.hitRate}%</td>
+                </tr>`).join('')}
+            </tbody>
+        </table>`}
+    `;
+    setTimeout(() => { if (MonitorPanel.active === 'cache') MonitorPanel.refresh(); }, 3000);
+}
+
+async function clearResponseCache() {
+    const res = await fetch(dashboardUrl('api-dashboard/cache/clear'), { method: 'POST' });
+    showToast(res.ok ? '✅ 缓存已清空' : '⚠️ 清空失败：' + res.status);
+    if (MonitorPanel.active === 'cache') MonitorPanel.refresh();
+}
+
+MonitorPanel.register('cache', '🗃️ 响应缓存', renderCachePanel);
+
+/**
+ * 监控标签页：栈采样（火焰图）
+ * 限时采样正在处理请求的线程栈，按接口聚合；点击帧放大，点击根帧还原。
+ * 红色为等待锁（BLOCKED），蓝色为 WAITING / TIMED_WAITING。
+ */
+const FlameGraph = {
+    ROW_HEIGHT: 18,
+    MIN_WIDTH: 0.002,
+    endpoint: null,
+    zoom: null,
+
+    color(name) {
+        if (name.startsWith('[BLOCKED]')) return '#ff6b60';
+        if (name.startsWith('[WAITING]') || name.startsWith('[TIMED_WAITING]')) return '#7fb6ff';
+        let h = 0;
+        for (let i = 0; i < name.length; i++) h = (h * 31 + name.charCodeAt(i)) | 0;
+        // 应用代码偏黄，框架代码偏橙
+        const framework = /^(java|javax|jdk|sun|org\.springframework|org\.apache|com\.fasterxml)\./.test(name);
+        return `hsl(${(framework ? 15 : 45) + Math.abs(h) % 20}, 85%, ${60 + Math.abs(h >> 8) % 12}%)`;
+    },
+
+    render(container, tree) {
+        const root = this.zoom || tree;
+        const nodes = [];
+        const walk = (node, depth, x) => {
+            const w = node.v / root.v;
+            if (w < this.MIN_WIDTH) return;
+            nodes.push({ node, depth, x, w });
+            let cx = x;
+            (node.c || []).forEach(child => { walk(child, depth + 1, cx); cx += child.v / root.v; });
+        };
+        walk(root, 0, 0);
+        const depth = nodes.reduce((m, n) => Math.max(m, n.depth), 0) + 1;
+        container.style.height = depth * this.ROW_HEIGHT + 'px';
+        container.innerHTML = nodes.map((n, i) => {
+            const pct = (n.node.v * 100 / tree.v).toFixed(1);
+            return `<div class="flame-node" data-i="${i}" title="${escapeHtml(n.node.n)}\n${n.node.v} 样本（${pct}%）"
+                style="left:${n.x * 100}%;width:${n.w * 100}%;top:${n.depth * this.ROW_HEIGHT}px;background:${this.color(n.node.n)};">${n.w > 0.02 ? escapeHtml(n.node.n) : ''}</div>`;
+        }).join('');
+        container.onclick = (e) => {
+            const el = e.target.closest('.flame-node');
+            if (!el) return;
+            const picked = nodes[el.dataset.i].node;
+            this.zoom = picked === root && this.zoom ? null : picked;
+            this.render(container, tree);
+        };
+    }
+};
+
+async function renderProfilerPanel(container) {
+    const data = await fetch(dashboardUrl('api-dashboard/profiler')).then(r => r.json());
+    if (!data.enabled || !data.supported) {
+        container.innerHTML = `<div class="monitor-empty">${!data.enabled ? '未开启（sky.dashboard.profiler.enabled）' : '仅支持 Servlet 应用'}</div>`;
+        return;
+    }
+    const endpoints = data.endpoints || [];
+    if (!endpoints.some(e => e.endpoint === FlameGraph.endpoint)) {
+        FlameGraph.endpoint = endpoints.length ? endpoints[0].endpoint : null;
+        FlameGraph.zoom = null;
+    }
+    const current = endpoints.find(e => e.endpoint === FlameGraph.endpoint);
+    const status = data.running
+        ? `采样中 ${(data.elapsedMs / 1000).toFixed(0)} / ${data.durationSeconds}s`
+        : data.stopReason ? `已结束（${data.stopReason}）` : '尚未采样';
+    const summary = data.ticks != null
+        ? ` · 间隔 ${data.intervalMs}ms${data.intervalMs !== data.requestedIntervalMs ? `（开销超限，已从 ${data.requestedIntervalMs}ms 放宽）` : ''} · ${data.samples} 样本 · 开销 ${data.overheadPercent}%${data.truncated ? ' · 节点数已达上限' : ''}`
+        : '';
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>${status}${summary}</span>
+            ${data.running
+                ? '<button class="btn-add" onclick="stopProfiler()">停止</button>'
+                : `<label>时长 <input id="profiler-seconds" type="number" min="1" max="${data.maxDurationSeconds}" value="10" style="width:56px;"> 秒</label>
+                   <label>间隔 <input id="profiler-interval" type="number" min="${data.minIntervalMs}" value="20" style="width:56px;"> ms</label>
+                   <button class="btn-add" onclick="startProfiler()">开始采样</button>`}
+            ${endpoints.length ? `<a class="btn-add" href="${dashboardUrl('api-dashboard/profiler/collapsed')}" download="stacks.collapsed">导出折叠栈</a>` : ''}
+        </div>
+        ${endpoints.length === 0 ? `<div class="monitor-empty">${data.running ? '等待请求…（只采样正在处理请求的线程）' : '开始采样后对慢接口发起请求，这里按接口显示火焰图'}</div>` : `
+        <div class="monitor-toolbar">
+            <select id="profiler-endpoint" onchange="FlameGraph.endpoint = this.value; FlameGraph.zoom = null; MonitorPanel.refresh();">
+                ${endpoints.map(e => `<option value="${escapeHtml(e.endpoint)}" ${e.endpoint === FlameGraph.endpoint ? 'selected' : ''}>${escapeHtml(e.endpoint)}（${e.samples}）</option>`).join('')}
+            </select>
+            <span class="monitor-mono">${escapeHtml(current.handler)}</span>
+            <span>${Object.entries(current.states).map(([k, v]) => `${k} ${(v * 100 / current.samples).toFixed(0)}%`).join(' · ')}</span>
+        </div>
+        <div class="flame-graph" id="flame-graph"></div>`}
+    `;
+    if (current) FlameGraph.render(document.getElementById('flame-graph'), current.tree);
+    if (data.running) {
+        setTimeout(() => { if (MonitorPanel.active === 'profiler') MonitorPanel.refresh(); }, 2000);
+    }
+}
+
+async function startProfiler() {
+    const params = new URLSearchParams({
+        seconds: document.getElementById('profiler-seconds').value,
+        intervalMs: document.getElementById('profiler-interval').value
+    });
+    const data = await fetch(dashboardUrl('api-dashboard/profiler/start'), { method: 'POST', body: params }).then(r => r.json());
+    if (!data.started) showToast('⚠️ 采样已在进行中');
+    FlameGraph.zoom = null;
+    MonitorPanel.refresh();
+}
+
+async function stopProfiler() {
+    await fetch(dashboardUrl('api-dashboard/profiler/stop'), { method: 'POST' });
+    MonitorPanel.refresh();
+}
+
+MonitorPanel.register('profiler', '🔬 火焰图', renderProfilerPanel);
+
+/**
+ * 监控标签页：启动耗时
+ * 启动阶段条形图 + Bean 创建耗时树（子节点为创建过程中触发的依赖，点击展开），
+ * 条形为相对单例创建阶段的时间位置；"自身" 为扣除依赖后的耗时。
+ */
+const StartupView = {
+    sort: 'total',
+    expanded: new Set(),
+
+    rows(beans, depth, parentKey, range, out) {
+        const sorted = this.sort === 'total' ? [...beans].sort((a, b) => b.totalMs - a.totalMs) : beans;
+        sorted.forEach(b => {
+            const key = parentKey + '/' + b.name;
+            const open = this.expanded.has(key);
+            const left = (b.startMs - range.from) * 100 / range.span;
+            const width = Math.max(0.3, b.totalMs * 100 / range.span);
+            out.push(`
+                <tr>
+                    <td style="padding-left:${8 + depth * 16}px;">
+                        ${b.children ? `<a href="#" data-key="${escapeHtml(key)}" onclick="StartupView.toggle(this.dataset.key); return false;">${open ? '▾' : '▸'}</a>` : '<span style="opacity:0.3;">·</span>'}
+                        <span class="monitor-mono" title="${escapeHtml(b.type || '')}">${escapeHtml(b.name)}</span>
+                        ${b.lazyCandidate ? '<span class="size-null-heavy" title="自身耗时较长的应用 Bean，若启动时不需要可考虑 @Lazy">可延迟</span>' : ''}
+                    </td>
+                    <td class="num">${b.totalMs.toFixed(1)}</td>
+                    <td class="num">${b.selfMs.toFixed(1)}</td>
+                    <td class="num">${b.initMs.toFixed(1)}</td>
+                    <td style="width:30%;"><div class="startup-track"><span style="left:${left}%;width:${width}%;"></span></div></td>
+                </tr>`);
+            if (open && b.children) this.rows(b.children, depth + 1, key, range, out);
+        });
+        return out;
+    },
+
+    toggle(key) {
+        if (this.expanded.has(key)) this.expanded.delete(key); else this.expanded.add(key);
+        MonitorPanel.refresh();
+    }
+};
+
+async function renderStartupPanel(container) {
+    const data = await fetch(dashboardUrl('api-dashboard/startup')).then(r => r.json());
+    const meta = data.metadata;
+    const metaText = meta.builds > 0
+        ? `元数据生成：首次 ${meta.firstMs.toFixed(1)} ms，最近 ${meta.lastMs.toFixed(1)} ms（${meta.lastFull ? '全量' : '增量'}，${meta.lastEndpoints} 个接口，共 ${meta.builds} 次）`
+        : '元数据尚未生成（首次打开接口列表时生成，不占用启动时间）';
+    if (!data.enabled) {
+        container.innerHTML = `<div class="monitor-empty">未开启（sky.dashboard.startup.enabled）<br>${metaText}</div>`;
+        return;
+    }
+    const total = data.readyMs || data.phases.reduce((sum, p) => sum + p.durationMs, 0);
+    const colors = ['#8e8e93', '#0a84ff', '#30d158', '#64d2ff', '#bf5af2', '#ff9f0a'];
+    const beanRange = data.beans.length
+        ? (() => {
+            const from = Math.min(...data.beans.map(b => b.startMs));
+            const to = Math.max(...data.beans.map(b => b.startMs + b.totalMs));
+            return { from, span: Math.max(1, to - from) };
+        })()
+        : { from: 0, span: 1 };
+    container.innerHTML = `
+        <div class="monitor-toolbar">
+            <span>${data.readyMs ? `启动耗时 ${(data.readyMs / 1000).toFixed(2)} s（自 JVM 启动至 ApplicationReady）` : '启动中…'} · 记录 ${data.beanCount} 个 Bean，合计 ${data.totalBeanMs.toFixed(0)} ms${data.truncated ? '（已达上限）' : ''}</span>
+            <button class="btn-add" onclick="MonitorPanel.refresh()">刷新</button>
+        </div>
+        <div class="startup-phases">${data.phases.map((p, i) => `
+            <span title="${escapeHtml(p.name)}：${p.durationMs.toFixed(0)} ms" style="width:${p.durationMs * 100 / total}%;background:${colors[i % colors.length]};"></span>`).join('')}
+        </div>
+        <table class="monitor-table">
+            <thead><tr><th>阶段</th><th class="num">开始 (ms)</th><th class="num">耗时 (ms)</th><th class="num">占比</th></tr></thead>
+            <tbody>${data.phases.map((p, i) => `
+                <tr>
+                    <td><span class="startup-dot" style="background:${colors[i % colors.length]};"></span>${escapeHtml(p.name)}</td>
+                    <td class="num">${p.startMs.toFixed(0)}</td>
+                    <td class="num">${p.durationMs.toFixed(0)}</td>
+                    <td class="num">${(p.durationMs * 100 / total).toFixed(1)}%</td>
+                </tr>`).join('')}
+            </tbody>
+        </table>
+        <div class="monitor-toolbar"><span>${metaText}</span></div>
+        ${data.steps && data.steps.length ? `
+        <table class="monitor-table">
+            <thead><tr><th>ApplicationStartup 步骤</th><th class="num">开始 (ms)</th><th class="num">耗时 (ms)</th></tr></thead>
+            <tbody>${data.steps.map(st => `
+                <tr><td class="monitor-mono">${escapeHtml(st.name)}</td><td class="num">${st.startMs}</td><td class="num">${st.durationMs.toFixed(1)}</td></tr>`).join('')}
+            </tbody>
+        </table>` : ''}
+        <div class="monitor-toolbar">
+            <span>Bean 创建耗时（在仪表盘记录器之前创建的后置处理器不在其中）</span>
+            <select onchange="StartupView.sort = this.value; MonitorPanel.refresh();">
+                <option value="total" ${StartupView.sort === 'total' ? 'selected' : ''}>按耗时</option>
+                <option value="start" ${StartupView.sort === 'start' ? 'selected' : ''}>按创建顺序</option>
+            </select>
+        </div>
+        <table class="monitor-table">
+            <thead><tr><th>Bean</th><th class="num">总耗时 (ms)</th><th class="num">自身 (ms)</th><th class="num">初始化 (ms)</th><th>时间线</th></tr></thead>
+            <tbody>${StartupView.rows(data.beans, 0, '', beanRange, []).join('')}</tbody>
+        </table>
+        <div class="monitor-toolbar"><span>自身耗时最长的 Bean</span></div>
+        <table class="monitor-table">
+            <thead><tr><th>Bean</th><th>类型</th><th class="num">自身 (ms)</th><th class="num">总耗时 (ms)</th><th class="num">初始化 (ms)</th></tr></thead>
+            <tbody>${data.slowest.map(b => `
+                <tr>
+                    <td class="monitor-mono">${escapeHtml(b.name)} ${b.lazyCandidate ? '<span class="size-null-heavy">可延迟</span>' : ''}</td>
+                    <td class="monitor-mono" style="opacity:0.7;">${escapeHtml(b.type || '')}</td>
+                    <td class="num">${b.selfMs.toFixed(1)}</td>
+                    <td class="num">${b.totalMs.toFixed(1)}</td>
+                    <td class="num">${b.initMs.toFixed(1)}</td>
+                </tr>`).join('')}
+            </tbody>
+        </table>
+    `;
+}
+
+MonitorPanel.register('startup', '🚀 启动耗时', renderStartupPanel);
+
 // --- INIT ---
 document.addEventListener('DOMContentLoaded', () => {
     initDashboard();
+    RequestHistory.migrateLegacy();
 
     document.addEventListener('keydown', (e) => {
         if ((e.ctrlKey || e.metaKey) && e.key === 'Enter') {
@@ -1243,6 +3050,7 @@ document.addEventListener('DOMContentLoaded', () => {
             closeSettings();
             closeConsoleModal();
             closeModal();
+            MonitorPanel.close();
         }
         if (e.key === '/' && document.activeElement.tagName !== 'INPUT' && document.activeElement.tagName !== 'TEXTAREA') {
             e.preventDefault();
@@ -1277,7 +3085,8 @@ window.sendRequest = async function () {
         if (k) headers[k] = v;
     });
 
-    const res = await ApiClient.send(method, url, headers, bodyStr, isJson ? 'json' : 'form');
+    const res = await ApiClient.send(method, url, headers, bodyStr, isJson ? 'json' : 'form',
+        (progress) => JsonView.showProgress(box, progress));
 
     // 保存响应以便导出（键：来自 window.currentPathStr 的路径）
     if (res.ok && window.currentPathStr) {
@@ -1297,11 +3106,9 @@ window.sendRequest = async function () {
         document.getElementById('t-time').innerText = res.duration + ' ms';
         document.getElementById('t-size').innerText = res.size + ' B';
     }
+    TimingWaterfall.render(document.getElementById('t-timing'), res);
 
-    if (res.text && (res.text.includes('{') || res.text.includes('['))) {
-        try { box.innerHTML = syntaxHighlight(JSON.stringify(JSON.parse(res.text), null, 2)); }
-        catch (e) { box.innerText = res.text; }
-    } else { box.innerText = res.text; }
+    await JsonView.render(box, res.text);
 };
 
 /**
@@ -1765,7 +3572,9 @@ function copyCurl() {
 // 全局导出
 window.copyCurl = copyCurl;
 window.copyResponse = function () {
-    const text = document.getElementById('c-res-body').innerText;
+    // 树形视图只渲染了已展开的节点，优先复制原始响应文本
+    const el = document.getElementById('c-res-body');
+    const text = el._rawText || el.innerText;
     if (text) {
         navigator.clipboard.writeText(text).then(() => showToast('✅ 响应已复制'));
     }
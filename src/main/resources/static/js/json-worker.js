@@ -0,0 +1,145 @@
+/**
+ * =================================================================
+ * JSON Worker - 响应体解析 / 美化 / 高亮 (后台线程)
+ * =================================================================
+ *
+ * 将大响应体的 JSON.parse、格式化和正则高亮移出 UI 线程。
+ *
+ * 消息协议 (请求均带 id，应答回传同一 id)：
+ * 1. { type: 'render', docId, text }
+ *    - 非 JSON：返回 { kind: 'text', html }
+ *    - 小文档：返回 { kind: 'html', html } (完整高亮)
+ *    - 大文档：返回 { kind: 'tree', root } (仅根节点，子节点按需展开)
+ * 2. { type: 'children', docId, path, offset } 返回某节点的一页子节点
+ * 3. { type: 'release', docId } 释放已解析文档
+ */
+
+const WORKER_CONFIG = {
+    HIGHLIGHT_LIMIT: 256 * 1024,  // 小于该长度直接返回完整高亮 HTML
+    CHILD_PAGE_SIZE: 200,         // 树节点每次展开的子节点数
+    PREVIEW_LENGTH: 80,           // 字符串预览截断长度
+    MAX_DOCS: 4                   // 同时保留的已解析文档数
+};
+
+const JSON_HIGHLIGHT_REGEX = /("(\\u[a-zA-Z0-9]{4}|\\[^u]|[^\\"])*"(\s*:)?|\b(true|false|null)\b|-?\d+(?:\.\d*)?(?:[eE][+\-]?\d+)?)/g;
+
+// docId -> 已解析对象 (Map 保持插入顺序，用于淘汰最旧文档)
+const DOCS = new Map();
+
+/**
+ * HTML 转义 (Worker 中无 DOM，使用字符串替换)
+ */
+function escapeHtml(text) {
+    return String(text)
+        .replace(/&/g, '&amp;')
+        .replace(/</g, '&lt;')
+        .replace(/>/g, '&gt;');
+}
+
+/**
+ * JSON 语法高亮 (与 dashboard-v3.js 保持相同的 CSS 类名)
+ */
+function syntaxHighlight(json) {
+    return escapeHtml(json).replace(JSON_HIGHLIGHT_REGEX, (match) => {
+        let cls = 'json-number';
+        if (/^"/.test(match)) {
+            cls = /:$/.test(match) ? 'json-key' : 'json-string';
+        } else if (/true|false/.test(match)) {
+            cls = 'json-boolean';
+        } else if (/null/.test(match)) {
+            cls = 'json-null';
+        }
+        return `<span class="${cls}">${match}</span>`;
+    });
+}
+
+/**
+ * 描述单个节点：容器只返回类型和大小，基础值返回高亮后的预览
+ */
+function describe(key, value) {
+    if (Array.isArray(value)) {
+        return { key, type: 'array', size: value.length };
+    }
+    if (value !== null && typeof value === 'object') {
+        return { key, type: 'object', size: Object.keys(value).length };
+    }
+    let text = JSON.stringify(value);
+    if (typeof value === 'string' && text.length > WORKER_CONFIG.PREVIEW_LENGTH) {
+        text = text.substring(0, WORKER_CONFIG.PREVIEW_LENGTH) + '…"';
+    }
+    return { key, type: value === null ? 'null' : typeof value, html: syntaxHighlight(text) };
+}
+
+/**
+ * 根据路径定位节点
+ */
+function resolvePath(root, path) {
+    let node = root;
+    for (const k of path || []) {
+        if (node === null || typeof node !== 'object') return undefined;
+        node = node[k];
+    }
+    return node;
+}
+
+function render(msg) {
+    const text = msg.text || '';
+    let obj;
+    try {
+        obj = JSON.parse(text);
+    } catch (e) {
+        return { kind: 'text', html: escapeHtml(text) };
+    }
+
+    if (text.length <= WORKER_CONFIG.HIGHLIGHT_LIMIT || obj === null || typeof obj !== 'object') {
+        return { kind: 'html', html: syntaxHighlight(JSON.stringify(obj, null, 2)) };
+    }
+
+    DOCS.set(msg.docId, obj);
+    if (DOCS.size > WORKER_CONFIG.MAX_DOCS) {
+        DOCS.delete(DOCS.keys().next().value);
+    }
+    return { kind: 'tree', root: describe(null, obj) };
+}
+
+function children(msg) {
+    const node = resolvePath(DOCS.get(msg.docId), msg.path);
+    if (node === null || typeof node !== 'object') {
+        return { items: [], total: 0, next: -1 };
+    }
+    const keys = Array.isArray(node) ? null : Object.keys(node);
+    const total = keys ? keys.length : node.length;
+    const offset = msg.offset || 0;
+    const end = Math.min(total, offset + WORKER_CONFIG.CHILD_PAGE_SIZE);
+
+    const items = [];
+    for (let i = offset; i < end; i++) {
+        const k = keys ? keys[i] : i;
+        items.push(describe(k, node[k]));
+    }
+    return { items, total, next: end < total ? end : -1 };
+}
+
+self.onmessage = (e) => {
+    const msg = e.data || {};
+    let result;
+    try {
+        switch (msg.type) {
+            case 'render':
+                result = render(msg);
+                break;
+            case 'children':
+                result = children(msg);
+                break;
+            case 'release':
+                DOCS.delete(msg.docId);
+                result = {};
+                break;
+            default:
+                result = { error: 'Unknown message type: ' + msg.type };
+        }
+    } catch (err) {
+        result = { error: err.message };
+    }
+    self.postMessage({ id: msg.id, result });
+};